@@ -49,6 +49,21 @@ public class CombatStats {
      */
     public CombatStats(int maxHealth, int physicalAttack, int magicalAttack, 
                        int physicalDefense, int magicalDefense, int speed) {
+        // Initialisation des cooldowns (4 capacités par défaut)
+        this.skillCooldowns = new int[4];
+        
+        // Initialisation des effets de statut
+        this.statusEffects = new HashMap<>();
+        
+        reset(maxHealth, physicalAttack, magicalAttack, physicalDefense, magicalDefense, speed);
+    }
+    
+    /**
+     * Remettre les statistiques à leur état initial, sans réallouer les cooldowns ni les effets
+     * (utilisé pour réutiliser une créature du pool)
+     */
+    public void reset(int maxHealth, int physicalAttack, int magicalAttack, 
+                      int physicalDefense, int magicalDefense, int speed) {
         this.maxHealth = maxHealth;
         this.currentHealth = maxHealth;
         this.physicalAttack = physicalAttack;
@@ -71,11 +86,12 @@ public class CombatStats {
         this.healingBonus = 0.0f;    // 0% de bonus aux soins
         this.shieldStrength = 0.0f;  // 0% de bonus aux boucliers
         
-        // Initialisation des cooldowns (4 capacités par défaut)
-        this.skillCooldowns = new int[4];
-        
-        // Initialisation des effets de statut
-        this.statusEffects = new HashMap<>();
+        // Aucun bouclier, cooldown ni effet de statut
+        this.physicalShield = 0;
+        this.magicalShield = 0;
+        this.adaptiveShield = 0;
+        resetCooldowns();
+        statusEffects.clear();
     }
     
     /**
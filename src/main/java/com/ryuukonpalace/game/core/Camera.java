@@ -15,6 +15,10 @@ public class Camera {
     private float x;
     private float y;
     
+    // Position au tick précédent (interpolation du rendu)
+    private float previousX;
+    private float previousY;
+    
     // Dimensions de la vue
     private float viewWidth;
     private float viewHeight;
@@ -237,6 +241,31 @@ public class Camera {
         return y;
     }
     
+    /**
+     * Mémoriser la position courante comme position du tick précédent.
+     * Appelée au début de chaque tick, avant la mise à jour de la caméra.
+     */
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+    
+    /**
+     * Obtenir la position X au tick précédent
+     * @return Position X au tick précédent
+     */
+    public float getPreviousX() {
+        return previousX;
+    }
+    
+    /**
+     * Obtenir la position Y au tick précédent
+     * @return Position Y au tick précédent
+     */
+    public float getPreviousY() {
+        return previousY;
+    }
+    
     /**
      * Obtenir la largeur de la vue
      * @return Largeur de la vue
@@ -0,0 +1,196 @@
+package com.ryuukonpalace.game.core;
+
+/**
+ * Pas de temps fixe pour la simulation, découplé de la fréquence de rendu.
+ * Le temps réel écoulé entre deux frames est accumulé puis consommé par ticks de durée fixe ;
+ * le reste de l'accumulateur donne le facteur d'interpolation entre l'état précédent et
+ * l'état courant pour le rendu. Le nombre de ticks de rattrapage par frame est plafonné :
+ * au-delà, le retard est abandonné (la simulation ralentit au lieu de geler le rendu).
+ * Mesure aussi séparément le temps passé dans les ticks et dans le rendu.
+ */
+public class FixedTimestep {
+
+    // Fréquence de simulation par défaut
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    // Nombre maximum de ticks exécutés en une frame par défaut
+    public static final int DEFAULT_MAX_TICKS_PER_FRAME = 5;
+
+    // Poids d'une nouvelle mesure dans les moyennes glissantes
+    private static final double SMOOTHING = 0.05;
+
+    private int tickRate;
+    private double tickDuration;
+    private int maxTicksPerFrame;
+
+    // Temps réel pas encore simulé (toujours inférieur à tickDuration après advance)
+    private double accumulator = 0.0;
+
+    // Compteurs et moyennes glissantes (en nanosecondes). Chacun n'a qu'un seul écrivain
+    // (thread de simulation ou thread de rendu) et peut être lu depuis l'autre thread.
+    private volatile long totalTicks = 0;
+    private volatile long totalFrames = 0;
+    private volatile double droppedTime = 0.0;
+    private volatile double averageTickNanos = 0.0;
+    private volatile double averageRenderNanos = 0.0;
+    private volatile double averageTicksPerFrame = 0.0;
+
+    /**
+     * Constructeur avec les valeurs par défaut
+     */
+    public FixedTimestep() {
+        this(DEFAULT_TICK_RATE, DEFAULT_MAX_TICKS_PER_FRAME);
+    }
+
+    /**
+     * Constructeur
+     * @param tickRate Fréquence de simulation en Hz
+     * @param maxTicksPerFrame Nombre maximum de ticks de rattrapage par frame
+     */
+    public FixedTimestep(int tickRate, int maxTicksPerFrame) {
+        setTickRate(tickRate);
+        setMaxTicksPerFrame(maxTicksPerFrame);
+    }
+
+    /**
+     * Ajouter le temps réel d'une frame et obtenir le nombre de ticks à simuler
+     * @param frameSeconds Temps réel écoulé depuis la frame précédente en secondes
+     * @return Nombre de ticks à exécuter (entre 0 et maxTicksPerFrame)
+     */
+    public int advance(double frameSeconds) {
+        if (frameSeconds > 0) {
+            accumulator += frameSeconds;
+        }
+
+        int ticks = (int) (accumulator / tickDuration);
+        if (ticks > maxTicksPerFrame) {
+            // Trop de retard : abandonner le temps qui ne peut pas être rattrapé
+            double kept = accumulator - (ticks - maxTicksPerFrame) * tickDuration;
+            droppedTime += accumulator - kept;
+            accumulator = kept;
+            ticks = maxTicksPerFrame;
+        }
+        accumulator -= ticks * tickDuration;
+        if (accumulator < 0) {
+            accumulator = 0;
+        }
+
+        totalTicks += ticks;
+        totalFrames++;
+        averageTicksPerFrame += (ticks - averageTicksPerFrame) * SMOOTHING;
+        return ticks;
+    }
+
+    /**
+     * Obtenir le facteur d'interpolation entre l'état du tick précédent et l'état courant
+     * @return Facteur entre 0 (état précédent) et 1 (état courant)
+     */
+    public float getAlpha() {
+        return (float) Math.min(1.0, accumulator / tickDuration);
+    }
+
+    /**
+     * Enregistrer la durée d'un tick de simulation
+     * @param nanos Durée en nanosecondes
+     */
+    public void recordTickTime(long nanos) {
+        averageTickNanos = averageTickNanos == 0.0 ? nanos : averageTickNanos + (nanos - averageTickNanos) * SMOOTHING;
+    }
+
+    /**
+     * Enregistrer la durée du rendu d'une frame
+     * @param nanos Durée en nanosecondes
+     */
+    public void recordRenderTime(long nanos) {
+        averageRenderNanos = averageRenderNanos == 0.0 ? nanos : averageRenderNanos + (nanos - averageRenderNanos) * SMOOTHING;
+    }
+
+    /**
+     * Obtenir la durée d'un tick
+     * @return Durée en secondes
+     */
+    public float getTickDuration() {
+        return (float) tickDuration;
+    }
+
+    /**
+     * Obtenir la fréquence de simulation
+     * @return Fréquence en Hz
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Définir la fréquence de simulation
+     * @param tickRate Fréquence en Hz
+     */
+    public void setTickRate(int tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Fréquence de simulation invalide: " + tickRate);
+        }
+        this.tickRate = tickRate;
+        this.tickDuration = 1.0 / tickRate;
+    }
+
+    /**
+     * Obtenir le nombre maximum de ticks par frame
+     * @return Nombre maximum de ticks de rattrapage
+     */
+    public int getMaxTicksPerFrame() {
+        return maxTicksPerFrame;
+    }
+
+    /**
+     * Définir le nombre maximum de ticks par frame
+     * @param maxTicksPerFrame Nombre maximum de ticks de rattrapage
+     */
+    public void setMaxTicksPerFrame(int maxTicksPerFrame) {
+        if (maxTicksPerFrame < 1) {
+            throw new IllegalArgumentException("Nombre de ticks par frame invalide: " + maxTicksPerFrame);
+        }
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /**
+     * Obtenir le temps moyen d'un tick de simulation
+     * @return Durée moyenne en millisecondes
+     */
+    public double getAverageTickTimeMs() {
+        return averageTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * Obtenir le temps moyen de rendu d'une frame
+     * @return Durée moyenne en millisecondes
+     */
+    public double getAverageRenderTimeMs() {
+        return averageRenderNanos / 1_000_000.0;
+    }
+
+    /**
+     * Obtenir le nombre total de ticks simulés
+     * @return Nombre de ticks
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Obtenir le temps de simulation abandonné faute de pouvoir le rattraper
+     * @return Temps abandonné en secondes
+     */
+    public double getDroppedTime() {
+        return droppedTime;
+    }
+
+    /**
+     * Obtenir des statistiques sur la boucle de jeu
+     * @return Statistiques sous forme de chaîne
+     */
+    public String getStats() {
+        return String.format("Simulation: %d Hz, Tick: %.2f ms, Rendu: %.2f ms, Ticks/frame: %.2f, Frames: %d, Retard abandonné: %.1f ms",
+                             tickRate, getAverageTickTimeMs(), getAverageRenderTimeMs(),
+                             averageTicksPerFrame, totalFrames, droppedTime * 1000.0);
+    }
+}
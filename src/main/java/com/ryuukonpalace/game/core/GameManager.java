@@ -392,6 +392,9 @@ public class GameManager {
      * Libérer les ressources du jeu.
      */
     public void dispose() {
+        // Terminer les sauvegardes en cours d'écriture
+        saveManager.shutdown();
+        
         // Libérer les ressources
         audioManager.dispose();
     }
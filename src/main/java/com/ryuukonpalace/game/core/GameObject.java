@@ -76,6 +76,7 @@ public abstract class GameObject {
         // Mettre à jour la position du collider
         if (collider != null) {
             collider.setPosition(x, y);
+            CollisionManager.getInstance().markDirty(collider);
         }
     }
     
@@ -91,6 +92,7 @@ public abstract class GameObject {
         // Mettre à jour la position du collider
         if (collider != null) {
             collider.setPosition(x, y);
+            CollisionManager.getInstance().markDirty(collider);
         }
     }
     
@@ -118,7 +120,19 @@ public abstract class GameObject {
      * @param active true pour activer, false pour désactiver
      */
     public void setActive(boolean active) {
+        if (this.active == active) {
+            return;
+        }
         this.active = active;
+        
+        // Un objet inactif ne participe plus aux collisions
+        if (collider != null && collisionGroup != null && !collisionGroup.isEmpty()) {
+            if (active) {
+                CollisionManager.getInstance().addCollider(collider, collisionGroup);
+            } else {
+                CollisionManager.getInstance().removeCollider(collider, collisionGroup);
+            }
+        }
     }
     
     /**
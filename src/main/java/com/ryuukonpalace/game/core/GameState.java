@@ -58,6 +58,11 @@ public class GameState {
     // Choix effectués par le joueur dans l'histoire
     private Map<String, String> playerChoices;
     
+    // Compteurs de changements des tables sauvegardées (quêtes, zones, histoire)
+    private int questsRevision;
+    private int areasRevision;
+    private int storyRevision;
+    
     // Interface de sauvegarde/chargement
     private SaveLoadInterface saveLoadInterface;
     
@@ -155,6 +160,9 @@ public class GameState {
         
         // Réinitialiser les choix du joueur
         playerChoices.clear();
+        questsRevision++;
+        areasRevision++;
+        storyRevision++;
         
         // Définir l'état du jeu
         currentState = State.PLAYING;
@@ -257,6 +265,7 @@ public class GameState {
      */
     public void setQuestsState(Map<Integer, QuestState> questsState) {
         this.questsState = questsState;
+        questsRevision++;
     }
     
     /**
@@ -275,6 +284,7 @@ public class GameState {
      */
     public void setQuestState(int questId, QuestState state) {
         questsState.put(questId, state);
+        questsRevision++;
     }
     
     /**
@@ -291,6 +301,7 @@ public class GameState {
      */
     public void setDiscoveredAreas(Map<Integer, Boolean> discoveredAreas) {
         this.discoveredAreas = discoveredAreas;
+        areasRevision++;
     }
     
     /**
@@ -310,6 +321,7 @@ public class GameState {
      */
     public void setAreaDiscovered(int areaId, boolean discovered) {
         discoveredAreas.put(areaId, discovered);
+        areasRevision++;
     }
     
     /**
@@ -333,6 +345,7 @@ public class GameState {
             QuestState state = new QuestState(numericQuestId);
             state.setStatus("NOT_STARTED");
             questsState.put(numericQuestId, state);
+            questsRevision++;
         }
         
         System.out.println("Quête spéciale ajoutée: " + questId);
@@ -394,6 +407,7 @@ public class GameState {
      */
     public void setStoryProgressionState(Map<String, Object> storyProgressionState) {
         this.storyProgressionState = new HashMap<>(storyProgressionState);
+        storyRevision++;
     }
     
     /**
@@ -412,6 +426,7 @@ public class GameState {
      */
     public void setPlayerChoices(Map<String, String> playerChoices) {
         this.playerChoices = new HashMap<>(playerChoices);
+        storyRevision++;
     }
     
     /**
@@ -422,6 +437,35 @@ public class GameState {
      */
     public void recordPlayerChoice(String decisionPointId, String choiceId) {
         playerChoices.put(decisionPointId, choiceId);
+        storyRevision++;
+    }
+    
+    /**
+     * Obtenir le compteur de changements de l'état des quêtes,
+     * y compris les modifications faites directement sur un QuestState
+     * 
+     * @return Compteur de changements
+     */
+    public long getQuestsRevision() {
+        return (long) questsRevision + QuestState.modifications;
+    }
+    
+    /**
+     * Obtenir le compteur de changements des zones découvertes
+     * 
+     * @return Compteur de changements
+     */
+    public int getAreasRevision() {
+        return areasRevision;
+    }
+    
+    /**
+     * Obtenir le compteur de changements de la progression de l'histoire et des choix du joueur
+     * 
+     * @return Compteur de changements
+     */
+    public int getStoryRevision() {
+        return storyRevision;
     }
     
     /**
@@ -469,6 +513,9 @@ public class GameState {
         private int currentStep;
         private Map<String, Object> questData;
         
+        // Compteur des modifications, tous états confondus (toujours croissant)
+        private static int modifications;
+        
         /**
          * Constructeur
          * @param questId ID de la quête
@@ -502,6 +549,7 @@ public class GameState {
          */
         public void setStatus(String status) {
             this.status = status;
+            modifications++;
         }
         
         /**
@@ -518,6 +566,7 @@ public class GameState {
          */
         public void setCurrentStep(int currentStep) {
             this.currentStep = currentStep;
+            modifications++;
         }
         
         /**
@@ -534,6 +583,7 @@ public class GameState {
          */
         public void setQuestData(Map<String, Object> questData) {
             this.questData = questData;
+            modifications++;
         }
         
         /**
@@ -543,6 +593,7 @@ public class GameState {
          */
         public void addQuestData(String key, Object value) {
             questData.put(key, value);
+            modifications++;
         }
         
         /**
@@ -553,5 +604,17 @@ public class GameState {
         public Object getQuestData(String key) {
             return questData.get(key);
         }
+        
+        /**
+         * Copier l'état de la quête (les données sont copiées sur un niveau)
+         * @return Copie de l'état de la quête
+         */
+        public QuestState copy() {
+            QuestState copy = new QuestState(questId);
+            copy.status = status;
+            copy.currentStep = currentStep;
+            copy.questData = questData != null ? new HashMap<>(questData) : null;
+            return copy;
+        }
     }
 }
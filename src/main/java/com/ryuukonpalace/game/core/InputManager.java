@@ -7,6 +7,7 @@ import org.lwjgl.glfw.GLFWMouseButtonCallback;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Gestionnaire des entrées utilisateur (clavier, souris).
@@ -37,6 +38,35 @@ public class InputManager {
     private double lastMouseX;
     private double lastMouseY;
     
+    // Événements en attente, transmis sans verrou du thread GLFW au thread qui lit les entrées
+    private final ConcurrentLinkedQueue<InputEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    
+    // Vrai si les événements passent par la file (simulation sur un autre thread que GLFW)
+    private volatile boolean queued = false;
+    
+    /**
+     * Événement d'entrée reçu d'un callback GLFW
+     */
+    private static final class InputEvent {
+        static final int KEY = 0;
+        static final int MOUSE_BUTTON = 1;
+        static final int CURSOR = 2;
+        
+        final int type;
+        final int code;
+        final int action;
+        final double x;
+        final double y;
+        
+        InputEvent(int type, int code, int action, double x, double y) {
+            this.type = type;
+            this.code = code;
+            this.action = action;
+            this.x = x;
+            this.y = y;
+        }
+    }
+    
     // Callbacks
     private GLFWKeyCallback keyCallback;
     private GLFWMouseButtonCallback mouseButtonCallback;
@@ -77,12 +107,10 @@ public class InputManager {
         keyCallback = new GLFWKeyCallback() {
             @Override
             public void invoke(long window, int key, int scancode, int action, int mods) {
-                if (action == GLFW.GLFW_PRESS) {
-                    keyPressed.put(key, true);
-                    keyJustPressed.put(key, true);
-                } else if (action == GLFW.GLFW_RELEASE) {
-                    keyPressed.put(key, false);
-                    keyJustReleased.put(key, true);
+                if (queued) {
+                    pendingEvents.add(new InputEvent(InputEvent.KEY, key, action, 0, 0));
+                } else {
+                    applyKey(key, action);
                 }
             }
         };
@@ -91,12 +119,10 @@ public class InputManager {
         mouseButtonCallback = new GLFWMouseButtonCallback() {
             @Override
             public void invoke(long window, int button, int action, int mods) {
-                if (action == GLFW.GLFW_PRESS) {
-                    mouseButtonPressed.put(button, true);
-                    mouseButtonJustPressed.put(button, true);
-                } else if (action == GLFW.GLFW_RELEASE) {
-                    mouseButtonPressed.put(button, false);
-                    mouseButtonJustReleased.put(button, true);
+                if (queued) {
+                    pendingEvents.add(new InputEvent(InputEvent.MOUSE_BUTTON, button, action, 0, 0));
+                } else {
+                    applyMouseButton(button, action);
                 }
             }
         };
@@ -105,10 +131,11 @@ public class InputManager {
         cursorPosCallback = new GLFWCursorPosCallback() {
             @Override
             public void invoke(long window, double xpos, double ypos) {
-                lastMouseX = mouseX;
-                lastMouseY = mouseY;
-                mouseX = xpos;
-                mouseY = ypos;
+                if (queued) {
+                    pendingEvents.add(new InputEvent(InputEvent.CURSOR, 0, 0, xpos, ypos));
+                } else {
+                    applyCursor(xpos, ypos);
+                }
             }
         };
         
@@ -118,6 +145,72 @@ public class InputManager {
         GLFW.glfwSetCursorPosCallback(window, cursorPosCallback);
     }
     
+    /**
+     * Activer ou désactiver la file d'événements.
+     * En mode file, les callbacks GLFW ne modifient plus l'état des entrées : les événements
+     * sont appliqués par processEvents() sur le thread qui lit les entrées.
+     * @param queued true pour passer les événements par la file
+     */
+    public void setQueued(boolean queued) {
+        this.queued = queued;
+    }
+    
+    /**
+     * Vérifier si les événements passent par la file
+     * @return true en mode file
+     */
+    public boolean isQueued() {
+        return queued;
+    }
+    
+    /**
+     * Appliquer les événements en attente à l'état des entrées.
+     * Doit être appelé par le thread qui lit les entrées, avant de les lire.
+     */
+    public void processEvents() {
+        InputEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            switch (event.type) {
+                case InputEvent.KEY:
+                    applyKey(event.code, event.action);
+                    break;
+                case InputEvent.MOUSE_BUTTON:
+                    applyMouseButton(event.code, event.action);
+                    break;
+                default:
+                    applyCursor(event.x, event.y);
+                    break;
+            }
+        }
+    }
+    
+    private void applyKey(int key, int action) {
+        if (action == GLFW.GLFW_PRESS) {
+            keyPressed.put(key, true);
+            keyJustPressed.put(key, true);
+        } else if (action == GLFW.GLFW_RELEASE) {
+            keyPressed.put(key, false);
+            keyJustReleased.put(key, true);
+        }
+    }
+    
+    private void applyMouseButton(int button, int action) {
+        if (action == GLFW.GLFW_PRESS) {
+            mouseButtonPressed.put(button, true);
+            mouseButtonJustPressed.put(button, true);
+        } else if (action == GLFW.GLFW_RELEASE) {
+            mouseButtonPressed.put(button, false);
+            mouseButtonJustReleased.put(button, true);
+        }
+    }
+    
+    private void applyCursor(double xpos, double ypos) {
+        lastMouseX = mouseX;
+        lastMouseY = mouseY;
+        mouseX = xpos;
+        mouseY = ypos;
+    }
+    
     /**
      * Mettre à jour l'état des entrées
      * Doit être appelé à chaque frame
@@ -1,9 +1,9 @@
 package com.ryuukonpalace.game.core;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+
+import com.ryuukonpalace.game.utils.TextureRegion;
 
 /**
  * Système de rendu par couches pour créer un effet 2.5D similaire à Pokémon Blanc.
@@ -28,47 +28,41 @@ public class LayeredRenderer {
         UI             // Interface utilisateur
     }
     
-    // Éléments à dessiner pour chaque couche
-    private Map<Layer, List<RenderElement>> renderLayers;
+    // Éléments à dessiner pour chaque couche (indexé par Layer.ordinal())
+    private RenderQueue[] renderLayers;
+    
+    // Maillages statiques à dessiner avant les éléments de chaque couche (ex: chunks de tuiles)
+    private List<List<StaticMesh>> staticMeshes;
     
     // Décalage Y pour simuler la perspective (plus la couche est éloignée, plus elle est haute)
-    private Map<Layer, Float> layerYOffset;
+    private float[] layerYOffset;
     
     // Facteur d'échelle pour simuler la perspective (plus la couche est éloignée, plus elle est petite)
-    private Map<Layer, Float> layerScale;
+    private float[] layerScale;
+    
+    // Couches dans l'ordre de dessin (évite la copie de Layer.values() à chaque frame)
+    private static final Layer[] LAYERS = Layer.values();
     
     /**
      * Constructeur privé (singleton)
      */
     private LayeredRenderer() {
         this.baseRenderer = Renderer.getInstance();
-        renderLayers = new HashMap<>();
-        layerYOffset = new HashMap<>();
-        layerScale = new HashMap<>();
+        renderLayers = new RenderQueue[LAYERS.length];
+        staticMeshes = new ArrayList<>();
+        layerYOffset = new float[LAYERS.length];
+        layerScale = new float[LAYERS.length];
         
         // Initialiser les couches
-        for (Layer layer : Layer.values()) {
-            renderLayers.put(layer, new ArrayList<>());
+        for (Layer layer : LAYERS) {
+            renderLayers[layer.ordinal()] = new RenderQueue();
+            staticMeshes.add(new ArrayList<>());
+            layerScale[layer.ordinal()] = 1.0f;
         }
         
-        // Configurer les décalages Y et échelles par défaut pour la perspective
-        layerYOffset.put(Layer.BACKGROUND, 0.0f);
-        layerYOffset.put(Layer.TERRAIN, 0.0f);
-        layerYOffset.put(Layer.TERRAIN_DETAIL, 0.0f);
-        layerYOffset.put(Layer.OBJECT_BACK, -5.0f);
-        layerYOffset.put(Layer.CHARACTER, 0.0f);
-        layerYOffset.put(Layer.OBJECT_FRONT, 5.0f);
-        layerYOffset.put(Layer.OVERLAY, 0.0f);
-        layerYOffset.put(Layer.UI, 0.0f);
-        
-        layerScale.put(Layer.BACKGROUND, 1.0f);
-        layerScale.put(Layer.TERRAIN, 1.0f);
-        layerScale.put(Layer.TERRAIN_DETAIL, 1.0f);
-        layerScale.put(Layer.OBJECT_BACK, 1.0f);
-        layerScale.put(Layer.CHARACTER, 1.0f);
-        layerScale.put(Layer.OBJECT_FRONT, 1.0f);
-        layerScale.put(Layer.OVERLAY, 1.0f);
-        layerScale.put(Layer.UI, 1.0f);
+        // Configurer les décalages Y par défaut pour la perspective
+        layerYOffset[Layer.OBJECT_BACK.ordinal()] = -5.0f;
+        layerYOffset[Layer.OBJECT_FRONT.ordinal()] = 5.0f;
     }
     
     /**
@@ -88,7 +82,7 @@ public class LayeredRenderer {
      * @param offset Décalage Y
      */
     public void setLayerYOffset(Layer layer, float offset) {
-        layerYOffset.put(layer, offset);
+        layerYOffset[layer.ordinal()] = offset;
     }
     
     /**
@@ -97,7 +91,7 @@ public class LayeredRenderer {
      * @param scale Échelle
      */
     public void setLayerScale(Layer layer, float scale) {
-        layerScale.put(layer, scale);
+        layerScale[layer.ordinal()] = scale;
     }
     
     /**
@@ -130,8 +124,33 @@ public class LayeredRenderer {
      */
     public void addToLayer(Layer layer, int textureId, float x, float y, float width, float height, 
                            float r, float g, float b, float a, float depth) {
-        RenderElement element = new RenderElement(textureId, x, y, width, height, r, g, b, a, depth);
-        renderLayers.get(layer).add(element);
+        renderLayers[layer.ordinal()].add(textureId, x, y, width, height, 0.0f, 0.0f, 1.0f, 1.0f, r, g, b, a, depth);
+    }
+    
+    /**
+     * Ajouter une région de texture (atlas, spritesheet) à dessiner dans une couche spécifique
+     * @param layer Couche
+     * @param region Région de texture
+     * @param x Position X
+     * @param y Position Y
+     * @param width Largeur
+     * @param height Hauteur
+     * @param depth Profondeur dans la couche (pour le tri)
+     */
+    public void addToLayer(Layer layer, TextureRegion region, float x, float y, float width, float height, float depth) {
+        renderLayers[layer.ordinal()].add(region.getTextureId(), x, y, width, height,
+                                          region.getU0(), region.getV0(), region.getU1(), region.getV1(),
+                                          1.0f, 1.0f, 1.0f, 1.0f, depth);
+    }
+    
+    /**
+     * Ajouter un maillage statique à dessiner dans une couche pour cette frame.
+     * Les maillages statiques d'une couche sont dessinés avant ses éléments triés.
+     * @param layer Couche
+     * @param mesh Maillage statique
+     */
+    public void addStaticMesh(Layer layer, StaticMesh mesh) {
+        staticMeshes.get(layer.ordinal()).add(mesh);
     }
     
     /**
@@ -157,8 +176,8 @@ public class LayeredRenderer {
      */
     public void drawSpriteWithPerspective(Layer layer, int textureId, float x, float y, float width, float height) {
         // Appliquer le décalage Y et l'échelle de la couche
-        float yOffset = layerYOffset.get(layer);
-        float scale = layerScale.get(layer);
+        float yOffset = layerYOffset[layer.ordinal()];
+        float scale = layerScale[layer.ordinal()];
         
         // La profondeur est basée sur la position Y (plus Y est grand, plus l'objet est proche)
         float depth = y;
@@ -218,32 +237,20 @@ public class LayeredRenderer {
      * Dessiner toutes les couches
      */
     public void renderLayers() {
-        // Trier les éléments de chaque couche par profondeur
-        for (Layer layer : Layer.values()) {
-            List<RenderElement> elements = renderLayers.get(layer);
-            elements.sort((a, b) -> Float.compare(a.depth, b.depth));
-        }
-        
-        // Dessiner les couches dans l'ordre (du plus loin au plus proche)
-        for (Layer layer : Layer.values()) {
-            for (RenderElement element : renderLayers.get(layer)) {
-                baseRenderer.draw(
-                    element.textureId, 
-                    element.x, 
-                    element.y, 
-                    element.width, 
-                    element.height, 
-                    element.r, 
-                    element.g, 
-                    element.b, 
-                    element.a
-                );
+        // Dessiner les couches dans l'ordre (du plus loin au plus proche),
+        // chaque couche étant triée par profondeur
+        for (Layer layer : LAYERS) {
+            List<StaticMesh> meshes = staticMeshes.get(layer.ordinal());
+            for (int i = 0; i < meshes.size(); i++) {
+                baseRenderer.drawStaticMesh(meshes.get(i));
             }
+            renderLayers[layer.ordinal()].render(baseRenderer);
         }
         
-        // Vider les couches après le rendu
-        for (Layer layer : Layer.values()) {
-            renderLayers.get(layer).clear();
+        // Vider les couches après le rendu (les tableaux sont réutilisés)
+        for (Layer layer : LAYERS) {
+            renderLayers[layer.ordinal()].clear();
+            staticMeshes.get(layer.ordinal()).clear();
         }
     }
     
@@ -270,28 +277,4 @@ public class LayeredRenderer {
     public void endRender() {
         baseRenderer.endRender();
     }
-    
-    /**
-     * Classe interne pour représenter un élément à dessiner
-     */
-    private static class RenderElement {
-        int textureId;
-        float x, y, width, height;
-        float r, g, b, a;
-        float depth;
-        
-        RenderElement(int textureId, float x, float y, float width, float height, 
-                     float r, float g, float b, float a, float depth) {
-            this.textureId = textureId;
-            this.x = x;
-            this.y = y;
-            this.width = width;
-            this.height = height;
-            this.r = r;
-            this.g = g;
-            this.b = b;
-            this.a = a;
-            this.depth = depth;
-        }
-    }
 }
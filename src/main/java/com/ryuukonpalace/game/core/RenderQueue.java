@@ -0,0 +1,246 @@
+package com.ryuukonpalace.game.core;
+
+import java.util.Arrays;
+
+/**
+ * File d'éléments à dessiner pour une couche, stockée en tableaux parallèles
+ * (une entrée = un indice dans chaque tableau) plutôt qu'en objets.
+ * Les tableaux sont réutilisés d'une frame à l'autre et ne grandissent que lorsque
+ * la capacité est dépassée : une frame complète ne produit donc aucun déchet.
+ * Le tri par profondeur est un tri par base (radix LSD, 8 bits par passe) sur une clé
+ * entière dérivée de la profondeur, stable comme l'ancien tri par comparateur.
+ */
+public class RenderQueue {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_SIZE = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX_SIZE - 1;
+
+    // Données des éléments
+    private int[] textureIds;
+    private float[] x, y, width, height;
+    private float[] u0, v0, u1, v1;
+    private float[] r, g, b, a;
+
+    // Clés de tri et ordre de dessin
+    private int[] keys;
+    private int[] order;
+    private int[] scratch;
+    private final int[] counts = new int[RADIX_SIZE];
+
+    private int size = 0;
+    private boolean sorted = true;
+
+    /**
+     * Constructeur
+     */
+    public RenderQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructeur
+     * @param capacity Capacité initiale
+     */
+    public RenderQueue(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    private void allocate(int capacity) {
+        textureIds = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        u0 = new float[capacity];
+        v0 = new float[capacity];
+        u1 = new float[capacity];
+        v1 = new float[capacity];
+        r = new float[capacity];
+        g = new float[capacity];
+        b = new float[capacity];
+        a = new float[capacity];
+        keys = new int[capacity];
+        order = new int[capacity];
+        scratch = new int[capacity];
+    }
+
+    /**
+     * Agrandir les tableaux (capacité doublée)
+     */
+    private void grow() {
+        int capacity = textureIds.length * 2;
+        textureIds = Arrays.copyOf(textureIds, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        u0 = Arrays.copyOf(u0, capacity);
+        v0 = Arrays.copyOf(v0, capacity);
+        u1 = Arrays.copyOf(u1, capacity);
+        v1 = Arrays.copyOf(v1, capacity);
+        r = Arrays.copyOf(r, capacity);
+        g = Arrays.copyOf(g, capacity);
+        b = Arrays.copyOf(b, capacity);
+        a = Arrays.copyOf(a, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        order = new int[capacity];
+        scratch = new int[capacity];
+    }
+
+    /**
+     * Ajouter un élément à la file
+     * @param textureId ID de la texture
+     * @param x Position X
+     * @param y Position Y
+     * @param width Largeur
+     * @param height Hauteur
+     * @param u0 Coordonnée de texture U gauche
+     * @param v0 Coordonnée de texture V haute
+     * @param u1 Coordonnée de texture U droite
+     * @param v1 Coordonnée de texture V basse
+     * @param r Composante rouge (0-1)
+     * @param g Composante verte (0-1)
+     * @param b Composante bleue (0-1)
+     * @param a Transparence (0-1)
+     * @param depth Profondeur dans la couche (pour le tri)
+     */
+    public void add(int textureId, float x, float y, float width, float height,
+                    float u0, float v0, float u1, float v1,
+                    float r, float g, float b, float a, float depth) {
+        if (size == textureIds.length) {
+            grow();
+        }
+
+        int i = size++;
+        this.textureIds[i] = textureId;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.width[i] = width;
+        this.height[i] = height;
+        this.u0[i] = u0;
+        this.v0[i] = v0;
+        this.u1[i] = u1;
+        this.v1[i] = v1;
+        this.r[i] = r;
+        this.g[i] = g;
+        this.b[i] = b;
+        this.a[i] = a;
+        this.keys[i] = depthKey(depth);
+        sorted = false;
+    }
+
+    /**
+     * Convertir une profondeur en clé entière non signée dont l'ordre est celui de
+     * {@link Float#compare(float, float)} (-0.0 avant 0.0, NaN après l'infini positif)
+     * @param depth Profondeur
+     * @return Clé de tri
+     */
+    static int depthKey(float depth) {
+        int bits = Float.floatToIntBits(depth);
+        // Négatifs : inverser tous les bits ; positifs : inverser le bit de signe
+        return bits ^ ((bits >> 31) | 0x80000000);
+    }
+
+    /**
+     * Trier les éléments par profondeur croissante (tri stable)
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+
+        int[] src = order;
+        int[] dst = scratch;
+        for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(keys[i] >>> shift) & RADIX_MASK]++;
+            }
+
+            // Passe inutile si tous les éléments ont le même chiffre
+            if (counts[(keys[0] >>> shift) & RADIX_MASK] == size) {
+                continue;
+            }
+
+            int total = 0;
+            for (int d = 0; d < RADIX_SIZE; d++) {
+                int count = counts[d];
+                counts[d] = total;
+                total += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int index = src[i];
+                dst[counts[(keys[index] >>> shift) & RADIX_MASK]++] = index;
+            }
+
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+
+        order = src;
+        scratch = dst;
+        sorted = true;
+    }
+
+    /**
+     * Dessiner tous les éléments dans l'ordre de tri
+     * @param renderer Renderer de base
+     */
+    public void render(Renderer renderer) {
+        sort();
+        for (int n = 0; n < size; n++) {
+            int i = order[n];
+            renderer.draw(textureIds[i], x[i], y[i], width[i], height[i],
+                          u0[i], v0[i], u1[i], v1[i], r[i], g[i], b[i], a[i]);
+        }
+    }
+
+    /**
+     * Obtenir l'indice du n-ième élément dans l'ordre de tri (après sort())
+     * @param n Rang dans l'ordre de dessin
+     * @return Indice de l'élément
+     */
+    public int getSortedIndex(int n) {
+        return order[n];
+    }
+
+    /**
+     * Obtenir l'ID de texture d'un élément
+     * @param index Indice de l'élément
+     * @return ID de la texture
+     */
+    public int getTextureId(int index) {
+        return textureIds[index];
+    }
+
+    /**
+     * Obtenir le nombre d'éléments
+     * @return Nombre d'éléments dans la file
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtenir la capacité actuelle
+     * @return Nombre d'éléments pouvant être ajoutés sans agrandir les tableaux
+     */
+    public int capacity() {
+        return textureIds.length;
+    }
+
+    /**
+     * Vider la file (les tableaux sont conservés)
+     */
+    public void clear() {
+        size = 0;
+        sorted = true;
+    }
+}
@@ -0,0 +1,219 @@
+package com.ryuukonpalace.game.core;
+
+import java.util.Arrays;
+
+/**
+ * Copie de l'état affichable du monde (sprites à dessiner) produite par le thread de
+ * simulation et lue par le thread de rendu. Chaque sprite garde sa position au tick
+ * précédent et au tick courant pour que le rendu puisse interpoler entre les deux.
+ * Stockée en tableaux parallèles réutilisés d'un tick à l'autre, comme la {@link RenderQueue}.
+ * Un snapshot n'est jamais modifié pendant qu'il est lu : voir {@link SimulationThread}.
+ */
+public class RenderSnapshot {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // Indique un sprite sans décalage de direction
+    public static final int NO_FRAME = -1;
+
+    // Données des sprites
+    private int[] textureIds;
+    private int[] frames;
+    private float[] previousX, previousY;
+    private float[] x, y;
+    private float[] width, height;
+
+    private int size = 0;
+
+    // Position de la caméra au tick précédent et au tick courant
+    private float cameraPreviousX, cameraPreviousY;
+    private float cameraX, cameraY;
+
+    // Numéro du dernier tick inclus et instant de sa fin (System.nanoTime)
+    private long tick = 0;
+    private long tickTime = 0;
+
+    /**
+     * Constructeur
+     */
+    public RenderSnapshot() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructeur
+     * @param capacity Capacité initiale
+     */
+    public RenderSnapshot(int capacity) {
+        capacity = Math.max(1, capacity);
+        textureIds = new int[capacity];
+        frames = new int[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+    }
+
+    /**
+     * Agrandir les tableaux (capacité doublée)
+     */
+    private void grow() {
+        int capacity = textureIds.length * 2;
+        textureIds = Arrays.copyOf(textureIds, capacity);
+        frames = Arrays.copyOf(frames, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+    }
+
+    /**
+     * Vider le snapshot (la capacité est conservée)
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Ajouter un sprite
+     * @param textureId ID de la texture
+     * @param frame Décalage de direction dans la texture, ou NO_FRAME
+     * @param previousX Position X au tick précédent
+     * @param previousY Position Y au tick précédent
+     * @param x Position X au tick courant
+     * @param y Position Y au tick courant
+     * @param width Largeur
+     * @param height Hauteur
+     */
+    public void addSprite(int textureId, int frame, float previousX, float previousY,
+                          float x, float y, float width, float height) {
+        if (size == textureIds.length) {
+            grow();
+        }
+        textureIds[size] = textureId;
+        frames[size] = frame;
+        this.previousX[size] = previousX;
+        this.previousY[size] = previousY;
+        this.x[size] = x;
+        this.y[size] = y;
+        this.width[size] = width;
+        this.height[size] = height;
+        size++;
+    }
+
+    /**
+     * Dessiner tous les sprites, interpolés entre le tick précédent et le tick courant
+     * @param renderer Renderer à utiliser
+     * @param alpha Facteur d'interpolation (0 = tick précédent, 1 = tick courant)
+     */
+    public void render(Renderer renderer, float alpha) {
+        for (int i = 0; i < size; i++) {
+            float drawX = previousX[i] + (x[i] - previousX[i]) * alpha;
+            float drawY = previousY[i] + (y[i] - previousY[i]) * alpha;
+            if (frames[i] == NO_FRAME) {
+                renderer.drawSprite(textureIds[i], drawX, drawY, width[i], height[i]);
+            } else {
+                renderer.drawSprite(textureIds[i], drawX, drawY, width[i], height[i], frames[i]);
+            }
+        }
+    }
+
+    /**
+     * Définir la position de la caméra
+     * @param previousX Position X au tick précédent
+     * @param previousY Position Y au tick précédent
+     * @param x Position X au tick courant
+     * @param y Position Y au tick courant
+     */
+    public void setCamera(float previousX, float previousY, float x, float y) {
+        cameraPreviousX = previousX;
+        cameraPreviousY = previousY;
+        cameraX = x;
+        cameraY = y;
+    }
+
+    /**
+     * Obtenir la position X interpolée de la caméra
+     * @param alpha Facteur d'interpolation
+     * @return Position X
+     */
+    public float getCameraX(float alpha) {
+        return cameraPreviousX + (cameraX - cameraPreviousX) * alpha;
+    }
+
+    /**
+     * Obtenir la position Y interpolée de la caméra
+     * @param alpha Facteur d'interpolation
+     * @return Position Y
+     */
+    public float getCameraY(float alpha) {
+        return cameraPreviousY + (cameraY - cameraPreviousY) * alpha;
+    }
+
+    /**
+     * Définir le tick représenté par ce snapshot
+     * @param tick Numéro du tick
+     * @param tickTime Instant de fin du tick (System.nanoTime)
+     */
+    public void setTick(long tick, long tickTime) {
+        this.tick = tick;
+        this.tickTime = tickTime;
+    }
+
+    /**
+     * Obtenir le numéro du tick représenté
+     * @return Numéro du tick (0 si aucun tick n'a encore été publié)
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Obtenir l'instant de fin du tick représenté
+     * @return Instant en nanosecondes (System.nanoTime)
+     */
+    public long getTickTime() {
+        return tickTime;
+    }
+
+    /**
+     * Obtenir le nombre de sprites
+     * @return Nombre de sprites
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtenir l'ID de texture d'un sprite
+     * @param index Index du sprite
+     * @return ID de la texture
+     */
+    public int getTextureId(int index) {
+        return textureIds[index];
+    }
+
+    /**
+     * Obtenir la position X interpolée d'un sprite
+     * @param index Index du sprite
+     * @param alpha Facteur d'interpolation
+     * @return Position X
+     */
+    public float getX(int index, float alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    /**
+     * Obtenir la position Y interpolée d'un sprite
+     * @param index Index du sprite
+     * @param alpha Facteur d'interpolation
+     * @return Position Y
+     */
+    public float getY(int index, float alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+}
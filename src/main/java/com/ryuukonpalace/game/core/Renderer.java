@@ -19,10 +19,13 @@ public class Renderer {
     // Shader program
     private int shaderProgram;
     
-    // Vertex Array Object et Vertex Buffer Object
-    private int vao;
-    private int vbo;
-    private int ebo;
+    // Batch de sprites (vertex buffer de streaming, VAO et index buffer)
+    private SpriteBatch spriteBatch;
+    private boolean batchingEnabled = true;
+    
+    // Appels de dessin des maillages statiques (frame en cours et dernière frame)
+    private int frameStaticDrawCalls = 0;
+    private int lastStaticDrawCalls = 0;
     
     // Caméra
     private Camera camera;
@@ -62,6 +65,7 @@ public class Renderer {
      */
     private Renderer() {
         camera = Camera.getInstance();
+        spriteBatch = new SpriteBatch();
     }
     
     /**
@@ -143,6 +147,18 @@ public class Renderer {
         camera.setPosition(x, y);
     }
     
+    /**
+     * Définir la position de la vue pour l'image en cours, sans modifier la {@link Camera}.
+     * Utilisée par le thread de rendu avec la position interpolée du snapshot : la caméra
+     * elle-même appartient au thread de simulation.
+     * @param x Position X de la vue
+     * @param y Position Y de la vue
+     */
+    public void setViewPosition(float x, float y) {
+        this.cameraX = x;
+        this.cameraY = y;
+    }
+    
     /**
      * Définir la position de la caméra avec des coordonnées entières
      * @param x Nouvelle position X
@@ -198,11 +214,7 @@ public class Renderer {
      * Initialiser les buffers
      */
     private void initBuffers() {
-        // Cette méthode sera implémentée plus tard
-        // Pour l'instant, c'est juste un placeholder
-        vao = 0;
-        vbo = 0;
-        ebo = 0;
+        spriteBatch.initBuffers();
     }
     
     /**
@@ -230,11 +242,38 @@ public class Renderer {
      * @param a Transparence (0-1)
      */
     public void draw(int textureId, float x, float y, float width, float height, float r, float g, float b, float a) {
+        draw(textureId, x, y, width, height, 0.0f, 0.0f, 1.0f, 1.0f, r, g, b, a);
+    }
+    
+    /**
+     * Dessiner une partie d'une texture avec couleur et transparence
+     * @param textureId ID de la texture
+     * @param x Position X dans le monde
+     * @param y Position Y dans le monde
+     * @param width Largeur
+     * @param height Hauteur
+     * @param u0 Coordonnée de texture U gauche
+     * @param v0 Coordonnée de texture V haute
+     * @param u1 Coordonnée de texture U droite
+     * @param v1 Coordonnée de texture V basse
+     * @param r Composante rouge (0-1)
+     * @param g Composante verte (0-1)
+     * @param b Composante bleue (0-1)
+     * @param a Transparence (0-1)
+     */
+    public void draw(int textureId, float x, float y, float width, float height,
+                     float u0, float v0, float u1, float v1, float r, float g, float b, float a) {
         // Appliquer les effets globaux (luminosité et teinte)
         float adjustedR = r * globalTint.getRed() / 255.0f * globalBrightness;
         float adjustedG = g * globalTint.getGreen() / 255.0f * globalBrightness;
         float adjustedB = b * globalTint.getBlue() / 255.0f * globalBrightness;
         
+        // Entre beginRender() et endRender(), le quad est regroupé avec les autres
+        if (batchingEnabled && spriteBatch.isDrawing()) {
+            spriteBatch.add(textureId, x, y, width, height, u0, v0, u1, v1, adjustedR, adjustedG, adjustedB, a);
+            return;
+        }
+        
         // Cette méthode sera implémentée plus tard avec les valeurs ajustées
         // Pour l'instant, on affiche un message de debug avec les valeurs
         System.out.println("Drawing texture " + textureId + " at (" + x + ", " + y + ") with size (" + 
@@ -459,7 +498,8 @@ public class Renderer {
      */
     public void beginRender() {
         GL20.glUseProgram(shaderProgram);
-        GL30.glBindVertexArray(vao);
+        spriteBatch.begin();
+        frameStaticDrawCalls = 0;
         
         // Dessiner les effets météorologiques
         renderWeatherEffects();
@@ -469,18 +509,98 @@ public class Renderer {
      * Terminer le rendu
      */
     public void endRender() {
+        spriteBatch.end();
+        lastStaticDrawCalls = frameStaticDrawCalls;
         GL30.glBindVertexArray(0);
         GL20.glUseProgram(0);
     }
     
+    /**
+     * Envoyer immédiatement les sprites en attente dans le batch
+     */
+    public void flushBatch() {
+        spriteBatch.flush();
+    }
+    
+    /**
+     * Dessiner un maillage statique déjà présent sur le GPU (ex: chunk de tuiles).
+     * Les sprites en attente sont envoyés d'abord pour conserver l'ordre de dessin.
+     * La teinte et la luminosité globales sont appliquées au moment du dessin.
+     * @param mesh Maillage à dessiner
+     */
+    public void drawStaticMesh(StaticMesh mesh) {
+        if (!spriteBatch.isGpuReady() || mesh.isEmpty()) {
+            return;
+        }
+        
+        spriteBatch.flush();
+        
+        // Mêmes effets globaux que pour les sprites (luminosité et teinte)
+        float r = globalTint.getRed() / 255.0f * globalBrightness;
+        float g = globalTint.getGreen() / 255.0f * globalBrightness;
+        float b = globalTint.getBlue() / 255.0f * globalBrightness;
+        frameStaticDrawCalls += mesh.draw(r, g, b, 1.0f);
+        spriteBatch.invalidateTextureBinding();
+    }
+    
+    /**
+     * Vérifier si les maillages statiques peuvent être envoyés au GPU
+     * @return true si les buffers OpenGL du renderer ont été créés
+     */
+    public boolean supportsStaticMeshes() {
+        return spriteBatch.isGpuReady();
+    }
+    
+    /**
+     * Activer ou désactiver le regroupement des sprites
+     * @param enabled true pour regrouper les sprites entre beginRender() et endRender()
+     */
+    public void setBatchingEnabled(boolean enabled) {
+        if (!enabled) {
+            spriteBatch.flush();
+        }
+        this.batchingEnabled = enabled;
+    }
+    
+    /**
+     * Vérifier si le regroupement des sprites est activé
+     * @return true si le regroupement est activé
+     */
+    public boolean isBatchingEnabled() {
+        return batchingEnabled;
+    }
+    
+    /**
+     * Définir le mode de tri du batch (tri par texture pour les couches sans chevauchement)
+     * @param mode Mode de tri
+     */
+    public void setBatchSortMode(SpriteBatch.SortMode mode) {
+        spriteBatch.setSortMode(mode);
+    }
+    
+    /**
+     * Obtenir le batch de sprites
+     * @return Batch de sprites
+     */
+    public SpriteBatch getSpriteBatch() {
+        return spriteBatch;
+    }
+    
+    /**
+     * Obtenir les statistiques de rendu de la dernière frame
+     * @return Chaîne contenant les compteurs du batch (quads, appels de dessin, textures, flushs)
+     *         et les appels de dessin des maillages statiques
+     */
+    public String getRenderStats() {
+        return spriteBatch.getStats() + String.format(", %d static mesh draw calls", lastStaticDrawCalls);
+    }
+    
     /**
      * Libérer les ressources
      */
     public void dispose() {
         GL20.glDeleteProgram(shaderProgram);
-        GL30.glDeleteVertexArrays(vao);
-        GL20.glDeleteBuffers(vbo);
-        GL20.glDeleteBuffers(ebo);
+        spriteBatch.dispose();
     }
     
     /**
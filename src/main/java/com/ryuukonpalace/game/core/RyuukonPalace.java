@@ -1,11 +1,14 @@
 package com.ryuukonpalace.game.core;
 
 import com.ryuukonpalace.game.combat.CombatSystem;
+import com.ryuukonpalace.game.core.physics.Collider;
 import com.ryuukonpalace.game.core.physics.CollisionManager;
 import com.ryuukonpalace.game.core.states.GameState;
 import com.ryuukonpalace.game.core.states.GameStateManager;
 import com.ryuukonpalace.game.core.states.MainMenuState;
 import com.ryuukonpalace.game.creatures.Creature;
+import com.ryuukonpalace.game.creatures.CreatureFactory;
+import com.ryuukonpalace.game.creatures.CreaturePool;
 import com.ryuukonpalace.game.creatures.ai.CreatureAIManager;
 import com.ryuukonpalace.game.player.Player;
 import com.ryuukonpalace.game.qte.QTESystem;
@@ -22,7 +25,13 @@ import org.lwjgl.system.MemoryStack;
 
 import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.lwjgl.glfw.Callbacks.glfwFreeCallbacks;
 import static org.lwjgl.glfw.GLFW.*;
@@ -79,13 +88,34 @@ public class RyuukonPalace {
     // Game objects
     private List<GameObject> gameObjects;
     
+    // Objets présents dans gameObjects (test d'appartenance en temps constant)
+    private Set<GameObject> registeredObjects;
+    
+    // Objet propriétaire de chaque collider enregistré
+    private Map<Collider, GameObject> colliderOwners;
+    
+    // Zones d'apparition du monde présentes dans les objets du jeu, et révision correspondante du monde
+    private Set<SpawnZone> syncedSpawnZones;
+    private int syncedSpawnZoneRevision = -1;
+    
     // World dimensions
     private float worldWidth = 2000.0f;
     private float worldHeight = 2000.0f;
     
-    // Delta time
+    // Delta time (durée d'un tick de simulation)
     private float deltaTime = 0.0f;
     private long lastFrameTime = 0;
+    
+    // Simulation thread (world update), started by loop()
+    private SimulationThread simulation;
+    
+    // Pas de temps fixe de la simulation (fréquence configurable par -Dryuukonpalace.tickRate=<Hz>)
+    private final FixedTimestep timestep = new FixedTimestep(
+        Integer.getInteger("ryuukonpalace.tickRate", FixedTimestep.DEFAULT_TICK_RATE),
+        Integer.getInteger("ryuukonpalace.maxTicksPerFrame", FixedTimestep.DEFAULT_MAX_TICKS_PER_FRAME));
+    
+    // Intervalle de mise à jour des statistiques dans le titre de la fenêtre
+    private static final long STATS_INTERVAL_NANOS = 1_000_000_000L;
 
     /**
      * Run the game
@@ -162,6 +192,9 @@ public class RyuukonPalace {
         // Initialize OpenGL
         GL.createCapabilities();
         
+        // This thread owns the OpenGL context: other threads hand their GL work over to it
+        ResourceManager.getInstance().bindGlThread();
+        
         // Initialize game systems
         initGameSystems();
         
@@ -180,6 +213,9 @@ public class RyuukonPalace {
         resourceManager = ResourceManager.getInstance();
         resourceManager.init();
         
+        // Creatures spawn on the simulation thread: create their textures here, on the GL thread
+        preloadCreatureTextures();
+        
         // Initialize input manager
         inputManager = InputManager.getInstance();
         inputManager.setWindow(window);
@@ -216,11 +252,32 @@ public class RyuukonPalace {
         
         // Initialize game objects list
         gameObjects = new ArrayList<>();
+        registeredObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        colliderOwners = new IdentityHashMap<>();
+        syncedSpawnZones = Collections.newSetFromMap(new IdentityHashMap<>());
         
         // Initialize creature AI manager (singleton, no init method needed)
         CreatureAIManager.getInstance();
     }
 
+    /**
+     * Preload the texture of every creature species
+     */
+    private void preloadCreatureTextures() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (CreatureFactory.CreatureDefinition definition : CreatureFactory.getInstance().getAllCreatureDefinitions().values()) {
+            futures.add(resourceManager.loadTextureAsync(definition.texturePath, definition.textureName, null));
+        }
+        futures.add(resourceManager.loadTextureAsync("src/main/resources/images/unknown_creature.png", "unknown_creature", null));
+        
+        try {
+            resourceManager.awaitGlResult(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])));
+        } catch (Exception e) {
+            // Missing textures are loaded again on demand
+            System.err.println("Failed to preload creature textures: " + e.getMessage());
+        }
+    }
+    
     /**
      * Initialize game states
      */
@@ -242,49 +299,82 @@ public class RyuukonPalace {
     private void initGameObjects() {
         // Create player at the center of the world
         player = new Player(worldWidth / 2, worldHeight / 2);
-        gameObjects.add(player);
+        addGameObject(player);
         
         // Set camera to follow player
         camera.follow(player);
     }
 
     /**
-     * Main game loop
+     * Main game loop (render thread).
+     * The world is simulated on its own thread; this thread only draws the latest snapshot,
+     * except during combat where the simulation is suspended and this thread drives the combat.
      */
     private void loop() {
         // Set the clear color
         glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
         
+        // Input events now flow to the simulation thread through the input queue
+        inputManager.setQueued(true);
+        simulation = new SimulationThread(new WorldSimulation(), timestep);
+        simulation.start();
+        
         // Set initial time
         lastFrameTime = System.nanoTime();
+        long lastStatsTime = lastFrameTime;
 
         // Run the rendering loop until the user has attempted to close
         // the window or has pressed the ESCAPE key.
         while (!glfwWindowShouldClose(window)) {
-            // Calculate delta time
+            if (!simulation.isRunning()) {
+                System.err.println("La simulation s'est arrêtée, fermeture du jeu");
+                break;
+            }
+            
             long currentTime = System.nanoTime();
-            deltaTime = (currentTime - lastFrameTime) / 1_000_000_000.0f;
+            double frameSeconds = (currentTime - lastFrameTime) / 1_000_000_000.0;
             lastFrameTime = currentTime;
             
-            // Cap delta time to prevent physics issues after pausing
-            if (deltaTime > 0.1f) {
-                deltaTime = 0.1f;
-            }
+            // Run the GL work requested by the simulation thread (texture uploads)
+            resourceManager.processGlTasks();
             
-            // Update input
-            inputManager.update();
+            // While suspended, the simulation thread is parked: this thread owns the game state
+            boolean inCombat = simulation.isSuspended();
+            if (inCombat) {
+                int ticks = timestep.advance(frameSeconds);
+                deltaTime = timestep.getTickDuration();
+                for (int tick = 0; tick < ticks && combatSystem.isActive(); tick++) {
+                    long tickStart = System.nanoTime();
+                    inputManager.processEvents();
+                    updateCombat();
+                    inputManager.update();
+                    timestep.recordTickTime(System.nanoTime() - tickStart);
+                }
+                
+                // Combat over: hand the game state back to the simulation thread
+                if (!combatSystem.isActive()) {
+                    simulation.resume();
+                    inCombat = false;
+                }
+            }
             
-            // Check if in combat
-            if (combatSystem.isActive()) {
-                // Update combat
-                updateCombat();
+            // Render the latest snapshot, interpolated between its last two ticks
+            long renderStart = System.nanoTime();
+            if (inCombat) {
+                render(null, 0.0f);
             } else {
-                // Update game
-                updateGame(deltaTime);
+                RenderSnapshot snapshot = simulation.acquireSnapshot();
+                render(snapshot, simulation.getAlpha(snapshot));
             }
+            timestep.recordRenderTime(System.nanoTime() - renderStart);
             
-            // Render
-            render();
+            // Show tick and render times, AI level-of-detail counts and creature pool usage in the window title
+            if (currentTime - lastStatsTime >= STATS_INTERVAL_NANOS) {
+                glfwSetWindowTitle(window, title + " - " + timestep.getStats()
+                                   + " - " + CreatureAIManager.getInstance().getLodStats()
+                                   + " - " + CreaturePool.getInstance().getStats());
+                lastStatsTime = currentTime;
+            }
             
             // Swap the color buffers
             glfwSwapBuffers(window);
@@ -292,6 +382,70 @@ public class RyuukonPalace {
             // Poll for window events
             glfwPollEvents();
         }
+        
+        // A simulation tick waiting for GL work must not block the shutdown
+        resourceManager.closeGlTasks();
+        simulation.stop();
+        inputManager.setQueued(false);
+    }
+    
+    /**
+     * World simulation run by the simulation thread
+     */
+    private class WorldSimulation implements SimulationThread.Simulation {
+        
+        @Override
+        public void tick(float tickDuration) {
+            // Apply the input events received since the previous tick
+            inputManager.processEvents();
+            
+            // Keep the previous state for interpolation
+            for (int i = 0; i < gameObjects.size(); i++) {
+                gameObjects.get(i).savePreviousPosition();
+            }
+            camera.savePreviousPosition();
+            
+            updateGame(tickDuration);
+            
+            // "Just pressed" inputs are seen by exactly one tick
+            inputManager.update();
+        }
+        
+        @Override
+        public void captureSnapshot(RenderSnapshot snapshot) {
+            // The render thread never reads the camera, only this copy
+            snapshot.setCamera(camera.getPreviousX(), camera.getPreviousY(), camera.getX(), camera.getY());
+            
+            for (int i = 0; i < gameObjects.size(); i++) {
+                GameObject obj = gameObjects.get(i);
+                // Only capture objects that are visible on screen
+                if (camera.isVisible(obj)) {
+                    obj.captureRenderState(snapshot);
+                }
+            }
+        }
+        
+        @Override
+        public boolean shouldSuspend() {
+            // Combat is driven by the render thread
+            return combatSystem.isActive();
+        }
+    }
+    
+    /**
+     * Get the simulation thread
+     * @return The simulation thread, or null before the game loop starts
+     */
+    public SimulationThread getSimulation() {
+        return simulation;
+    }
+    
+    /**
+     * Get the fixed simulation timestep (tick rate, tick and render times)
+     * @return The game loop timestep
+     */
+    public FixedTimestep getTimestep() {
+        return timestep;
     }
     
     /**
@@ -372,77 +526,167 @@ public class RyuukonPalace {
      * Check collisions between game objects
      */
     private void checkCollisions() {
-        // Ajouter le joueur au groupe "player" pour la détection de collision
-        if (player.getCollider() != null) {
-            collisionManager.addCollider(player.getCollider(), "player");
+        // Add new world spawn zones to game objects
+        syncSpawnZones();
+        
+        // Les colliders sont enregistrés à l'ajout des objets et signalés quand ils bougent :
+        // seuls les colliders déplacés sont retestés
+        Map<String, List<CollisionManager.CollisionPair>> collisions = collisionManager.updateCollisions();
+        if (player == null || player.getCollider() == null) {
+            return;
         }
         
-        // Check collisions between player and spawn zones
-        for (GameObject obj : gameObjects) {
-            if (obj != player && obj.getCollider() != null) {
-                // Ajouter l'objet au groupe approprié pour la détection de collision
-                if (obj instanceof SpawnZone) {
-                    collisionManager.addCollider(obj.getCollider(), "spawnZone");
-                } else if (obj instanceof Creature) {
-                    collisionManager.addCollider(obj.getCollider(), "creature");
+        Collider playerCollider = player.getCollider();
+        for (List<CollisionManager.CollisionPair> pairs : collisions.values()) {
+            for (CollisionManager.CollisionPair pair : pairs) {
+                Collider other;
+                if (pair.getCollider1() == playerCollider) {
+                    other = pair.getCollider2();
+                } else if (pair.getCollider2() == playerCollider) {
+                    other = pair.getCollider1();
                 } else {
-                    collisionManager.addCollider(obj.getCollider(), "obstacle");
+                    continue;
                 }
                 
-                // Vérifier la collision manuellement (pour compatibilité avec le code existant)
-                if (player.getCollider() != null && player.getCollider().collidesWith(obj.getCollider())) {
+                GameObject obj = colliderOwners.get(other);
+                if (obj != null && obj != player) {
                     player.onCollision(obj);
                     obj.onCollision(player);
                 }
             }
         }
+    }
+    
+    /**
+     * Match the game objects with the world spawn zones, compared by identity: zones removed
+     * from the world are removed from the game objects, new zones are added
+     */
+    private void syncSpawnZones() {
+        int revision = worldManager.getSpawnZoneRevision();
+        if (revision == syncedSpawnZoneRevision) {
+            return;
+        }
         
-        // Mettre à jour toutes les collisions via le gestionnaire de collisions
-        collisionManager.updateCollisions();
-        
-        // Add world spawn zones to game objects
         List<SpawnZone> spawnZones = worldManager.getSpawnZones();
+        Set<SpawnZone> worldZones = Collections.newSetFromMap(new IdentityHashMap<>());
+        worldZones.addAll(spawnZones);
+        
+        // Zones that left the world (another zone was loaded)
+        Iterator<SpawnZone> synced = syncedSpawnZones.iterator();
+        while (synced.hasNext()) {
+            SpawnZone spawnZone = synced.next();
+            if (!worldZones.contains(spawnZone)) {
+                synced.remove();
+                removeGameObject(spawnZone);
+                spawnZone.releaseVisibleCreature();
+            }
+        }
+        
         for (SpawnZone spawnZone : spawnZones) {
-            if (!gameObjects.contains(spawnZone)) {
-                gameObjects.add((GameObject) spawnZone);
+            if (syncedSpawnZones.add(spawnZone)) {
+                addGameObject(spawnZone);
             }
         }
+        syncedSpawnZoneRevision = revision;
+    }
+    
+    /**
+     * Add a game object and register its collider
+     * @param obj The object to add
+     */
+    public void addGameObject(GameObject obj) {
+        if (!registeredObjects.add(obj)) {
+            return;
+        }
+        gameObjects.add(obj);
+        
+        Collider collider = obj.getCollider();
+        if (collider != null) {
+            collisionManager.addCollider(collider, getCollisionGroup(obj));
+            colliderOwners.put(collider, obj);
+        }
+    }
+    
+    /**
+     * Remove a game object (despawn) and unregister its collider
+     * @param obj The object to remove
+     */
+    public void removeGameObject(GameObject obj) {
+        if (!registeredObjects.remove(obj)) {
+            return;
+        }
+        gameObjects.remove(obj);
+        
+        Collider collider = obj.getCollider();
+        if (collider != null) {
+            collisionManager.removeCollider(collider);
+            colliderOwners.remove(collider);
+        }
+        if (obj instanceof Creature) {
+            CreatureAIManager.getInstance().removeWildCreature((Creature) obj);
+            
+            // A despawned wild creature can be reused by a later spawn
+            CreaturePool.getInstance().release((Creature) obj);
+        }
+    }
+    
+    /**
+     * Get the collision group of a game object
+     * @param obj The object
+     * @return Collision group name
+     */
+    private String getCollisionGroup(GameObject obj) {
+        if (obj == player) {
+            return "player";
+        } else if (obj instanceof SpawnZone) {
+            return "spawnZone";
+        } else if (obj instanceof Creature) {
+            return "creature";
+        }
+        return "obstacle";
     }
     
     /**
      * Render the game
+     * @param snapshot World snapshot to draw, or null to draw the combat
+     * @param alpha Interpolation factor between the snapshot's last two ticks
      */
-    private void render() {
+    private void render(RenderSnapshot snapshot, float alpha) {
         // Clear the framebuffer
         glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
         
+        // Sprites drawn between beginRender and endRender are batched
+        renderer.beginRender();
+        
         // Check if in combat
-        if (combatSystem.isActive()) {
+        if (snapshot == null) {
             // Render combat
             renderCombat();
         } else {
             // Render game
-            renderGame();
+            renderGame(snapshot, alpha);
         }
+        
+        renderer.endRender();
     }
     
     /**
      * Render the game
+     * @param snapshot World snapshot to draw
+     * @param alpha Interpolation factor between the snapshot's last two ticks
      */
-    private void renderGame() {
-        // Render world
-        worldManager.render();
-        
-        // Render game objects
-        for (GameObject obj : gameObjects) {
-            // Only render objects that are visible on screen
-            if (camera.isVisible(obj)) {
-                obj.render();
-            }
-        }
+    private void renderGame(RenderSnapshot snapshot, float alpha) {
+        // Interpolate the view with the same alpha as the sprites
+        renderer.setViewPosition(snapshot.getCameraX(alpha), snapshot.getCameraY(alpha));
+        
+        // Render the static part of the world
+        worldManager.renderTerrain();
+        
+        // Render game objects (already culled by the simulation thread)
+        snapshot.render(renderer, alpha);
         
-        // Render game state
-        gameStateManager.render();
+        // The game state UI reads the live game state: draw it between two simulation ticks
+        simulation.runBetweenTicks(gameStateManager::render);
     }
     
     /**
@@ -469,7 +713,7 @@ public class RyuukonPalace {
             CreatureAIManager.getInstance().handleCreatureSpawn(creature, spawnZone);
             
             // Ajouter la créature à la liste des objets du jeu
-            gameObjects.add(creature);
+            addGameObject(creature);
         }
     }
 
@@ -0,0 +1,286 @@
+package com.ryuukonpalace.game.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ryuukonpalace.game.utils.ResourceManager;
+
+/**
+ * Thread dédié à la simulation du monde, séparé du thread GL qui ne fait plus que le rendu.
+ * La simulation avance par ticks fixes ({@link FixedTimestep}) ; après chaque série de ticks,
+ * l'état affichable est copié dans un {@link RenderSnapshot} puis publié au thread de rendu.
+ *
+ * Les snapshots sont échangés sans verrou par triple tampon : le thread de simulation
+ * remplit son tampon arrière puis l'échange avec le tampon du milieu, le thread de rendu
+ * échange son tampon avant avec celui du milieu quand ce dernier est plus récent.
+ * Aucun des deux threads n'attend l'autre et un snapshot n'est jamais modifié pendant sa lecture.
+ *
+ * Ce qui n'est pas copié dans le snapshot (l'interface des états de jeu) est lu par le thread
+ * de rendu entre deux ticks, via {@link #runBetweenTicks(Runnable)}.
+ *
+ * La simulation peut aussi se suspendre (par exemple pendant un combat, piloté par le thread
+ * de rendu) : après {@link Simulation#shouldSuspend()}, elle ne reprend qu'après {@link #resume()}.
+ */
+public class SimulationThread {
+
+    /**
+     * Simulation exécutée par le thread
+     */
+    public interface Simulation {
+
+        /**
+         * Exécuter un tick de simulation (thread de simulation)
+         * @param deltaTime Durée du tick en secondes
+         */
+        void tick(float deltaTime);
+
+        /**
+         * Copier l'état affichable dans un snapshot vide (thread de simulation)
+         * @param snapshot Snapshot à remplir
+         */
+        void captureSnapshot(RenderSnapshot snapshot);
+
+        /**
+         * Vérifier si la simulation doit se suspendre après le tick courant
+         * @return true pour rendre la main au thread de rendu jusqu'à resume()
+         */
+        boolean shouldSuspend();
+    }
+
+    // Intervalle entre deux exécutions des travaux OpenGL pendant l'attente du verrou
+    private static final long LOCK_POLL_MILLIS = 1;
+
+    private final Simulation simulation;
+    private final FixedTimestep timestep;
+
+    // Triple tampon de snapshots
+    private RenderSnapshot back = new RenderSnapshot();
+    private final AtomicReference<RenderSnapshot> middle = new AtomicReference<>(new RenderSnapshot());
+    private RenderSnapshot front = new RenderSnapshot();
+
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile boolean suspended = false;
+    private long tickCount = 0;
+
+    // Tenu pendant chaque tick ; équitable pour que le rendu passe entre deux ticks de rattrapage
+    private final ReentrantLock stateLock = new ReentrantLock(true);
+
+    // Erreur ayant arrêté la simulation
+    private volatile Throwable failure;
+
+    /**
+     * Constructeur
+     * @param simulation Simulation à exécuter
+     * @param timestep Pas de temps fixe
+     */
+    public SimulationThread(Simulation simulation, FixedTimestep timestep) {
+        this.simulation = simulation;
+        this.timestep = timestep;
+    }
+
+    /**
+     * Démarrer le thread de simulation
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Arrêter le thread de simulation et attendre la fin du tick en cours
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Obtenir le snapshot le plus récent (thread de rendu).
+     * Le snapshot renvoyé reste valide et inchangé jusqu'au prochain appel.
+     * @return Snapshot à dessiner
+     */
+    public RenderSnapshot acquireSnapshot() {
+        if (middle.get().getTick() > front.getTick()) {
+            front = middle.getAndSet(front);
+        }
+        return front;
+    }
+
+    /**
+     * Calculer le facteur d'interpolation d'un snapshot à l'instant présent
+     * @param snapshot Snapshot à dessiner
+     * @return Facteur entre 0 et 1
+     */
+    public float getAlpha(RenderSnapshot snapshot) {
+        double elapsed = (System.nanoTime() - snapshot.getTickTime()) / 1_000_000_000.0;
+        return (float) Math.max(0.0, Math.min(1.0, elapsed / timestep.getTickDuration()));
+    }
+
+    /**
+     * Exécuter une tâche pendant qu'aucun tick ne modifie l'état du jeu, par exemple dessiner
+     * depuis le thread de rendu une interface qui lit directement cet état.
+     * Attend au plus la fin du tick en cours ; la tâche doit rester courte.
+     * Sur le thread OpenGL, les travaux OpenGL en attente sont exécutés pendant l'attente :
+     * le tick en cours peut lui-même attendre un chargement de texture.
+     * @param task Tâche à exécuter sur le thread appelant
+     */
+    public void runBetweenTicks(Runnable task) {
+        lockState();
+        try {
+            task.run();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Prendre le verrou de l'état du jeu sans bloquer les travaux OpenGL du tick en cours
+     */
+    private void lockState() {
+        ResourceManager resourceManager = ResourceManager.getInstance();
+        if (!resourceManager.isGlThread()) {
+            stateLock.lock();
+            return;
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (stateLock.tryLock(LOCK_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            resourceManager.processGlTasks();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Vérifier si la simulation est suspendue.
+     * Pendant la suspension, le thread de rendu peut accéder à l'état du jeu.
+     * @return true si la simulation attend resume()
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Reprendre la simulation suspendue
+     */
+    public void resume() {
+        suspended = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Vérifier si le thread tourne
+     * @return true si la simulation est active
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Obtenir l'erreur ayant arrêté la simulation
+     * @return Erreur, ou null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Obtenir le pas de temps fixe
+     * @return Pas de temps de la simulation
+     */
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
+
+    /**
+     * Boucle du thread de simulation
+     */
+    private void run() {
+        try {
+            long lastTime = System.nanoTime();
+            while (running) {
+                if (suspended) {
+                    LockSupport.park(this);
+                    // Le temps passé suspendu n'est pas rattrapé
+                    lastTime = System.nanoTime();
+                    continue;
+                }
+
+                long currentTime = System.nanoTime();
+                int ticks = timestep.advance((currentTime - lastTime) / 1_000_000_000.0);
+                lastTime = currentTime;
+
+                boolean suspend = false;
+                for (int i = 0; i < ticks && running; i++) {
+                    long tickStart = System.nanoTime();
+                    stateLock.lock();
+                    try {
+                        simulation.tick(timestep.getTickDuration());
+                    } finally {
+                        stateLock.unlock();
+                    }
+                    tickCount++;
+                    timestep.recordTickTime(System.nanoTime() - tickStart);
+
+                    if (simulation.shouldSuspend()) {
+                        suspend = true;
+                        break;
+                    }
+                }
+
+                if (ticks > 0) {
+                    publish();
+                }
+
+                if (suspend) {
+                    suspended = true;
+                } else {
+                    // Dormir jusqu'au prochain tick
+                    long wait = (long) ((1.0f - timestep.getAlpha()) * timestep.getTickDuration() * 1_000_000_000L);
+                    LockSupport.parkNanos(this, Math.max(wait, 100_000L));
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+            running = false;
+            System.err.println("Erreur dans le thread de simulation: " + t.getMessage());
+            t.printStackTrace();
+        }
+    }
+
+    /**
+     * Remplir le tampon arrière et le publier
+     */
+    private void publish() {
+        back.clear();
+        simulation.captureSnapshot(back);
+        back.setTick(tickCount, System.nanoTime());
+        back = middle.getAndSet(back);
+    }
+}
@@ -0,0 +1,373 @@
+package com.ryuukonpalace.game.core;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * Regroupe les quads texturés d'une frame dans un vertex buffer de streaming
+ * afin de les envoyer au GPU en un minimum d'appels de dessin.
+ * Le buffer est "orphelin" à chaque flush (glBufferData avec null) pour éviter
+ * d'attendre que le GPU ait fini de lire les données de la frame précédente.
+ */
+public class SpriteBatch {
+
+    /**
+     * Mode de tri des quads au moment du flush
+     */
+    public enum SortMode {
+        DEFERRED,  // Ordre de soumission conservé, un appel de dessin par changement de texture
+        TEXTURE    // Tri stable par texture (pour les couches sans chevauchement, ex: terrain)
+    }
+
+    // Format d'un sommet : x, y, u, v, r, g, b, a
+    private static final int FLOATS_PER_VERTEX = 8;
+    private static final int FLOATS_PER_QUAD = FLOATS_PER_VERTEX * 4;
+    private static final int INDICES_PER_QUAD = 6;
+
+    // Nombre maximum de quads avant un flush automatique
+    public static final int DEFAULT_MAX_QUADS = 4096;
+
+    private final int maxQuads;
+
+    // Données des quads en attente (côté CPU)
+    private final float[] quadData;
+    private final int[] quadTextures;
+    private int quadCount = 0;
+
+    // Clés de tri réutilisées (texture << 32 | index) pour éviter toute allocation
+    private final long[] sortKeys;
+
+    // Buffers OpenGL
+    private int vao = 0;
+    private int vbo = 0;
+    private int ebo = 0;
+    private FloatBuffer vertexBuffer;
+
+    // État du batch
+    private boolean drawing = false;
+    private SortMode sortMode = SortMode.DEFERRED;
+    private int boundTexture = -1;
+
+    // Compteurs de la frame en cours
+    private int frameQuads = 0;
+    private int frameDrawCalls = 0;
+    private int frameTextureBinds = 0;
+    private int frameFlushes = 0;
+
+    // Compteurs de la dernière frame terminée
+    private int lastQuads = 0;
+    private int lastDrawCalls = 0;
+    private int lastTextureBinds = 0;
+    private int lastFlushes = 0;
+
+    /**
+     * Constructeur
+     */
+    public SpriteBatch() {
+        this(DEFAULT_MAX_QUADS);
+    }
+
+    /**
+     * Constructeur
+     * @param maxQuads Nombre maximum de quads avant un flush automatique
+     */
+    public SpriteBatch(int maxQuads) {
+        this.maxQuads = maxQuads;
+        this.quadData = new float[maxQuads * FLOATS_PER_QUAD];
+        this.quadTextures = new int[maxQuads];
+        this.sortKeys = new long[maxQuads];
+    }
+
+    /**
+     * Créer les buffers OpenGL du batch (nécessite un contexte OpenGL actif)
+     */
+    public void initBuffers() {
+        vertexBuffer = BufferUtils.createFloatBuffer(maxQuads * FLOATS_PER_QUAD);
+
+        vao = GL30.glGenVertexArrays();
+        GL30.glBindVertexArray(vao);
+
+        // Vertex buffer de streaming, réalloué à chaque flush
+        vbo = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) maxQuads * FLOATS_PER_QUAD * Float.BYTES, GL15.GL_STREAM_DRAW);
+
+        // Index buffer statique : deux triangles par quad
+        IntBuffer indices = BufferUtils.createIntBuffer(maxQuads * INDICES_PER_QUAD);
+        for (int i = 0; i < maxQuads; i++) {
+            int base = i * 4;
+            indices.put(base).put(base + 1).put(base + 2);
+            indices.put(base + 2).put(base + 3).put(base);
+        }
+        indices.flip();
+        ebo = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, ebo);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+
+        // Attributs : position (0), coordonnées de texture (1), couleur (2)
+        int stride = FLOATS_PER_VERTEX * Float.BYTES;
+        GL20.glVertexAttribPointer(0, 2, GL11.GL_FLOAT, false, stride, 0);
+        GL20.glEnableVertexAttribArray(0);
+        GL20.glVertexAttribPointer(1, 2, GL11.GL_FLOAT, false, stride, 2 * Float.BYTES);
+        GL20.glEnableVertexAttribArray(1);
+        GL20.glVertexAttribPointer(2, 4, GL11.GL_FLOAT, false, stride, 4 * Float.BYTES);
+        GL20.glEnableVertexAttribArray(2);
+
+        GL30.glBindVertexArray(0);
+    }
+
+    /**
+     * Vérifier si les buffers OpenGL ont été créés
+     * @return true si le batch peut envoyer ses données au GPU
+     */
+    public boolean isGpuReady() {
+        return vbo != 0;
+    }
+
+    /**
+     * Commencer une frame
+     */
+    public void begin() {
+        drawing = true;
+        quadCount = 0;
+        boundTexture = -1;
+        frameQuads = 0;
+        frameDrawCalls = 0;
+        frameTextureBinds = 0;
+        frameFlushes = 0;
+    }
+
+    /**
+     * Terminer la frame et envoyer les quads restants
+     */
+    public void end() {
+        flush();
+        drawing = false;
+
+        lastQuads = frameQuads;
+        lastDrawCalls = frameDrawCalls;
+        lastTextureBinds = frameTextureBinds;
+        lastFlushes = frameFlushes;
+    }
+
+    /**
+     * Vérifier si une frame est en cours
+     * @return true entre begin() et end()
+     */
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    /**
+     * Définir le mode de tri. Les quads déjà en attente sont envoyés avec l'ancien mode.
+     * @param mode Nouveau mode de tri
+     */
+    public void setSortMode(SortMode mode) {
+        if (mode != sortMode) {
+            flush();
+            sortMode = mode;
+        }
+    }
+
+    /**
+     * Obtenir le mode de tri actuel
+     * @return Mode de tri
+     */
+    public SortMode getSortMode() {
+        return sortMode;
+    }
+
+    /**
+     * Ajouter un quad texturé au batch
+     * @param textureId ID de la texture
+     * @param x Position X
+     * @param y Position Y
+     * @param width Largeur
+     * @param height Hauteur
+     * @param u0 Coordonnée de texture U gauche
+     * @param v0 Coordonnée de texture V haute
+     * @param u1 Coordonnée de texture U droite
+     * @param v1 Coordonnée de texture V basse
+     * @param r Composante rouge (0-1)
+     * @param g Composante verte (0-1)
+     * @param b Composante bleue (0-1)
+     * @param a Transparence (0-1)
+     */
+    public void add(int textureId, float x, float y, float width, float height,
+                    float u0, float v0, float u1, float v1,
+                    float r, float g, float b, float a) {
+        if (quadCount == maxQuads) {
+            flush();
+        }
+
+        int i = quadCount * FLOATS_PER_QUAD;
+        float x1 = x + width;
+        float y1 = y + height;
+
+        i = putVertex(i, x, y, u0, v0, r, g, b, a);
+        i = putVertex(i, x1, y, u1, v0, r, g, b, a);
+        i = putVertex(i, x1, y1, u1, v1, r, g, b, a);
+        putVertex(i, x, y1, u0, v1, r, g, b, a);
+
+        quadTextures[quadCount] = textureId;
+        quadCount++;
+        frameQuads++;
+    }
+
+    /**
+     * Écrire un sommet dans les données du batch
+     * @return Index suivant dans le tableau de données
+     */
+    private int putVertex(int i, float x, float y, float u, float v, float r, float g, float b, float a) {
+        quadData[i] = x;
+        quadData[i + 1] = y;
+        quadData[i + 2] = u;
+        quadData[i + 3] = v;
+        quadData[i + 4] = r;
+        quadData[i + 5] = g;
+        quadData[i + 6] = b;
+        quadData[i + 7] = a;
+        return i + FLOATS_PER_VERTEX;
+    }
+
+    /**
+     * Envoyer les quads en attente au GPU, avec un appel de dessin par plage de même texture
+     */
+    public void flush() {
+        if (quadCount == 0) {
+            return;
+        }
+
+        // Construire l'ordre d'envoi
+        for (int i = 0; i < quadCount; i++) {
+            long texture = sortMode == SortMode.TEXTURE ? (quadTextures[i] & 0xFFFFFFFFL) : 0L;
+            sortKeys[i] = (texture << 32) | i;
+        }
+        if (sortMode == SortMode.TEXTURE) {
+            // L'index dans les bits de poids faible rend le tri stable
+            Arrays.sort(sortKeys, 0, quadCount);
+        }
+
+        boolean gpu = isGpuReady();
+        if (gpu) {
+            vertexBuffer.clear();
+            for (int i = 0; i < quadCount; i++) {
+                int quad = (int) sortKeys[i];
+                vertexBuffer.put(quadData, quad * FLOATS_PER_QUAD, FLOATS_PER_QUAD);
+            }
+            vertexBuffer.flip();
+
+            GL30.glBindVertexArray(vao);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+            // Orphelinage du buffer puis envoi des données de la frame
+            GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) maxQuads * FLOATS_PER_QUAD * Float.BYTES, GL15.GL_STREAM_DRAW);
+            GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, vertexBuffer);
+        }
+
+        // Un appel de dessin par plage contiguë de même texture
+        int runStart = 0;
+        while (runStart < quadCount) {
+            int texture = quadTextures[(int) sortKeys[runStart]];
+            int runEnd = runStart + 1;
+            while (runEnd < quadCount && quadTextures[(int) sortKeys[runEnd]] == texture) {
+                runEnd++;
+            }
+
+            if (texture != boundTexture) {
+                if (gpu) {
+                    GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+                }
+                boundTexture = texture;
+                frameTextureBinds++;
+            }
+
+            if (gpu) {
+                GL11.glDrawElements(GL11.GL_TRIANGLES, (runEnd - runStart) * INDICES_PER_QUAD, GL11.GL_UNSIGNED_INT,
+                                    (long) runStart * INDICES_PER_QUAD * Integer.BYTES);
+            }
+            frameDrawCalls++;
+            runStart = runEnd;
+        }
+
+        quadCount = 0;
+        frameFlushes++;
+    }
+
+    /**
+     * Oublier la texture liée, après un dessin effectué en dehors du batch
+     */
+    public void invalidateTextureBinding() {
+        boundTexture = -1;
+    }
+
+    /**
+     * Obtenir le nombre de quads en attente
+     * @return Nombre de quads non encore envoyés
+     */
+    public int getPendingQuads() {
+        return quadCount;
+    }
+
+    /**
+     * Obtenir le nombre de quads dessinés pendant la dernière frame
+     * @return Nombre de quads
+     */
+    public int getQuadCount() {
+        return lastQuads;
+    }
+
+    /**
+     * Obtenir le nombre d'appels de dessin de la dernière frame
+     * @return Nombre d'appels de dessin
+     */
+    public int getDrawCallCount() {
+        return lastDrawCalls;
+    }
+
+    /**
+     * Obtenir le nombre de changements de texture de la dernière frame
+     * @return Nombre de liaisons de texture
+     */
+    public int getTextureBindCount() {
+        return lastTextureBinds;
+    }
+
+    /**
+     * Obtenir le nombre de flushs de la dernière frame
+     * @return Nombre de flushs
+     */
+    public int getFlushCount() {
+        return lastFlushes;
+    }
+
+    /**
+     * Obtenir les statistiques de la dernière frame
+     * @return Chaîne contenant les statistiques du batch
+     */
+    public String getStats() {
+        return String.format("Batch: %d quads, %d draw calls, %d texture binds, %d flushes",
+                             lastQuads, lastDrawCalls, lastTextureBinds, lastFlushes);
+    }
+
+    /**
+     * Libérer les ressources OpenGL
+     */
+    public void dispose() {
+        if (isGpuReady()) {
+            GL15.glDeleteBuffers(vbo);
+            GL15.glDeleteBuffers(ebo);
+            GL30.glDeleteVertexArrays(vao);
+        }
+        vao = 0;
+        vbo = 0;
+        ebo = 0;
+        vertexBuffer = null;
+    }
+}
@@ -0,0 +1,248 @@
+package com.ryuukonpalace.game.core;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * Ensemble de quads texturés envoyé une seule fois au GPU (GL_STATIC_DRAW)
+ * et redessiné tel quel à chaque frame, tant que son contenu ne change pas.
+ * Les quads sont dessinés dans l'ordre d'ajout, avec un appel de dessin par plage de même texture.
+ * Utilise les mêmes attributs que {@link SpriteBatch}, mais la couleur n'est pas stockée dans les
+ * sommets : elle est fournie à chaque dessin (teinte et luminosité globales), si bien qu'un
+ * changement de teinte ne demande pas de reconstruire le maillage.
+ */
+public class StaticMesh {
+
+    // Format d'un sommet : x, y, u, v (la couleur est un attribut constant, voir draw())
+    private static final int FLOATS_PER_VERTEX = 4;
+    private static final int COLOR_ATTRIBUTE = 2;
+    private static final int FLOATS_PER_QUAD = FLOATS_PER_VERTEX * 4;
+    private static final int INDICES_PER_QUAD = 6;
+
+    // Données en cours de construction (côté CPU)
+    private float[] quadData;
+    private int[] quadTextures;
+    private int quadCount = 0;
+
+    // Plages de même texture : {texture, premier quad, nombre de quads}
+    private int[] runs = new int[3 * 4];
+    private int runCount = 0;
+
+    // Limites du maillage (pour le test de visibilité)
+    private float minX, minY, maxX, maxY;
+
+    // Buffers OpenGL
+    private int vao = 0;
+    private int vbo = 0;
+    private int ebo = 0;
+    private boolean uploaded = false;
+
+    /**
+     * Constructeur
+     * @param expectedQuads Nombre de quads attendu (capacité initiale)
+     */
+    public StaticMesh(int expectedQuads) {
+        int capacity = Math.max(1, expectedQuads);
+        quadData = new float[capacity * FLOATS_PER_QUAD];
+        quadTextures = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Vider le maillage avant une reconstruction
+     */
+    public void clear() {
+        quadCount = 0;
+        runCount = 0;
+        uploaded = false;
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        maxX = -Float.MAX_VALUE;
+        maxY = -Float.MAX_VALUE;
+    }
+
+    /**
+     * Ajouter un quad texturé
+     * @param textureId ID de la texture
+     * @param x Position X
+     * @param y Position Y
+     * @param width Largeur
+     * @param height Hauteur
+     * @param u0 Coordonnée de texture U gauche
+     * @param v0 Coordonnée de texture V haute
+     * @param u1 Coordonnée de texture U droite
+     * @param v1 Coordonnée de texture V basse
+     */
+    public void addQuad(int textureId, float x, float y, float width, float height,
+                        float u0, float v0, float u1, float v1) {
+        if (quadCount == quadTextures.length) {
+            quadData = Arrays.copyOf(quadData, quadData.length * 2);
+            quadTextures = Arrays.copyOf(quadTextures, quadTextures.length * 2);
+        }
+
+        float x1 = x + width;
+        float y1 = y + height;
+        int i = quadCount * FLOATS_PER_QUAD;
+        i = putVertex(i, x, y, u0, v0);
+        i = putVertex(i, x1, y, u1, v0);
+        i = putVertex(i, x1, y1, u1, v1);
+        putVertex(i, x, y1, u0, v1);
+
+        // Prolonger la plage courante ou en commencer une nouvelle
+        if (runCount > 0 && runs[(runCount - 1) * 3] == textureId) {
+            runs[(runCount - 1) * 3 + 2]++;
+        } else {
+            if ((runCount + 1) * 3 > runs.length) {
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[runCount * 3] = textureId;
+            runs[runCount * 3 + 1] = quadCount;
+            runs[runCount * 3 + 2] = 1;
+            runCount++;
+        }
+
+        quadTextures[quadCount] = textureId;
+        quadCount++;
+        uploaded = false;
+
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x1);
+        maxY = Math.max(maxY, y1);
+    }
+
+    private int putVertex(int i, float x, float y, float u, float v) {
+        quadData[i] = x;
+        quadData[i + 1] = y;
+        quadData[i + 2] = u;
+        quadData[i + 3] = v;
+        return i + FLOATS_PER_VERTEX;
+    }
+
+    /**
+     * Envoyer le maillage au GPU (nécessite un contexte OpenGL actif)
+     */
+    public void upload() {
+        if (uploaded || quadCount == 0) {
+            return;
+        }
+
+        if (vao == 0) {
+            vao = GL30.glGenVertexArrays();
+            vbo = GL15.glGenBuffers();
+            ebo = GL15.glGenBuffers();
+        }
+
+        FloatBuffer vertices = BufferUtils.createFloatBuffer(quadCount * FLOATS_PER_QUAD);
+        vertices.put(quadData, 0, quadCount * FLOATS_PER_QUAD).flip();
+
+        IntBuffer indices = BufferUtils.createIntBuffer(quadCount * INDICES_PER_QUAD);
+        for (int q = 0; q < quadCount; q++) {
+            int base = q * 4;
+            indices.put(base).put(base + 1).put(base + 2);
+            indices.put(base + 2).put(base + 3).put(base);
+        }
+        indices.flip();
+
+        GL30.glBindVertexArray(vao);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, vertices, GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, ebo);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+
+        int stride = FLOATS_PER_VERTEX * Float.BYTES;
+        GL20.glVertexAttribPointer(0, 2, GL11.GL_FLOAT, false, stride, 0);
+        GL20.glEnableVertexAttribArray(0);
+        GL20.glVertexAttribPointer(1, 2, GL11.GL_FLOAT, false, stride, 2 * Float.BYTES);
+        GL20.glEnableVertexAttribArray(1);
+        // Pas de tableau pour la couleur : la valeur constante de l'attribut est utilisée
+        GL20.glDisableVertexAttribArray(COLOR_ATTRIBUTE);
+        GL30.glBindVertexArray(0);
+
+        uploaded = true;
+    }
+
+    /**
+     * Dessiner le maillage (l'envoie au GPU si nécessaire)
+     * @param r Composante rouge appliquée à tous les quads (0-1)
+     * @param g Composante verte (0-1)
+     * @param b Composante bleue (0-1)
+     * @param a Transparence (0-1)
+     * @return Nombre d'appels de dessin effectués
+     */
+    public int draw(float r, float g, float b, float a) {
+        if (quadCount == 0) {
+            return 0;
+        }
+        upload();
+
+        GL20.glVertexAttrib4f(COLOR_ATTRIBUTE, r, g, b, a);
+        GL30.glBindVertexArray(vao);
+        for (int run = 0; run < runCount; run++) {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, runs[run * 3]);
+            GL11.glDrawElements(GL11.GL_TRIANGLES, runs[run * 3 + 2] * INDICES_PER_QUAD, GL11.GL_UNSIGNED_INT,
+                                (long) runs[run * 3 + 1] * INDICES_PER_QUAD * Integer.BYTES);
+        }
+        GL30.glBindVertexArray(0);
+
+        return runCount;
+    }
+
+    /**
+     * Vérifier si le maillage intersecte un rectangle
+     * @param x Position X du rectangle
+     * @param y Position Y du rectangle
+     * @param width Largeur du rectangle
+     * @param height Hauteur du rectangle
+     * @return true si le maillage est au moins partiellement dans le rectangle
+     */
+    public boolean intersects(float x, float y, float width, float height) {
+        return quadCount > 0 && maxX > x && minX < x + width && maxY > y && minY < y + height;
+    }
+
+    /**
+     * Obtenir le nombre de quads
+     * @return Nombre de quads du maillage
+     */
+    public int getQuadCount() {
+        return quadCount;
+    }
+
+    /**
+     * Obtenir le nombre de plages de même texture (appels de dessin par frame)
+     * @return Nombre de plages
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Vérifier si le maillage est vide
+     * @return true si le maillage ne contient aucun quad
+     */
+    public boolean isEmpty() {
+        return quadCount == 0;
+    }
+
+    /**
+     * Libérer les ressources OpenGL
+     */
+    public void dispose() {
+        if (vao != 0) {
+            GL15.glDeleteBuffers(vbo);
+            GL15.glDeleteBuffers(ebo);
+            GL30.glDeleteVertexArrays(vao);
+            vao = 0;
+            vbo = 0;
+            ebo = 0;
+        }
+        uploaded = false;
+    }
+}
@@ -69,6 +69,26 @@ public class CircleCollider implements Collider {
         return y;
     }
     
+    @Override
+    public float getMinX() {
+        return x - radius;
+    }
+    
+    @Override
+    public float getMinY() {
+        return y - radius;
+    }
+    
+    @Override
+    public float getMaxX() {
+        return x + radius;
+    }
+    
+    @Override
+    public float getMaxY() {
+        return y + radius;
+    }
+    
     /**
      * Obtenir le rayon du cercle
      * @return Rayon
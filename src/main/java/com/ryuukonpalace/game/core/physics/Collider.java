@@ -45,6 +45,30 @@ public interface Collider {
      */
     float getY();
     
+    /**
+     * Obtenir le bord gauche de la boîte englobante alignée sur les axes
+     * @return X minimal
+     */
+    float getMinX();
+    
+    /**
+     * Obtenir le bord haut de la boîte englobante alignée sur les axes
+     * @return Y minimal
+     */
+    float getMinY();
+    
+    /**
+     * Obtenir le bord droit de la boîte englobante alignée sur les axes
+     * @return X maximal
+     */
+    float getMaxX();
+    
+    /**
+     * Obtenir le bord bas de la boîte englobante alignée sur les axes
+     * @return Y maximal
+     */
+    float getMaxY();
+    
     /**
      * Types de colliders disponibles
      */
@@ -1,31 +1,72 @@
 package com.ryuukonpalace.game.core.physics;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Gestionnaire de collision pour le jeu.
  * Gère l'enregistrement des colliders et la détection des collisions entre eux.
+ *
+ * Les colliders sont enregistrés une seule fois (à l'apparition de leur objet) et retirés
+ * à sa disparition. Un collider déplacé doit être signalé avec {@link #markDirty(Collider)} :
+ * seuls les colliders signalés sont retestés par {@link #updateCollisions()}, les contacts
+ * des autres étant conservés d'une frame à l'autre.
  */
 public class CollisionManager {
     
     // Singleton instance
     private static CollisionManager instance;
     
-    // Liste des colliders par groupe
-    private final Map<String, List<Collider>> colliderGroups;
+    // Colliders de chaque groupe, rangés dans une grille spatiale (phase large)
+    private final Map<String, SpatialHashGrid> colliderGroups;
     
     // Matrice de collision entre groupes
     private final Map<String, List<String>> collisionMatrix;
     
+    // Sens des paires de groupes dans les résultats ("groupe1\0groupe2", dans l'ordre de setCollision)
+    private final Set<String> orientedPairs;
+    
+    // Groupes de chaque collider enregistré
+    private final Map<Collider, List<String>> memberships;
+    
+    // Colliders à retester à la prochaine mise à jour
+    private final Set<Collider> dirtyColliders;
+    
+    // Vrai si tous les colliders doivent être retestés (matrice de collision modifiée)
+    private boolean allDirty = false;
+    
+    // Contacts en cours, et contacts de chaque collider
+    private final Set<CollisionPair> contacts;
+    private final Map<Collider, List<CollisionPair>> contactsByCollider;
+    
+    // Taille des cellules des grilles de groupe
+    private float cellSize = SpatialHashGrid.DEFAULT_CELL_SIZE;
+    
+    // Liste réutilisée pour les candidats de la phase large
+    private final List<Collider> candidates = new ArrayList<>();
+    
+    // Statistiques de la dernière mise à jour
+    private int lastRetestedCount = 0;
+    
     /**
      * Constructeur privé pour le singleton
      */
     private CollisionManager() {
         colliderGroups = new HashMap<>();
         collisionMatrix = new HashMap<>();
+        orientedPairs = new HashSet<>();
+        memberships = new IdentityHashMap<>();
+        dirtyColliders = Collections.newSetFromMap(new IdentityHashMap<>());
+        contacts = new LinkedHashSet<>();
+        contactsByCollider = new IdentityHashMap<>();
     }
     
     /**
@@ -40,15 +81,35 @@ public class CollisionManager {
     }
     
     /**
-     * Ajouter un collider à un groupe
+     * Définir la taille des cellules de la phase large.
+     * S'applique aux groupes créés ensuite ; une taille proche de celle des colliders est idéale.
+     * @param cellSize Côté d'une cellule en pixels
+     */
+    public void setCellSize(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Taille de cellule invalide: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+    
+    /**
+     * Enregistrer un collider dans un groupe.
+     * Sans effet si le collider est déjà enregistré dans ce groupe.
      * @param collider Le collider à ajouter
      * @param groupName Le nom du groupe
      */
     public void addCollider(Collider collider, String groupName) {
         if (!colliderGroups.containsKey(groupName)) {
-            colliderGroups.put(groupName, new ArrayList<>());
+            colliderGroups.put(groupName, new SpatialHashGrid(cellSize));
         }
-        colliderGroups.get(groupName).add(collider);
+        SpatialHashGrid grid = colliderGroups.get(groupName);
+        if (grid.contains(collider)) {
+            return;
+        }
+        grid.add(collider);
+        
+        memberships.computeIfAbsent(collider, c -> new ArrayList<>(1)).add(groupName);
+        dirtyColliders.add(collider);
     }
     
     /**
@@ -58,10 +119,119 @@ public class CollisionManager {
      * @return true si le collider a été supprimé, false sinon
      */
     public boolean removeCollider(Collider collider, String groupName) {
-        if (colliderGroups.containsKey(groupName)) {
-            return colliderGroups.get(groupName).remove(collider);
+        SpatialHashGrid grid = colliderGroups.get(groupName);
+        if (grid == null || !grid.remove(collider)) {
+            return false;
         }
-        return false;
+        
+        // Oublier ses contacts ; s'il reste dans d'autres groupes, il sera retesté
+        removeContacts(collider);
+        List<String> groups = memberships.get(collider);
+        groups.remove(groupName);
+        if (groups.isEmpty()) {
+            memberships.remove(collider);
+            dirtyColliders.remove(collider);
+        } else {
+            dirtyColliders.add(collider);
+        }
+        return true;
+    }
+    
+    /**
+     * Retirer un collider de tous ses groupes
+     * @param collider Le collider à supprimer
+     * @return true si le collider était enregistré, false sinon
+     */
+    public boolean removeCollider(Collider collider) {
+        List<String> groups = memberships.get(collider);
+        if (groups == null) {
+            return false;
+        }
+        for (String groupName : new ArrayList<>(groups)) {
+            removeCollider(collider, groupName);
+        }
+        return true;
+    }
+    
+    /**
+     * Remplacer un collider enregistré par un autre dans tous ses groupes
+     * @param oldCollider Le collider à remplacer
+     * @param newCollider Le nouveau collider
+     */
+    public void replaceCollider(Collider oldCollider, Collider newCollider) {
+        if (oldCollider == newCollider) {
+            return;
+        }
+        List<String> groups = memberships.get(oldCollider);
+        if (groups == null) {
+            return;
+        }
+        for (String groupName : new ArrayList<>(groups)) {
+            removeCollider(oldCollider, groupName);
+            addCollider(newCollider, groupName);
+        }
+    }
+    
+    /**
+     * Vérifier si un collider est enregistré
+     * @param collider Le collider
+     * @return true s'il appartient à au moins un groupe
+     */
+    public boolean isRegistered(Collider collider) {
+        return memberships.containsKey(collider);
+    }
+    
+    /**
+     * Signaler qu'un collider a bougé ou changé de taille.
+     * Sa place dans la phase large est mise à jour immédiatement et ses collisions
+     * seront retestées à la prochaine mise à jour. Sans effet s'il n'est pas enregistré.
+     * @param collider Le collider modifié
+     */
+    public void markDirty(Collider collider) {
+        List<String> groups = memberships.get(collider);
+        if (groups == null) {
+            return;
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            colliderGroups.get(groups.get(i)).update(collider);
+        }
+        dirtyColliders.add(collider);
+    }
+    
+    /**
+     * Faire retester tous les colliders à la prochaine mise à jour
+     * (par exemple après avoir déplacé des colliders sans les signaler)
+     */
+    public void markAllDirty() {
+        for (SpatialHashGrid grid : colliderGroups.values()) {
+            grid.refresh();
+        }
+        allDirty = true;
+    }
+    
+    /**
+     * Obtenir les colliders d'un groupe
+     * @param groupName Le nom du groupe
+     * @return Nouvelle liste des colliders du groupe (vide si le groupe n'existe pas)
+     */
+    public List<Collider> getColliders(String groupName) {
+        SpatialHashGrid grid = colliderGroups.get(groupName);
+        return grid != null ? grid.getColliders() : new ArrayList<>();
+    }
+    
+    /**
+     * Retirer tous les colliders et toutes les relations de collision
+     */
+    public void clear() {
+        colliderGroups.clear();
+        collisionMatrix.clear();
+        orientedPairs.clear();
+        memberships.clear();
+        dirtyColliders.clear();
+        contacts.clear();
+        contactsByCollider.clear();
+        allDirty = false;
+        lastRetestedCount = 0;
     }
     
     /**
@@ -84,6 +254,11 @@ public class CollisionManager {
         if (!collisionMatrix.get(group2).contains(group1)) {
             collisionMatrix.get(group2).add(group1);
         }
+        
+        if (!orientedPairs.contains(pairKey(group2, group1))) {
+            orientedPairs.add(pairKey(group1, group2));
+        }
+        allDirty = true;
     }
     
     /**
@@ -98,6 +273,9 @@ public class CollisionManager {
         if (collisionMatrix.containsKey(group2)) {
             collisionMatrix.get(group2).remove(group1);
         }
+        orientedPairs.remove(pairKey(group1, group2));
+        orientedPairs.remove(pairKey(group2, group1));
+        allDirty = true;
     }
     
     /**
@@ -111,13 +289,17 @@ public class CollisionManager {
             return false;
         }
         
-        List<Collider> groupColliders = colliderGroups.get(groupName);
-        for (Collider other : groupColliders) {
+        candidates.clear();
+        colliderGroups.get(groupName).query(collider, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Collider other = candidates.get(i);
             if (collider != other && collider.collidesWith(other)) {
+                candidates.clear();
                 return true;
             }
         }
         
+        candidates.clear();
         return false;
     }
     
@@ -134,64 +316,123 @@ public class CollisionManager {
             return result;
         }
         
-        List<Collider> groupColliders = colliderGroups.get(groupName);
-        for (Collider other : groupColliders) {
-            if (collider != other && collider.collidesWith(other)) {
-                result.add(other);
-            }
-        }
+        colliderGroups.get(groupName).query(collider, result);
+        result.removeIf(other -> collider == other || !collider.collidesWith(other));
         
         return result;
     }
     
     /**
      * Mettre à jour toutes les collisions dans le jeu
-     * Cette méthode doit être appelée à chaque frame
-     * @return Map des collisions détectées (clé: nom du groupe, valeur: liste des paires de colliders en collision)
+     * Cette méthode doit être appelée à chaque frame. Seuls les colliders ajoutés ou signalés
+     * depuis la dernière mise à jour sont retestés ; les autres contacts sont conservés.
+     * @return Map des collisions en cours (clé: nom du groupe, valeur: liste des paires de colliders en collision)
      */
     public Map<String, List<CollisionPair>> updateCollisions() {
-        Map<String, List<CollisionPair>> collisions = new HashMap<>();
-        
-        // Pour chaque groupe dans la matrice de collision
-        for (String group1 : collisionMatrix.keySet()) {
-            if (!colliderGroups.containsKey(group1)) {
-                continue;
+        Set<Collider> toRetest = dirtyColliders;
+        if (allDirty) {
+            contacts.clear();
+            contactsByCollider.clear();
+            toRetest = memberships.keySet();
+        } else {
+            for (Collider collider : dirtyColliders) {
+                removeContacts(collider);
             }
-            
-            List<String> collidableGroups = collisionMatrix.get(group1);
-            List<Collider> group1Colliders = colliderGroups.get(group1);
-            
-            for (String group2 : collidableGroups) {
-                if (!colliderGroups.containsKey(group2)) {
-                    continue;
-                }
-                
-                // Éviter de vérifier les mêmes paires deux fois
-                if (group1.equals(group2) || (collisions.containsKey(group2) && collisions.get(group2).stream()
-                        .anyMatch(pair -> pair.getGroup1().equals(group2) && pair.getGroup2().equals(group1)))) {
+        }
+        lastRetestedCount = toRetest.size();
+        
+        for (Collider collider : toRetest) {
+            List<String> groups = memberships.get(collider);
+            for (int g = 0; g < groups.size(); g++) {
+                String group = groups.get(g);
+                List<String> collidableGroups = collisionMatrix.get(group);
+                if (collidableGroups == null) {
                     continue;
                 }
                 
-                List<Collider> group2Colliders = colliderGroups.get(group2);
-                
-                // Vérifier les collisions entre les deux groupes
-                for (Collider collider1 : group1Colliders) {
-                    for (Collider collider2 : group2Colliders) {
-                        if (collider1.collidesWith(collider2)) {
-                            // Ajouter la collision à la liste
-                            if (!collisions.containsKey(group1)) {
-                                collisions.put(group1, new ArrayList<>());
+                for (String otherGroup : collidableGroups) {
+                    SpatialHashGrid otherColliders = colliderGroups.get(otherGroup);
+                    if (otherColliders == null || group.equals(otherGroup)) {
+                        continue;
+                    }
+                    
+                    // La grille de l'autre groupe fournit les candidats proches,
+                    // testés ensuite avec collidesWith dans le sens de la paire de groupes
+                    boolean forward = orientedPairs.contains(pairKey(group, otherGroup));
+                    candidates.clear();
+                    otherColliders.query(collider, candidates);
+                    for (int i = 0; i < candidates.size(); i++) {
+                        Collider other = candidates.get(i);
+                        if (forward) {
+                            if (collider.collidesWith(other)) {
+                                addContact(new CollisionPair(group, otherGroup, collider, other));
                             }
-                            collisions.get(group1).add(new CollisionPair(group1, group2, collider1, collider2));
+                        } else if (other.collidesWith(collider)) {
+                            addContact(new CollisionPair(otherGroup, group, other, collider));
                         }
                     }
                 }
             }
         }
+        candidates.clear();
+        dirtyColliders.clear();
+        allDirty = false;
         
+        Map<String, List<CollisionPair>> collisions = new HashMap<>();
+        for (CollisionPair pair : contacts) {
+            collisions.computeIfAbsent(pair.getGroup1(), k -> new ArrayList<>()).add(pair);
+        }
         return collisions;
     }
     
+    /**
+     * Obtenir des statistiques sur les collisions
+     * @return Statistiques sous forme de chaîne
+     */
+    public String getStats() {
+        return String.format("Colliders: %d, Contacts: %d, Retestés: %d",
+                             memberships.size(), contacts.size(), lastRetestedCount);
+    }
+    
+    /**
+     * Enregistrer un contact s'il n'est pas déjà connu (les deux colliders peuvent
+     * avoir été retestés dans la même mise à jour)
+     */
+    private void addContact(CollisionPair pair) {
+        if (!contacts.add(pair)) {
+            return;
+        }
+        contactsByCollider.computeIfAbsent(pair.getCollider1(), c -> new ArrayList<>()).add(pair);
+        if (pair.getCollider2() != pair.getCollider1()) {
+            contactsByCollider.computeIfAbsent(pair.getCollider2(), c -> new ArrayList<>()).add(pair);
+        }
+    }
+    
+    /**
+     * Oublier tous les contacts d'un collider
+     */
+    private void removeContacts(Collider collider) {
+        List<CollisionPair> pairs = contactsByCollider.remove(collider);
+        if (pairs == null) {
+            return;
+        }
+        for (CollisionPair pair : pairs) {
+            contacts.remove(pair);
+            Collider other = pair.getCollider1() == collider ? pair.getCollider2() : pair.getCollider1();
+            List<CollisionPair> otherPairs = contactsByCollider.get(other);
+            if (otherPairs != null) {
+                otherPairs.remove(pair);
+                if (otherPairs.isEmpty()) {
+                    contactsByCollider.remove(other);
+                }
+            }
+        }
+    }
+    
+    private static String pairKey(String group1, String group2) {
+        return group1 + '\u0000' + group2;
+    }
+    
     /**
      * Classe interne pour représenter une paire de colliders en collision
      */
@@ -223,5 +464,24 @@ public class CollisionManager {
         public Collider getCollider2() {
             return collider2;
         }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CollisionPair)) {
+                return false;
+            }
+            CollisionPair other = (CollisionPair) obj;
+            return collider1 == other.collider1 && collider2 == other.collider2
+                    && group1.equals(other.group1) && group2.equals(other.group2);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(group1, group2, System.identityHashCode(collider1),
+                                System.identityHashCode(collider2));
+        }
     }
 }
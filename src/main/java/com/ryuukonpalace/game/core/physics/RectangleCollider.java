@@ -99,6 +99,26 @@ public class RectangleCollider implements Collider {
         return y;
     }
     
+    @Override
+    public float getMinX() {
+        return x;
+    }
+    
+    @Override
+    public float getMinY() {
+        return y;
+    }
+    
+    @Override
+    public float getMaxX() {
+        return x + width;
+    }
+    
+    @Override
+    public float getMaxY() {
+        return y + height;
+    }
+    
     /**
      * Obtenir la largeur du rectangle
      * @return Largeur
@@ -0,0 +1,413 @@
+package com.ryuukonpalace.game.core.physics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grille uniforme de hachage spatial servant de phase large à la détection de collision.
+ * Chaque collider est rangé dans toutes les cellules couvertes par sa boîte englobante ;
+ * une requête ne renvoie que les colliders des cellules touchées, à tester ensuite avec
+ * {@link Collider#collidesWith(Collider)}.
+ * La grille est mise à jour de façon incrémentale : un collider n'est déplacé entre les
+ * cellules que si la plage de cellules couverte par sa boîte a changé.
+ * Un même collider peut être ajouté plusieurs fois (une entrée par ajout).
+ */
+public class SpatialHashGrid {
+
+    // Taille par défaut d'une cellule (deux tuiles de 32 pixels)
+    public static final float DEFAULT_CELL_SIZE = 64.0f;
+
+    // Au-delà de ce nombre de cellules, un collider est rangé à part et testé à chaque requête
+    static final int MAX_CELLS_PER_ENTRY = 256;
+
+    /**
+     * Enregistrement d'un collider dans la grille
+     */
+    private static final class Entry {
+        final Collider collider;
+
+        // Plage de cellules couverte (bornes incluses)
+        int minCellX;
+        int minCellY;
+        int maxCellX;
+        int maxCellY;
+
+        // Vrai si le collider est rangé dans la liste des grands colliders
+        boolean oversized;
+
+        // Index dans la liste de toutes les entrées
+        int index;
+
+        // Numéro de la dernière requête ayant renvoyé cette entrée (évite les doublons)
+        int queryStamp;
+
+        // Entrée suivante pour le même collider (ajouts multiples)
+        Entry next;
+
+        Entry(Collider collider) {
+            this.collider = collider;
+        }
+    }
+
+    /**
+     * Cellule occupée de la grille
+     */
+    private static final class Cell {
+        final int cellX;
+        final int cellY;
+        final List<Entry> entries = new ArrayList<>(4);
+
+        Cell(int cellX, int cellY) {
+            this.cellX = cellX;
+            this.cellY = cellY;
+        }
+    }
+
+    private final float cellSize;
+    private final float inverseCellSize;
+
+    // Cellules occupées, indexées par coordonnées de cellule empaquetées et mélangées
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    // Colliders trop grands pour être rangés cellule par cellule
+    private final List<Entry> oversizedEntries = new ArrayList<>();
+
+    // Toutes les entrées, dans l'ordre d'ajout (sauf après suppression)
+    private final List<Entry> entries = new ArrayList<>();
+
+    // Première entrée de chaque collider
+    private final Map<Collider, Entry> entriesByCollider = new IdentityHashMap<>();
+
+    private int queryStamp = 0;
+
+    /**
+     * Constructeur avec la taille de cellule par défaut
+     */
+    public SpatialHashGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructeur
+     * @param cellSize Côté d'une cellule en pixels (idéalement proche de la taille des colliders)
+     */
+    public SpatialHashGrid(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Taille de cellule invalide: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+    }
+
+    /**
+     * Ajouter un collider à la grille
+     * @param collider Le collider à ajouter
+     */
+    public void add(Collider collider) {
+        Entry entry = new Entry(collider);
+        entry.index = entries.size();
+        entries.add(entry);
+        entry.next = entriesByCollider.put(collider, entry);
+
+        computeCells(entry);
+        insert(entry);
+    }
+
+    /**
+     * Supprimer une entrée d'un collider de la grille
+     * @param collider Le collider à supprimer
+     * @return true si le collider était présent, false sinon
+     */
+    public boolean remove(Collider collider) {
+        Entry entry = entriesByCollider.get(collider);
+        if (entry == null) {
+            return false;
+        }
+
+        if (entry.next != null) {
+            entriesByCollider.put(collider, entry.next);
+        } else {
+            entriesByCollider.remove(collider);
+        }
+
+        erase(entry);
+
+        // Retrait par échange avec la dernière entrée
+        Entry last = entries.remove(entries.size() - 1);
+        if (last != entry) {
+            last.index = entry.index;
+            entries.set(entry.index, last);
+        }
+        return true;
+    }
+
+    /**
+     * Vérifier si un collider est présent dans la grille
+     * @param collider Le collider
+     * @return true si le collider a au moins une entrée
+     */
+    public boolean contains(Collider collider) {
+        return entriesByCollider.containsKey(collider);
+    }
+
+    /**
+     * Mettre à jour la position d'un collider dans la grille après un déplacement
+     * @param collider Le collider déplacé
+     * @return true si le collider a changé de cellules, false sinon
+     */
+    public boolean update(Collider collider) {
+        boolean moved = false;
+        for (Entry entry = entriesByCollider.get(collider); entry != null; entry = entry.next) {
+            moved |= relocate(entry);
+        }
+        return moved;
+    }
+
+    /**
+     * Mettre à jour la position de tous les colliders dans la grille.
+     * Seuls les colliders dont la plage de cellules a changé sont déplacés.
+     * @return Nombre d'entrées déplacées
+     */
+    public int refresh() {
+        int moved = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (relocate(entries.get(i))) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Obtenir les colliders dont les cellules recouvrent la boîte englobante d'un collider.
+     * Le collider lui-même fait partie du résultat s'il est dans la grille.
+     * @param collider Le collider de la requête
+     * @param result Liste à laquelle ajouter les candidats (non vidée)
+     */
+    public void query(Collider collider, List<Collider> result) {
+        query(collider.getMinX(), collider.getMinY(), collider.getMaxX(), collider.getMaxY(), result);
+    }
+
+    /**
+     * Obtenir les colliders dont les cellules recouvrent une zone.
+     * Les candidats doivent encore être testés avec collidesWith.
+     * @param minX Bord gauche de la zone
+     * @param minY Bord haut de la zone
+     * @param maxX Bord droit de la zone
+     * @param maxY Bord bas de la zone
+     * @param result Liste à laquelle ajouter les candidats (non vidée)
+     */
+    public void query(float minX, float minY, float maxX, float maxY, List<Collider> result) {
+        int stamp = ++queryStamp;
+
+        for (int i = 0; i < oversizedEntries.size(); i++) {
+            Entry entry = oversizedEntries.get(i);
+            entry.queryStamp = stamp;
+            result.add(entry.collider);
+        }
+
+        if (entries.size() == oversizedEntries.size()) {
+            return;
+        }
+
+        int minCellX = cellCoord(minX);
+        int minCellY = cellCoord(minY);
+        int maxCellX = cellCoord(maxX);
+        int maxCellY = cellCoord(maxY);
+
+        // Zone plus grande que la grille occupée : parcourir les cellules existantes
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > cells.size()) {
+            for (Cell cell : cells.values()) {
+                if (cell.cellX >= minCellX && cell.cellX <= maxCellX
+                        && cell.cellY >= minCellY && cell.cellY <= maxCellY) {
+                    collect(cell.entries, stamp, result);
+                }
+            }
+            return;
+        }
+
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                Cell cell = cells.get(key(cellX, cellY));
+                if (cell != null) {
+                    collect(cell.entries, stamp, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vider la grille
+     */
+    public void clear() {
+        cells.clear();
+        oversizedEntries.clear();
+        entries.clear();
+        entriesByCollider.clear();
+    }
+
+    /**
+     * Obtenir le nombre d'entrées
+     * @return Nombre de colliders ajoutés (en comptant les ajouts multiples)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Obtenir un collider par son index
+     * @param index Index entre 0 et size() - 1
+     * @return Le collider
+     */
+    public Collider get(int index) {
+        return entries.get(index).collider;
+    }
+
+    /**
+     * Obtenir tous les colliders de la grille
+     * @return Nouvelle liste des colliders
+     */
+    public List<Collider> getColliders() {
+        List<Collider> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.collider);
+        }
+        return result;
+    }
+
+    /**
+     * Obtenir le nombre de cellules occupées
+     * @return Nombre de cellules
+     */
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Obtenir la taille des cellules
+     * @return Côté d'une cellule en pixels
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Ajouter les entrées d'une cellule pas encore vues par la requête en cours
+     */
+    private static void collect(List<Entry> cell, int stamp, List<Collider> result) {
+        for (int i = 0; i < cell.size(); i++) {
+            Entry entry = cell.get(i);
+            if (entry.queryStamp != stamp) {
+                entry.queryStamp = stamp;
+                result.add(entry.collider);
+            }
+        }
+    }
+
+    /**
+     * Recalculer les cellules d'une entrée et la déplacer si nécessaire
+     * @return true si l'entrée a changé de cellules
+     */
+    private boolean relocate(Entry entry) {
+        Collider collider = entry.collider;
+        int minCellX = cellCoord(collider.getMinX());
+        int minCellY = cellCoord(collider.getMinY());
+        int maxCellX = cellCoord(collider.getMaxX());
+        int maxCellY = cellCoord(collider.getMaxY());
+        if (minCellX == entry.minCellX && minCellY == entry.minCellY
+                && maxCellX == entry.maxCellX && maxCellY == entry.maxCellY) {
+            return false;
+        }
+
+        erase(entry);
+        entry.minCellX = minCellX;
+        entry.minCellY = minCellY;
+        entry.maxCellX = maxCellX;
+        entry.maxCellY = maxCellY;
+        entry.oversized = isOversized(entry);
+        insert(entry);
+        return true;
+    }
+
+    private void computeCells(Entry entry) {
+        Collider collider = entry.collider;
+        entry.minCellX = cellCoord(collider.getMinX());
+        entry.minCellY = cellCoord(collider.getMinY());
+        entry.maxCellX = cellCoord(collider.getMaxX());
+        entry.maxCellY = cellCoord(collider.getMaxY());
+        entry.oversized = isOversized(entry);
+    }
+
+    private static boolean isOversized(Entry entry) {
+        return (long) (entry.maxCellX - entry.minCellX + 1) * (entry.maxCellY - entry.minCellY + 1)
+                > MAX_CELLS_PER_ENTRY;
+    }
+
+    /**
+     * Ranger une entrée dans ses cellules
+     */
+    private void insert(Entry entry) {
+        if (entry.oversized) {
+            oversizedEntries.add(entry);
+            return;
+        }
+        for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+                Long key = key(cellX, cellY);
+                Cell cell = cells.get(key);
+                if (cell == null) {
+                    cell = new Cell(cellX, cellY);
+                    cells.put(key, cell);
+                }
+                cell.entries.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Retirer une entrée de ses cellules
+     */
+    private void erase(Entry entry) {
+        if (entry.oversized) {
+            oversizedEntries.remove(entry);
+            return;
+        }
+        for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+            for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+                Long key = key(cellX, cellY);
+                Cell cell = cells.get(key);
+                if (cell == null) {
+                    continue;
+                }
+
+                // Retrait par échange (l'ordre dans une cellule n'a pas d'importance)
+                List<Entry> cellEntries = cell.entries;
+                int index = cellEntries.indexOf(entry);
+                if (index >= 0) {
+                    int last = cellEntries.size() - 1;
+                    cellEntries.set(index, cellEntries.get(last));
+                    cellEntries.remove(last);
+                }
+                if (cellEntries.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private int cellCoord(float value) {
+        return (int) Math.floor(value * inverseCellSize);
+    }
+
+    /**
+     * Clé d'une cellule. La multiplication par une constante impaire est une bijection qui
+     * répartit les bits : Long.hashCode (XOR des deux moitiés) donnerait sinon la même valeur
+     * à toutes les cellules d'une même diagonale.
+     */
+    private static long key(int cellX, int cellY) {
+        return (((long) cellX << 32) | (cellY & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+    }
+}
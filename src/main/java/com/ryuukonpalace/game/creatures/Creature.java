@@ -2,6 +2,7 @@ package com.ryuukonpalace.game.creatures;
 
 import com.ryuukonpalace.game.combat.CombatStats;
 import com.ryuukonpalace.game.world.GameObject;
+import com.ryuukonpalace.game.core.RenderSnapshot;
 import com.ryuukonpalace.game.core.Renderer;
 import com.ryuukonpalace.game.creatures.ai.CreatureAI;
 import com.ryuukonpalace.game.player.Player;
@@ -16,6 +17,7 @@ import java.util.List;
 public class Creature extends GameObject {
     
     private int id;
+    private CreatureFactory.CreatureDefinition definition; // Données partagées de l'espèce
     private String name;
     private CreatureType type;
     private int level;
@@ -41,6 +43,9 @@ public class Creature extends GameObject {
     // Temps écoulé depuis l'apparition de la créature
     private float lifeElapsed;
     
+    // Indique si la créature est dans le pool en attente de réutilisation
+    private boolean pooled;
+    
     /**
      * Constructor for creating a new creature
      * 
@@ -81,15 +86,41 @@ public class Creature extends GameObject {
         
         // Charger la texture de la créature
         ResourceManager resourceManager = ResourceManager.getInstance();
-        CreatureFactory.CreatureDefinition definition = CreatureFactory.getInstance().getCreatureDefinition(id);
+        this.definition = CreatureFactory.getInstance().getCreatureDefinition(id);
         if (definition != null) {
-            this.textureId = resourceManager.loadTexture("src/main/resources/" + definition.spritePath, "creature_" + id);
+            this.textureId = resourceManager.loadTexture(definition.texturePath, definition.textureName);
         } else {
             // Texture par défaut si la définition n'est pas trouvée
             this.textureId = resourceManager.loadTexture("src/main/resources/images/unknown_creature.png", "unknown_creature");
         }
     }
     
+    /**
+     * Remettre la créature dans l'état d'une créature nouvellement créée (réutilisation par le pool).
+     * Les objets de la créature (capacités, statistiques de combat, IA) sont conservés.
+     * 
+     * @param level Niveau de la créature
+     * @param health Santé maximale
+     * @param attack Attaque
+     * @param defense Défense
+     * @param speed Vitesse
+     */
+    void reset(int level, int health, int attack, int defense, int speed) {
+        this.level = level;
+        this.experience = 0;
+        this.health = health;
+        this.maxHealth = health;
+        this.attack = attack;
+        this.defense = defense;
+        this.speed = speed;
+        this.active = false;
+        this.friendship = 70;
+        this.isWild = false;
+        this.lifeDuration = 0;
+        this.lifeElapsed = 0;
+        this.combatStats.reset(health, attack, attack/2, defense, defense/2, speed);
+    }
+    
     @Override
     public void update(float deltaTime) {
         // Animation ou comportement de la créature
@@ -119,7 +150,12 @@ public class Creature extends GameObject {
     @Override
     public void render() {
         // Dessiner la créature avec sa texture
-        renderer.drawSprite(textureId, x, y, width, height);
+        renderer.drawSprite(textureId, getRenderX(), getRenderY(), width, height);
+    }
+    
+    @Override
+    public void captureRenderState(RenderSnapshot snapshot) {
+        snapshot.addSprite(textureId, RenderSnapshot.NO_FRAME, previousX, previousY, x, y, width, height);
     }
     
     @Override
@@ -162,7 +198,10 @@ public class Creature extends GameObject {
      */
     public Creature evolve() {
         if (canEvolve()) {
-            return evolution.getEvolvedForm();
+            Creature evolvedForm = evolution.getEvolvedForm();
+            if (evolvedForm != null) {
+                return evolvedForm;
+            }
         }
         return this;
     }
@@ -615,4 +654,21 @@ public class Creature extends GameObject {
     public Evolution getEvolution() {
         return evolution;
     }
+    
+    /**
+     * Obtenir la définition partagée de l'espèce
+     * 
+     * @return La définition, ou null si l'ID est inconnu
+     */
+    public CreatureFactory.CreatureDefinition getDefinition() {
+        return definition;
+    }
+    
+    boolean isPooled() {
+        return pooled;
+    }
+    
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
 }
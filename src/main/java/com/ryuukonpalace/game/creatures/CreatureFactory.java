@@ -1,6 +1,7 @@
 package com.ryuukonpalace.game.creatures;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -245,13 +246,10 @@ public class CreatureFactory {
                 // Le niveau requis pour évoluer est généralement entre 20 et 30
                 int requiredLevel = 20 + (definition.id % 10);
                 
-                // Créer l'évolution (niveau +5 par rapport au niveau requis)
-                Creature evolvedForm = createCreature(definition.evolutionId, requiredLevel + 5);
-                
-                if (evolvedForm != null) {
-                    Evolution evolution = new Evolution(requiredLevel, evolvedForm);
-                    creature.setEvolution(evolution);
-                }
+                // Référencer l'évolution (niveau +5 par rapport au niveau requis) ;
+                // la forme évoluée ne sera créée qu'au moment d'évoluer
+                Evolution evolution = new Evolution(requiredLevel, definition.evolutionId, requiredLevel + 5);
+                creature.setEvolution(evolution);
             }
         }
         
@@ -261,6 +259,38 @@ public class CreatureFactory {
         return creature;
     }
     
+    /**
+     * Réinitialiser une créature rendue au pool pour la faire réapparaître à un niveau donné.
+     * La créature garde son espèce, sa liste de capacités, ses statistiques de combat et son IA :
+     * seules les valeurs sont remises à leur état initial.
+     * 
+     * @param creature La créature à réinitialiser
+     * @param level Nouveau niveau de la créature
+     */
+    static void resetCreature(Creature creature, int level) {
+        CreatureDefinition definition = creature.getDefinition();
+        
+        creature.reset(
+            level,
+            calculateStat(definition.baseHealth, level),
+            calculateStat(definition.baseAttack, level),
+            calculateStat(definition.baseDefense, level),
+            calculateStat(definition.baseSpeed, level)
+        );
+        
+        // Les capacités de l'espèce ne dépendent que du rang débloqué par le niveau
+        List<Ability> abilities = creature.getAbilities();
+        int abilityCount = level >= 20 ? 3 : level >= 10 ? 2 : 1;
+        if (abilities.size() == abilityCount) {
+            for (Ability ability : abilities) {
+                ability.restore();
+            }
+        } else {
+            abilities.clear();
+            addAbilitiesToCreature(creature, definition, level);
+        }
+    }
+    
     /**
      * Calculer une statistique en fonction du niveau
      * 
@@ -282,12 +312,9 @@ public class CreatureFactory {
      */
     private static void addAbilitiesToCreature(Creature creature, CreatureDefinition definition, int level) {
         // Capacité de base (toujours disponible)
-        String baseAbilityName = "Attaque " + definition.type.name().toLowerCase();
-        String baseAbilityDesc = "Une attaque de base de type " + definition.type.name().toLowerCase() + ".";
-        
         Ability baseAbility = new Ability(
-            baseAbilityName,
-            baseAbilityDesc,
+            definition.getAbilityName(0),
+            definition.getAbilityDescription(0),
             definition.type,
             40,                                     // Puissance
             95,                                     // Précision
@@ -300,12 +327,9 @@ public class CreatureFactory {
         
         // Capacité avancée (disponible à partir du niveau 10)
         if (level >= 10) {
-            String advAbilityName = "Rayon " + definition.type.name().toLowerCase();
-            String advAbilityDesc = "Un rayon concentré de type " + definition.type.name().toLowerCase() + ".";
-            
             Ability advAbility = new Ability(
-                advAbilityName,
-                advAbilityDesc,
+                definition.getAbilityName(1),
+                definition.getAbilityDescription(1),
                 definition.type,
                 65,                                 // Puissance
                 85,                                 // Précision
@@ -319,12 +343,9 @@ public class CreatureFactory {
         
         // Capacité ultime (disponible à partir du niveau 20)
         if (level >= 20) {
-            String ultAbilityName = "Tempête " + definition.type.name().toLowerCase();
-            String ultAbilityDesc = "Une attaque dévastatrice de type " + definition.type.name().toLowerCase() + ".";
-            
             Ability ultAbility = new Ability(
-                ultAbilityName,
-                ultAbilityDesc,
+                definition.getAbilityName(2),
+                definition.getAbilityDescription(2),
                 definition.type,
                 90,                                 // Puissance
                 75,                                 // Précision
@@ -408,6 +429,12 @@ public class CreatureFactory {
         public final String spritePath;
         public final int evolutionId;
         
+        // Données partagées par toutes les créatures de l'espèce (calculées une seule fois)
+        public final String texturePath;
+        public final String textureName;
+        private final String[] abilityNames;
+        private final String[] abilityDescriptions;
+        
         public CreatureDefinition(int id, String name, CreatureType type, 
                                  int baseHealth, int baseAttack, int baseDefense, int baseSpeed,
                                  String description, String spritePath, int evolutionId) {
@@ -421,6 +448,38 @@ public class CreatureFactory {
             this.description = description;
             this.spritePath = spritePath;
             this.evolutionId = evolutionId;
+            this.texturePath = "src/main/resources/" + spritePath;
+            this.textureName = "creature_" + id;
+            
+            String typeName = type.name().toLowerCase();
+            this.abilityNames = new String[] {
+                "Attaque " + typeName, "Rayon " + typeName, "Tempête " + typeName
+            };
+            this.abilityDescriptions = new String[] {
+                "Une attaque de base de type " + typeName + ".",
+                "Un rayon concentré de type " + typeName + ".",
+                "Une attaque dévastatrice de type " + typeName + "."
+            };
+        }
+        
+        /**
+         * Obtenir le nom d'une capacité de l'espèce
+         * 
+         * @param tier Rang de la capacité (0: base, 1: avancée, 2: ultime)
+         * @return Nom de la capacité
+         */
+        public String getAbilityName(int tier) {
+            return abilityNames[tier];
+        }
+        
+        /**
+         * Obtenir la description d'une capacité de l'espèce
+         * 
+         * @param tier Rang de la capacité (0: base, 1: avancée, 2: ultime)
+         * @return Description de la capacité
+         */
+        public String getAbilityDescription(int tier) {
+            return abilityDescriptions[tier];
         }
     }
 }
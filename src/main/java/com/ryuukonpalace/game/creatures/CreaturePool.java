@@ -0,0 +1,199 @@
+package com.ryuukonpalace.game.creatures;
+
+import com.ryuukonpalace.game.creatures.ai.CreatureAIManager;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool des créatures sauvages.
+ * Les créatures qui disparaissent du monde (expiration, fuite, sortie de zone) y sont rendues
+ * et réutilisées à la prochaine apparition de la même espèce : seules leurs valeurs sont
+ * réinitialisées, leurs capacités, statistiques de combat et IA sont conservées.
+ * Une créature rendue ne doit plus être référencée par le jeu.
+ */
+public class CreaturePool {
+
+    // Nombre maximal de créatures conservées par espèce
+    public static final int DEFAULT_MAX_PER_SPECIES = 32;
+
+    // Instance singleton
+    private static CreaturePool instance;
+
+    // Créatures disponibles par ID d'espèce
+    private final Map<Integer, ArrayDeque<Creature>> available;
+
+    // Nombre maximal de créatures conservées par espèce
+    private int maxPerSpecies;
+
+    // Statistiques du pool
+    private long hits;
+    private long misses;
+    private long releases;
+    private long discarded;
+
+    /**
+     * Constructeur privé pour le singleton
+     */
+    private CreaturePool() {
+        this.available = new HashMap<>();
+        this.maxPerSpecies = DEFAULT_MAX_PER_SPECIES;
+    }
+
+    /**
+     * Obtenir l'instance unique du pool
+     *
+     * @return L'instance du CreaturePool
+     */
+    public static synchronized CreaturePool getInstance() {
+        if (instance == null) {
+            instance = new CreaturePool();
+        }
+        return instance;
+    }
+
+    /**
+     * Obtenir une créature sauvage, réutilisée si possible
+     *
+     * @param creatureId ID de l'espèce
+     * @param level Niveau de la créature
+     * @return La créature, ou null si l'ID est invalide
+     */
+    public synchronized Creature acquire(int creatureId, int level) {
+        ArrayDeque<Creature> creatures = available.get(creatureId);
+        Creature creature = creatures != null ? creatures.pollLast() : null;
+
+        if (creature == null) {
+            misses++;
+            return CreatureFactory.createCreature(creatureId, level);
+        }
+
+        hits++;
+        creature.setPooled(false);
+        CreatureFactory.resetCreature(creature, level);
+        return creature;
+    }
+
+    /**
+     * Rendre une créature sauvage au pool.
+     * Elle est retirée du gestionnaire d'IA et désactivée ; les créatures capturées
+     * (non sauvages) sont refusées.
+     *
+     * @param creature La créature à rendre
+     * @return true si la créature a été conservée pour être réutilisée
+     */
+    public synchronized boolean release(Creature creature) {
+        if (creature == null || creature.isPooled() || !creature.isWild() || creature.getDefinition() == null) {
+            return false;
+        }
+
+        releases++;
+        CreatureAIManager.getInstance().removeWildCreature(creature);
+        creature.setActive(false);
+
+        ArrayDeque<Creature> creatures = available.computeIfAbsent(creature.getId(), id -> new ArrayDeque<>());
+        if (creatures.size() >= maxPerSpecies) {
+            discarded++;
+            return false;
+        }
+
+        creature.setPooled(true);
+        creatures.addLast(creature);
+        return true;
+    }
+
+    /**
+     * Vider le pool et remettre les statistiques à zéro
+     */
+    public synchronized void clear() {
+        for (ArrayDeque<Creature> creatures : available.values()) {
+            for (Creature creature : creatures) {
+                creature.setPooled(false);
+            }
+        }
+        available.clear();
+        hits = 0;
+        misses = 0;
+        releases = 0;
+        discarded = 0;
+    }
+
+    /**
+     * Définir le nombre maximal de créatures conservées par espèce
+     *
+     * @param maxPerSpecies Nombre maximal (0 pour désactiver la réutilisation)
+     */
+    public synchronized void setMaxPerSpecies(int maxPerSpecies) {
+        this.maxPerSpecies = Math.max(0, maxPerSpecies);
+    }
+
+    /**
+     * Obtenir le nombre de créatures disponibles dans le pool
+     *
+     * @return Nombre de créatures disponibles
+     */
+    public synchronized int getAvailableCount() {
+        int count = 0;
+        for (ArrayDeque<Creature> creatures : available.values()) {
+            count += creatures.size();
+        }
+        return count;
+    }
+
+    /**
+     * Obtenir le nombre d'apparitions servies par une créature réutilisée
+     *
+     * @return Nombre de succès
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Obtenir le nombre d'apparitions ayant nécessité une nouvelle créature
+     *
+     * @return Nombre d'échecs
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Obtenir le nombre de créatures rendues au pool
+     *
+     * @return Nombre de créatures rendues
+     */
+    public synchronized long getReleases() {
+        return releases;
+    }
+
+    /**
+     * Obtenir le nombre de créatures rendues mais abandonnées (pool plein)
+     *
+     * @return Nombre de créatures abandonnées
+     */
+    public synchronized long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Obtenir le taux de réutilisation
+     *
+     * @return Proportion d'apparitions servies par le pool (entre 0 et 1)
+     */
+    public synchronized float getHitRate() {
+        long total = hits + misses;
+        return total > 0 ? (float) hits / total : 0.0f;
+    }
+
+    /**
+     * Obtenir les statistiques du pool
+     *
+     * @return Statistiques sous forme de chaîne
+     */
+    public synchronized String getStats() {
+        return String.format("Pool de créatures: %d succès, %d échecs (%.1f%%), %d rendues, %d abandonnées, %d disponibles",
+                             hits, misses, getHitRate() * 100, releases, discarded, getAvailableCount());
+    }
+}
@@ -26,6 +26,9 @@ public class CreatureStorage {
     // Noms des boîtes
     private Map<Integer, String> boxNames;
     
+    // Compteur incrémenté à chaque changement du contenu ou des noms des boîtes
+    private int saveRevision;
+    
     /**
      * Constructeur privé pour le singleton
      */
@@ -70,6 +73,7 @@ public class CreatureStorage {
                     if (!box.containsKey(slot)) {
                         // Stocker la créature
                         box.put(slot, creature);
+                        saveRevision++;
                         return true;
                     }
                 }
@@ -107,9 +111,31 @@ public class CreatureStorage {
         
         // Stocker la créature
         box.put(slot, creature);
+        saveRevision++;
         return true;
     }
     
+    /**
+     * Vider toutes les boîtes et rétablir leurs noms par défaut (avant un chargement)
+     */
+    public void clear() {
+        for (int i = 0; i < MAX_BOXES; i++) {
+            boxes.get(i).clear();
+            boxNames.put(i, "Boîte " + (i + 1));
+        }
+        saveRevision++;
+    }
+    
+    /**
+     * Obtenir le compteur de changements du stockage,
+     * utilisé pour ne sauvegarder les boîtes que si elles ont changé
+     * 
+     * @return Compteur de changements
+     */
+    public int getSaveRevision() {
+        return saveRevision;
+    }
+    
     /**
      * Récupérer une créature du stockage
      * 
@@ -152,7 +178,11 @@ public class CreatureStorage {
         
         // Récupérer et retirer la créature
         Map<Integer, Creature> box = boxes.get(boxIndex);
-        return box.remove(slot);
+        Creature removed = box.remove(slot);
+        if (removed != null) {
+            saveRevision++;
+        }
+        return removed;
     }
     
     /**
@@ -197,6 +227,7 @@ public class CreatureStorage {
             targetBox.put(targetSlot, creature);
         }
         
+        saveRevision++;
         return true;
     }
     
@@ -277,6 +308,7 @@ public class CreatureStorage {
         }
         
         boxNames.put(boxIndex, name);
+        saveRevision++;
         return true;
     }
     
@@ -422,6 +454,7 @@ public class CreatureStorage {
             box.put(i, creatures.get(i));
         }
         
+        saveRevision++;
         return true;
     }
     
@@ -454,6 +487,7 @@ public class CreatureStorage {
             box.put(i, creatures.get(i));
         }
         
+        saveRevision++;
         return true;
     }
     
@@ -486,6 +520,7 @@ public class CreatureStorage {
             box.put(i, creatures.get(i));
         }
         
+        saveRevision++;
         return true;
     }
 }
@@ -6,13 +6,32 @@ import java.util.Map;
 /**
  * Represents the evolution of a creature.
  * Contains information about the required level and the evolved form.
+ * L'évolution ne garde que l'identifiant et le niveau de la forme évoluée : la créature
+ * évoluée n'est construite que lorsque l'évolution a lieu.
  */
 public class Evolution {
     
     private int requiredLevel;
+    private int evolvedCreatureId;
+    private int evolvedLevel;
     private Creature evolvedForm;
     private Map<String, Object> specialConditions;
     
+    /**
+     * Constructeur d'une évolution résolue à la demande
+     * 
+     * @param requiredLevel Niveau requis pour évoluer
+     * @param evolvedCreatureId ID de la définition de la forme évoluée
+     * @param evolvedLevel Niveau auquel la forme évoluée est créée
+     */
+    public Evolution(int requiredLevel, int evolvedCreatureId, int evolvedLevel) {
+        this.requiredLevel = requiredLevel;
+        this.evolvedCreatureId = evolvedCreatureId;
+        this.evolvedLevel = evolvedLevel;
+        this.evolvedForm = null;
+        this.specialConditions = new HashMap<>();
+    }
+    
     /**
      * Constructor for creating a new evolution
      * 
@@ -20,9 +39,8 @@ public class Evolution {
      * @param evolvedForm The evolved form of the creature
      */
     public Evolution(int requiredLevel, Creature evolvedForm) {
-        this.requiredLevel = requiredLevel;
+        this(requiredLevel, evolvedForm.getId(), evolvedForm.getLevel());
         this.evolvedForm = evolvedForm;
-        this.specialConditions = new HashMap<>();
     }
     
     /**
@@ -35,12 +53,35 @@ public class Evolution {
     }
     
     /**
-     * Get the evolved form of the creature
+     * Obtenir l'ID de la forme évoluée, sans la construire
+     * 
+     * @return ID de la définition de la forme évoluée
+     */
+    public int getEvolvedCreatureId() {
+        return evolvedCreatureId;
+    }
+    
+    /**
+     * Obtenir le niveau auquel la forme évoluée est créée
+     * 
+     * @return Niveau de la forme évoluée
+     */
+    public int getEvolvedLevel() {
+        return evolvedLevel;
+    }
+    
+    /**
+     * Get the evolved form of the creature.
+     * Sans forme fournie à la construction, une nouvelle créature est créée à chaque appel
+     * (avec sa propre évolution, elle aussi résolue à la demande).
      * 
-     * @return The evolved form
+     * @return The evolved form, ou null si la définition n'existe pas
      */
     public Creature getEvolvedForm() {
-        return evolvedForm;
+        if (evolvedForm != null) {
+            return evolvedForm;
+        }
+        return CreatureFactory.createCreature(evolvedCreatureId, evolvedLevel);
     }
     
     /**
@@ -81,9 +81,8 @@ public class EvolutionManager {
      * @param specialConditions Conditions spéciales pour l'évolution (peut être null)
      */
     public void registerEvolution(int baseCreatureId, int evolvedCreatureId, int requiredLevel, Map<String, Object> specialConditions) {
-        // Créer l'objet Evolution
-        Creature evolvedForm = CreatureFactory.createCreature(evolvedCreatureId);
-        Evolution evolution = new Evolution(requiredLevel, evolvedForm);
+        // Créer l'objet Evolution (la forme évoluée est créée au moment d'évoluer)
+        Evolution evolution = new Evolution(requiredLevel, evolvedCreatureId, 5);
         
         // Ajouter les conditions spéciales si présentes
         if (specialConditions != null) {
@@ -114,8 +113,7 @@ public class EvolutionManager {
                 Integer currentId = creatureId;
                 while (evolutionMap.containsKey(currentId)) {
                     // Obtenir l'ID de la forme évoluée
-                    Creature evolvedForm = evolutionMap.get(currentId).getEvolvedForm();
-                    Integer evolvedId = evolvedForm.getId();
+                    Integer evolvedId = evolutionMap.get(currentId).getEvolvedCreatureId();
                     
                     // Ajouter à la chaîne
                     chain.add(evolvedId);
@@ -221,6 +219,9 @@ public class EvolutionManager {
         
         // Créer une nouvelle instance de la forme évoluée
         Creature evolvedForm = evolution.getEvolvedForm();
+        if (evolvedForm == null) {
+            return creature;
+        }
         
         // Transférer les statistiques importantes
         transferStats(creature, evolvedForm);
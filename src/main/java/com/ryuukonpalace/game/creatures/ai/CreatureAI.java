@@ -8,6 +8,8 @@ import java.util.Random;
 /**
  * Gère l'intelligence artificielle des créatures sauvages.
  * Permet aux créatures de se déplacer, de fuir ou d'affronter le joueur.
+ * Une IA ajoutée à un {@link CreatureAIBatch} n'est plus qu'un accès à son emplacement dans le lot :
+ * son état y est stocké et mis à jour avec celui des autres créatures.
  */
 public class CreatureAI {
     
@@ -49,6 +51,12 @@ public class CreatureAI {
     // Générateur de nombres aléatoires
     private Random random;
     
+    // Lot contenant l'état de cette IA (null si l'IA est mise à jour seule)
+    private CreatureAIBatch batch;
+    
+    // Emplacement de l'IA dans le lot
+    private int slot = -1;
+    
     /**
      * Constructeur pour l'IA d'une créature
      * 
@@ -59,15 +67,29 @@ public class CreatureAI {
      */
     public CreatureAI(Creature creature, BehaviorType behaviorType, float moveSpeed, float detectionRange) {
         this.creature = creature;
+        this.random = new Random();
+        reset(behaviorType, moveSpeed, detectionRange);
+    }
+    
+    /**
+     * Réinitialiser l'IA comme si elle venait d'être créée (réutilisation d'une créature du pool).
+     * L'IA est d'abord retirée de son lot si elle en fait partie.
+     * 
+     * @param behaviorType Le type de comportement initial
+     * @param moveSpeed La vitesse de déplacement
+     * @param detectionRange La distance de détection du joueur
+     */
+    public void reset(BehaviorType behaviorType, float moveSpeed, float detectionRange) {
+        if (batch != null) {
+            batch.remove(this);
+        }
         this.currentBehavior = behaviorType;
         this.stateTimer = 0;
         this.maxStateTime = 3.0f; // 3 secondes par défaut
-        this.moveDirection = 0;
         this.moveSpeed = moveSpeed;
         this.detectionRange = detectionRange;
         this.fleeRange = detectionRange * 0.8f;
         this.attackRange = detectionRange * 0.5f;
-        this.random = new Random();
         
         // Initialiser une direction aléatoire
         this.moveDirection = random.nextFloat() * (float) (2 * Math.PI);
@@ -80,6 +102,12 @@ public class CreatureAI {
      * @param player Le joueur (pour la détection)
      */
     public void update(float deltaTime, Player player) {
+        // L'état est dans le lot : utiliser la même mise à jour que les autres créatures
+        if (batch != null) {
+            batch.updateSlot(slot, deltaTime, player.getX(), player.getY());
+            return;
+        }
+        
         // Incrémenter le timer d'état
         stateTimer += deltaTime;
         
@@ -183,6 +211,10 @@ public class CreatureAI {
      * @param behaviorType Nouveau type de comportement
      */
     public void setBehavior(BehaviorType behaviorType) {
+        if (batch != null) {
+            batch.setBehavior(slot, behaviorType);
+            return;
+        }
         this.currentBehavior = behaviorType;
         this.stateTimer = 0;
         
@@ -198,6 +230,9 @@ public class CreatureAI {
      * @return Type de comportement actuel
      */
     public BehaviorType getCurrentBehavior() {
+        if (batch != null) {
+            return batch.getBehavior(slot);
+        }
         return currentBehavior;
     }
     
@@ -208,6 +243,9 @@ public class CreatureAI {
      */
     public void setMoveSpeed(float moveSpeed) {
         this.moveSpeed = moveSpeed;
+        if (batch != null) {
+            batch.setMoveSpeed(slot, moveSpeed);
+        }
     }
     
     /**
@@ -219,5 +257,95 @@ public class CreatureAI {
         this.detectionRange = detectionRange;
         this.fleeRange = detectionRange * 0.8f;
         this.attackRange = detectionRange * 0.5f;
+        if (batch != null) {
+            batch.setDetectionRange(slot, detectionRange);
+        }
+    }
+    
+    /**
+     * Trouver les entités perçues autour de la créature, sans allocation
+     * 
+     * @param radius Rayon de perception
+     * @param tag Ordinal du comportement recherché, ou PerceptionService.ANY_TAG
+     * @param out Résultat à remplir, réutilisé d'un appel à l'autre
+     * @return Nombre d'entités trouvées (0 si l'IA n'est pas dans un lot avec perception)
+     */
+    public int perceive(float radius, int tag, PerceptionService.Result out) {
+        PerceptionService perception = batch != null ? batch.getPerception() : null;
+        if (perception == null || creature == null) {
+            out.clear();
+            return 0;
+        }
+        return perception.query(creature.getX(), creature.getY(), radius, tag, out);
+    }
+    
+    /**
+     * Obtenir la vitesse de déplacement
+     * 
+     * @return Vitesse de déplacement
+     */
+    public float getMoveSpeed() {
+        return moveSpeed;
+    }
+    
+    /**
+     * Obtenir la distance de détection du joueur
+     * 
+     * @return Distance de détection
+     */
+    public float getDetectionRange() {
+        return detectionRange;
+    }
+    
+    /**
+     * Obtenir la créature contrôlée par cette IA
+     * 
+     * @return La créature
+     */
+    public Creature getCreature() {
+        return creature;
+    }
+    
+    /**
+     * Obtenir le lot contenant l'état de cette IA
+     * 
+     * @return Le lot, ou null si l'IA est mise à jour seule
+     */
+    public CreatureAIBatch getBatch() {
+        return batch;
+    }
+    
+    /**
+     * Obtenir l'emplacement de l'IA dans son lot
+     * 
+     * @return Index de l'emplacement, ou -1
+     */
+    int getSlot() {
+        return slot;
+    }
+    
+    /**
+     * Lier l'IA à un emplacement de lot (appelé par le lot, y compris quand l'emplacement change)
+     * 
+     * @param batch Le lot
+     * @param slot Index de l'emplacement
+     */
+    void bind(CreatureAIBatch batch, int slot) {
+        this.batch = batch;
+        this.slot = slot;
+    }
+    
+    /**
+     * Détacher l'IA de son lot en reprenant son état
+     * 
+     * @param behaviorType Comportement courant dans le lot
+     * @param moveSpeed Vitesse courante dans le lot
+     */
+    void unbind(BehaviorType behaviorType, float moveSpeed) {
+        this.batch = null;
+        this.slot = -1;
+        this.currentBehavior = behaviorType;
+        this.moveSpeed = moveSpeed;
+        this.stateTimer = 0;
     }
 }
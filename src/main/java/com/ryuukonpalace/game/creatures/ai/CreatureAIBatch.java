@@ -0,0 +1,861 @@
+package com.ryuukonpalace.game.creatures.ai;
+
+import com.ryuukonpalace.game.creatures.Creature;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Mise à jour groupée de l'IA des créatures sauvages.
+ * L'état de toutes les IA (position, direction, comportement, timers, portées) est stocké dans
+ * des tableaux parallèles de types primitifs et mis à jour en une seule boucle, sans appel
+ * virtuel par créature. Les tests de distance se font au carré ; la seule racine carrée sert à
+ * normaliser la direction vers le joueur quand il est détecté. Les directions aléatoires sont
+ * tirées dans une table précalculée et chaque créature a son propre générateur xorshift.
+ * Au-delà d'un seuil, la boucle est découpée en tranches exécutées par le pool fork-join commun.
+ *
+ * Les positions sont lues sur les créatures au début de la mise à jour, et seules les créatures
+ * qui ont bougé sont replacées ensuite (sur le thread appelant : voir CollisionManager.markDirty).
+ *
+ * Avec un {@link PerceptionService}, les positions lues sont publiées dans le service avant la
+ * mise à jour (étiquetées par comportement) : les créatures peuvent alors réagir entre elles sans
+ * test de toutes les paires. Les créatures craintives fuient ainsi les créatures agressives proches.
+ *
+ * Niveaux de détail : les créatures proches du joueur sont mises à jour à chaque tick, celles
+ * à distance moyenne et visibles une fois tous les {@code midTickInterval} ticks avec le temps
+ * accumulé, les autres dorment. Le réveil ne coûte qu'une comparaison de distance par tick,
+ * ou un événement explicite ({@link #wakeArea}) qui garde les créatures éveillées un moment.
+ */
+public class CreatureAIBatch {
+
+    // Nombre de créatures à partir duquel la mise à jour est parallélisée
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    // Nombre de créatures traitées par une tâche fork-join
+    private static final int CHUNK_SIZE = 2048;
+
+    // Étapes d'une passe sur les emplacements
+    private static final int READ = 1;
+    private static final int STEP = 2;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // Niveaux de détail
+    public static final int TIER_NEAR = 0;
+    public static final int TIER_MID = 1;
+    public static final int TIER_ASLEEP = 2;
+
+    // Rayons des niveaux de détail par défaut (au-delà de la portée de détection maximale)
+    public static final float DEFAULT_NEAR_RADIUS = 480.0f;
+    public static final float DEFAULT_MID_RADIUS = 1200.0f;
+
+    // Une mise à jour sur 4 pour les créatures à distance moyenne par défaut
+    public static final int DEFAULT_MID_TICK_INTERVAL = 4;
+
+    // Comportements (ordinaux de CreatureAI.BehaviorType)
+    private static final byte IDLE = (byte) CreatureAI.BehaviorType.IDLE.ordinal();
+    private static final byte RANDOM_MOVE = (byte) CreatureAI.BehaviorType.RANDOM_MOVE.ordinal();
+    private static final byte FLEE = (byte) CreatureAI.BehaviorType.FLEE.ordinal();
+    private static final byte AGGRESSIVE = (byte) CreatureAI.BehaviorType.AGGRESSIVE.ordinal();
+    private static final CreatureAI.BehaviorType[] BEHAVIORS = CreatureAI.BehaviorType.values();
+
+    // Table des directions aléatoires (vecteurs unitaires)
+    private static final int DIRECTION_COUNT = 256;
+    private static final float[] DIRECTION_X = new float[DIRECTION_COUNT];
+    private static final float[] DIRECTION_Y = new float[DIRECTION_COUNT];
+
+    static {
+        for (int i = 0; i < DIRECTION_COUNT; i++) {
+            double angle = 2 * Math.PI * i / DIRECTION_COUNT;
+            DIRECTION_X[i] = (float) Math.cos(angle);
+            DIRECTION_Y[i] = (float) Math.sin(angle);
+        }
+    }
+
+    // Créatures et IA associées à chaque emplacement
+    private Creature[] creatures;
+    private CreatureAI[] handles;
+
+    // État des IA
+    private float[] x, y;
+    private float[] directionX, directionY;
+    private float[] moveSpeed;
+    private float[] detectionRangeSq, fleeRange, fleeRangeSq, attackRangeSq;
+    private float[] stateTimer, maxStateTime;
+    private byte[] behavior;
+    private int[] seeds;
+    private boolean[] active;
+    private boolean[] moved;
+    private byte[] tier;
+    private float[] pendingTime;
+    private float[] wakeTimer;
+
+    private int size = 0;
+
+    // Réglages des niveaux de détail
+    private float nearRadiusSq = DEFAULT_NEAR_RADIUS * DEFAULT_NEAR_RADIUS;
+    private float midRadiusSq = DEFAULT_MID_RADIUS * DEFAULT_MID_RADIUS;
+    private int midTickInterval = DEFAULT_MID_TICK_INTERVAL;
+
+    // Zone visible à l'écran (sans vue, seule la distance compte)
+    private boolean hasView = false;
+    private float viewMinX, viewMinY, viewMaxX, viewMaxY;
+
+    // Nombre de mises à jour effectuées (étale les ticks des créatures à distance moyenne)
+    private int frame = 0;
+
+    // Nombre de créatures actives par niveau à la dernière mise à jour
+    private final int[] tierCounts = new int[3];
+
+    // Seuil de parallélisation
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    // Générateur des graines des créatures
+    private final Random random;
+
+    // Perception partagée (null : les créatures ne réagissent qu'au joueur)
+    private PerceptionService perception;
+
+    // Résultat de requête de perception propre à chaque thread de mise à jour
+    private final ThreadLocal<PerceptionService.Result> perceptionResults =
+        ThreadLocal.withInitial(PerceptionService.Result::new);
+
+    /**
+     * Constructeur
+     */
+    public CreatureAIBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructeur
+     * @param capacity Capacité initiale
+     */
+    public CreatureAIBatch(int capacity) {
+        this(capacity, new Random());
+    }
+
+    /**
+     * Constructeur avec un générateur donné (résultats reproductibles)
+     * @param capacity Capacité initiale
+     * @param random Générateur des graines des créatures
+     */
+    CreatureAIBatch(int capacity, Random random) {
+        this.random = random;
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * Allouer (ou agrandir) les tableaux
+     * @param capacity Nouvelle capacité
+     */
+    private void allocate(int capacity) {
+        if (creatures == null) {
+            creatures = new Creature[capacity];
+            handles = new CreatureAI[capacity];
+            x = new float[capacity];
+            y = new float[capacity];
+            directionX = new float[capacity];
+            directionY = new float[capacity];
+            moveSpeed = new float[capacity];
+            detectionRangeSq = new float[capacity];
+            fleeRange = new float[capacity];
+            fleeRangeSq = new float[capacity];
+            attackRangeSq = new float[capacity];
+            stateTimer = new float[capacity];
+            maxStateTime = new float[capacity];
+            behavior = new byte[capacity];
+            seeds = new int[capacity];
+            active = new boolean[capacity];
+            moved = new boolean[capacity];
+            tier = new byte[capacity];
+            pendingTime = new float[capacity];
+            wakeTimer = new float[capacity];
+        } else {
+            creatures = Arrays.copyOf(creatures, capacity);
+            handles = Arrays.copyOf(handles, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            directionX = Arrays.copyOf(directionX, capacity);
+            directionY = Arrays.copyOf(directionY, capacity);
+            moveSpeed = Arrays.copyOf(moveSpeed, capacity);
+            detectionRangeSq = Arrays.copyOf(detectionRangeSq, capacity);
+            fleeRange = Arrays.copyOf(fleeRange, capacity);
+            fleeRangeSq = Arrays.copyOf(fleeRangeSq, capacity);
+            attackRangeSq = Arrays.copyOf(attackRangeSq, capacity);
+            stateTimer = Arrays.copyOf(stateTimer, capacity);
+            maxStateTime = Arrays.copyOf(maxStateTime, capacity);
+            behavior = Arrays.copyOf(behavior, capacity);
+            seeds = Arrays.copyOf(seeds, capacity);
+            active = Arrays.copyOf(active, capacity);
+            moved = Arrays.copyOf(moved, capacity);
+            tier = Arrays.copyOf(tier, capacity);
+            pendingTime = Arrays.copyOf(pendingTime, capacity);
+            wakeTimer = Arrays.copyOf(wakeTimer, capacity);
+        }
+    }
+
+    /**
+     * Ajouter l'IA d'une créature au lot.
+     * L'IA est liée à son emplacement : ses accesseurs lisent et modifient l'état du lot.
+     *
+     * @param ai L'IA à ajouter (déjà associée à sa créature)
+     */
+    public void add(CreatureAI ai) {
+        if (ai == null || ai.getBatch() != null) {
+            return;
+        }
+        Creature creature = ai.getCreature();
+        int slot = addSlot(creature, creature != null ? creature.getX() : 0, creature != null ? creature.getY() : 0,
+                           ai.getCurrentBehavior(), ai.getMoveSpeed(), ai.getDetectionRange());
+        handles[slot] = ai;
+        ai.bind(this, slot);
+    }
+
+    /**
+     * Ajouter un emplacement au lot
+     *
+     * @param creature Créature associée, ou null pour une IA sans créature (benchmarks)
+     * @param startX Position X initiale
+     * @param startY Position Y initiale
+     * @param behaviorType Comportement initial
+     * @param speed Vitesse de déplacement
+     * @param detectionRange Distance de détection du joueur
+     * @return Index de l'emplacement
+     */
+    int addSlot(Creature creature, float startX, float startY, CreatureAI.BehaviorType behaviorType,
+                float speed, float detectionRange) {
+        if (size == x.length) {
+            allocate(x.length * 2);
+        }
+        int slot = size++;
+        creatures[slot] = creature;
+        handles[slot] = null;
+        x[slot] = startX;
+        y[slot] = startY;
+        moveSpeed[slot] = speed;
+        setRanges(slot, detectionRange);
+        stateTimer[slot] = 0;
+        maxStateTime[slot] = 3.0f; // 3 secondes par défaut
+        behavior[slot] = (byte) behaviorType.ordinal();
+        int seed = random.nextInt();
+        seeds[slot] = seed != 0 ? seed : 1;
+        active[slot] = true;
+        moved[slot] = false;
+        tier[slot] = TIER_NEAR;
+        pendingTime[slot] = 0;
+        wakeTimer[slot] = 0;
+
+        // Initialiser une direction aléatoire
+        setRandomDirection(slot);
+        return slot;
+    }
+
+    /**
+     * Retirer l'IA d'une créature du lot
+     *
+     * @param ai L'IA à retirer
+     */
+    public void remove(CreatureAI ai) {
+        if (ai == null || ai.getBatch() != this) {
+            return;
+        }
+        int slot = ai.getSlot();
+
+        // Recopier l'état dans l'IA pour qu'elle reste utilisable seule
+        ai.unbind(BEHAVIORS[behavior[slot]], moveSpeed[slot]);
+
+        // Remplacer l'emplacement par le dernier
+        int last = --size;
+        if (slot != last) {
+            creatures[slot] = creatures[last];
+            handles[slot] = handles[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            directionX[slot] = directionX[last];
+            directionY[slot] = directionY[last];
+            moveSpeed[slot] = moveSpeed[last];
+            detectionRangeSq[slot] = detectionRangeSq[last];
+            fleeRange[slot] = fleeRange[last];
+            fleeRangeSq[slot] = fleeRangeSq[last];
+            attackRangeSq[slot] = attackRangeSq[last];
+            stateTimer[slot] = stateTimer[last];
+            maxStateTime[slot] = maxStateTime[last];
+            behavior[slot] = behavior[last];
+            seeds[slot] = seeds[last];
+            active[slot] = active[last];
+            moved[slot] = moved[last];
+            tier[slot] = tier[last];
+            pendingTime[slot] = pendingTime[last];
+            wakeTimer[slot] = wakeTimer[last];
+            if (handles[slot] != null) {
+                handles[slot].bind(this, slot);
+            }
+        }
+        creatures[last] = null;
+        handles[last] = null;
+    }
+
+    /**
+     * Vider le lot
+     */
+    public void clear() {
+        while (size > 0) {
+            if (handles[size - 1] != null) {
+                remove(handles[size - 1]);
+            } else {
+                size--;
+                creatures[size] = null;
+            }
+        }
+    }
+
+    /**
+     * Mettre à jour toutes les IA du lot
+     *
+     * @param deltaTime Temps écoulé depuis la dernière mise à jour
+     * @param playerX Position X du joueur
+     * @param playerY Position Y du joueur
+     */
+    public void update(float deltaTime, float playerX, float playerY) {
+        if (perception != null) {
+            // Lire toutes les positions et les publier avant que les créatures ne bougent
+            run(READ, deltaTime, playerX, playerY);
+            publishPerception();
+            run(STEP, deltaTime, playerX, playerY);
+        } else {
+            run(READ | STEP, deltaTime, playerX, playerY);
+        }
+
+        // Replacer les créatures qui ont bougé (met à jour leurs colliders)
+        tierCounts[TIER_NEAR] = 0;
+        tierCounts[TIER_MID] = 0;
+        tierCounts[TIER_ASLEEP] = 0;
+        for (int i = 0; i < size; i++) {
+            if (moved[i] && creatures[i] != null) {
+                creatures[i].setPosition(x[i], y[i]);
+            }
+            if (active[i]) {
+                tierCounts[tier[i]]++;
+            }
+        }
+        frame = (frame + 1) & 0x3FFFFFFF;
+    }
+
+    /**
+     * Mettre à jour une seule IA du lot
+     *
+     * @param slot Index de l'emplacement
+     * @param deltaTime Temps écoulé depuis la dernière mise à jour
+     * @param playerX Position X du joueur
+     * @param playerY Position Y du joueur
+     */
+    void updateSlot(int slot, float deltaTime, float playerX, float playerY) {
+        process(slot, slot + 1, READ | STEP, deltaTime, playerX, playerY);
+        if (moved[slot] && creatures[slot] != null) {
+            creatures[slot].setPosition(x[slot], y[slot]);
+        }
+    }
+
+    /**
+     * Exécuter une passe sur tous les emplacements, en parallèle au-delà du seuil
+     *
+     * @param steps Étapes à exécuter (READ, STEP)
+     * @param deltaTime Temps écoulé depuis la dernière mise à jour
+     * @param playerX Position X du joueur
+     * @param playerY Position Y du joueur
+     */
+    private void run(int steps, float deltaTime, float playerX, float playerY) {
+        if (size >= parallelThreshold) {
+            ForkJoinPool.commonPool().invoke(new UpdateTask(0, size, steps, deltaTime, playerX, playerY));
+        } else {
+            process(0, size, steps, deltaTime, playerX, playerY);
+        }
+    }
+
+    /**
+     * Exécuter les étapes demandées sur une plage d'emplacements.
+     * Ne fait que lire les créatures : peut être exécuté en parallèle sur des plages disjointes.
+     *
+     * @param start Premier emplacement
+     * @param end Emplacement de fin (exclu)
+     * @param steps Étapes à exécuter (READ, STEP)
+     * @param deltaTime Temps écoulé depuis la dernière mise à jour
+     * @param playerX Position X du joueur
+     * @param playerY Position Y du joueur
+     */
+    private void process(int start, int end, int steps, float deltaTime, float playerX, float playerY) {
+        if ((steps & READ) != 0) {
+            readRange(start, end);
+        }
+        if ((steps & STEP) != 0) {
+            updateRange(start, end, deltaTime, playerX, playerY);
+        }
+    }
+
+    /**
+     * Lire l'état des créatures d'une plage (elles ont pu être déplacées ou désactivées ailleurs)
+     *
+     * @param start Premier emplacement
+     * @param end Emplacement de fin (exclu)
+     */
+    private void readRange(int start, int end) {
+        for (int i = start; i < end; i++) {
+            Creature creature = creatures[i];
+            if (creature != null) {
+                active[i] = creature.isActive() && (handles[i] == null || creature.getAI() == handles[i]);
+                x[i] = creature.getX();
+                y[i] = creature.getY();
+            }
+        }
+    }
+
+    /**
+     * Publier la position et le comportement des créatures actives dans la perception
+     */
+    private void publishPerception() {
+        perception.clear();
+        for (int i = 0; i < size; i++) {
+            if (active[i]) {
+                perception.add(i, x[i], y[i], behavior[i]);
+            }
+        }
+        perception.build();
+    }
+
+    /**
+     * Mettre à jour les IA d'une plage d'emplacements
+     *
+     * @param start Premier emplacement
+     * @param end Emplacement de fin (exclu)
+     * @param deltaTime Temps écoulé depuis la dernière mise à jour
+     * @param playerX Position X du joueur
+     * @param playerY Position Y du joueur
+     */
+    private void updateRange(int start, int end, float deltaTime, float playerX, float playerY) {
+        for (int i = start; i < end; i++) {
+            moved[i] = false;
+            if (!active[i]) {
+                continue;
+            }
+
+            float dx = playerX - x[i];
+            float dy = playerY - y[i];
+            float distanceSq = dx * dx + dy * dy;
+
+            // Choisir le niveau de détail et le temps à simuler pour ce tick
+            float stepTime = deltaTime;
+            if (distanceSq > nearRadiusSq || wakeTimer[i] > 0) {
+                int level = classify(i, distanceSq, deltaTime);
+                tier[i] = (byte) level;
+                if (level == TIER_ASLEEP) {
+                    // Le temps passé endormi n'est pas rattrapé
+                    pendingTime[i] = 0;
+                    continue;
+                } else if (level == TIER_MID) {
+                    pendingTime[i] += deltaTime;
+                    if ((frame + i) % midTickInterval != 0) {
+                        continue;
+                    }
+                    stepTime = 0;
+                }
+            } else {
+                tier[i] = TIER_NEAR;
+            }
+            if (pendingTime[i] != 0) {
+                stepTime += pendingTime[i];
+                pendingTime[i] = 0;
+            }
+
+            byte state = behavior[i];
+            float timer = stateTimer[i] + stepTime;
+
+            // Vérifier si nous devons changer d'état
+            if (timer >= maxStateTime[i]) {
+                timer = 0;
+                if (state == RANDOM_MOVE || state == IDLE) {
+                    // 70% de chance de continuer à se déplacer, 30% de rester immobile
+                    if (nextFloat(i) < 0.7f) {
+                        state = RANDOM_MOVE;
+                        setRandomDirection(i);
+                    } else {
+                        state = IDLE;
+                    }
+
+                    // Durée aléatoire pour le prochain état (1 à 4 secondes)
+                    maxStateTime[i] = 1.0f + nextFloat(i) * 3.0f;
+                }
+            }
+
+            float speed = 0;
+
+            // Détecter le joueur et ajuster le comportement si nécessaire
+            boolean playerDetected = distanceSq <= detectionRangeSq[i];
+            if (playerDetected) {
+                // Direction unitaire vers le joueur
+                float towardX = 1.0f;
+                float towardY = 0.0f;
+                if (distanceSq > 0) {
+                    float inverse = 1.0f / (float) Math.sqrt(distanceSq);
+                    towardX = dx * inverse;
+                    towardY = dy * inverse;
+                }
+
+                if (state == AGGRESSIVE && distanceSq <= attackRangeSq[i]) {
+                    // Le joueur est à portée d'attaque : se tourner vers lui
+                    directionX[i] = towardX;
+                    directionY[i] = towardY;
+                } else if (state == FLEE || distanceSq <= fleeRangeSq[i]) {
+                    // Fuir le joueur plus vite que la normale
+                    directionX[i] = -towardX;
+                    directionY[i] = -towardY;
+                    state = FLEE;
+                    speed = moveSpeed[i] * 1.5f;
+                    timer = 0;
+                    maxStateTime[i] = 2.0f;
+                } else if (state == AGGRESSIVE) {
+                    // Se diriger vers le joueur
+                    directionX[i] = towardX;
+                    directionY[i] = towardY;
+                    speed = moveSpeed[i];
+                    timer = 0;
+                    maxStateTime[i] = 2.0f;
+                }
+            }
+
+            // Sans joueur en vue, une créature craintive fuit la créature agressive la plus proche
+            if (!playerDetected && state == FLEE && perception != null) {
+                PerceptionService.Result nearby = perceptionResults.get();
+                if (perception.query(x[i], y[i], fleeRange[i], AGGRESSIVE, nearby) > 0) {
+                    int nearest = nearby.nearest();
+                    float awayX = x[i] - nearby.getX(nearest);
+                    float awayY = y[i] - nearby.getY(nearest);
+                    float awaySq = awayX * awayX + awayY * awayY;
+                    if (awaySq > 0) {
+                        float inverse = 1.0f / (float) Math.sqrt(awaySq);
+                        directionX[i] = awayX * inverse;
+                        directionY[i] = awayY * inverse;
+                    }
+                    speed = moveSpeed[i] * 1.5f;
+                    timer = 0;
+                    maxStateTime[i] = 2.0f;
+                }
+            }
+
+            if (state == RANDOM_MOVE) {
+                speed = moveSpeed[i];
+            }
+
+            if (speed > 0) {
+                x[i] += directionX[i] * speed * stepTime;
+                y[i] += directionY[i] * speed * stepTime;
+                moved[i] = true;
+            }
+
+            behavior[i] = state;
+            stateTimer[i] = timer;
+        }
+    }
+
+    /**
+     * Choisir le niveau de détail d'un emplacement
+     * @param slot Index de l'emplacement
+     * @param distanceSq Distance au joueur au carré
+     * @param deltaTime Temps écoulé depuis la dernière mise à jour
+     * @return TIER_NEAR, TIER_MID ou TIER_ASLEEP
+     */
+    private int classify(int slot, float distanceSq, float deltaTime) {
+        if (wakeTimer[slot] > 0) {
+            // Réveillée par un événement
+            wakeTimer[slot] -= deltaTime;
+            return TIER_NEAR;
+        }
+        if (distanceSq <= nearRadiusSq) {
+            return TIER_NEAR;
+        }
+        if (distanceSq <= midRadiusSq && isOnScreen(slot)) {
+            return TIER_MID;
+        }
+        return TIER_ASLEEP;
+    }
+
+    /**
+     * Vérifier si un emplacement est dans la zone visible
+     * @param slot Index de l'emplacement
+     * @return true si visible, ou s'il n'y a pas de vue définie
+     */
+    private boolean isOnScreen(int slot) {
+        return !hasView || (x[slot] >= viewMinX && x[slot] <= viewMaxX && y[slot] >= viewMinY && y[slot] <= viewMaxY);
+    }
+
+    /**
+     * Tâche fork-join mettant à jour une plage d'emplacements
+     */
+    private class UpdateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int start, end, steps;
+        private final float deltaTime, playerX, playerY;
+
+        UpdateTask(int start, int end, int steps, float deltaTime, float playerX, float playerY) {
+            this.start = start;
+            this.end = end;
+            this.steps = steps;
+            this.deltaTime = deltaTime;
+            this.playerX = playerX;
+            this.playerY = playerY;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= CHUNK_SIZE) {
+                process(start, end, steps, deltaTime, playerX, playerY);
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new UpdateTask(start, middle, steps, deltaTime, playerX, playerY),
+                          new UpdateTask(middle, end, steps, deltaTime, playerX, playerY));
+            }
+        }
+    }
+
+    /**
+     * Tirer un nombre aléatoire entre 0 et 1 avec le générateur d'une créature (xorshift32)
+     * @param slot Index de l'emplacement
+     * @return Nombre dans [0, 1)
+     */
+    private float nextFloat(int slot) {
+        int s = seeds[slot];
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        seeds[slot] = s;
+        return (s >>> 8) * 0x1.0p-24f;
+    }
+
+    /**
+     * Choisir une direction aléatoire dans la table des directions
+     * @param slot Index de l'emplacement
+     */
+    private void setRandomDirection(int slot) {
+        int direction = (int) (nextFloat(slot) * DIRECTION_COUNT);
+        directionX[slot] = DIRECTION_X[direction];
+        directionY[slot] = DIRECTION_Y[direction];
+    }
+
+    /**
+     * Définir les portées (détection, fuite, attaque) d'un emplacement
+     * @param slot Index de l'emplacement
+     * @param detectionRange Distance de détection du joueur
+     */
+    private void setRanges(int slot, float detectionRange) {
+        float flee = detectionRange * 0.8f;
+        float attackRange = detectionRange * 0.5f;
+        detectionRangeSq[slot] = detectionRange * detectionRange;
+        fleeRange[slot] = flee;
+        fleeRangeSq[slot] = flee * flee;
+        attackRangeSq[slot] = attackRange * attackRange;
+    }
+
+    /**
+     * Obtenir le comportement d'un emplacement
+     * @param slot Index de l'emplacement
+     * @return Comportement actuel
+     */
+    CreatureAI.BehaviorType getBehavior(int slot) {
+        return BEHAVIORS[behavior[slot]];
+    }
+
+    /**
+     * Définir le comportement d'un emplacement
+     * @param slot Index de l'emplacement
+     * @param behaviorType Nouveau comportement
+     */
+    void setBehavior(int slot, CreatureAI.BehaviorType behaviorType) {
+        behavior[slot] = (byte) behaviorType.ordinal();
+        stateTimer[slot] = 0;
+
+        // Réinitialiser la direction si on passe en déplacement aléatoire
+        if (behaviorType == CreatureAI.BehaviorType.RANDOM_MOVE) {
+            setRandomDirection(slot);
+        }
+    }
+
+    /**
+     * Définir la vitesse d'un emplacement
+     * @param slot Index de l'emplacement
+     * @param speed Nouvelle vitesse de déplacement
+     */
+    void setMoveSpeed(int slot, float speed) {
+        moveSpeed[slot] = speed;
+    }
+
+    /**
+     * Définir la distance de détection d'un emplacement
+     * @param slot Index de l'emplacement
+     * @param detectionRange Nouvelle distance de détection
+     */
+    void setDetectionRange(int slot, float detectionRange) {
+        setRanges(slot, detectionRange);
+    }
+
+    /**
+     * Réveiller les créatures d'une zone (par exemple quand le joueur entre dans une zone d'apparition)
+     * @param minX Bord gauche de la zone
+     * @param minY Bord haut de la zone
+     * @param maxX Bord droit de la zone
+     * @param maxY Bord bas de la zone
+     * @param duration Durée minimale d'éveil en secondes
+     * @return Nombre de créatures réveillées
+     */
+    public int wakeArea(float minX, float minY, float maxX, float maxY, float duration) {
+        int woken = 0;
+        for (int i = 0; i < size; i++) {
+            if (x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY) {
+                wakeTimer[i] = Math.max(wakeTimer[i], duration);
+                woken++;
+            }
+        }
+        return woken;
+    }
+
+    /**
+     * Réveiller une créature (par exemple à son apparition)
+     * @param ai L'IA de la créature
+     * @param duration Durée minimale d'éveil en secondes
+     */
+    public void wake(CreatureAI ai, float duration) {
+        if (ai != null && ai.getBatch() == this) {
+            int slot = ai.getSlot();
+            wakeTimer[slot] = Math.max(wakeTimer[slot], duration);
+        }
+    }
+
+    /**
+     * Définir la zone visible à l'écran pour les niveaux de détail
+     * @param minX Bord gauche
+     * @param minY Bord haut
+     * @param maxX Bord droit
+     * @param maxY Bord bas
+     */
+    public void setView(float minX, float minY, float maxX, float maxY) {
+        hasView = true;
+        viewMinX = minX;
+        viewMinY = minY;
+        viewMaxX = maxX;
+        viewMaxY = maxY;
+    }
+
+    /**
+     * Supprimer la zone visible (seule la distance au joueur compte)
+     */
+    public void clearView() {
+        hasView = false;
+    }
+
+    /**
+     * Définir les rayons des niveaux de détail
+     * @param nearRadius Distance au joueur en deçà de laquelle l'IA est mise à jour à chaque tick
+     * @param midRadius Distance au joueur en deçà de laquelle une créature visible est mise à jour
+     *                  à fréquence réduite (au-delà, elle dort)
+     */
+    public void setLodRadii(float nearRadius, float midRadius) {
+        nearRadiusSq = nearRadius * nearRadius;
+        midRadiusSq = Math.max(nearRadius, midRadius) * Math.max(nearRadius, midRadius);
+    }
+
+    /**
+     * Définir la fréquence de mise à jour des créatures à distance moyenne
+     * @param midTickInterval Nombre de ticks entre deux mises à jour
+     */
+    public void setMidTickInterval(int midTickInterval) {
+        this.midTickInterval = Math.max(1, midTickInterval);
+    }
+
+    /**
+     * Obtenir le nombre de créatures actives d'un niveau de détail à la dernière mise à jour
+     * @param level TIER_NEAR, TIER_MID ou TIER_ASLEEP
+     * @return Nombre de créatures
+     */
+    public int getTierCount(int level) {
+        return tierCounts[level];
+    }
+
+    /**
+     * Obtenir le niveau de détail d'un emplacement à la dernière mise à jour
+     * @param slot Index de l'emplacement
+     * @return TIER_NEAR, TIER_MID ou TIER_ASLEEP
+     */
+    public int getTier(int slot) {
+        return tier[slot];
+    }
+
+    /**
+     * Obtenir des statistiques sur les niveaux de détail
+     * @return Statistiques sous forme de chaîne
+     */
+    public String getLodStats() {
+        return String.format("IA proches: %d, intermédiaires: %d, endormies: %d",
+                             tierCounts[TIER_NEAR], tierCounts[TIER_MID], tierCounts[TIER_ASLEEP]);
+    }
+
+    /**
+     * Définir le service de perception alimenté par le lot à chaque mise à jour
+     * @param perception Service de perception, ou null pour ne réagir qu'au joueur
+     */
+    public void setPerception(PerceptionService perception) {
+        this.perception = perception;
+    }
+
+    /**
+     * Obtenir le service de perception alimenté par le lot
+     * @return Service de perception, ou null
+     */
+    public PerceptionService getPerception() {
+        return perception;
+    }
+
+    /**
+     * Obtenir la position X calculée pour un emplacement
+     * @param slot Index de l'emplacement
+     * @return Position X
+     */
+    public float getX(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * Obtenir la position Y calculée pour un emplacement
+     * @param slot Index de l'emplacement
+     * @return Position Y
+     */
+    public float getY(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Obtenir le nombre d'IA dans le lot
+     * @return Nombre d'IA
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtenir le seuil de parallélisation
+     * @return Nombre de créatures à partir duquel la mise à jour est parallèle
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Définir le seuil de parallélisation
+     * @param parallelThreshold Nombre de créatures à partir duquel la mise à jour est parallèle
+     *                          (Integer.MAX_VALUE pour toujours rester séquentiel)
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ryuukonpalace.game.creatures.ai;
 
+import com.ryuukonpalace.game.core.Camera;
 import com.ryuukonpalace.game.creatures.Creature;
 import com.ryuukonpalace.game.player.Player;
 import com.ryuukonpalace.game.world.GameObject;
@@ -25,12 +26,23 @@ public class CreatureAIManager {
     // Générateur de nombres aléatoires
     private Random random;
     
+    // État des IA des créatures sauvages, mis à jour en une seule passe
+    private CreatureAIBatch batch;
+    
+    // Durée pendant laquelle un événement garde les créatures éveillées (en secondes)
+    private static final float WAKE_DURATION = 5.0f;
+    
+    // Marge autour d'une zone d'apparition pour le réveil des créatures
+    private static final float WAKE_MARGIN = 64.0f;
+    
     /**
      * Constructeur privé pour le singleton
      */
     private CreatureAIManager() {
         wildCreatures = new ArrayList<>();
         random = new Random();
+        batch = new CreatureAIBatch();
+        batch.setPerception(new PerceptionService());
     }
     
     /**
@@ -54,9 +66,16 @@ public class CreatureAIManager {
      */
     public void addWildCreature(Creature creature, CreatureAI.BehaviorType behaviorType, float moveSpeed, float detectionRange) {
         if (creature != null) {
-            // Créer et attacher l'IA à la créature
-            CreatureAI ai = new CreatureAI(creature, behaviorType, moveSpeed, detectionRange);
-            creature.setAI(ai);
+            // Réutiliser l'IA de la créature (retirée du lot par reset) ou en créer une
+            CreatureAI ai = creature.getAI();
+            if (ai != null && ai.getCreature() == creature) {
+                ai.reset(behaviorType, moveSpeed, detectionRange);
+            } else {
+                batch.remove(ai);
+                ai = new CreatureAI(creature, behaviorType, moveSpeed, detectionRange);
+                creature.setAI(ai);
+            }
+            batch.add(ai);
             
             // Marquer la créature comme sauvage
             creature.setWild(true);
@@ -96,6 +115,9 @@ public class CreatureAIManager {
      */
     public void removeWildCreature(Creature creature) {
         wildCreatures.remove(creature);
+        if (creature != null) {
+            batch.remove(creature.getAI());
+        }
     }
     
     /**
@@ -105,11 +127,60 @@ public class CreatureAIManager {
      * @param player Le joueur (pour la détection)
      */
     public void updateWildCreatures(float deltaTime, Player player) {
-        for (Creature creature : wildCreatures) {
-            if (creature.isActive() && creature.getAI() != null) {
-                creature.updateAI(deltaTime, player);
-            }
+        // Zone visible pour les niveaux de détail
+        Camera camera = Camera.getInstance();
+        if (camera.getViewWidth() > 0 && camera.getZoom() > 0) {
+            batch.setView(camera.getX(), camera.getY(),
+                          camera.getX() + camera.getViewWidth() / camera.getZoom(),
+                          camera.getY() + camera.getViewHeight() / camera.getZoom());
+        } else {
+            batch.clearView();
         }
+        
+        // Les créatures inactives ou dont l'IA a été remplacée sont ignorées par le lot
+        batch.update(deltaTime, player.getX(), player.getY());
+    }
+    
+    /**
+     * Réveiller les créatures d'une zone d'apparition (le joueur vient d'y entrer)
+     * 
+     * @param spawnZone La zone d'apparition
+     */
+    public void wakeCreaturesInZone(SpawnZone spawnZone) {
+        if (spawnZone != null) {
+            batch.wakeArea(spawnZone.getX() - WAKE_MARGIN, spawnZone.getY() - WAKE_MARGIN,
+                           spawnZone.getX() + spawnZone.getWidth() + WAKE_MARGIN,
+                           spawnZone.getY() + spawnZone.getHeight() + WAKE_MARGIN, WAKE_DURATION);
+        }
+    }
+    
+    /**
+     * Obtenir des statistiques sur les niveaux de détail de l'IA
+     * 
+     * @return Nombre de créatures par niveau sous forme de chaîne
+     */
+    public String getLodStats() {
+        return batch.getLodStats();
+    }
+    
+    /**
+     * Obtenir le lot contenant l'état des IA des créatures sauvages
+     * 
+     * @return Le lot d'IA
+     */
+    public CreatureAIBatch getBatch() {
+        return batch;
+    }
+    
+    /**
+     * Obtenir le service de perception partagé par les créatures sauvages.
+     * Il contient les créatures actives au début de la dernière mise à jour, étiquetées par
+     * l'ordinal de leur comportement.
+     * 
+     * @return Le service de perception
+     */
+    public PerceptionService getPerception() {
+        return batch.getPerception();
     }
     
     /**
@@ -127,6 +198,9 @@ public class CreatureAIManager {
             
             // Ajouter la créature au gestionnaire d'IA avec un comportement aléatoire
             addWildCreatureWithRandomBehavior(creature);
+            
+            // La créature vient d'apparaître près du joueur : la garder éveillée
+            batch.wake(creature.getAI(), WAKE_DURATION);
         }
     }
     
@@ -0,0 +1,335 @@
+package com.ryuukonpalace.game.creatures.ai;
+
+import java.util.Arrays;
+
+/**
+ * Service de perception partagé par les IA : répond aux requêtes « entités à moins de r de (x, y) ».
+ * Les entités (identifiant, position, étiquette) sont ajoutées à chaque tick puis rangées par
+ * cellule d'une grille hachée avec un tri par dénombrement, dans des tableaux réutilisés :
+ * ni la reconstruction ni les requêtes n'allouent une fois la capacité atteinte.
+ * Après {@link #build()}, les requêtes ne font que lire et peuvent être faites depuis plusieurs
+ * threads, chacun avec son propre {@link Result}.
+ */
+public class PerceptionService {
+
+    // Taille des cellules par défaut (de l'ordre des portées de détection des créatures)
+    public static final float DEFAULT_CELL_SIZE = 128.0f;
+
+    // Étiquette acceptant toutes les entités dans une requête
+    public static final int ANY_TAG = -1;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Résultat d'une requête, à réutiliser d'une requête à l'autre
+     */
+    public static class Result {
+        private int[] ids = new int[16];
+        private int[] tags = new int[16];
+        private float[] x = new float[16];
+        private float[] y = new float[16];
+        private float[] distanceSq = new float[16];
+        private int size = 0;
+
+        /**
+         * Vider le résultat (la capacité est conservée)
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        private void add(int id, int tag, float entityX, float entityY, float entityDistanceSq) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                tags = Arrays.copyOf(tags, capacity);
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                distanceSq = Arrays.copyOf(distanceSq, capacity);
+            }
+            ids[size] = id;
+            tags[size] = tag;
+            x[size] = entityX;
+            y[size] = entityY;
+            distanceSq[size] = entityDistanceSq;
+            size++;
+        }
+
+        /**
+         * Obtenir le nombre d'entités trouvées
+         * @return Nombre d'entités
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Obtenir l'identifiant d'une entité trouvée
+         * @param index Index dans le résultat
+         * @return Identifiant de l'entité
+         */
+        public int getId(int index) {
+            return ids[index];
+        }
+
+        /**
+         * Obtenir l'étiquette d'une entité trouvée
+         * @param index Index dans le résultat
+         * @return Étiquette de l'entité
+         */
+        public int getTag(int index) {
+            return tags[index];
+        }
+
+        /**
+         * Obtenir la position X d'une entité trouvée (au moment de build)
+         * @param index Index dans le résultat
+         * @return Position X
+         */
+        public float getX(int index) {
+            return x[index];
+        }
+
+        /**
+         * Obtenir la position Y d'une entité trouvée (au moment de build)
+         * @param index Index dans le résultat
+         * @return Position Y
+         */
+        public float getY(int index) {
+            return y[index];
+        }
+
+        /**
+         * Obtenir le carré de la distance entre le centre de la requête et une entité trouvée
+         * @param index Index dans le résultat
+         * @return Distance au carré
+         */
+        public float getDistanceSq(int index) {
+            return distanceSq[index];
+        }
+
+        /**
+         * Obtenir l'index de l'entité la plus proche
+         * @return Index dans le résultat, ou -1 si le résultat est vide
+         */
+        public int nearest() {
+            int nearest = -1;
+            for (int i = 0; i < size; i++) {
+                if (nearest < 0 || distanceSq[i] < distanceSq[nearest]) {
+                    nearest = i;
+                }
+            }
+            return nearest;
+        }
+    }
+
+    private final float cellSize;
+    private final float inverseCellSize;
+
+    // Entités ajoutées depuis clear(), dans l'ordre d'ajout
+    private int[] pendingIds, pendingTags;
+    private float[] pendingX, pendingY;
+    private int count = 0;
+
+    // Entités rangées par alvéole de la table de hachage (après build)
+    private int[] ids, tags, cellX, cellY;
+    private float[] x, y;
+    private int[] bucketStart = new int[1];
+    private int bucketMask = 0;
+    private int builtCount = 0;
+
+    /**
+     * Constructeur avec la taille de cellule par défaut
+     */
+    public PerceptionService() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructeur
+     * @param cellSize Taille des cellules de la grille
+     */
+    public PerceptionService(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Taille de cellule invalide: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+        pendingIds = new int[DEFAULT_CAPACITY];
+        pendingTags = new int[DEFAULT_CAPACITY];
+        pendingX = new float[DEFAULT_CAPACITY];
+        pendingY = new float[DEFAULT_CAPACITY];
+        ids = new int[DEFAULT_CAPACITY];
+        tags = new int[DEFAULT_CAPACITY];
+        cellX = new int[DEFAULT_CAPACITY];
+        cellY = new int[DEFAULT_CAPACITY];
+        x = new float[DEFAULT_CAPACITY];
+        y = new float[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Retirer toutes les entités ajoutées (les requêtes voient encore le dernier build)
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Ajouter une entité pour le prochain build
+     * @param id Identifiant de l'entité (par exemple son index dans le lot d'IA)
+     * @param entityX Position X
+     * @param entityY Position Y
+     * @param tag Étiquette (type d'entité, comportement...) pour filtrer les requêtes
+     */
+    public void add(int id, float entityX, float entityY, int tag) {
+        if (count == pendingIds.length) {
+            int capacity = count * 2;
+            pendingIds = Arrays.copyOf(pendingIds, capacity);
+            pendingTags = Arrays.copyOf(pendingTags, capacity);
+            pendingX = Arrays.copyOf(pendingX, capacity);
+            pendingY = Arrays.copyOf(pendingY, capacity);
+        }
+        pendingIds[count] = id;
+        pendingTags[count] = tag;
+        pendingX[count] = entityX;
+        pendingY[count] = entityY;
+        count++;
+    }
+
+    /**
+     * Ranger les entités ajoutées dans la grille pour les requêtes suivantes
+     */
+    public void build() {
+        if (ids.length < count) {
+            int capacity = Math.max(count, ids.length * 2);
+            ids = new int[capacity];
+            tags = new int[capacity];
+            cellX = new int[capacity];
+            cellY = new int[capacity];
+            x = new float[capacity];
+            y = new float[capacity];
+        }
+
+        // Une alvéole par entité environ (puissance de deux)
+        int bucketCount = Integer.highestOneBit(Math.max(16, count - 1) * 2);
+        if (bucketStart.length < bucketCount + 1) {
+            bucketStart = new int[bucketCount + 1];
+        } else {
+            Arrays.fill(bucketStart, 0, bucketCount + 1, 0);
+        }
+        bucketMask = bucketCount - 1;
+
+        // Compter les entités par alvéole
+        for (int i = 0; i < count; i++) {
+            bucketStart[bucketOf(cellOf(pendingX[i]), cellOf(pendingY[i])) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+
+        // Placer chaque entité dans son alvéole
+        for (int i = 0; i < count; i++) {
+            int cx = cellOf(pendingX[i]);
+            int cy = cellOf(pendingY[i]);
+            int bucket = bucketOf(cx, cy);
+            int position = bucketStart[bucket]++;
+            ids[position] = pendingIds[i];
+            tags[position] = pendingTags[i];
+            x[position] = pendingX[i];
+            y[position] = pendingY[i];
+            cellX[position] = cx;
+            cellY[position] = cy;
+        }
+
+        // Les débuts ont été avancés jusqu'à la fin de chaque alvéole : les décaler d'un cran
+        for (int b = bucketCount; b > 0; b--) {
+            bucketStart[b] = bucketStart[b - 1];
+        }
+        bucketStart[0] = 0;
+        builtCount = count;
+    }
+
+    /**
+     * Trouver les entités à moins d'une distance donnée d'un point
+     * @param centerX Position X du centre
+     * @param centerY Position Y du centre
+     * @param radius Rayon de la requête
+     * @param tag Étiquette des entités recherchées, ou ANY_TAG
+     * @param out Résultat à remplir (vidé au préalable)
+     * @return Nombre d'entités trouvées
+     */
+    public int query(float centerX, float centerY, float radius, int tag, Result out) {
+        out.clear();
+        if (builtCount == 0 || radius < 0) {
+            return 0;
+        }
+        float radiusSq = radius * radius;
+        int minCellX = cellOf(centerX - radius);
+        int minCellY = cellOf(centerY - radius);
+        int maxCellX = cellOf(centerX + radius);
+        int maxCellY = cellOf(centerY + radius);
+
+        // Zone plus grande que la table : parcourir toutes les entités
+        long cellsInRange = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+        if (cellsInRange > bucketMask + 1) {
+            for (int i = 0; i < builtCount; i++) {
+                test(i, centerX, centerY, radiusSq, tag, out);
+            }
+            return out.size();
+        }
+
+        for (int cy = minCellY; cy <= maxCellY; cy++) {
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                int bucket = bucketOf(cx, cy);
+                int end = bucketStart[bucket + 1];
+                for (int i = bucketStart[bucket]; i < end; i++) {
+                    // Une alvéole peut contenir d'autres cellules : ne garder que celle visitée
+                    if (cellX[i] == cx && cellY[i] == cy) {
+                        test(i, centerX, centerY, radiusSq, tag, out);
+                    }
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * Ajouter une entité au résultat si elle correspond à la requête
+     */
+    private void test(int i, float centerX, float centerY, float radiusSq, int tag, Result out) {
+        if (tag != ANY_TAG && tags[i] != tag) {
+            return;
+        }
+        float dx = x[i] - centerX;
+        float dy = y[i] - centerY;
+        float distanceSq = dx * dx + dy * dy;
+        if (distanceSq <= radiusSq) {
+            out.add(ids[i], tags[i], x[i], y[i], distanceSq);
+        }
+    }
+
+    private int cellOf(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private int bucketOf(int cx, int cy) {
+        int hash = cx * 0x9E3779B1 ^ cy * 0x85EBCA77;
+        return (hash ^ (hash >>> 15)) & bucketMask;
+    }
+
+    /**
+     * Obtenir le nombre d'entités visibles par les requêtes
+     * @return Nombre d'entités du dernier build
+     */
+    public int size() {
+        return builtCount;
+    }
+
+    /**
+     * Obtenir la taille des cellules
+     * @return Taille des cellules
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+}
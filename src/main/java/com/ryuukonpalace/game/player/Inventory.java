@@ -30,6 +30,9 @@ public class Inventory {
     // Nombre maximum de pierres équipées
     private int maxEquippedStones;
     
+    // Compteur incrémenté à chaque changement de la liste des objets
+    private int saveRevision;
+    
     /**
      * Constructeur
      */
@@ -48,6 +51,7 @@ public class Inventory {
      */
     public void addItem(Item item) {
         items.add(item);
+        saveRevision++;
         
         // Si c'est une pierre de capture, l'ajouter aussi à la liste des pierres
         if (item instanceof CaptureStone) {
@@ -75,7 +79,11 @@ public class Inventory {
             }
         }
         
-        return items.remove(item);
+        boolean removed = items.remove(item);
+        if (removed) {
+            saveRevision++;
+        }
+        return removed;
     }
     
     /**
@@ -287,6 +295,7 @@ public class Inventory {
      */
     public void setItems(List<Item> items) {
         this.items = new ArrayList<>(items);
+        saveRevision++;
         
         // Mettre à jour la liste des pierres de capture
         this.captureStones.clear();
@@ -416,4 +425,14 @@ public class Inventory {
     public int size() {
         return items.size();
     }
+    
+    /**
+     * Obtenir le compteur de changements de la liste des objets,
+     * utilisé pour ne sauvegarder l'inventaire que s'il a changé
+     * 
+     * @return Compteur de changements
+     */
+    public int getSaveRevision() {
+        return saveRevision;
+    }
 }
@@ -3,6 +3,7 @@ package com.ryuukonpalace.game.player;
 import com.ryuukonpalace.game.core.Camera;
 import com.ryuukonpalace.game.world.GameObject;
 import com.ryuukonpalace.game.core.InputManager;
+import com.ryuukonpalace.game.core.RenderSnapshot;
 import com.ryuukonpalace.game.core.Renderer;
 import com.ryuukonpalace.game.core.physics.RectangleCollider;
 import com.ryuukonpalace.game.creatures.Creature;
@@ -90,6 +91,12 @@ public class Player extends GameObject {
     // Réputations auprès des factions
     private Map<String, Integer> factionReputations;
     
+    // Compteur incrémenté à chaque changement de faction ou de réputation
+    private int factionRevision;
+    
+    // Compteur incrémenté à chaque changement des données sauvegardées (hors position)
+    private int saveRevision;
+    
     // ID unique du joueur
     private String id;
     
@@ -229,9 +236,7 @@ public class Player extends GameObject {
         }
         
         // Mettre à jour la position du collider
-        if (collider != null) {
-            collider.setPosition(x, y);
-        }
+        syncCollider();
         
         // Faire suivre la caméra
         Camera.getInstance().follow(this);
@@ -242,29 +247,32 @@ public class Player extends GameObject {
     
     @Override
     public void render() {
-        // Dessiner le joueur avec la texture appropriée selon la direction
-        int directionOffset = 0;
-        
-        // Déterminer l'offset de texture en fonction de la direction
+        // Dessiner le joueur avec la texture correspondant à sa direction
+        // Note: Ceci suppose que les textures du joueur sont organisées en une seule image
+        // avec différentes directions (comme une spritesheet)
+        renderer.drawSprite(textureId, getRenderX(), getRenderY(), width, height, getDirectionOffset());
+    }
+    
+    @Override
+    public void captureRenderState(RenderSnapshot snapshot) {
+        snapshot.addSprite(textureId, getDirectionOffset(), previousX, previousY, x, y, width, height);
+    }
+    
+    /**
+     * Obtenir l'offset de texture correspondant à la direction du joueur
+     * @return Offset dans la spritesheet (0=bas, 1=gauche, 2=droite, 3=haut)
+     */
+    private int getDirectionOffset() {
         switch (direction) {
-            case DOWN:
-                directionOffset = 0;
-                break;
             case LEFT:
-                directionOffset = 1;
-                break;
+                return 1;
             case RIGHT:
-                directionOffset = 2;
-                break;
+                return 2;
             case UP:
-                directionOffset = 3;
-                break;
+                return 3;
+            default:
+                return 0;
         }
-        
-        // Dessiner le joueur avec la texture correspondant à sa direction
-        // Note: Ceci suppose que les textures du joueur sont organisées en une seule image
-        // avec différentes directions (comme une spritesheet)
-        renderer.drawSprite(textureId, x, y, width, height, directionOffset);
     }
     
     @Override
@@ -358,6 +366,7 @@ public class Player extends GameObject {
         if (currentBattleCreature != null) {
             if (captured) {
                 capturedCreatures.add(currentBattleCreature);
+                saveRevision++;
                 System.out.println(currentBattleCreature.getName() + " a été capturé !");
             } else {
                 System.out.println(currentBattleCreature.getName() + " s'est échappé !");
@@ -434,6 +443,7 @@ public class Player extends GameObject {
      */
     public void setCrystals(int crystals) {
         this.crystals = Math.max(0, crystals); // Empêcher les valeurs négatives
+        saveRevision++;
     }
     
     /**
@@ -443,6 +453,7 @@ public class Player extends GameObject {
      */
     public void addCrystals(int amount) {
         this.crystals += amount;
+        saveRevision++;
     }
     
     /**
@@ -454,6 +465,7 @@ public class Player extends GameObject {
     public boolean removeCrystals(int amount) {
         if (crystals >= amount) {
             crystals -= amount;
+            saveRevision++;
             return true;
         }
         return false;
@@ -475,6 +487,7 @@ public class Player extends GameObject {
      */
     public void setName(String name) {
         this.name = name;
+        saveRevision++;
     }
     
     /**
@@ -493,6 +506,7 @@ public class Player extends GameObject {
      */
     public void setLevel(int level) {
         this.level = Math.max(1, level); // Niveau minimum de 1
+        saveRevision++;
     }
     
     /**
@@ -511,6 +525,7 @@ public class Player extends GameObject {
      */
     public void setExperience(int experience) {
         this.experience = Math.max(0, experience);
+        saveRevision++;
     }
     
     /**
@@ -529,6 +544,7 @@ public class Player extends GameObject {
      */
     public void setFaction(Faction faction) {
         this.faction = faction;
+        factionRevision++;
     }
     
     /**
@@ -574,6 +590,7 @@ public class Player extends GameObject {
      */
     public void setCapturedCreatures(List<Creature> creatures) {
         this.capturedCreatures = new ArrayList<>(creatures);
+        saveRevision++;
     }
     
     /**
@@ -653,6 +670,7 @@ public class Player extends GameObject {
     public boolean addExperience(int amount) {
         int oldLevel = level;
         experience += amount;
+        saveRevision++;
         
         // Vérifier si le joueur gagne un niveau
         updateLevel();
@@ -678,6 +696,7 @@ public class Player extends GameObject {
      */
     public void addMoney(int amount) {
         this.crystals += amount;
+        saveRevision++;
     }
     
     /**
@@ -689,6 +708,7 @@ public class Player extends GameObject {
     public boolean addCreature(Creature creature) {
         if (creature != null) {
             capturedCreatures.add(creature);
+            saveRevision++;
             return true;
         }
         return false;
@@ -729,6 +749,28 @@ public class Player extends GameObject {
      */
     public void setFactionReputation(String factionName, int reputation) {
         factionReputations.put(factionName, Math.max(0, Math.min(100, reputation))); // Limiter entre 0 et 100
+        factionRevision++;
+    }
+    
+    /**
+     * Obtenir le compteur de changements de faction et de réputation.
+     * Il permet de détecter qu'une appartenance à une faction a pu changer sans tout revérifier.
+     * 
+     * @return Compteur de changements
+     */
+    public int getFactionRevision() {
+        return factionRevision;
+    }
+    
+    /**
+     * Obtenir le compteur de changements des données sauvegardées du joueur
+     * (nom, niveau, expérience, crystaux, liste des créatures capturées).
+     * La position et la direction, modifiées à chaque déplacement, n'en font pas partie.
+     * 
+     * @return Compteur de changements
+     */
+    public int getSaveRevision() {
+        return saveRevision;
     }
     
     /**
@@ -55,6 +55,9 @@ public class Quest {
     // Quêtes débloquées une fois celle-ci terminée
     private List<String> unlocksQuests;
     
+    // Drapeaux d'histoire requis avant de pouvoir entreprendre la quête
+    private List<String> requiredFlags;
+    
     // Dialogue de début de quête
     private String startDialogue;
     
@@ -100,6 +103,7 @@ public class Quest {
         this.status = QuestStatus.AVAILABLE;
         this.prerequisites = new ArrayList<>();
         this.unlocksQuests = new ArrayList<>();
+        this.requiredFlags = new ArrayList<>();
         this.startDialogue = "";
         this.endDialogue = "";
         this.failDialogue = "";
@@ -548,6 +552,24 @@ public class Quest {
         return prerequisites;
     }
     
+    /**
+     * Ajouter un drapeau d'histoire requis
+     * 
+     * @param flag Drapeau à poser avant de pouvoir entreprendre la quête
+     */
+    public void addRequiredFlag(String flag) {
+        requiredFlags.add(flag);
+    }
+    
+    /**
+     * Obtenir les drapeaux d'histoire requis
+     * 
+     * @return Liste des drapeaux requis
+     */
+    public List<String> getRequiredFlags() {
+        return requiredFlags;
+    }
+    
     /**
      * Ajouter une quête débloquée
      * 
@@ -855,6 +877,11 @@ public class Quest {
         }
         json.put("unlocksQuests", unlocksArray);
         
+        // Sauvegarder les drapeaux requis
+        if (!requiredFlags.isEmpty()) {
+            json.put("requiredFlags", new JSONArray(requiredFlags));
+        }
+        
         // Sauvegarder les dialogues
         json.put("startDialogue", startDialogue);
         json.put("endDialogue", endDialogue);
@@ -950,6 +977,14 @@ public class Quest {
             quest.unlocksQuests.add(unlocksArray.getString(i));
         }
         
+        // Charger les drapeaux requis
+        if (json.has("requiredFlags")) {
+            JSONArray flagsArray = json.getJSONArray("requiredFlags");
+            for (int i = 0; i < flagsArray.length(); i++) {
+                quest.requiredFlags.add(flagsArray.getString(i));
+            }
+        }
+        
         // Charger les dialogues
         quest.startDialogue = json.getString("startDialogue");
         quest.endDialogue = json.getString("endDialogue");
@@ -996,6 +1031,9 @@ public class Quest {
         // Cloner les quêtes débloquées
         clone.unlocksQuests.addAll(this.unlocksQuests);
         
+        // Cloner les drapeaux requis
+        clone.requiredFlags.addAll(this.requiredFlags);
+        
         return clone;
     }
 }
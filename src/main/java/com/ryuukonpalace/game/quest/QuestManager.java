@@ -51,6 +51,22 @@ public class QuestManager implements QuestCallback {
     // Callbacks externes
     private List<QuestCallback> callbacks;
     
+    // Index des objectifs des quêtes actives par événement
+    private QuestObjectiveIndex objectiveIndex;
+    
+    // Graphe des conditions de démarrage et file des quêtes à réévaluer
+    private QuestPrerequisiteGraph prerequisiteGraph;
+    
+    // Drapeaux d'histoire posés
+    private Set<String> storyFlags;
+    
+    // Dernier niveau et dernier compteur de faction du joueur observés
+    private int lastPlayerLevel;
+    private int lastFactionRevision;
+    
+    // Compteur incrémenté à chaque changement d'état des quêtes, de leurs objectifs ou des drapeaux
+    private int saveRevision;
+    
     /**
      * Constructeur privé (singleton)
      */
@@ -61,6 +77,9 @@ public class QuestManager implements QuestCallback {
         failedQuests = new HashMap<>();
         abandonedQuests = new HashMap<>();
         callbacks = new ArrayList<>();
+        objectiveIndex = new QuestObjectiveIndex();
+        prerequisiteGraph = new QuestPrerequisiteGraph();
+        storyFlags = new HashSet<>();
     }
     
     /**
@@ -87,6 +106,34 @@ public class QuestManager implements QuestCallback {
         
         // Charger les quêtes depuis les fichiers JSON
         loadQuests();
+        
+        // Construire le graphe des conditions de démarrage
+        rebuildPrerequisiteGraph();
+    }
+    
+    /**
+     * Reconstruire le graphe des conditions de démarrage à partir des quêtes disponibles.
+     * Toutes les quêtes sont mises en file pour une première évaluation.
+     */
+    private void rebuildPrerequisiteGraph() {
+        prerequisiteGraph.clear();
+        for (Quest quest : availableQuests.values()) {
+            prerequisiteGraph.addQuest(quest);
+        }
+        if (player != null) {
+            lastPlayerLevel = player.getLevel();
+            lastFactionRevision = player.getFactionRevision();
+        }
+    }
+    
+    /**
+     * Ajouter une quête aux quêtes disponibles
+     * 
+     * @param quest Quête à ajouter
+     */
+    public void addQuest(Quest quest) {
+        availableQuests.put(quest.getId(), quest);
+        prerequisiteGraph.addQuest(quest);
     }
     
     /**
@@ -342,6 +389,22 @@ public class QuestManager implements QuestCallback {
                 }
             }
             
+            // Ajouter les quêtes prérequises
+            if (questJson.has("prerequisites")) {
+                JSONArray prerequisitesArray = questJson.getJSONArray("prerequisites");
+                for (int j = 0; j < prerequisitesArray.length(); j++) {
+                    quest.addPrerequisite(prerequisitesArray.getString(j));
+                }
+            }
+            
+            // Ajouter les drapeaux d'histoire requis
+            if (questJson.has("requiredFlags")) {
+                JSONArray flagsArray = questJson.getJSONArray("requiredFlags");
+                for (int j = 0; j < flagsArray.length(); j++) {
+                    quest.addRequiredFlag(flagsArray.getString(j));
+                }
+            }
+            
             return quest;
         } catch (Exception e) {
             System.err.println("Erreur lors de la création d'une quête depuis JSON: " + e.getMessage());
@@ -560,31 +623,30 @@ public class QuestManager implements QuestCallback {
         WeatherSystem.Weather currentWeather = worldManager.getCurrentWeather();
         String weatherString = currentWeather.toString();
         
-        // Mettre à jour les quêtes en fonction des conditions environnementales
-        for (Quest quest : activeQuests.values()) {
-            for (QuestObjective objective : quest.getObjectives()) {
-                if (objective instanceof ExploreAreaObjective) {
-                    ExploreAreaObjective exploreObjective = (ExploreAreaObjective) objective;
-                    
-                    // Vérifier si l'objectif a des conditions spécifiques
-                    if (exploreObjective.requiresDaytime() && !isDay) {
-                        continue;
-                    }
-                    
-                    if (exploreObjective.requiresNighttime() && !isNight) {
-                        continue;
-                    }
-                    
-                    if (exploreObjective.requiresSpecificWeather() && 
-                        !exploreObjective.getRequiredWeather().equals(weatherString)) {
-                        continue;
-                    }
-                    
-                    // Mettre à jour la progression si le joueur est dans la zone
-                    if (isPlayerInArea(exploreObjective.getAreaId())) {
-                        exploreObjective.updateExploration(player);
-                    }
+        // Mettre à jour les objectifs d'exploration des quêtes actives, zone par zone
+        for (Map.Entry<String, List<ExploreAreaObjective>> area : objectiveIndex.getExploreObjectivesByArea().entrySet()) {
+            // Le joueur doit être dans la zone
+            if (!isPlayerInArea(area.getKey())) {
+                continue;
+            }
+            
+            for (ExploreAreaObjective exploreObjective : area.getValue()) {
+                // Vérifier si l'objectif a des conditions spécifiques
+                if (exploreObjective.requiresDaytime() && !isDay) {
+                    continue;
+                }
+                
+                if (exploreObjective.requiresNighttime() && !isNight) {
+                    continue;
                 }
+                
+                if (exploreObjective.requiresSpecificWeather() && 
+                    !exploreObjective.getRequiredWeather().equals(weatherString)) {
+                    continue;
+                }
+                
+                // Mettre à jour la progression
+                exploreObjective.updateExploration(player);
             }
         }
     }
@@ -623,21 +685,30 @@ public class QuestManager implements QuestCallback {
     }
     
     /**
-     * Vérifier les quêtes disponibles qui peuvent être démarrées automatiquement
+     * Démarrer les quêtes en attente de réévaluation qui peuvent l'être.
+     * Seules les quêtes dont une condition a changé (quête prérequise complétée, niveau,
+     * drapeau d'histoire, faction) sont vérifiées ; sans changement, le coût est nul.
      */
-    private void checkAutoStartQuests() {
-        List<Quest> questsToStart = new ArrayList<>();
-        
-        for (Quest quest : availableQuests.values()) {
-            // Vérifier si la quête peut être démarrée
-            if (canStartQuest(quest)) {
-                questsToStart.add(quest);
-            }
+    void checkAutoStartQuests() {
+        // Détecter les changements de niveau et de faction du joueur
+        int level = player.getLevel();
+        if (level != lastPlayerLevel) {
+            prerequisiteGraph.onLevelChanged(lastPlayerLevel, level);
+            lastPlayerLevel = level;
+        }
+        int factionRevision = player.getFactionRevision();
+        if (factionRevision != lastFactionRevision) {
+            prerequisiteGraph.onFactionChanged();
+            lastFactionRevision = factionRevision;
         }
         
-        // Démarrer les quêtes
-        for (Quest quest : questsToStart) {
-            startQuest(quest.getId());
+        // Démarrer les quêtes en file dont toutes les conditions sont remplies
+        String questId;
+        while ((questId = prerequisiteGraph.poll()) != null) {
+            Quest quest = availableQuests.get(questId);
+            if (quest != null && canStartQuest(quest)) {
+                startQuest(questId);
+            }
         }
     }
     
@@ -675,6 +746,13 @@ public class QuestManager implements QuestCallback {
             }
         }
         
+        // Vérifier les drapeaux d'histoire
+        for (String flag : quest.getRequiredFlags()) {
+            if (!storyFlags.contains(flag)) {
+                return false;
+            }
+        }
+        
         return true;
     }
     
@@ -735,6 +813,8 @@ public class QuestManager implements QuestCallback {
         if (quest.start(player)) {
             // Ajouter la quête aux quêtes actives
             activeQuests.put(questId, quest);
+            objectiveIndex.addQuest(quest);
+            saveRevision++;
             
             // Notifier le callback
             onQuestStarted(quest);
@@ -763,7 +843,12 @@ public class QuestManager implements QuestCallback {
         if (quest.complete()) {
             // Ajouter la quête aux quêtes complétées
             activeQuests.remove(questId);
+            objectiveIndex.removeQuest(quest);
             completedQuests.put(questId, quest);
+            saveRevision++;
+            
+            // Réévaluer les quêtes qui dépendent de celle-ci
+            prerequisiteGraph.onQuestCompleted(questId);
             
             // Donner les récompenses
             for (QuestReward reward : quest.getRewards()) {
@@ -805,7 +890,9 @@ public class QuestManager implements QuestCallback {
         if (quest.fail(reason)) {
             // Ajouter la quête aux quêtes échouées
             activeQuests.remove(questId);
+            objectiveIndex.removeQuest(quest);
             failedQuests.put(questId, quest);
+            saveRevision++;
             
             return true;
         }
@@ -830,7 +917,9 @@ public class QuestManager implements QuestCallback {
         if (quest.abandon()) {
             // Ajouter la quête aux quêtes abandonnées
             activeQuests.remove(questId);
+            objectiveIndex.removeQuest(quest);
             abandonedQuests.put(questId, quest);
+            saveRevision++;
             
             return true;
         }
@@ -851,6 +940,8 @@ public class QuestManager implements QuestCallback {
         if (activeQuests.containsKey(questId)) {
             quest = activeQuests.get(questId);
             activeQuests.remove(questId);
+            objectiveIndex.removeQuest(quest);
+            saveRevision++;
         } else if (completedQuests.containsKey(questId)) {
             quest = completedQuests.get(questId);
             completedQuests.remove(questId);
@@ -870,6 +961,7 @@ public class QuestManager implements QuestCallback {
         if (quest.reset()) {
             // Ajouter la quête aux quêtes disponibles
             availableQuests.put(questId, quest);
+            prerequisiteGraph.enqueue(questId);
             
             return true;
         }
@@ -907,6 +999,43 @@ public class QuestManager implements QuestCallback {
         return completedQuests.containsKey(questId);
     }
     
+    /**
+     * Poser un drapeau d'histoire
+     * 
+     * @param flag Drapeau à poser
+     * @return true si le drapeau n'était pas encore posé, false sinon
+     */
+    public boolean setStoryFlag(String flag) {
+        if (!storyFlags.add(flag)) {
+            return false;
+        }
+        saveRevision++;
+        
+        // Réévaluer les quêtes qui attendent ce drapeau
+        prerequisiteGraph.onFlagSet(flag);
+        return true;
+    }
+    
+    /**
+     * Obtenir le compteur de changements des quêtes (démarrage, fin, objectifs, drapeaux),
+     * utilisé pour ne sauvegarder les quêtes que si elles ont changé
+     * 
+     * @return Compteur de changements
+     */
+    public int getSaveRevision() {
+        return saveRevision;
+    }
+    
+    /**
+     * Vérifier si un drapeau d'histoire est posé
+     * 
+     * @param flag Drapeau à vérifier
+     * @return true si le drapeau est posé, false sinon
+     */
+    public boolean hasStoryFlag(String flag) {
+        return storyFlags.contains(flag);
+    }
+    
     /**
      * Débloquer une quête pour la rendre disponible
      * 
@@ -986,6 +1115,9 @@ public class QuestManager implements QuestCallback {
             }
             questsData.put("abandonedQuests", abandonedQuestsArray);
             
+            // Sauvegarder les drapeaux d'histoire
+            questsData.put("storyFlags", new JSONArray(storyFlags));
+            
             // Enregistrer les données dans le gestionnaire de sauvegarde
             saveManager.saveQuestData(questsData.toString());
             
@@ -1012,9 +1144,11 @@ public class QuestManager implements QuestCallback {
             
             // Réinitialiser les listes de quêtes
             activeQuests.clear();
+            objectiveIndex.clear();
             completedQuests.clear();
             failedQuests.clear();
             abandonedQuests.clear();
+            storyFlags.clear();
             
             // Charger les données depuis le JSON
             JSONObject questData = new JSONObject(questDataStr);
@@ -1030,6 +1164,7 @@ public class QuestManager implements QuestCallback {
                     if (availableQuests.containsKey(questId)) {
                         Quest quest = Quest.fromJson(questJson); // Utiliser la méthode statique correctement
                         activeQuests.put(questId, quest);
+                        objectiveIndex.addQuest(quest);
                     }
                 }
             }
@@ -1079,6 +1214,18 @@ public class QuestManager implements QuestCallback {
                 }
             }
             
+            // Charger les drapeaux d'histoire
+            if (questData.has("storyFlags")) {
+                JSONArray flagsArray = questData.getJSONArray("storyFlags");
+                for (int i = 0; i < flagsArray.length(); i++) {
+                    storyFlags.add(flagsArray.getString(i));
+                }
+            }
+            
+            // Toutes les conditions ont pu changer : tout réévaluer
+            rebuildPrerequisiteGraph();
+            saveRevision++;
+            
         } catch (Exception e) {
             System.err.println("Erreur lors du chargement des quêtes: " + e.getMessage());
             e.printStackTrace();
@@ -1132,16 +1279,19 @@ public class QuestManager implements QuestCallback {
     
     @Override
     public void onObjectiveUpdated(Quest quest, QuestObjective objective) {
+        saveRevision++;
         System.out.println("Objectif mis à jour: " + objective.getDescription() + " - Quête: " + quest.getTitle());
     }
     
     @Override
     public void onObjectiveCompleted(Quest quest, QuestObjective objective) {
+        saveRevision++;
         System.out.println("Objectif complété: " + objective.getDescription() + " - Quête: " + quest.getTitle());
     }
     
     @Override
     public void onObjectiveFailed(Quest quest, QuestObjective objective) {
+        saveRevision++;
         System.out.println("Objectif échoué: " + objective.getDescription() + " - Quête: " + quest.getTitle());
     }
     
@@ -1196,14 +1346,7 @@ public class QuestManager implements QuestCallback {
      * @param creature Créature vaincue
      */
     public void onCreatureDefeated(Creature creature) {
-        for (Quest quest : activeQuests.values()) {
-            for (QuestObjective objective : quest.getObjectives()) {
-                if (objective instanceof DefeatCreaturesObjective) {
-                    DefeatCreaturesObjective defeatObjective = (DefeatCreaturesObjective) objective;
-                    defeatObjective.onCreatureDefeated(creature);
-                }
-            }
-        }
+        objectiveIndex.onCreatureDefeated(creature);
     }
     
     /**
@@ -1212,14 +1355,7 @@ public class QuestManager implements QuestCallback {
      * @param creature Variant capturé
      */
     public void onVariantCaptured(Creature creature) {
-        for (Quest quest : activeQuests.values()) {
-            for (QuestObjective objective : quest.getObjectives()) {
-                if (objective instanceof CaptureVariantsObjective) {
-                    CaptureVariantsObjective captureObjective = (CaptureVariantsObjective) objective;
-                    captureObjective.onVariantCaptured(creature);
-                }
-            }
-        }
+        objectiveIndex.onVariantCaptured(creature);
     }
     
     /**
@@ -1229,14 +1365,7 @@ public class QuestManager implements QuestCallback {
      * @param count Nombre d'objets ajoutés
      */
     public void onItemAdded(Item item, int count) {
-        for (Quest quest : activeQuests.values()) {
-            for (QuestObjective objective : quest.getObjectives()) {
-                if (objective instanceof CollectItemsObjective) {
-                    CollectItemsObjective collectObjective = (CollectItemsObjective) objective;
-                    collectObjective.onItemAdded(item, count);
-                }
-            }
-        }
+        objectiveIndex.onItemAdded(item, count);
     }
     
     /**
@@ -1246,14 +1375,7 @@ public class QuestManager implements QuestCallback {
      * @param dialogueId ID du dialogue
      */
     public void onTalkToNPC(int npcId, int dialogueId) {
-        for (Quest quest : activeQuests.values()) {
-            for (QuestObjective objective : quest.getObjectives()) {
-                if (objective instanceof TalkToNPCObjective) {
-                    TalkToNPCObjective talkObjective = (TalkToNPCObjective) objective;
-                    talkObjective.onTalkToNPC(npcId, dialogueId);
-                }
-            }
-        }
+        objectiveIndex.onTalkToNPC(npcId, dialogueId);
     }
     
     /**
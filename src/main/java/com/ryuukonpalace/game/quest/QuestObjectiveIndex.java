@@ -0,0 +1,246 @@
+package com.ryuukonpalace.game.quest;
+
+import com.ryuukonpalace.game.creatures.Creature;
+import com.ryuukonpalace.game.creatures.CreatureType;
+import com.ryuukonpalace.game.items.Item;
+import com.ryuukonpalace.game.quest.objectives.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index des objectifs des quêtes actives par type d'événement et par clé
+ * (ID de créature, type de créature, ID d'objet, ID de PNJ, ID de zone).
+ * Il est tenu à jour quand une quête démarre ou se termine : un événement de jeu ne
+ * parcourt que les objectifs qui le concernent.
+ */
+public class QuestObjectiveIndex {
+
+    // Objectifs de combat : par ID de créature, par type, ou pour n'importe quelle créature
+    private final Map<Integer, List<DefeatCreaturesObjective>> defeatById = new HashMap<>();
+    private final Map<CreatureType, List<DefeatCreaturesObjective>> defeatByType = new EnumMap<>(CreatureType.class);
+    private final List<DefeatCreaturesObjective> defeatAny = new ArrayList<>();
+
+    // Objectifs de capture : par ID de variant, par type, ou pour n'importe quel variant
+    private final Map<Integer, List<CaptureVariantsObjective>> captureById = new HashMap<>();
+    private final Map<CreatureType, List<CaptureVariantsObjective>> captureByType = new EnumMap<>(CreatureType.class);
+    private final List<CaptureVariantsObjective> captureAny = new ArrayList<>();
+
+    // Objectifs de collecte par ID d'objet
+    private final Map<Integer, List<CollectItemsObjective>> itemsById = new HashMap<>();
+
+    // Objectifs de dialogue par ID de PNJ
+    private final Map<Integer, List<TalkToNPCObjective>> talkByNpc = new HashMap<>();
+
+    // Objectifs d'exploration par ID de zone
+    private final Map<String, List<ExploreAreaObjective>> exploreByArea = new HashMap<>();
+
+    // Nombre d'objectifs indexés
+    private int size = 0;
+
+    /**
+     * Indexer les objectifs d'une quête qui vient de démarrer
+     *
+     * @param quest Quête active
+     */
+    public void addQuest(Quest quest) {
+        for (QuestObjective objective : quest.getObjectives()) {
+            if (update(objective, true)) {
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Retirer les objectifs d'une quête qui n'est plus active
+     *
+     * @param quest Quête terminée, échouée, abandonnée ou réinitialisée
+     */
+    public void removeQuest(Quest quest) {
+        for (QuestObjective objective : quest.getObjectives()) {
+            if (update(objective, false)) {
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Vider l'index
+     */
+    public void clear() {
+        defeatById.clear();
+        defeatByType.clear();
+        defeatAny.clear();
+        captureById.clear();
+        captureByType.clear();
+        captureAny.clear();
+        itemsById.clear();
+        talkByNpc.clear();
+        exploreByArea.clear();
+        size = 0;
+    }
+
+    /**
+     * Ajouter ou retirer un objectif de la liste correspondant à sa clé
+     *
+     * @return true si l'objectif est d'un type indexé
+     */
+    private boolean update(QuestObjective objective, boolean add) {
+        if (objective instanceof DefeatCreaturesObjective) {
+            DefeatCreaturesObjective defeat = (DefeatCreaturesObjective) objective;
+            if (defeat.getCreatureId() > 0) {
+                update(defeatById, defeat.getCreatureId(), defeat, add);
+            } else if (defeat.getCreatureType() != null) {
+                update(defeatByType, defeat.getCreatureType(), defeat, add);
+            } else {
+                update(defeatAny, defeat, add);
+            }
+        } else if (objective instanceof CaptureVariantsObjective) {
+            CaptureVariantsObjective capture = (CaptureVariantsObjective) objective;
+            if (capture.getVariantId() > 0) {
+                update(captureById, capture.getVariantId(), capture, add);
+            } else if (capture.getVariantType() != null) {
+                update(captureByType, capture.getVariantType(), capture, add);
+            } else {
+                update(captureAny, capture, add);
+            }
+        } else if (objective instanceof CollectItemsObjective) {
+            CollectItemsObjective collect = (CollectItemsObjective) objective;
+            update(itemsById, collect.getItemId(), collect, add);
+        } else if (objective instanceof TalkToNPCObjective) {
+            TalkToNPCObjective talk = (TalkToNPCObjective) objective;
+            update(talkByNpc, talk.getNpcId(), talk, add);
+        } else if (objective instanceof ExploreAreaObjective) {
+            ExploreAreaObjective explore = (ExploreAreaObjective) objective;
+            update(exploreByArea, explore.getAreaId(), explore, add);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static <K, T> void update(Map<K, List<T>> map, K key, T objective, boolean add) {
+        if (add) {
+            map.computeIfAbsent(key, k -> new ArrayList<>()).add(objective);
+            return;
+        }
+        List<T> objectives = map.get(key);
+        if (objectives != null) {
+            update(objectives, objective, false);
+            if (objectives.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private static <T> void update(List<T> objectives, T objective, boolean add) {
+        if (add) {
+            objectives.add(objective);
+            return;
+        }
+        // Comparer par identité : deux objectifs de quêtes différentes peuvent être égaux
+        for (int i = 0; i < objectives.size(); i++) {
+            if (objectives.get(i) == objective) {
+                objectives.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Transmettre une créature vaincue aux objectifs concernés
+     *
+     * @param creature Créature vaincue
+     */
+    public void onCreatureDefeated(Creature creature) {
+        List<DefeatCreaturesObjective> byId = defeatById.get(creature.getId());
+        if (byId != null) {
+            for (DefeatCreaturesObjective objective : byId) {
+                objective.onCreatureDefeated(creature);
+            }
+        }
+        List<DefeatCreaturesObjective> byType = creature.getType() != null ? defeatByType.get(creature.getType()) : null;
+        if (byType != null) {
+            for (DefeatCreaturesObjective objective : byType) {
+                objective.onCreatureDefeated(creature);
+            }
+        }
+        for (DefeatCreaturesObjective objective : defeatAny) {
+            objective.onCreatureDefeated(creature);
+        }
+    }
+
+    /**
+     * Transmettre un variant capturé aux objectifs concernés
+     *
+     * @param creature Variant capturé
+     */
+    public void onVariantCaptured(Creature creature) {
+        List<CaptureVariantsObjective> byId = captureById.get(creature.getId());
+        if (byId != null) {
+            for (CaptureVariantsObjective objective : byId) {
+                objective.onVariantCaptured(creature);
+            }
+        }
+        List<CaptureVariantsObjective> byType = creature.getType() != null ? captureByType.get(creature.getType()) : null;
+        if (byType != null) {
+            for (CaptureVariantsObjective objective : byType) {
+                objective.onVariantCaptured(creature);
+            }
+        }
+        for (CaptureVariantsObjective objective : captureAny) {
+            objective.onVariantCaptured(creature);
+        }
+    }
+
+    /**
+     * Transmettre un objet ajouté à l'inventaire aux objectifs concernés
+     *
+     * @param item Objet ajouté
+     * @param count Nombre d'objets ajoutés
+     */
+    public void onItemAdded(Item item, int count) {
+        List<CollectItemsObjective> objectives = itemsById.get(item.getId());
+        if (objectives != null) {
+            for (CollectItemsObjective objective : objectives) {
+                objective.onItemAdded(item, count);
+            }
+        }
+    }
+
+    /**
+     * Transmettre un dialogue avec un PNJ aux objectifs concernés
+     *
+     * @param npcId ID du PNJ
+     * @param dialogueId ID du dialogue
+     */
+    public void onTalkToNPC(int npcId, int dialogueId) {
+        List<TalkToNPCObjective> objectives = talkByNpc.get(npcId);
+        if (objectives != null) {
+            for (TalkToNPCObjective objective : objectives) {
+                objective.onTalkToNPC(npcId, dialogueId);
+            }
+        }
+    }
+
+    /**
+     * Obtenir les objectifs d'exploration par ID de zone
+     *
+     * @return Objectifs d'exploration des quêtes actives, par zone (ne pas modifier)
+     */
+    public Map<String, List<ExploreAreaObjective>> getExploreObjectivesByArea() {
+        return exploreByArea;
+    }
+
+    /**
+     * Obtenir le nombre d'objectifs indexés
+     *
+     * @return Nombre d'objectifs
+     */
+    public int size() {
+        return size;
+    }
+}
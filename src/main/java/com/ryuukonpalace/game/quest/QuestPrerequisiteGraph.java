@@ -0,0 +1,164 @@
+package com.ryuukonpalace.game.quest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Graphe des conditions de démarrage des quêtes.
+ * Chaque condition (quête prérequise, niveau minimum, drapeau d'histoire, faction) pointe
+ * vers les quêtes qui en dépendent : quand une condition change, seules ces quêtes sont
+ * mises en file pour être réévaluées, au lieu de parcourir toutes les quêtes à chaque frame.
+ */
+public class QuestPrerequisiteGraph {
+
+    // Quêtes dépendantes par ID de quête prérequise
+    private final Map<String, List<String>> dependentsByQuest = new HashMap<>();
+
+    // Quêtes par niveau minimum
+    private final NavigableMap<Integer, List<String>> questsByMinLevel = new TreeMap<>();
+
+    // Quêtes dépendantes par drapeau d'histoire
+    private final Map<String, List<String>> dependentsByFlag = new HashMap<>();
+
+    // Quêtes spécifiques à une faction
+    private final List<String> factionQuests = new ArrayList<>();
+
+    // Quêtes à réévaluer, sans doublon
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private final Set<String> pendingIds = new HashSet<>();
+
+    // Nombre de quêtes enregistrées
+    private int size = 0;
+
+    /**
+     * Enregistrer les conditions d'une quête et la mettre en file pour une première évaluation
+     *
+     * @param quest Quête à enregistrer
+     */
+    public void addQuest(Quest quest) {
+        String questId = quest.getId();
+        for (String prerequisiteId : quest.getPrerequisites()) {
+            dependentsByQuest.computeIfAbsent(prerequisiteId, k -> new ArrayList<>()).add(questId);
+        }
+        questsByMinLevel.computeIfAbsent(quest.getMinLevel(), k -> new ArrayList<>()).add(questId);
+        for (String flag : quest.getRequiredFlags()) {
+            dependentsByFlag.computeIfAbsent(flag, k -> new ArrayList<>()).add(questId);
+        }
+        if (quest.isFactionSpecific()) {
+            factionQuests.add(questId);
+        }
+        size++;
+        enqueue(questId);
+    }
+
+    /**
+     * Vider le graphe et la file
+     */
+    public void clear() {
+        dependentsByQuest.clear();
+        questsByMinLevel.clear();
+        dependentsByFlag.clear();
+        factionQuests.clear();
+        pending.clear();
+        pendingIds.clear();
+        size = 0;
+    }
+
+    /**
+     * Mettre une quête en file pour être réévaluée
+     *
+     * @param questId ID de la quête
+     */
+    public void enqueue(String questId) {
+        if (pendingIds.add(questId)) {
+            pending.addLast(questId);
+        }
+    }
+
+    private void enqueueAll(List<String> questIds) {
+        if (questIds != null) {
+            for (String questId : questIds) {
+                enqueue(questId);
+            }
+        }
+    }
+
+    /**
+     * Une quête vient d'être complétée : ses dépendantes sont réévaluées
+     *
+     * @param questId ID de la quête complétée
+     */
+    public void onQuestCompleted(String questId) {
+        enqueueAll(dependentsByQuest.get(questId));
+    }
+
+    /**
+     * Le niveau du joueur a augmenté : les quêtes dont le niveau minimum vient d'être
+     * atteint sont réévaluées
+     *
+     * @param oldLevel Ancien niveau
+     * @param newLevel Nouveau niveau
+     */
+    public void onLevelChanged(int oldLevel, int newLevel) {
+        if (newLevel <= oldLevel) {
+            return; // Une baisse de niveau ne rend aucune quête disponible
+        }
+        for (List<String> questIds : questsByMinLevel.subMap(oldLevel, false, newLevel, true).values()) {
+            enqueueAll(questIds);
+        }
+    }
+
+    /**
+     * Un drapeau d'histoire vient d'être posé : ses dépendantes sont réévaluées
+     *
+     * @param flag Drapeau posé
+     */
+    public void onFlagSet(String flag) {
+        enqueueAll(dependentsByFlag.get(flag));
+    }
+
+    /**
+     * La faction ou les réputations du joueur ont changé : les quêtes de faction sont réévaluées
+     */
+    public void onFactionChanged() {
+        enqueueAll(factionQuests);
+    }
+
+    /**
+     * Retirer la prochaine quête à réévaluer
+     *
+     * @return ID de la quête, ou null si la file est vide
+     */
+    public String poll() {
+        String questId = pending.pollFirst();
+        if (questId != null) {
+            pendingIds.remove(questId);
+        }
+        return questId;
+    }
+
+    /**
+     * Obtenir le nombre de quêtes en attente de réévaluation
+     *
+     * @return Nombre de quêtes en file
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Obtenir le nombre de quêtes enregistrées
+     *
+     * @return Nombre de quêtes
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -46,6 +46,9 @@ public class StoryProgressionManager {
     // Choix effectués par le joueur
     private Map<String, String> playerChoices;
     
+    // Compteur incrémenté à chaque changement de chapitre ou de choix
+    private int saveRevision;
+    
     /**
      * Constructeur privé (singleton)
      */
@@ -292,6 +295,7 @@ public class StoryProgressionManager {
      */
     public boolean advanceToNextChapter() {
         currentChapterIndex++;
+        saveRevision++;
         
         if (currentChapterIndex >= chapters.size()) {
             System.out.println("Fin de l'histoire");
@@ -373,6 +377,7 @@ public class StoryProgressionManager {
         
         // Enregistrer le choix
         playerChoices.put(decisionPointId, choiceId);
+        saveRevision++;
         
         // Appliquer les conséquences
         applyChoiceConsequences(consequences);
@@ -403,6 +408,12 @@ public class StoryProgressionManager {
                         questManager.unlockQuest((String) value);
                     }
                     break;
+                case "setFlag":
+                    // Poser un drapeau d'histoire
+                    if (value instanceof String) {
+                        questManager.setStoryFlag((String) value);
+                    }
+                    break;
                 case "completeQuest":
                     // Terminer une quête
                     if (value instanceof String) {
@@ -504,6 +515,7 @@ public class StoryProgressionManager {
             playerChoices.clear();
             playerChoices.putAll(choices);
         }
+        saveRevision++;
         
         System.out.println("Chargement de la progression de l'histoire terminé avec succès");
     }
@@ -547,6 +559,17 @@ public class StoryProgressionManager {
             playerChoices.clear();
             playerChoices.putAll(choices);
         }
+        saveRevision++;
+    }
+    
+    /**
+     * Obtenir le compteur de changements de la progression (chapitre, choix),
+     * utilisé pour ne sauvegarder l'histoire que si elle a changé
+     * 
+     * @return Compteur de changements
+     */
+    public int getSaveRevision() {
+        return saveRevision;
     }
     
     /**
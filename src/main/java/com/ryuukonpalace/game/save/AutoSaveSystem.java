@@ -1,5 +1,7 @@
 package com.ryuukonpalace.game.save;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.ryuukonpalace.game.core.GameState;
 
 /**
@@ -26,6 +28,9 @@ public class AutoSaveSystem {
     // Slot d'auto-sauvegarde
     private int autoSaveSlot;
     
+    // Auto-sauvegarde en cours d'écriture
+    private CompletableFuture<Boolean> pendingAutoSave;
+    
     /**
      * Constructeur privé (singleton)
      */
@@ -65,6 +70,11 @@ public class AutoSaveSystem {
             return;
         }
         
+        // Attendre la fin de l'auto-sauvegarde précédente
+        if (isAutoSaveInProgress()) {
+            return;
+        }
+        
         long currentTime = System.currentTimeMillis();
         if (currentTime - lastAutoSaveTime >= autoSaveInterval) {
             // Effectuer une auto-sauvegarde
@@ -74,12 +84,23 @@ public class AutoSaveSystem {
     }
     
     /**
-     * Effectuer une auto-sauvegarde
-     * @return true si l'auto-sauvegarde a réussi, false sinon
+     * Effectuer une auto-sauvegarde.
+     * Seule la copie des parties modifiées de l'état du jeu est faite sur le thread appelant ;
+     * leur ajout au journal du slot se fait en arrière-plan.
+     * @return Résultat de l'auto-sauvegarde, true si elle a réussi
      */
-    public boolean performAutoSave() {
+    public CompletableFuture<Boolean> performAutoSave() {
         System.out.println("Auto-sauvegarde en cours...");
-        return saveManager.saveGame(autoSaveSlot);
+        pendingAutoSave = saveManager.autoSaveAsync(autoSaveSlot);
+        return pendingAutoSave;
+    }
+    
+    /**
+     * Vérifier si une auto-sauvegarde est en cours d'écriture
+     * @return true si une auto-sauvegarde n'est pas encore terminée, false sinon
+     */
+    public boolean isAutoSaveInProgress() {
+        return pendingAutoSave != null && !pendingAutoSave.isDone();
     }
     
     /**
@@ -134,10 +155,10 @@ public class AutoSaveSystem {
     
     /**
      * Forcer une auto-sauvegarde immédiate
-     * @return true si l'auto-sauvegarde a réussi, false sinon
+     * @return Résultat de l'auto-sauvegarde, true si elle a réussi
      */
-    public boolean forceAutoSave() {
-        boolean result = performAutoSave();
+    public CompletableFuture<Boolean> forceAutoSave() {
+        CompletableFuture<Boolean> result = performAutoSave();
         lastAutoSaveTime = System.currentTimeMillis();
         return result;
     }
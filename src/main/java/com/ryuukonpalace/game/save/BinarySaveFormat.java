@@ -0,0 +1,82 @@
+package com.ryuukonpalace.game.save;
+
+/**
+ * Constantes du format binaire des sauvegardes.
+ *
+ * Un fichier commence par le nombre magique "RYSV" et la version du format (varint), suivis
+ * des sections, une par sous-système, puis d'une section de fin (ID 0). Chaque section contient :
+ * <ul>
+ * <li>son ID (varint), suivi de son nom pour les sections non répertoriées ;</li>
+ * <li>des indicateurs (un octet, bit 0 = contenu compressé avec Deflate) ;</li>
+ * <li>la taille du contenu décompressé puis stocké (varints) ;</li>
+ * <li>le CRC32C du contenu stocké (4 octets) ;</li>
+ * <li>le contenu : une valeur typée (objet, tableau, chaîne, nombre...).</li>
+ * </ul>
+ * Les entiers sont des varints (zigzag pour les signés) et chaque chaîne n'est écrite qu'une fois
+ * par section : les occurrences suivantes renvoient à sa position dans la table des chaînes.
+ * Une section peut être vérifiée, décodée ou ignorée sans lire les suivantes.
+ */
+public final class BinarySaveFormat {
+
+    // Nombre magique en tête de fichier
+    public static final byte[] MAGIC = {'R', 'Y', 'S', 'V'};
+
+    // Version du format
+    public static final int VERSION = 1;
+
+    // Extension des fichiers de sauvegarde binaires
+    public static final String EXTENSION = ".sav";
+
+    // Indicateur de contenu compressé
+    public static final int FLAG_DEFLATED = 1;
+
+    // Taille à partir de laquelle le contenu d'une section est compressé
+    public static final int DEFLATE_THRESHOLD = 512;
+
+    // ID de la section de fin et des sections non répertoriées
+    public static final int SECTION_END = 0;
+    public static final int SECTION_CUSTOM = 127;
+
+    // Noms des sections répertoriées, par ID (l'ordre ne doit jamais changer)
+    private static final String[] SECTION_NAMES = {
+        null, "metadata", "player", "world", "quests", "areas", "storyProgression", "storage"
+    };
+
+    // Types des valeurs
+    public static final int TAG_NULL = 0;
+    public static final int TAG_FALSE = 1;
+    public static final int TAG_TRUE = 2;
+    public static final int TAG_INT = 3;
+    public static final int TAG_FLOAT = 4;
+    public static final int TAG_DOUBLE = 5;
+    public static final int TAG_STRING = 6;
+    public static final int TAG_ARRAY = 7;
+    public static final int TAG_OBJECT = 8;
+    public static final int TAG_BIG_NUMBER = 9;
+
+    private BinarySaveFormat() {
+    }
+
+    /**
+     * Obtenir l'ID d'une section
+     * @param name Nom de la section
+     * @return ID de la section, ou SECTION_CUSTOM si elle n'est pas répertoriée
+     */
+    public static int getSectionId(String name) {
+        for (int id = 1; id < SECTION_NAMES.length; id++) {
+            if (SECTION_NAMES[id].equals(name)) {
+                return id;
+            }
+        }
+        return SECTION_CUSTOM;
+    }
+
+    /**
+     * Obtenir le nom d'une section répertoriée
+     * @param id ID de la section
+     * @return Nom de la section, ou null si l'ID n'est pas répertorié
+     */
+    public static String getSectionName(int id) {
+        return id > 0 && id < SECTION_NAMES.length ? SECTION_NAMES[id] : null;
+    }
+}
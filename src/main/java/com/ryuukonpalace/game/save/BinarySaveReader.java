@@ -0,0 +1,347 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Lecture d'une sauvegarde au format binaire, section par section.
+ * Seule la section courante est en mémoire : son CRC32C est vérifié avant décodage,
+ * et une section inutile peut être ignorée sans être décodée.
+ *
+ * @see BinarySaveFormat
+ */
+public class BinarySaveReader {
+
+    // Flux d'entrée
+    private final DataInputStream in;
+
+    // Version du fichier
+    private final int version;
+
+    // En-tête de la section courante
+    private String sectionName;
+    private int sectionFlags;
+    private int rawLength;
+    private int storedLength;
+    private int storedCrc;
+    private boolean sectionPending;
+
+    // Contenu de la section courante
+    private byte[] stored = new byte[8 * 1024];
+    private byte[] raw = new byte[8 * 1024];
+    private byte[] data;
+    private int position;
+    private int limit;
+
+    // Table des chaînes de la section courante
+    private final List<String> strings = new ArrayList<>();
+
+    // Décompression et checksum, réutilisés d'une section à l'autre
+    private final Inflater inflater = new Inflater();
+    private final CRC32C crc = new CRC32C();
+
+    /**
+     * Créer un lecteur et lire l'en-tête du fichier
+     * @param in Flux d'entrée (non fermé par le lecteur)
+     * @throws IOException Si le fichier n'est pas une sauvegarde binaire d'une version connue
+     */
+    public BinarySaveReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        byte[] magic = new byte[BinarySaveFormat.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, BinarySaveFormat.MAGIC)) {
+            throw new IOException("Format de sauvegarde inconnu");
+        }
+        this.version = readVarInt(this.in);
+        if (version < 1 || version > BinarySaveFormat.VERSION) {
+            throw new IOException("Version de sauvegarde non prise en charge: " + version);
+        }
+    }
+
+    /**
+     * Passer à la section suivante (la section courante non lue est ignorée)
+     * @return true si une section a été trouvée, false à la fin du fichier
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public boolean nextSection() throws IOException {
+        if (sectionPending) {
+            skipSection();
+        }
+
+        int id = readVarInt(in);
+        if (id == BinarySaveFormat.SECTION_END) {
+            sectionName = null;
+            inflater.end();
+            return false;
+        }
+        if (id == BinarySaveFormat.SECTION_CUSTOM) {
+            byte[] nameBytes = new byte[readVarInt(in)];
+            in.readFully(nameBytes);
+            sectionName = new String(nameBytes, StandardCharsets.UTF_8);
+        } else {
+            sectionName = BinarySaveFormat.getSectionName(id);
+            if (sectionName == null) {
+                sectionName = "section_" + id;
+            }
+        }
+        sectionFlags = in.readUnsignedByte();
+        rawLength = readVarInt(in);
+        storedLength = readVarInt(in);
+        storedCrc = in.readInt();
+        boolean deflated = (sectionFlags & BinarySaveFormat.FLAG_DEFLATED) != 0;
+        if (rawLength < 0 || storedLength < 0 || (!deflated && rawLength != storedLength)) {
+            throw new IOException("En-tête de section invalide: " + sectionName);
+        }
+        sectionPending = true;
+        return true;
+    }
+
+    /**
+     * Obtenir le nom de la section courante
+     * @return Nom de la section
+     */
+    public String getSectionName() {
+        return sectionName;
+    }
+
+    /**
+     * Obtenir la version du fichier
+     * @return Version du format
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Ignorer la section courante sans la décoder
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public void skipSection() throws IOException {
+        if (!sectionPending) {
+            return;
+        }
+        sectionPending = false;
+        int remaining = storedLength;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Section tronquée: " + sectionName);
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Vérifier le CRC32C de la section courante sans la décoder.
+     * Le contenu est lu par blocs dans un tampon fixe, quelle que soit la taille de la section.
+     * @return true si le contenu correspond à son CRC32C, false si la section est corrompue
+     * @throws IOException Si la section est tronquée
+     */
+    public boolean verifySection() throws IOException {
+        if (!sectionPending) {
+            throw new IllegalStateException("Aucune section à vérifier");
+        }
+        sectionPending = false;
+
+        crc.reset();
+        int remaining = storedLength;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, stored.length);
+            in.readFully(stored, 0, chunk);
+            crc.update(stored, 0, chunk);
+            remaining -= chunk;
+        }
+        return (int) crc.getValue() == storedCrc;
+    }
+
+    /**
+     * Lire, vérifier et décoder le contenu de la section courante
+     * @return Contenu de la section
+     * @throws IOException Si la section est tronquée, corrompue ou mal formée
+     */
+    public JsonElement readSectionValue() throws IOException {
+        if (!sectionPending) {
+            throw new IllegalStateException("Aucune section à lire");
+        }
+        sectionPending = false;
+
+        if (stored.length < storedLength) {
+            stored = new byte[storedLength];
+        }
+        in.readFully(stored, 0, storedLength);
+        crc.reset();
+        crc.update(stored, 0, storedLength);
+        if ((int) crc.getValue() != storedCrc) {
+            throw new IOException("Section corrompue: " + sectionName);
+        }
+
+        if ((sectionFlags & BinarySaveFormat.FLAG_DEFLATED) != 0) {
+            inflate();
+            data = raw;
+        } else {
+            data = stored;
+        }
+        position = 0;
+        limit = rawLength;
+        strings.clear();
+
+        try {
+            JsonElement value = readValue();
+            if (position != limit) {
+                throw new IOException("Section mal formée: " + sectionName);
+            }
+            return value;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Section mal formée: " + sectionName, e);
+        }
+    }
+
+    private void inflate() throws IOException {
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(stored, 0, storedLength);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IOException("Section tronquée: " + sectionName);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Section corrompue: " + sectionName, e);
+        }
+    }
+
+    // Décodage des valeurs
+
+    private JsonElement readValue() throws IOException {
+        int tag = readByte();
+        switch (tag) {
+            case BinarySaveFormat.TAG_NULL:
+                return JsonNull.INSTANCE;
+            case BinarySaveFormat.TAG_FALSE:
+                return new JsonPrimitive(false);
+            case BinarySaveFormat.TAG_TRUE:
+                return new JsonPrimitive(true);
+            case BinarySaveFormat.TAG_INT: {
+                long value = readVarLong();
+                return new JsonPrimitive((value >>> 1) ^ -(value & 1));
+            }
+            case BinarySaveFormat.TAG_FLOAT:
+                return new JsonPrimitive(Float.intBitsToFloat((int) readFixed(4)));
+            case BinarySaveFormat.TAG_DOUBLE:
+                return new JsonPrimitive(Double.longBitsToDouble(readFixed(8)));
+            case BinarySaveFormat.TAG_STRING:
+                return new JsonPrimitive(readString());
+            case BinarySaveFormat.TAG_BIG_NUMBER:
+                return new JsonPrimitive(new BigDecimal(readString()));
+            case BinarySaveFormat.TAG_ARRAY: {
+                int count = readCount();
+                JsonArray array = new JsonArray(count);
+                for (int i = 0; i < count; i++) {
+                    array.add(readValue());
+                }
+                return array;
+            }
+            case BinarySaveFormat.TAG_OBJECT: {
+                int count = readCount();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < count; i++) {
+                    String key = readString();
+                    object.add(key, readValue());
+                }
+                return object;
+            }
+            default:
+                throw new IOException("Type de valeur inconnu " + tag + " dans la section " + sectionName);
+        }
+    }
+
+    private String readString() throws IOException {
+        long reference = readVarLong();
+        if (reference > 0) {
+            if (reference > strings.size()) {
+                throw new IOException("Chaîne inconnue dans la section " + sectionName);
+            }
+            return strings.get((int) (reference - 1));
+        }
+        int length = readCount();
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        strings.add(value);
+        return value;
+    }
+
+    private int readCount() throws IOException {
+        long count = readVarLong();
+        if (count < 0 || count > limit - position) {
+            throw new IOException("Taille invalide dans la section " + sectionName);
+        }
+        return (int) count;
+    }
+
+    private int readByte() throws IOException {
+        if (position >= limit) {
+            throw new IOException("Section tronquée: " + sectionName);
+        }
+        return data[position++] & 0xFF;
+    }
+
+    private long readFixed(int bytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint invalide dans la section " + sectionName);
+    }
+
+    /**
+     * Lire un entier positif en varint depuis un flux
+     */
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint invalide");
+    }
+}
@@ -0,0 +1,285 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Écriture d'une sauvegarde au format binaire, section par section.
+ * Chaque section est encodée dans un tampon réutilisé, compressée si elle est grande,
+ * puis écrite directement dans le flux avec sa taille et son CRC32C.
+ *
+ * @see BinarySaveFormat
+ */
+public class BinarySaveWriter {
+
+    // Flux de sortie
+    private final DataOutputStream out;
+
+    // Contenu de la section en cours
+    private byte[] buffer = new byte[8 * 1024];
+    private int size;
+
+    // Contenu compressé
+    private byte[] compressed = new byte[0];
+
+    // Table des chaînes de la section en cours (chaîne -> position)
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    // Compression et checksum, réutilisés d'une section à l'autre
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final CRC32C crc = new CRC32C();
+
+    // Checksum de l'ensemble des sections écrites
+    private final CRC32C fileCrc = new CRC32C();
+
+    // Nombre d'octets écrits
+    private long bytesWritten;
+
+    /**
+     * Créer un écrivain et écrire l'en-tête du fichier
+     * @param out Flux de sortie (non fermé par l'écrivain)
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public BinarySaveWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.write(BinarySaveFormat.MAGIC);
+        writeVarInt(this.out, BinarySaveFormat.VERSION);
+    }
+
+    /**
+     * Écrire une section
+     * @param name Nom de la section
+     * @param value Contenu de la section
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void writeSection(String name, JsonElement value) throws IOException {
+        size = 0;
+        strings.clear();
+        writeValue(value);
+
+        // Compresser les grandes sections si c'est rentable
+        byte[] stored = buffer;
+        int storedLength = size;
+        int flags = 0;
+        if (size >= BinarySaveFormat.DEFLATE_THRESHOLD) {
+            int deflatedLength = deflate();
+            if (deflatedLength < size) {
+                stored = compressed;
+                storedLength = deflatedLength;
+                flags |= BinarySaveFormat.FLAG_DEFLATED;
+            }
+        }
+        crc.reset();
+        crc.update(stored, 0, storedLength);
+        fileCrc.update(stored, 0, storedLength);
+
+        // En-tête de la section
+        int id = BinarySaveFormat.getSectionId(name);
+        writeVarInt(out, id);
+        if (id == BinarySaveFormat.SECTION_CUSTOM) {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, nameBytes.length);
+            out.write(nameBytes);
+        }
+        out.writeByte(flags);
+        writeVarInt(out, size);
+        writeVarInt(out, storedLength);
+        out.writeInt((int) crc.getValue());
+
+        // Contenu
+        out.write(stored, 0, storedLength);
+    }
+
+    /**
+     * Terminer le fichier (section de fin) et libérer le compresseur
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void finish() throws IOException {
+        writeVarInt(out, BinarySaveFormat.SECTION_END);
+        out.flush();
+        bytesWritten = out.size();
+        deflater.end();
+    }
+
+    /**
+     * Obtenir le nombre d'octets écrits (après finish)
+     * @return Taille du fichier
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Obtenir le checksum CRC32C du contenu de toutes les sections écrites
+     * @return Checksum en hexadécimal
+     */
+    public String getChecksum() {
+        return Long.toHexString(fileCrc.getValue());
+    }
+
+    private int deflate() {
+        if (compressed.length < size) {
+            compressed = new byte[size];
+        }
+        deflater.reset();
+        deflater.setInput(buffer, 0, size);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished() && length < compressed.length) {
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        // Plus grand que l'original : ne pas compresser
+        return deflater.finished() ? length : Integer.MAX_VALUE;
+    }
+
+    // Encodage des valeurs
+
+    private void writeValue(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            writeByte(BinarySaveFormat.TAG_NULL);
+        } else if (value.isJsonObject()) {
+            writeByte(BinarySaveFormat.TAG_OBJECT);
+            writeVarLong(value.getAsJsonObject().size());
+            for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+                writeString(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } else if (value.isJsonArray()) {
+            writeByte(BinarySaveFormat.TAG_ARRAY);
+            writeVarLong(value.getAsJsonArray().size());
+            for (JsonElement element : value.getAsJsonArray()) {
+                writeValue(element);
+            }
+        } else {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                writeByte(primitive.getAsBoolean() ? BinarySaveFormat.TAG_TRUE : BinarySaveFormat.TAG_FALSE);
+            } else if (primitive.isString()) {
+                writeByte(BinarySaveFormat.TAG_STRING);
+                writeString(primitive.getAsString());
+            } else {
+                writeNumber(primitive.getAsNumber());
+            }
+        }
+    }
+
+    private void writeNumber(Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            writeInt(number.longValue());
+            return;
+        }
+        if (number instanceof Float) {
+            writeFloat(number.floatValue());
+            return;
+        }
+
+        double value;
+        if (number instanceof Double) {
+            value = number.doubleValue();
+        } else {
+            // Nombre lu depuis du JSON : entier si possible
+            String text = number.toString();
+            try {
+                writeInt(Long.parseLong(text));
+                return;
+            } catch (NumberFormatException e) {
+                value = Double.parseDouble(text);
+            }
+            if (Double.isInfinite(value)) {
+                writeByte(BinarySaveFormat.TAG_BIG_NUMBER);
+                writeString(text);
+                return;
+            }
+        }
+
+        if (value == (long) value && (value != 0 || 1 / value > 0)) {
+            writeInt((long) value);
+        } else if ((float) value == value) {
+            writeFloat((float) value);
+        } else {
+            writeByte(BinarySaveFormat.TAG_DOUBLE);
+            writeLong(Double.doubleToRawLongBits(value));
+        }
+    }
+
+    private void writeInt(long value) {
+        writeByte(BinarySaveFormat.TAG_INT);
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeFloat(float value) {
+        writeByte(BinarySaveFormat.TAG_FLOAT);
+        int bits = Float.floatToRawIntBits(value);
+        ensure(4);
+        buffer[size++] = (byte) (bits >>> 24);
+        buffer[size++] = (byte) (bits >>> 16);
+        buffer[size++] = (byte) (bits >>> 8);
+        buffer[size++] = (byte) bits;
+    }
+
+    private void writeLong(long bits) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    /**
+     * Écrire une chaîne : 0 puis son contenu à la première occurrence, sinon sa position + 1
+     */
+    private void writeString(String value) {
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarLong(index + 1L);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(0);
+        writeVarLong(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeByte(int value) {
+        ensure(1);
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * Écrire un entier positif en varint dans un flux
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
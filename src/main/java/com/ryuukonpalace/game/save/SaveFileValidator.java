@@ -1,33 +1,96 @@
 package com.ryuukonpalace.game.save;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.zip.CRC32;
-import java.util.zip.Checksum;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 /**
  * Classe utilitaire pour valider et réparer les fichiers de sauvegarde.
  * Vérifie l'intégrité des fichiers et tente de les réparer si possible.
+ * Les sauvegardes binaires sont vérifiées section par section sur les octets lus (CRC32C),
+ * sans décodage, et seules les sections corrompues sont réparées. Leur journal de sauvegardes
+ * incrémentales est vérifié avec elles.
+ * La copie de secours (save_N.sav.bak) est la sauvegarde complète précédente, conservée par
+ * {@link #createBackup(String)} avant chaque remplacement.
  */
 public class SaveFileValidator {
     
     // Dossier de sauvegarde
     private static final String SAVE_DIRECTORY = "saves";
     
-    // Extension des fichiers de sauvegarde
-    private static final String SAVE_EXTENSION = ".json";
-    
     // Extension des fichiers de sauvegarde de secours
     private static final String BACKUP_EXTENSION = ".bak";
     
+    // Sections indispensables au chargement d'une sauvegarde
+    private static final List<String> REQUIRED_SECTIONS = Arrays.asList("metadata", "player", "world");
+    
+    /**
+     * Résultat de la vérification des sections d'une sauvegarde binaire
+     */
+    static final class SectionCheck {
+        // Noms des sections, dans l'ordre du fichier
+        final List<String> sections = new ArrayList<>();
+        
+        // Index des sections dont le CRC32C ne correspond pas
+        final BitSet corrupted = new BitSet();
+        
+        // La lecture s'est arrêtée avant la fin du fichier (en-tête illisible ou fichier tronqué)
+        boolean truncated;
+        
+        /**
+         * Vérifier si la sauvegarde est intacte et complète
+         * @return true si toutes les sections sont intactes et les sections obligatoires présentes
+         */
+        boolean isValid() {
+            return corrupted.isEmpty() && !truncated && sections.containsAll(REQUIRED_SECTIONS);
+        }
+        
+        /**
+         * Obtenir les noms des sections corrompues
+         * @return Sections corrompues
+         */
+        List<String> getCorruptedSections() {
+            List<String> names = new ArrayList<>();
+            for (int i = corrupted.nextSetBit(0); i >= 0; i = corrupted.nextSetBit(i + 1)) {
+                names.add(sections.get(i));
+            }
+            return names;
+        }
+    }
+    
+    /**
+     * Vérifier les sections d'une sauvegarde binaire en une seule lecture du fichier.
+     * Le CRC32C de chaque section est calculé sur les octets stockés, sans décodage : une section
+     * corrompue n'empêche pas de vérifier les suivantes.
+     * @param saveFile Fichier de sauvegarde binaire
+     * @return Résultat de la vérification
+     */
+    static SectionCheck checkSections(File saveFile) {
+        SectionCheck check = new SectionCheck();
+        try (InputStream in = SaveFiles.openInput(saveFile)) {
+            BinarySaveReader reader = new BinarySaveReader(in);
+            while (reader.nextSection()) {
+                check.sections.add(reader.getSectionName());
+                if (!reader.verifySection()) {
+                    check.corrupted.set(check.sections.size() - 1);
+                }
+            }
+        } catch (IOException e) {
+            check.truncated = true;
+        }
+        return check;
+    }
+    
     /**
      * Vérifier l'intégrité d'un fichier de sauvegarde
      * @param filePath Chemin du fichier de sauvegarde
@@ -42,10 +105,29 @@ public class SaveFileValidator {
                 return false;
             }
             
+            // Vérifier les sections binaires sans les décoder, puis le journal
+            if (SaveFiles.isBinary(saveFile)) {
+                SectionCheck check = checkSections(saveFile);
+                if (!check.corrupted.isEmpty()) {
+                    System.err.println("Sections corrompues dans " + saveFile.getName() + ": " + check.getCorruptedSections());
+                } else if (check.truncated) {
+                    System.err.println("Fichier de sauvegarde tronqué: " + saveFile.getName());
+                } else if (!check.isValid()) {
+                    System.err.println("Structure de sauvegarde invalide: sections obligatoires manquantes");
+                }
+                
+                File journal = SaveJournal.getJournalFile(saveFile);
+                SaveJournal.Check journalCheck = SaveJournal.verify(journal);
+                if (journalCheck.corrupted) {
+                    System.err.println("Journal corrompu après " + journalCheck.records + " enregistrements: " + journal.getName());
+                }
+                return check.isValid() && !journalCheck.corrupted;
+            }
+            
             // Lire le fichier JSON
             JsonObject saveData = readSaveFile(filePath);
             if (saveData == null) {
-                System.err.println("Erreur de syntaxe JSON dans le fichier de sauvegarde: " + filePath);
+                System.err.println("Fichier de sauvegarde illisible ou corrompu: " + filePath);
                 return false;
             }
             
@@ -55,20 +137,12 @@ public class SaveFileValidator {
                 return false;
             }
             
-            // Vérifier le checksum
+            // Vérifier le checksum des sauvegardes JSON
             if (saveData.has("metadata") && saveData.getAsJsonObject("metadata").has("checksum")) {
-                String storedChecksum = saveData.getAsJsonObject("metadata").get("checksum").getAsString();
+                // Retirer le checksum des données pour le recalculer
+                String storedChecksum = saveData.getAsJsonObject("metadata").remove("checksum").getAsString();
                 
-                // Créer une copie des données sans le checksum pour calculer le nouveau checksum
-                JsonObject saveDataCopy = saveData.deepCopy();
-                saveDataCopy.getAsJsonObject("metadata").remove("checksum");
-                
-                String saveDataString = saveDataCopy.toString();
-                Checksum crc32 = new CRC32();
-                crc32.update(saveDataString.getBytes());
-                String calculatedChecksum = Long.toHexString(crc32.getValue());
-                
-                if (!calculatedChecksum.equals(storedChecksum)) {
+                if (!SaveFiles.matchesChecksum(saveData, storedChecksum)) {
                     System.err.println("Erreur de checksum: la sauvegarde pourrait être corrompue");
                     return false;
                 }
@@ -98,6 +172,11 @@ public class SaveFileValidator {
                 return false;
             }
             
+            // Réparer les sauvegardes binaires section par section
+            if (SaveFiles.isBinary(saveFile)) {
+                return repairBinarySaveFile(saveFile);
+            }
+            
             // Créer une copie de sauvegarde
             String backupPath = filePath + BACKUP_EXTENSION;
             try {
@@ -142,18 +221,16 @@ public class SaveFileValidator {
             
             // Si des réparations sont nécessaires, recalculer le checksum et sauvegarder
             if (needsRepair) {
-                // Calculer le nouveau checksum
-                String saveDataString = saveData.toString();
-                Checksum crc32 = new CRC32();
-                crc32.update(saveDataString.getBytes());
-                String newChecksum = Long.toHexString(crc32.getValue());
+                // Calculer le nouveau checksum sur les données sans checksum
+                saveData.getAsJsonObject("metadata").remove("checksum");
+                String newChecksum = SaveFiles.computeChecksum(saveData);
                 
                 // Mettre à jour le checksum dans les métadonnées
                 saveData.getAsJsonObject("metadata").addProperty("checksum", newChecksum);
                 
                 // Sauvegarder le fichier réparé
                 try {
-                    Files.write(Paths.get(filePath), saveData.toString().getBytes());
+                    SaveFiles.writeSave(Paths.get(filePath), saveData);
                     System.out.println("Fichier de sauvegarde réparé avec succès");
                     return true;
                 } catch (IOException e) {
@@ -184,14 +261,144 @@ public class SaveFileValidator {
         }
     }
     
+    /**
+     * Réparer une sauvegarde binaire : seules les sections corrompues, manquantes ou perdues
+     * après une troncature sont remplacées, par celles de la copie de secours si elles y sont
+     * intactes ; les sections facultatives irrécupérables sont supprimées. Les sections intactes
+     * sont conservées telles quelles et la sauvegarde est réécrite de façon atomique.
+     * Si une section obligatoire est irrécupérable, la sauvegarde n'est pas modifiée et la
+     * réparation échoue. Le journal est coupé après son dernier enregistrement intact.
+     * @param saveFile Fichier de sauvegarde binaire
+     * @return true si la sauvegarde est intacte ou a été réparée, false sinon
+     */
+    private static boolean repairBinarySaveFile(File saveFile) {
+        if (!repairJournal(SaveJournal.getJournalFile(saveFile))) {
+            return false;
+        }
+        
+        SectionCheck check = checkSections(saveFile);
+        if (check.isValid()) {
+            System.out.println("Aucune réparation nécessaire pour le fichier de sauvegarde");
+            return true;
+        }
+        
+        try {
+            JsonObject saveData = readIntactSections(saveFile, check);
+            
+            // Sections de remplacement : celles de la copie de secours qui sont intactes
+            File backupFile = getBackupFile(saveFile);
+            JsonObject backupData = new JsonObject();
+            if (backupFile.exists() && SaveFiles.isBinary(backupFile)) {
+                backupData = readIntactSections(backupFile, checkSections(backupFile));
+            }
+            
+            // Remplacer les sections corrompues en conservant l'ordre du fichier
+            JsonObject repairedData = new JsonObject();
+            List<String> repairedSections = new ArrayList<>();
+            for (int i = 0; i < check.sections.size(); i++) {
+                String name = check.sections.get(i);
+                if (!check.corrupted.get(i)) {
+                    repairedData.add(name, saveData.get(name));
+                } else if (backupData.has(name)) {
+                    repairedData.add(name, backupData.get(name));
+                    repairedSections.add(name + " (copie de secours)");
+                } else if (!REQUIRED_SECTIONS.contains(name)) {
+                    repairedSections.add(name + " (supprimée)");
+                }
+            }
+            
+            // Sections perdues après une troncature, puis sections obligatoires manquantes
+            for (String name : backupData.keySet()) {
+                if (check.truncated && !repairedData.has(name)) {
+                    repairedData.add(name, backupData.get(name));
+                    repairedSections.add(name + " (copie de secours)");
+                }
+            }
+            
+            // Une section obligatoire vide effacerait la progression : la sauvegarde est laissée telle quelle
+            List<String> lostSections = new ArrayList<>();
+            for (String name : REQUIRED_SECTIONS) {
+                if (!repairedData.has(name)) {
+                    lostSections.add(name);
+                }
+            }
+            if (!lostSections.isEmpty()) {
+                System.err.println("Réparation impossible de " + saveFile.getName()
+                                   + ", sections obligatoires irrécupérables: " + lostSections);
+                return false;
+            }
+            
+            SaveFiles.writeBinaryAtomically(saveFile.toPath(), repairedData);
+            System.out.println("Fichier de sauvegarde réparé avec succès, sections réparées: " + repairedSections);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors de la réparation de " + saveFile.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Couper un journal corrompu après son dernier enregistrement intact. Les enregistrements
+     * suivants sont perdus, comme à la relecture, mais les prochains ajouts seront relus.
+     * @param journal Fichier du journal
+     * @return true si le journal est intact ou a été réparé, false sinon
+     */
+    private static boolean repairJournal(File journal) {
+        SaveJournal.Check check = SaveJournal.verify(journal);
+        if (!check.corrupted && !check.torn) {
+            return true;
+        }
+        
+        try {
+            SaveJournal.truncate(journal, check.validLength);
+            System.out.println("Journal réparé, " + check.records + " enregistrements conservés: " + journal.getName());
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la réparation du journal " + journal.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Obtenir la copie de secours d'une sauvegarde
+     * @param saveFile Fichier de sauvegarde
+     * @return Fichier de la copie de secours (save_N.sav.bak)
+     */
+    static File getBackupFile(File saveFile) {
+        return new File(saveFile.getPath() + BACKUP_EXTENSION);
+    }
+    
+    /**
+     * Décoder les sections intactes d'une sauvegarde binaire ; les sections corrompues sont
+     * ignorées sans être décodées
+     * @param saveFile Fichier de sauvegarde binaire
+     * @param check Résultat de la vérification du fichier
+     * @return Sections intactes
+     * @throws IOException En cas d'erreur de lecture
+     */
+    private static JsonObject readIntactSections(File saveFile, SectionCheck check) throws IOException {
+        JsonObject saveData = new JsonObject();
+        try (InputStream in = SaveFiles.openInput(saveFile)) {
+            BinarySaveReader reader = new BinarySaveReader(in);
+            for (int i = 0; i < check.sections.size() && reader.nextSection(); i++) {
+                if (check.corrupted.get(i)) {
+                    reader.skipSection();
+                } else {
+                    saveData.add(reader.getSectionName(), reader.readSectionValue());
+                }
+            }
+        }
+        return saveData;
+    }
+    
     /**
      * Lire un fichier de sauvegarde JSON
      * @param filePath Chemin du fichier de sauvegarde
      * @return Objet JSON contenant les données de sauvegarde, ou null en cas d'erreur
      */
     private static JsonObject readSaveFile(String filePath) {
-        try (FileReader reader = new FileReader(filePath)) {
-            return JsonParser.parseReader(reader).getAsJsonObject();
+        try {
+            return SaveFiles.read(new File(filePath));
         } catch (JsonSyntaxException e) {
             System.err.println("Erreur de syntaxe JSON: " + e.getMessage());
             return null;
@@ -241,27 +448,29 @@ public class SaveFileValidator {
             return 0;
         }
         
-        File[] saveFiles = saveDir.listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+        File[] saveFiles = saveDir.listFiles((dir, name) -> SaveFiles.isSaveFileName(name));
         if (saveFiles == null || saveFiles.length == 0) {
             System.out.println("Aucun fichier de sauvegarde trouvé");
             return 0;
         }
         
-        int validCount = 0;
-        for (File saveFile : saveFiles) {
-            if (validateSaveFile(saveFile.getPath())) {
-                validCount++;
-            } else {
+        // Vérifier les fichiers en parallèle
+        long validCount = Arrays.stream(saveFiles).parallel().filter(saveFile -> {
+            boolean valid = validateSaveFile(saveFile.getPath());
+            if (!valid) {
                 System.out.println("Fichier de sauvegarde invalide: " + saveFile.getName());
             }
-        }
+            return valid;
+        }).count();
         
         System.out.println(validCount + " fichiers de sauvegarde valides sur " + saveFiles.length);
-        return validCount;
+        return (int) validCount;
     }
     
     /**
-     * Créer une copie de secours d'un fichier de sauvegarde
+     * Créer une copie de secours d'un fichier de sauvegarde, à appeler avant de le remplacer.
+     * Une sauvegarde binaire corrompue ne remplace pas la copie de secours existante :
+     * c'est elle qui servira à la réparer.
      * @param filePath Chemin du fichier de sauvegarde
      * @return true si la copie a réussi, false sinon
      */
@@ -274,10 +483,13 @@ public class SaveFileValidator {
                 return false;
             }
             
-            // Créer une copie de sauvegarde
-            String backupPath = filePath + BACKUP_EXTENSION;
-            Files.copy(Paths.get(filePath), Paths.get(backupPath), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("Copie de sauvegarde créée: " + backupPath);
+            if (SaveFiles.isBinary(saveFile) && !checkSections(saveFile).isValid()) {
+                System.err.println("Sauvegarde corrompue, copie de secours conservée: " + saveFile.getName());
+                return false;
+            }
+            
+            // Créer une copie de sauvegarde, remplacée atomiquement
+            SaveFiles.copyAtomically(saveFile.toPath(), getBackupFile(saveFile).toPath());
             return true;
         } catch (IOException e) {
             System.err.println("Erreur lors de la création de la copie de sauvegarde: " + e.getMessage());
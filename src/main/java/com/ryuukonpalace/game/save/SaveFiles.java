@@ -0,0 +1,331 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Lecture et écriture des fichiers de sauvegarde.
+ * Les sauvegardes sont écrites dans un fichier temporaire, synchronisé sur le disque puis renommé
+ * atomiquement : une sauvegarde interrompue ne remplace jamais la précédente.
+ * Deux formats sont pris en charge : le format binaire ({@link BinarySaveFormat}, extension .sav)
+ * et l'ancien format JSON, compressé (GZIP) ou non.
+ */
+public final class SaveFiles {
+
+    // Extension des fichiers temporaires d'écriture
+    public static final String TEMP_EXTENSION = ".tmp";
+
+    // Extension des anciennes sauvegardes JSON
+    public static final String LEGACY_EXTENSION = ".json";
+
+    // Nom des fichiers de sauvegarde JSON (exclut les fichiers annexes comme save_1.json.quests.json)
+    private static final Pattern LEGACY_SAVE_NAME = Pattern.compile("save_\\d+\\.json");
+
+    // Taille des tampons d'entrée/sortie
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Sérialisation d'un arbre JSON, identique à JsonElement.toString()
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    private SaveFiles() {
+    }
+
+    /**
+     * Écriture du contenu d'un fichier
+     */
+    private interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Vérifier si un fichier est une sauvegarde au format binaire
+     * @param file Fichier de sauvegarde
+     * @return true si le fichier commence par le nombre magique du format binaire
+     */
+    public static boolean isBinary(File file) {
+        byte[] magic = new byte[BinarySaveFormat.MAGIC.length];
+        try (InputStream in = new FileInputStream(file)) {
+            int read = in.readNBytes(magic, 0, magic.length);
+            return read == magic.length && Arrays.equals(magic, BinarySaveFormat.MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Vérifier si un nom de fichier désigne une sauvegarde, binaire ou JSON
+     * @param name Nom du fichier
+     * @return true pour une sauvegarde
+     */
+    public static boolean isSaveFileName(String name) {
+        return name.endsWith(BinarySaveFormat.EXTENSION) || LEGACY_SAVE_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Ouvrir un fichier en lecture avec un tampon
+     * @param file Fichier à lire
+     * @return Flux d'entrée
+     * @throws IOException En cas d'erreur d'ouverture
+     */
+    public static InputStream openInput(File file) throws IOException {
+        return new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+    }
+
+    /**
+     * Ouvrir un fichier de sauvegarde en lecture, compressé ou non
+     * @param file Fichier de sauvegarde
+     * @return Lecteur UTF-8 du contenu JSON
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static Reader openReader(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            // Reconnaître le nombre magique GZIP (0x1f 0x8b)
+            in.mark(2);
+            int first = in.read();
+            int second = in.read();
+            in.reset();
+            if (first == 0x1f && second == 0x8b) {
+                in = new GZIPInputStream(in, BUFFER_SIZE);
+            }
+            return new InputStreamReader(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lire et analyser un fichier de sauvegarde, quel que soit son format.
+     * Pour le format binaire, les sections deviennent les membres de l'objet et leur
+     * checksum est vérifié.
+     * @param file Fichier de sauvegarde
+     * @return Données de sauvegarde
+     * @throws IOException En cas d'erreur de lecture ou de section corrompue
+     */
+    public static JsonObject read(File file) throws IOException {
+        if (isBinary(file)) {
+            try (InputStream in = openInput(file)) {
+                BinarySaveReader reader = new BinarySaveReader(in);
+                JsonObject saveData = new JsonObject();
+                while (reader.nextSection()) {
+                    saveData.add(reader.getSectionName(), reader.readSectionValue());
+                }
+                return saveData;
+            }
+        }
+        try (Reader reader = openReader(file)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        }
+    }
+
+    /**
+     * Lire uniquement les métadonnées d'une sauvegarde.
+     * Pour le format binaire, la lecture s'arrête après la section des métadonnées, écrite en premier.
+     * @param file Fichier de sauvegarde
+     * @return Métadonnées, ou null si la sauvegarde n'en contient pas
+     * @throws IOException En cas d'erreur de lecture ou de section corrompue
+     */
+    public static JsonObject readMetadata(File file) throws IOException {
+        if (isBinary(file)) {
+            try (InputStream in = openInput(file)) {
+                BinarySaveReader reader = new BinarySaveReader(in);
+                while (reader.nextSection()) {
+                    if ("metadata".equals(reader.getSectionName())) {
+                        return reader.readSectionValue().getAsJsonObject();
+                    }
+                }
+                return null;
+            }
+        }
+        JsonObject saveData = read(file);
+        return saveData.has("metadata") ? saveData.getAsJsonObject("metadata") : null;
+    }
+
+    /**
+     * Écrire un arbre JSON en JSON compact
+     * @param data Données à écrire
+     * @param writer Destination
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public static void writeJson(JsonElement data, Writer writer) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setLenient(true);
+        JSON_ELEMENT_ADAPTER.write(jsonWriter, data);
+        jsonWriter.flush();
+    }
+
+    /**
+     * Calculer le checksum d'une sauvegarde : CRC32 de son JSON compact en UTF-8,
+     * calculé au fil de l'eau sans construire la chaîne complète
+     * @param data Données de sauvegarde, sans le checksum
+     * @return Checksum en hexadécimal
+     */
+    public static String computeChecksum(JsonObject data) {
+        CRC32 crc32 = new CRC32();
+        try {
+            Writer writer = new OutputStreamWriter(new CheckedOutputStream(OutputStream.nullOutputStream(), crc32), StandardCharsets.UTF_8);
+            writeJson(data, writer);
+            writer.flush();
+        } catch (IOException e) {
+            // Impossible : la destination ne lève pas d'exception
+            throw new IllegalStateException(e);
+        }
+        return Long.toHexString(crc32.getValue());
+    }
+
+    /**
+     * Calculer le checksum des anciennes sauvegardes, pris sur le JSON indenté
+     * @param data Données de sauvegarde, sans le checksum
+     * @return Checksum en hexadécimal
+     */
+    public static String computeLegacyChecksum(JsonObject data) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        CRC32 crc32 = new CRC32();
+        crc32.update(gson.toJson(data).getBytes());
+        return Long.toHexString(crc32.getValue());
+    }
+
+    /**
+     * Vérifier le checksum d'une sauvegarde, au format actuel ou ancien
+     * @param data Données de sauvegarde, sans le checksum
+     * @param checksum Checksum enregistré
+     * @return true si le checksum correspond
+     */
+    public static boolean matchesChecksum(JsonObject data, String checksum) {
+        return computeChecksum(data).equals(checksum) || computeLegacyChecksum(data).equals(checksum);
+    }
+
+    /**
+     * Écrire une sauvegarde dans le format correspondant à l'extension du fichier
+     * (binaire pour .sav, JSON compressé sinon)
+     * @param target Fichier de destination
+     * @param data Données de sauvegarde, une section par membre
+     * @throws IOException En cas d'erreur d'écriture (la destination est alors inchangée)
+     */
+    public static void writeSave(Path target, JsonObject data) throws IOException {
+        if (target.getFileName().toString().endsWith(BinarySaveFormat.EXTENSION)) {
+            writeBinaryAtomically(target, data);
+        } else {
+            writeAtomically(target, data);
+        }
+    }
+
+    /**
+     * Écrire une sauvegarde au format binaire de façon atomique, une section par membre
+     * @param target Fichier de destination
+     * @param data Données de sauvegarde
+     * @return Checksum CRC32C des sections écrites, en hexadécimal
+     * @throws IOException En cas d'erreur d'écriture (la destination est alors inchangée)
+     */
+    public static String writeBinaryAtomically(Path target, JsonObject data) throws IOException {
+        String[] checksum = new String[1];
+        writeAtomically(target, out -> {
+            BinarySaveWriter writer = new BinarySaveWriter(out);
+            for (Map.Entry<String, JsonElement> section : data.entrySet()) {
+                writer.writeSection(section.getKey(), section.getValue());
+            }
+            writer.finish();
+            checksum[0] = writer.getChecksum();
+        });
+        return checksum[0];
+    }
+
+    /**
+     * Écrire une sauvegarde en JSON compressé de façon atomique
+     * @param target Fichier de destination
+     * @param data Données de sauvegarde
+     * @throws IOException En cas d'erreur d'écriture (la destination est alors inchangée)
+     */
+    public static void writeAtomically(Path target, JsonElement data) throws IOException {
+        writeAtomically(target, out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            writeJson(data, writer);
+            writer.flush();
+            gzip.finish();
+        });
+    }
+
+    /**
+     * Copier un fichier de façon atomique : la destination reste l'ancienne version tant que
+     * la copie n'est pas complète
+     * @param source Fichier à copier
+     * @param target Fichier de destination
+     * @throws IOException En cas d'erreur de copie (la destination est alors inchangée)
+     */
+    public static void copyAtomically(Path source, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_EXTENSION);
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            moveAtomically(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Écrire un fichier de façon atomique :
+     * fichier temporaire, synchronisation sur le disque, puis renommage
+     */
+    private static void writeAtomically(Path target, ContentWriter content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_EXTENSION);
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(temp.toFile());
+                 BufferedOutputStream out = new BufferedOutputStream(fileOut, BUFFER_SIZE)) {
+                content.write(out);
+                out.flush();
+
+                // Forcer l'écriture sur le disque avant le renommage
+                fileOut.getFD().sync();
+            }
+            moveAtomically(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Renommer un fichier atomiquement, ou à défaut avec remplacement si le système
+     * de fichiers ne le permet pas
+     */
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Conversion des anciennes sauvegardes JSON vers le format binaire.
+ * Le fichier JSON n'est jamais modifié : la sauvegarde binaire est écrite à côté.
+ */
+public final class SaveFormatConverter {
+
+    private SaveFormatConverter() {
+    }
+
+    /**
+     * Obtenir le fichier binaire correspondant à une sauvegarde JSON
+     * @param jsonFile Sauvegarde JSON (save_N.json)
+     * @return Sauvegarde binaire (save_N.sav)
+     */
+    public static File getBinaryFile(File jsonFile) {
+        String name = jsonFile.getName();
+        if (name.endsWith(SaveFiles.LEGACY_EXTENSION)) {
+            name = name.substring(0, name.length() - SaveFiles.LEGACY_EXTENSION.length());
+        }
+        return new File(jsonFile.getParentFile(), name + BinarySaveFormat.EXTENSION);
+    }
+
+    /**
+     * Convertir une sauvegarde JSON au format binaire.
+     * Le checksum JSON est vérifié puis retiré : chaque section binaire a son propre CRC32C.
+     * @param jsonFile Sauvegarde JSON, compressée ou non
+     * @param binaryFile Sauvegarde binaire à écrire
+     * @return true si la conversion a réussi, false sinon
+     */
+    public static boolean convert(File jsonFile, File binaryFile) {
+        try {
+            JsonObject saveData = SaveFiles.read(jsonFile);
+            if (!saveData.has("metadata")) {
+                System.err.println("Métadonnées manquantes, conversion impossible: " + jsonFile.getName());
+                return false;
+            }
+
+            JsonObject metadata = saveData.getAsJsonObject("metadata");
+            if (metadata.has("checksum")) {
+                String checksum = metadata.remove("checksum").getAsString();
+                if (!SaveFiles.matchesChecksum(saveData, checksum)) {
+                    System.err.println("Erreur de checksum, conversion impossible: " + jsonFile.getName());
+                    return false;
+                }
+            }
+
+            SaveFiles.writeBinaryAtomically(binaryFile.toPath(), saveData);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors de la conversion de " + jsonFile.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Convertir les sauvegardes JSON d'un dossier (par défaut "saves")
+     * @param args Dossier des sauvegardes
+     */
+    public static void main(String[] args) {
+        File saveDir = new File(args.length > 0 ? args[0] : "saves");
+        File[] jsonFiles = saveDir.listFiles((dir, name) -> name.endsWith(SaveFiles.LEGACY_EXTENSION) && SaveFiles.isSaveFileName(name));
+        if (jsonFiles == null || jsonFiles.length == 0) {
+            System.out.println("Aucune sauvegarde JSON trouvée dans " + saveDir.getPath());
+            return;
+        }
+
+        for (File jsonFile : jsonFiles) {
+            File binaryFile = getBinaryFile(jsonFile);
+            if (convert(jsonFile, binaryFile)) {
+                System.out.println(String.format("%s -> %s (%d -> %d octets)",
+                        jsonFile.getName(), binaryFile.getName(), jsonFile.length(), binaryFile.length()));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Index des sauvegardes : les métadonnées de chaque slot (nom, niveau, lieu, temps de jeu,
+ * checksum...) dans un petit fichier à part, au format binaire ({@link BinarySaveFormat}).
+ *
+ * La liste des sauvegardes est construite à partir de l'index sans ouvrir les sauvegardes.
+ * Chaque entrée retient la taille et la date de modification de la sauvegarde et de son journal :
+ * une sauvegarde modifiée en dehors du jeu (ou un index absent ou corrompu) est relue.
+ */
+final class SaveIndex {
+
+    // Nom du fichier d'index, dans le dossier des sauvegardes
+    static final String FILE_NAME = "slots.index";
+
+    // Section de l'index
+    private static final String SECTION = "slots";
+
+    private SaveIndex() {
+    }
+
+    /**
+     * Lire l'index
+     * @param indexFile Fichier d'index
+     * @return Entrées par nom de fichier de sauvegarde (vide si l'index est absent ou illisible)
+     */
+    static Map<String, JsonObject> read(File indexFile) {
+        Map<String, JsonObject> entries = new HashMap<>();
+        if (!indexFile.exists()) {
+            return entries;
+        }
+
+        try (InputStream in = SaveFiles.openInput(indexFile)) {
+            BinarySaveReader reader = new BinarySaveReader(in);
+            while (reader.nextSection()) {
+                if (SECTION.equals(reader.getSectionName())) {
+                    for (JsonElement element : reader.readSectionValue().getAsJsonArray()) {
+                        JsonObject entry = element.getAsJsonObject();
+                        entries.put(entry.get("file").getAsString(), entry);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Index des sauvegardes illisible, les sauvegardes seront relues: " + e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Écrire l'index de façon atomique
+     * @param indexFile Fichier d'index
+     * @param metadataList Métadonnées des sauvegardes
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    static void write(File indexFile, List<SaveMetadata> metadataList) throws IOException {
+        JsonArray slots = new JsonArray();
+        for (SaveMetadata metadata : metadataList) {
+            slots.add(toEntry(metadata));
+        }
+        JsonObject index = new JsonObject();
+        index.add(SECTION, slots);
+        SaveFiles.writeBinaryAtomically(indexFile.toPath(), index);
+    }
+
+    /**
+     * Vérifier qu'une entrée de l'index correspond encore au fichier de sauvegarde
+     * @param entry Entrée de l'index
+     * @param saveFile Fichier de sauvegarde
+     * @return true si la sauvegarde et son journal n'ont pas changé depuis l'écriture de l'entrée
+     */
+    static boolean matches(JsonObject entry, File saveFile) {
+        File journal = SaveJournal.getJournalFile(saveFile);
+        return entry.get("size").getAsLong() == saveFile.length()
+            && entry.get("modified").getAsLong() == saveFile.lastModified()
+            && entry.get("journalSize").getAsLong() == journal.length();
+    }
+
+    /**
+     * Créer les métadonnées d'une sauvegarde à partir de son entrée dans l'index
+     * @param entry Entrée de l'index
+     * @param saveFile Fichier de sauvegarde
+     * @return Métadonnées de la sauvegarde
+     */
+    static SaveMetadata toMetadata(JsonObject entry, File saveFile) {
+        return new SaveMetadata(
+            entry.get("slot").getAsInt(),
+            entry.get("playerName").getAsString(),
+            entry.get("timestamp").getAsString(),
+            entry.get("location").getAsString(),
+            entry.get("playerLevel").getAsInt(),
+            entry.get("playTime").getAsInt(),
+            entry.get("capturedVariants").getAsInt(),
+            entry.get("checksum").getAsString(),
+            saveFile.getPath()
+        );
+    }
+
+    private static JsonObject toEntry(SaveMetadata metadata) {
+        File saveFile = new File(metadata.getFilePath());
+        JsonObject entry = new JsonObject();
+        entry.addProperty("file", saveFile.getName());
+        entry.addProperty("slot", metadata.getSlot());
+        entry.addProperty("playerName", metadata.getPlayerName());
+        entry.addProperty("timestamp", metadata.getTimestamp());
+        entry.addProperty("location", metadata.getLocation());
+        entry.addProperty("playerLevel", metadata.getPlayerLevel());
+        entry.addProperty("playTime", metadata.getPlayTime());
+        entry.addProperty("capturedVariants", metadata.getCapturedVariants());
+        entry.addProperty("checksum", metadata.getChecksum() != null ? metadata.getChecksum() : "");
+        entry.addProperty("size", saveFile.length());
+        entry.addProperty("modified", saveFile.lastModified());
+        entry.addProperty("journalSize", SaveJournal.getJournalFile(saveFile).length());
+        return entry;
+    }
+}
@@ -0,0 +1,288 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Journal des sauvegardes incrémentales d'un slot.
+ *
+ * Chaque auto-sauvegarde ajoute en fin de journal un enregistrement au format binaire
+ * ({@link BinarySaveFormat}) ne contenant que les parties modifiées. Les sections d'un
+ * enregistrement ne contiennent que les membres modifiés : elles sont fusionnées membre par
+ * membre avec la sauvegarde complète au chargement.
+ *
+ * Chaque enregistrement indique dans ses métadonnées ("baseGeneration") la génération de la
+ * sauvegarde complète à laquelle il s'applique. Les enregistrements d'une autre génération
+ * (journal resté après une sauvegarde complète interrompue) sont ignorés, et la relecture
+ * s'arrête au premier enregistrement tronqué ou corrompu ; {@link #verify(File)} les détecte
+ * sans décoder le journal.
+ */
+final class SaveJournal {
+
+    // Extension du journal, ajoutée au nom de la sauvegarde
+    static final String EXTENSION = ".journal";
+
+    private SaveJournal() {
+    }
+
+    /**
+     * Résultat de la vérification d'un journal
+     */
+    static final class Check {
+        // Nombre d'enregistrements complets et intacts en tête du journal
+        int records;
+
+        // Taille en octets de ces enregistrements
+        long validLength;
+
+        // Un enregistrement complet est corrompu : lui et les suivants sont ignorés à la relecture
+        boolean corrupted;
+
+        // Le dernier enregistrement est incomplet (ajout interrompu) : il est ignoré à la relecture
+        boolean torn;
+    }
+
+    /**
+     * Obtenir le journal d'une sauvegarde
+     * @param saveFile Fichier de sauvegarde
+     * @return Fichier du journal (save_N.sav.journal)
+     */
+    static File getJournalFile(File saveFile) {
+        return new File(saveFile.getPath() + EXTENSION);
+    }
+
+    /**
+     * Ajouter un enregistrement en fin de journal et le synchroniser sur le disque
+     * @param journal Fichier du journal
+     * @param record Données modifiées, une section par membre
+     * @param baseGeneration Génération de la sauvegarde complète
+     * @return Taille du journal après l'ajout
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    static long append(File journal, JsonObject record, long baseGeneration) throws IOException {
+        record.getAsJsonObject("metadata").addProperty("baseGeneration", baseGeneration);
+
+        // Encoder l'enregistrement en mémoire pour l'écrire d'un seul bloc
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(4 * 1024);
+        BinarySaveWriter writer = new BinarySaveWriter(buffer);
+        for (Map.Entry<String, JsonElement> section : record.entrySet()) {
+            writer.writeSection(section.getKey(), section.getValue());
+        }
+        writer.finish();
+
+        try (FileOutputStream out = new FileOutputStream(journal, true)) {
+            buffer.writeTo(out);
+            out.getFD().sync();
+            return out.getChannel().size();
+        }
+    }
+
+    /**
+     * Appliquer le journal à une sauvegarde complète
+     * @param saveData Données de la sauvegarde complète, modifiées sur place
+     * @param journal Fichier du journal
+     * @return Nombre d'enregistrements appliqués
+     */
+    static int replay(JsonObject saveData, File journal) {
+        return replay(saveData, journal, false);
+    }
+
+    /**
+     * Appliquer le journal aux métadonnées d'une sauvegarde, sans décoder les autres sections
+     * @param metadata Métadonnées de la sauvegarde complète, modifiées sur place
+     * @param journal Fichier du journal
+     * @return Nombre d'enregistrements appliqués
+     */
+    static int replayMetadata(JsonObject metadata, File journal) {
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        return replay(saveData, journal, true);
+    }
+
+    private static int replay(JsonObject saveData, File journal, boolean metadataOnly) {
+        if (!journal.exists()) {
+            return 0;
+        }
+
+        JsonObject metadata = saveData.getAsJsonObject("metadata");
+        long generation = metadata != null && metadata.has("generation") ? metadata.get("generation").getAsLong() : -1;
+        int applied = 0;
+        try (InputStream in = SaveFiles.openInput(journal)) {
+            while (!isAtEnd(in)) {
+                JsonObject record = readRecord(in, metadataOnly);
+                if (record == null) {
+                    break;
+                }
+
+                JsonObject recordMetadata = record.getAsJsonObject("metadata");
+                if (recordMetadata == null || !recordMetadata.has("baseGeneration")
+                        || recordMetadata.remove("baseGeneration").getAsLong() != generation) {
+                    continue;
+                }
+                merge(saveData, record);
+                applied++;
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture du journal " + journal.getName() + ": " + e.getMessage());
+        }
+        return applied;
+    }
+
+    /**
+     * Vérifier les enregistrements du journal sans les décoder (CRC32C de chaque section).
+     * Un dernier enregistrement incomplet, laissé par un ajout interrompu, n'est pas une corruption.
+     * @param journal Fichier du journal
+     * @return Résultat de la vérification (journal vide s'il n'existe pas)
+     */
+    static Check verify(File journal) {
+        Check check = new Check();
+        if (!journal.exists()) {
+            return check;
+        }
+
+        try (CountingInputStream in = new CountingInputStream(SaveFiles.openInput(journal))) {
+            while (!isAtEnd(in)) {
+                boolean intact = true;
+                try {
+                    BinarySaveReader reader = new BinarySaveReader(in);
+                    while (reader.nextSection()) {
+                        intact &= reader.verifySection();
+                    }
+                } catch (EOFException e) {
+                    check.torn = true;
+                    break;
+                }
+                if (!intact) {
+                    check.corrupted = true;
+                    break;
+                }
+                check.records++;
+                check.validLength = in.count;
+            }
+        } catch (IOException e) {
+            // En-tête d'enregistrement illisible
+            check.corrupted = true;
+        }
+        return check;
+    }
+
+    /**
+     * Couper le journal après ses enregistrements intacts, pour que les prochains ajouts
+     * ne suivent pas un enregistrement corrompu ou incomplet (la relecture s'y arrêterait)
+     * @param journal Fichier du journal
+     * @param length Taille à conserver, voir {@link Check#validLength}
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    static void truncate(File journal, long length) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.setLength(length);
+            file.getFD().sync();
+        }
+    }
+
+    /**
+     * Lire un enregistrement complet
+     * @return Enregistrement, ou null s'il est tronqué ou corrompu
+     */
+    private static JsonObject readRecord(InputStream in, boolean metadataOnly) {
+        JsonObject record = new JsonObject();
+        try {
+            BinarySaveReader reader = new BinarySaveReader(in);
+            while (reader.nextSection()) {
+                if (!metadataOnly || "metadata".equals(reader.getSectionName())) {
+                    record.add(reader.getSectionName(), reader.readSectionValue());
+                }
+            }
+            return record;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Fin du journal ignorée (enregistrement incomplet ou corrompu): " + e);
+            return null;
+        }
+    }
+
+    private static boolean isAtEnd(InputStream in) throws IOException {
+        in.mark(1);
+        int next = in.read();
+        in.reset();
+        return next < 0;
+    }
+
+    /**
+     * Flux qui compte les octets consommés (marque et retour arrière compris)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+        private long markedCount;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            super.mark(readlimit);
+            markedCount = count;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            super.reset();
+            count = markedCount;
+        }
+    }
+
+    /**
+     * Fusionner un enregistrement dans les données de sauvegarde : les membres des sections
+     * de l'enregistrement remplacent ceux de la sauvegarde
+     * @param saveData Données de sauvegarde, modifiées sur place
+     * @param record Enregistrement du journal
+     */
+    static void merge(JsonObject saveData, JsonObject record) {
+        for (Map.Entry<String, JsonElement> section : record.entrySet()) {
+            JsonElement existing = saveData.get(section.getKey());
+            if (existing != null && existing.isJsonObject() && section.getValue().isJsonObject()) {
+                JsonObject target = existing.getAsJsonObject();
+                for (Map.Entry<String, JsonElement> member : section.getValue().getAsJsonObject().entrySet()) {
+                    target.add(member.getKey(), member.getValue());
+                }
+            } else {
+                saveData.add(section.getKey(), section.getValue());
+            }
+        }
+    }
+}
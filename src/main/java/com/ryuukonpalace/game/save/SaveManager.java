@@ -7,23 +7,25 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.CRC32;
-import java.util.zip.Checksum;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import com.ryuukonpalace.game.core.GameState;
 import com.ryuukonpalace.game.creatures.Creature;
 import com.ryuukonpalace.game.creatures.CreatureFactory;
+import com.ryuukonpalace.game.creatures.CreatureStorage;
 import com.ryuukonpalace.game.items.Item;
 import com.ryuukonpalace.game.items.ItemFactory;
 import com.ryuukonpalace.game.player.Player;
@@ -49,7 +51,10 @@ public class SaveManager {
     private static final String SAVE_DIRECTORY = "saves";
     
     // Extension des fichiers de sauvegarde
-    private static final String SAVE_EXTENSION = ".json";
+    private static final String SAVE_EXTENSION = BinarySaveFormat.EXTENSION;
+    
+    // Extension des anciennes sauvegardes JSON et des fichiers de quêtes associés
+    private static final String LEGACY_EXTENSION = SaveFiles.LEGACY_EXTENSION;
     
     // Nombre maximum de sauvegardes
     public static final int MAX_SAVE_SLOTS = 5;
@@ -57,12 +62,24 @@ public class SaveManager {
     // Intervalle d'auto-sauvegarde en millisecondes (5 minutes)
     private static final long AUTO_SAVE_INTERVAL = 5 * 60 * 1000;
     
+    // Nombre d'enregistrements du journal au-delà duquel il est fusionné dans la sauvegarde complète
+    private static final int COMPACTION_RECORDS = 10;
+    
     // Dernier temps d'auto-sauvegarde
     private long lastAutoSaveTime;
     
-    // Liste des métadonnées de sauvegarde
+    // Liste des métadonnées de sauvegarde (modifiée par le thread de sauvegarde)
     private List<SaveMetadata> saveMetadataList;
     
+    // Thread d'écriture des sauvegardes, une à la fois et dans l'ordre des demandes
+    private final ExecutorService saveExecutor;
+    
+    // Dernière sauvegarde automatique demandée
+    private CompletableFuture<Boolean> pendingAutoSave;
+    
+    // Dernière sauvegarde complète de chaque slot, base des sauvegardes incrémentales
+    private final Map<Integer, SaveBaseline> baselines;
+    
     // État d'auto-sauvegarde
     private boolean autoSaveEnabled;
     
@@ -73,7 +90,13 @@ public class SaveManager {
      * Constructeur privé (singleton)
      */
     private SaveManager() {
-        this.saveMetadataList = new ArrayList<>();
+        this.saveMetadataList = new CopyOnWriteArrayList<>();
+        this.baselines = new ConcurrentHashMap<>();
+        this.saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
         this.autoSaveEnabled = true;
         this.autoSaveSlot = 0; // Slot réservé pour l'auto-sauvegarde
         this.lastAutoSaveTime = System.currentTimeMillis();
@@ -83,6 +106,9 @@ public class SaveManager {
         
         // Charger les métadonnées des sauvegardes existantes
         loadSaveMetadata();
+        
+        // Vérifier l'intégrité des sauvegardes sans bloquer le démarrage
+        validateSavesInBackground();
     }
     
     /**
@@ -107,18 +133,38 @@ public class SaveManager {
     }
     
     /**
-     * Charger les métadonnées des sauvegardes existantes
+     * Charger les métadonnées des sauvegardes existantes.
+     * Elles sont lues dans l'index des sauvegardes ; seules les sauvegardes absentes de l'index
+     * ou modifiées depuis son écriture sont ouvertes.
      */
     private void loadSaveMetadata() {
         saveMetadataList.clear();
         
         File saveDir = new File(SAVE_DIRECTORY);
-        File[] saveFiles = saveDir.listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+        File[] saveFiles = saveDir.listFiles((dir, name) -> SaveFiles.isSaveFileName(name));
+        Map<String, JsonObject> index = SaveIndex.read(new File(saveDir, SaveIndex.FILE_NAME));
+        boolean indexOutdated = false;
+        int indexedCount = 0;
         
         if (saveFiles != null) {
             for (File saveFile : saveFiles) {
                 try {
-                    SaveMetadata metadata = loadMetadataFromFile(saveFile);
+                    // Convertir les anciennes sauvegardes JSON au format binaire
+                    if (saveFile.getName().endsWith(LEGACY_EXTENSION)) {
+                        File binaryFile = SaveFormatConverter.getBinaryFile(saveFile);
+                        if (binaryFile.exists()) {
+                            continue;
+                        }
+                        saveFile = migrateLegacySave(saveFile, binaryFile);
+                    }
+                    
+                    SaveMetadata metadata = loadIndexedMetadata(index.get(saveFile.getName()), saveFile);
+                    if (metadata == null) {
+                        indexOutdated = true;
+                        metadata = loadMetadataFromFile(saveFile);
+                    } else {
+                        indexedCount++;
+                    }
                     if (metadata != null) {
                         saveMetadataList.add(metadata);
                     }
@@ -127,19 +173,101 @@ public class SaveManager {
                 }
             }
         }
+        
+        // Réécrire l'index s'il ne correspond plus aux sauvegardes (fichiers modifiés ou supprimés)
+        if (indexOutdated || indexedCount != index.size()) {
+            updateIndexInBackground();
+        }
+    }
+    
+    /**
+     * Obtenir les métadonnées d'une sauvegarde depuis son entrée dans l'index
+     * @param entry Entrée de l'index, ou null si la sauvegarde n'y figure pas
+     * @param saveFile Fichier de sauvegarde
+     * @return Métadonnées, ou null si l'entrée est absente ou ne correspond plus au fichier
+     */
+    private SaveMetadata loadIndexedMetadata(JsonObject entry, File saveFile) {
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return SaveIndex.matches(entry, saveFile) ? SaveIndex.toMetadata(entry, saveFile) : null;
+        } catch (RuntimeException e) {
+            // Entrée incomplète : relire la sauvegarde
+            return null;
+        }
+    }
+    
+    /**
+     * Réécrire l'index des sauvegardes (sur le thread de sauvegarde)
+     */
+    private void writeIndex() {
+        try {
+            SaveIndex.write(new File(SAVE_DIRECTORY, SaveIndex.FILE_NAME), new ArrayList<>(saveMetadataList));
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture de l'index des sauvegardes: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Réécrire l'index des sauvegardes en arrière-plan
+     */
+    private void updateIndexInBackground() {
+        try {
+            saveExecutor.execute(this::writeIndex);
+        } catch (RejectedExecutionException e) {
+            // Arrêt en cours : l'index sera reconstruit au prochain démarrage
+        }
+    }
+    
+    /**
+     * Vérifier l'intégrité des sauvegardes en arrière-plan. Les slots sont vérifiés en parallèle,
+     * depuis une tâche du thread de sauvegarde qui attend leur fin : aucune écriture n'a lieu
+     * pendant la vérification. Les sauvegardes corrompues sont signalées dans leurs métadonnées.
+     */
+    private void validateSavesInBackground() {
+        List<SaveMetadata> metadataList = new ArrayList<>(saveMetadataList);
+        try {
+            saveExecutor.execute(() -> metadataList.parallelStream().forEach(metadata ->
+                metadata.setCorrupted(!SaveFileValidator.validateSaveFile(metadata.getFilePath()))
+            ));
+        } catch (RejectedExecutionException e) {
+            // Arrêt en cours : pas de vérification
+        }
+    }
+    
+    /**
+     * Convertir une ancienne sauvegarde JSON au format binaire.
+     * En cas de réussite, le fichier JSON est conservé sous l'extension .bak.
+     * @param jsonFile Sauvegarde JSON
+     * @param binaryFile Sauvegarde binaire à créer
+     * @return Fichier de sauvegarde à utiliser (le fichier JSON si la conversion a échoué)
+     */
+    private File migrateLegacySave(File jsonFile, File binaryFile) {
+        if (!SaveFormatConverter.convert(jsonFile, binaryFile)) {
+            return jsonFile;
+        }
+        File backupFile = new File(jsonFile.getPath() + ".bak");
+        if (!jsonFile.renameTo(backupFile)) {
+            System.err.println("Impossible de renommer l'ancienne sauvegarde " + jsonFile.getName());
+        }
+        System.out.println("Sauvegarde convertie au format binaire: " + binaryFile.getName());
+        return binaryFile;
     }
     
     /**
-     * Charger les métadonnées d'un fichier de sauvegarde
+     * Charger les métadonnées d'un fichier de sauvegarde.
+     * Seule la section des métadonnées est lue pour les sauvegardes binaires.
      * @param saveFile Fichier de sauvegarde
      * @return Métadonnées de la sauvegarde, ou null en cas d'erreur
      */
     private SaveMetadata loadMetadataFromFile(File saveFile) {
-        try (FileReader reader = new FileReader(saveFile)) {
-            JsonObject saveData = JsonParser.parseReader(reader).getAsJsonObject();
+        try {
+            JsonObject metadataJson = SaveFiles.readMetadata(saveFile);
             
-            if (saveData.has("metadata")) {
-                JsonObject metadataJson = saveData.getAsJsonObject("metadata");
+            if (metadataJson != null) {
+                // Les métadonnées des sauvegardes incrémentales sont dans le journal
+                SaveJournal.replayMetadata(metadataJson, SaveJournal.getJournalFile(saveFile));
                 
                 int slot = metadataJson.has("slot") ? metadataJson.get("slot").getAsInt() : -1;
                 String playerName = metadataJson.has("playerName") ? metadataJson.get("playerName").getAsString() : "Inconnu";
@@ -172,14 +300,25 @@ public class SaveManager {
     }
     
     /**
-     * Sauvegarder l'état actuel du jeu
+     * Sauvegarder l'état actuel du jeu et attendre la fin de l'écriture
      * @param slot Numéro du slot de sauvegarde (0 = auto-sauvegarde, 1-5 = slots manuels)
      * @return true si la sauvegarde a réussi, false sinon
      */
     public boolean saveGame(int slot) {
+        return saveGameAsync(slot).join();
+    }
+    
+    /**
+     * Sauvegarder l'état actuel du jeu en arrière-plan.
+     * L'état est copié sur le thread appelant ; la conversion en JSON, le checksum, la compression
+     * et l'écriture atomique se font sur le thread de sauvegarde.
+     * @param slot Numéro du slot de sauvegarde (0 = auto-sauvegarde, 1-5 = slots manuels)
+     * @return Résultat de la sauvegarde, true si elle a réussi
+     */
+    public CompletableFuture<Boolean> saveGameAsync(int slot) {
         if (slot < 0 || slot >= MAX_SAVE_SLOTS) {
             System.err.println("Numéro de slot invalide: " + slot);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         
         // Obtenir l'état du jeu
@@ -188,114 +327,200 @@ public class SaveManager {
         
         if (player == null) {
             System.err.println("Aucun joueur actif");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        // Copier l'état du jeu sur le thread appelant
+        WorldManager worldManager = WorldManager.getInstance();
+        long[] versions = SaveSnapshot.computeVersions(gameState, player, worldManager);
+        SaveSnapshot snapshot = SaveSnapshot.capture(slot, gameState, player, worldManager);
+        
+        // Les auto-sauvegardes suivantes n'écriront que les changements par rapport à cette copie
+        SaveBaseline baseline = new SaveBaseline(player, versions, snapshot.savedAt);
+        baselines.put(slot, baseline);
+        
+        try {
+            return CompletableFuture.supplyAsync(() -> writeSnapshot(snapshot, baseline), saveExecutor);
+        } catch (Exception e) {
+            baseline.broken = true;
+            System.err.println("Erreur lors de la sauvegarde: " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+    
+    /**
+     * Auto-sauvegarder l'état du jeu en arrière-plan.
+     * Seules les parties modifiées depuis la dernière sauvegarde complète du slot sont copiées puis
+     * ajoutées au journal du slot ; le journal est fusionné dans la sauvegarde complète lorsqu'il
+     * devient trop long. Sans sauvegarde complète préalable dans cette partie, une sauvegarde
+     * complète est faite.
+     * @param slot Numéro du slot de sauvegarde
+     * @return Résultat de la sauvegarde, true si elle a réussi
+     */
+    public CompletableFuture<Boolean> autoSaveAsync(int slot) {
+        if (slot < 0 || slot >= MAX_SAVE_SLOTS) {
+            System.err.println("Numéro de slot invalide: " + slot);
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        GameState gameState = GameState.getInstance();
+        Player player = gameState.getPlayer();
+        SaveBaseline baseline = baselines.get(slot);
+        
+        // Pas de base valide pour ce joueur : sauvegarde complète
+        if (player == null || baseline == null || baseline.broken || baseline.player != player) {
+            return saveGameAsync(slot);
+        }
+        
+        // Copier uniquement les parties modifiées
+        WorldManager worldManager = WorldManager.getInstance();
+        long[] versions = SaveSnapshot.computeVersions(gameState, player, worldManager);
+        int parts = SaveSnapshot.changedParts(baseline.versions, versions);
+        baseline.versions = versions;
+        SaveSnapshot snapshot = SaveSnapshot.capture(slot, gameState, player, worldManager, parts);
+        
+        try {
+            return CompletableFuture.supplyAsync(() -> appendToJournal(snapshot, baseline), saveExecutor);
+        } catch (Exception e) {
+            baseline.broken = true;
+            System.err.println("Erreur lors de la sauvegarde: " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+    
+    /**
+     * Ajouter une copie partielle de l'état du jeu au journal du slot (sur le thread de sauvegarde)
+     * @param snapshot Copie partielle de l'état du jeu
+     * @param baseline Sauvegarde complète à laquelle s'applique la copie
+     * @return true si la sauvegarde a réussi, false sinon
+     */
+    private boolean appendToJournal(SaveSnapshot snapshot, SaveBaseline baseline) {
+        // La sauvegarde complète de base n'a pas pu être écrite
+        if (baseline.broken) {
             return false;
         }
         
-        // Créer l'objet de sauvegarde
-        JsonObject saveData = new JsonObject();
-        
-        // Ajouter les métadonnées
-        JsonObject metadata = new JsonObject();
-        String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
-        String currentLocation = WorldManager.getInstance().getCurrentZoneName();
-        metadata.addProperty("slot", slot);
-        metadata.addProperty("playerName", player.getName());
-        metadata.addProperty("timestamp", timestamp);
-        metadata.addProperty("location", currentLocation);
-        metadata.addProperty("playerLevel", player.getLevel());
-        metadata.addProperty("playTime", gameState.getPlayTime());
-        metadata.addProperty("capturedVariants", player.getCapturedCreatures().size());
-        saveData.add("metadata", metadata);
-        
-        // Ajouter les données du joueur
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        JsonObject playerData = new JsonObject();
-        playerData.addProperty("name", player.getName());
-        playerData.addProperty("level", player.getLevel());
-        playerData.addProperty("experience", player.getExperience());
-        playerData.addProperty("money", player.getMoney());
-        playerData.addProperty("x", player.getX());
-        playerData.addProperty("y", player.getY());
-        playerData.addProperty("direction", player.getDirection().toString());
-        
-        // Ajouter les créatures capturées
-        JsonArray capturedCreatures = new JsonArray();
-        for (Creature creature : player.getCapturedCreatures()) {
-            JsonObject creatureData = new JsonObject();
-            creatureData.addProperty("id", creature.getId());
-            creatureData.addProperty("level", creature.getLevel());
-            creatureData.addProperty("experience", creature.getExperience());
-            capturedCreatures.add(creatureData);
-        }
-        playerData.add("capturedCreatures", capturedCreatures);
-        
-        // Ajouter l'inventaire
-        JsonArray inventory = new JsonArray();
-        for (Item item : player.getInventory().getItems()) {
-            JsonObject itemData = new JsonObject();
-            itemData.addProperty("id", item.getId());
-            inventory.add(itemData);
-        }
-        playerData.add("inventory", inventory);
-        
-        saveData.add("player", playerData);
-        
-        // Ajouter les données du monde
-        JsonObject worldData = new JsonObject();
-        worldData.addProperty("currentZone", WorldManager.getInstance().getCurrentZoneName());
-        worldData.addProperty("weather", WorldManager.getInstance().getCurrentWeather().toString());
-        worldData.addProperty("time", WorldManager.getInstance().getGameTime());
-        saveData.add("world", worldData);
-        
-        // Ajouter l'état des quêtes
-        JsonObject questsData = new JsonObject();
-        Type questStateMapType = new TypeToken<Map<Integer, GameState.QuestState>>(){}.getType();
-        questsData.add("questsState", gson.toJsonTree(gameState.getQuestsState(), questStateMapType));
-        saveData.add("quests", questsData);
-        
-        // Ajouter les zones découvertes
-        JsonObject areasData = new JsonObject();
-        Type areasMapType = new TypeToken<Map<Integer, Boolean>>(){}.getType();
-        areasData.add("discoveredAreas", gson.toJsonTree(gameState.getDiscoveredAreas(), areasMapType));
-        saveData.add("areas", areasData);
-        
-        // Ajouter la progression de l'histoire
-        JsonObject storyProgressionData = new JsonObject();
-        Type storyProgressionMapType = new TypeToken<Map<String, Object>>(){}.getType();
-        storyProgressionData.add("storyProgressionState", gson.toJsonTree(gameState.getStoryProgressionState(), storyProgressionMapType));
-        
-        // Ajouter les choix du joueur
-        Type playerChoicesMapType = new TypeToken<Map<String, String>>(){}.getType();
-        storyProgressionData.add("playerChoices", gson.toJsonTree(gameState.getPlayerChoices(), playerChoicesMapType));
-        
-        saveData.add("storyProgression", storyProgressionData);
-        
-        // Générer le checksum
-        String jsonString = gson.toJson(saveData);
-        Checksum crc32 = new CRC32();
-        crc32.update(jsonString.getBytes());
-        String checksum = Long.toHexString(crc32.getValue());
-        metadata.addProperty("checksum", checksum);
+        File saveFile = new File(SAVE_DIRECTORY, "save_" + snapshot.slot + SAVE_EXTENSION);
+        try {
+            long journalSize = SaveJournal.append(SaveJournal.getJournalFile(saveFile), snapshot.toJson(), baseline.generation);
+            baseline.records++;
+            
+            // Le checksum reste celui de la sauvegarde complète
+            SaveMetadata existingMetadata = getSaveMetadata(snapshot.slot);
+            String checksum = existingMetadata != null ? existingMetadata.getChecksum() : "";
+            updateSaveMetadata(snapshot.slot, snapshot.playerName, snapshot.getTimestamp(), snapshot.location, snapshot.playerLevel,
+                               snapshot.playTime, snapshot.creatureCount, checksum, saveFile.getPath());
+            writeIndex();
+            
+            System.out.println("Sauvegarde incrémentale réussie dans le slot " + snapshot.slot);
+            
+            // Fusionner le journal s'il devient trop long, dans une tâche séparée
+            if (baseline.records >= COMPACTION_RECORDS || journalSize >= saveFile.length()) {
+                try {
+                    saveExecutor.execute(() -> compactJournal(snapshot.slot, saveFile, baseline));
+                } catch (RejectedExecutionException e) {
+                    // Arrêt en cours : le journal sera fusionné plus tard
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            baseline.broken = true;
+            System.err.println("Erreur lors de la sauvegarde incrémentale: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Fusionner le journal d'un slot dans sa sauvegarde complète (sur le thread de sauvegarde).
+     * La nouvelle sauvegarde complète change de génération : si le journal ne peut pas être
+     * supprimé, ses enregistrements sont ignorés au chargement.
+     * @param slot Numéro du slot de sauvegarde
+     * @param saveFile Fichier de sauvegarde
+     * @param baseline Base des sauvegardes incrémentales du slot
+     */
+    private void compactJournal(int slot, File saveFile, SaveBaseline baseline) {
+        File journal = SaveJournal.getJournalFile(saveFile);
+        if (baseline.broken || !journal.exists()) {
+            return;
+        }
+        
+        try {
+            JsonObject saveData = SaveFiles.read(saveFile);
+            SaveJournal.replay(saveData, journal);
+            long generation = Math.max(System.currentTimeMillis(), baseline.generation + 1);
+            saveData.getAsJsonObject("metadata").addProperty("generation", generation);
+            
+            // La sauvegarde complète remplacée devient la copie de secours
+            SaveFileValidator.createBackup(saveFile.getPath());
+            String checksum = SaveFiles.writeBinaryAtomically(saveFile.toPath(), saveData);
+            baseline.generation = generation;
+            baseline.records = 0;
+            Files.deleteIfExists(journal.toPath());
+            
+            SaveMetadata metadata = getSaveMetadata(slot);
+            if (metadata != null) {
+                metadata.setChecksum(checksum);
+            }
+            writeIndex();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors de la fusion du journal de sauvegarde: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Écrire une copie de l'état du jeu (sur le thread de sauvegarde)
+     * @param snapshot Copie de l'état du jeu
+     * @param baseline Base des sauvegardes incrémentales créée pour cette copie
+     * @return true si la sauvegarde a réussi, false sinon
+     */
+    private boolean writeSnapshot(SaveSnapshot snapshot, SaveBaseline baseline) {
+        JsonObject saveData = snapshot.toJson();
         
         // Créer le nom du fichier
-        String fileName = "save_" + slot + SAVE_EXTENSION;
+        String fileName = "save_" + snapshot.slot + SAVE_EXTENSION;
         String filePath = SAVE_DIRECTORY + File.separator + fileName;
         
         // Sauvegarder le fichier
-        try (FileWriter writer = new FileWriter(filePath)) {
-            gson.toJson(saveData, writer);
+        try {
+            // La sauvegarde remplacée devient la copie de secours utilisée par la réparation
+            if (new File(filePath).exists()) {
+                SaveFileValidator.createBackup(filePath);
+            }
+            
+            // Une section binaire par sous-système, chacune avec son CRC32C
+            String checksum = SaveFiles.writeBinaryAtomically(Paths.get(filePath), saveData);
+            
+            // Le journal de la sauvegarde précédente est inclus dans celle-ci
+            Files.deleteIfExists(SaveJournal.getJournalFile(new File(filePath)).toPath());
             
             // Mettre à jour les métadonnées
-            updateSaveMetadata(slot, player.getName(), timestamp, currentLocation, player.getLevel(), gameState.getPlayTime(), player.getCapturedCreatures().size(), checksum, filePath);
+            updateSaveMetadata(snapshot.slot, snapshot.playerName, snapshot.getTimestamp(), snapshot.location, snapshot.playerLevel,
+                               snapshot.playTime, snapshot.creatureCount, checksum, filePath);
+            writeIndex();
             
-            System.out.println("Sauvegarde réussie dans le slot " + slot);
+            System.out.println("Sauvegarde réussie dans le slot " + snapshot.slot);
             return true;
         } catch (IOException e) {
+            baseline.broken = true;
             System.err.println("Erreur lors de la sauvegarde: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Attendre la fin des sauvegardes en cours et arrêter le thread de sauvegarde
+     */
+    public void shutdown() {
+        saveExecutor.shutdown();
+        try {
+            if (!saveExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("Les sauvegardes en cours ne se sont pas terminées à temps");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
     /**
      * Charger une sauvegarde
      * @param slot Numéro du slot de sauvegarde
@@ -322,31 +547,37 @@ public class SaveManager {
         }
         
         // Charger le fichier de sauvegarde
-        try (FileReader reader = new FileReader(metadata.getFilePath())) {
-            JsonObject saveData = JsonParser.parseReader(reader).getAsJsonObject();
+        try {
+            // Le jeu est remplacé : les prochaines auto-sauvegardes seront complètes
+            baselines.clear();
             
-            // Vérifier le checksum
-            String jsonString = saveData.toString();
-            // Retirer le checksum pour le calcul
-            JsonObject metadataObj = saveData.getAsJsonObject("metadata");
-            String savedChecksum = metadataObj.get("checksum").getAsString();
-            metadataObj.remove("checksum");
+            // Les sections binaires sont vérifiées (CRC32C) au fil de la lecture
+            File saveFile = new File(metadata.getFilePath());
+            boolean binary = SaveFiles.isBinary(saveFile);
+            JsonObject saveData = SaveFiles.read(saveFile);
             
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            jsonString = gson.toJson(saveData);
+            // Appliquer les sauvegardes incrémentales du journal
+            if (binary) {
+                SaveJournal.replay(saveData, SaveJournal.getJournalFile(saveFile));
+            }
+            JsonObject metadataObj = saveData.getAsJsonObject("metadata");
             
-            Checksum crc32 = new CRC32();
-            crc32.update(jsonString.getBytes());
-            String calculatedChecksum = Long.toHexString(crc32.getValue());
+            Gson gson = new Gson();
             
-            if (!calculatedChecksum.equals(savedChecksum)) {
-                System.err.println("Erreur de checksum: la sauvegarde est corrompue");
-                return false;
+            if (!binary) {
+                // Vérifier le checksum (retiré pour le calcul)
+                String savedChecksum = metadataObj.get("checksum").getAsString();
+                metadataObj.remove("checksum");
+                
+                if (!SaveFiles.matchesChecksum(saveData, savedChecksum)) {
+                    System.err.println("Erreur de checksum: la sauvegarde est corrompue");
+                    return false;
+                }
+                
+                // Restaurer le checksum
+                metadataObj.addProperty("checksum", savedChecksum);
             }
             
-            // Restaurer le checksum
-            metadataObj.addProperty("checksum", savedChecksum);
-            
             // Obtenir l'état du jeu
             GameState gameState = GameState.getInstance();
             
@@ -450,6 +681,11 @@ public class SaveManager {
                 }
             }
             
+            // Charger les boîtes de stockage
+            if (saveData.has("storage")) {
+                loadStorage(saveData.getAsJsonObject("storage"));
+            }
+            
             // Définir le temps de jeu
             gameState.setPlayTime(metadataObj.get("playTime").getAsInt());
             
@@ -465,10 +701,36 @@ public class SaveManager {
         }
     }
     
+    /**
+     * Charger le contenu et les noms des boîtes de stockage
+     * @param storageData Section "storage" de la sauvegarde
+     */
+    private void loadStorage(JsonObject storageData) {
+        CreatureStorage storage = CreatureStorage.getInstance();
+        storage.clear();
+        
+        JsonArray boxesArray = storageData.getAsJsonArray("boxes");
+        for (int i = 0; i < boxesArray.size(); i++) {
+            JsonObject boxObj = boxesArray.get(i).getAsJsonObject();
+            int boxIndex = boxObj.get("index").getAsInt();
+            storage.setBoxName(boxIndex, boxObj.get("name").getAsString());
+            
+            JsonArray creaturesArray = boxObj.getAsJsonArray("creatures");
+            for (int j = 0; j < creaturesArray.size(); j++) {
+                JsonObject creatureObj = creaturesArray.get(j).getAsJsonObject();
+                Creature creature = CreatureFactory.createCreature(
+                    creatureObj.get("id").getAsInt(), creatureObj.get("level").getAsInt()
+                );
+                creature.setExperience(creatureObj.get("experience").getAsInt());
+                storage.addCreature(creature, boxIndex, creatureObj.get("slot").getAsInt());
+            }
+        }
+    }
+    
     /**
      * Mettre à jour les métadonnées d'une sauvegarde
      */
-    private void updateSaveMetadata(int slot, String playerName, String timestamp, String location,
+    private synchronized void updateSaveMetadata(int slot, String playerName, String timestamp, String location,
                                    int playerLevel, int playTime, int capturedVariants, String checksum, String filePath) {
         // Chercher si les métadonnées existent déjà pour ce slot
         SaveMetadata existingMetadata = null;
@@ -489,6 +751,7 @@ public class SaveManager {
             existingMetadata.setCapturedVariants(capturedVariants);
             existingMetadata.setChecksum(checksum);
             existingMetadata.setFilePath(filePath);
+            existingMetadata.setCorrupted(false);
         } else {
             // Créer de nouvelles métadonnées
             SaveMetadata newMetadata = new SaveMetadata(
@@ -526,8 +789,12 @@ public class SaveManager {
         // Supprimer le fichier
         File saveFile = new File(metadata.getFilePath());
         if (saveFile.exists() && saveFile.delete()) {
-            // Supprimer les métadonnées
+            // Supprimer le journal, la copie de secours et les métadonnées
+            SaveJournal.getJournalFile(saveFile).delete();
+            SaveFileValidator.getBackupFile(saveFile).delete();
+            baselines.remove(slot);
             saveMetadataList.remove(metadata);
+            updateIndexInBackground();
             System.out.println("Sauvegarde supprimée du slot " + slot);
             return true;
         } else {
@@ -615,12 +882,16 @@ public class SaveManager {
             return;
         }
         
+        // Ne pas empiler les auto-sauvegardes si l'écriture précédente n'est pas terminée
+        if (pendingAutoSave != null && !pendingAutoSave.isDone()) {
+            return;
+        }
+        
         long currentTime = System.currentTimeMillis();
         if (currentTime - lastAutoSaveTime >= AUTO_SAVE_INTERVAL) {
-            // Effectuer une auto-sauvegarde
-            if (saveGame(autoSaveSlot)) {
-                lastAutoSaveTime = currentTime;
-            }
+            // Effectuer une auto-sauvegarde en arrière-plan
+            lastAutoSaveTime = currentTime;
+            pendingAutoSave = autoSaveAsync(autoSaveSlot);
         }
     }
     
@@ -649,6 +920,16 @@ public class SaveManager {
             return false;
         }
         
+        // Les sauvegardes binaires sont réparées section par section
+        if (SaveFiles.isBinary(new File(metadata.getFilePath()))) {
+            boolean repaired = SaveFileValidator.repairSaveFile(metadata.getFilePath());
+            if (repaired) {
+                metadata.setCorrupted(false);
+                updateIndexInBackground();
+            }
+            return repaired;
+        }
+        
         // Créer une copie de sauvegarde
         String backupPath = metadata.getFilePath() + ".bak";
         try {
@@ -659,8 +940,8 @@ public class SaveManager {
         }
         
         // Tenter de charger et de réparer la sauvegarde
-        try (FileReader reader = new FileReader(metadata.getFilePath())) {
-            JsonObject saveData = JsonParser.parseReader(reader).getAsJsonObject();
+        try {
+            JsonObject saveData = SaveFiles.read(new File(metadata.getFilePath()));
             
             // Vérifier les sections essentielles
             boolean needsRepair = false;
@@ -685,9 +966,8 @@ public class SaveManager {
             
             // Si des réparations sont nécessaires, sauvegarder le fichier réparé
             if (needsRepair) {
-                Gson gson = new GsonBuilder().setPrettyPrinting().create();
-                try (FileWriter writer = new FileWriter(metadata.getFilePath())) {
-                    gson.toJson(saveData, writer);
+                try {
+                    SaveFiles.writeSave(Paths.get(metadata.getFilePath()), saveData);
                     System.out.println("Sauvegarde réparée avec succès");
                     return true;
                 } catch (IOException e) {
@@ -727,6 +1007,31 @@ public class SaveManager {
         }
     }
     
+    /**
+     * Base des sauvegardes incrémentales d'un slot : dernière sauvegarde complète et versions
+     * des parties de l'état lors de la dernière copie
+     */
+    private static final class SaveBaseline {
+        // Joueur sauvegardé (un autre joueur impose une sauvegarde complète)
+        final Player player;
+        
+        // Versions des parties de l'état (thread du jeu)
+        long[] versions;
+        
+        // Génération de la sauvegarde complète et nombre d'enregistrements du journal (thread de sauvegarde)
+        long generation;
+        int records;
+        
+        // Une écriture a échoué : la prochaine auto-sauvegarde sera complète
+        volatile boolean broken;
+        
+        SaveBaseline(Player player, long[] versions, long generation) {
+            this.player = player;
+            this.versions = versions;
+            this.generation = generation;
+        }
+    }
+    
     /**
      * Sauvegarder les données des quêtes
      * @param filePath Chemin du fichier de sauvegarde
@@ -802,7 +1107,7 @@ public class SaveManager {
             }
             
             // Construire le chemin du fichier de quêtes
-            String questFilePath = SAVE_DIRECTORY + "/save_" + activeSlot + SAVE_EXTENSION + ".quests.json";
+            String questFilePath = SAVE_DIRECTORY + "/save_" + activeSlot + LEGACY_EXTENSION + ".quests.json";
             File questFile = new File(questFilePath);
             
             if (!questFile.exists()) {
@@ -36,6 +36,9 @@ public class SaveMetadata {
     // Indique si cette sauvegarde est active
     private boolean active;
     
+    // Indique si la vérification en arrière-plan a détecté une corruption
+    private volatile boolean corrupted;
+    
     /**
      * Constructeur
      * 
@@ -223,6 +226,22 @@ public class SaveMetadata {
         this.active = active;
     }
     
+    /**
+     * Vérifier si la sauvegarde a été détectée comme corrompue
+     * @return true si la vérification de la sauvegarde a échoué, false sinon
+     */
+    public boolean isCorrupted() {
+        return corrupted;
+    }
+    
+    /**
+     * Définir si la sauvegarde est corrompue
+     * @param corrupted true si la vérification de la sauvegarde a échoué, false sinon
+     */
+    public void setCorrupted(boolean corrupted) {
+        this.corrupted = corrupted;
+    }
+    
     /**
      * Convertir le temps de jeu en format lisible
      * @return Temps de jeu au format "HH:MM:SS"
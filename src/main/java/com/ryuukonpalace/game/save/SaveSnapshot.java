@@ -0,0 +1,387 @@
+package com.ryuukonpalace.game.save;
+
+import java.lang.reflect.Type;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.ryuukonpalace.game.core.GameState;
+import com.ryuukonpalace.game.creatures.Creature;
+import com.ryuukonpalace.game.creatures.CreatureStorage;
+import com.ryuukonpalace.game.items.Item;
+import com.ryuukonpalace.game.player.Player;
+import com.ryuukonpalace.game.quest.QuestManager;
+import com.ryuukonpalace.game.quest.StoryProgressionManager;
+import com.ryuukonpalace.game.world.WorldManager;
+
+/**
+ * Copie de l'état du jeu à sauvegarder.
+ * Elle est prise sur le thread du jeu (valeurs simples et copies des tables, sans sérialisation)
+ * puis convertie en JSON sur le thread de sauvegarde, pendant que le jeu continue.
+ * Une copie partielle ne contient que certaines parties de l'état : elle est écrite dans le
+ * journal de la sauvegarde (voir {@link SaveJournal}).
+ */
+final class SaveSnapshot {
+
+    // Parties de l'état sauvegardées séparément
+    static final int PART_PLAYER = 1;
+    static final int PART_CREATURES = 1 << 1;
+    static final int PART_INVENTORY = 1 << 2;
+    static final int PART_WORLD = 1 << 3;
+    static final int PART_QUESTS = 1 << 4;
+    static final int PART_AREAS = 1 << 5;
+    static final int PART_STORY = 1 << 6;
+    static final int PART_STORAGE = 1 << 7;
+    static final int PART_COUNT = 8;
+    static final int ALL_PARTS = (1 << PART_COUNT) - 1;
+
+    // Métadonnées
+    final int slot;
+    final long savedAt;
+    final int parts;
+    final String location;
+    final int playTime;
+    final int creatureCount;
+
+    // Joueur
+    final String playerName;
+    final int playerLevel;
+    final int playerExperience;
+    final int money;
+    final float x;
+    final float y;
+    final String direction;
+
+    // Créatures capturées (ID, niveau, expérience)
+    final int[] creatureIds;
+    final int[] creatureLevels;
+    final int[] creatureExperience;
+
+    // Inventaire (ID des objets)
+    final int[] itemIds;
+
+    // Monde
+    final String currentZone;
+    final String weather;
+    final float gameTime;
+
+    // Quêtes, zones et histoire
+    final Map<Integer, GameState.QuestState> questsState;
+    final Map<Integer, Boolean> discoveredAreas;
+    final Map<String, Object> storyProgressionState;
+    final Map<String, String> playerChoices;
+
+    // Boîtes de stockage (noms, puis boîte, emplacement, ID, niveau et expérience de chaque créature)
+    final String[] boxNames;
+    final int[] storedCreatures;
+
+    private SaveSnapshot(int slot, GameState gameState, Player player, WorldManager worldManager, int parts) {
+        this.slot = slot;
+        this.savedAt = System.currentTimeMillis();
+        this.parts = parts;
+        this.location = worldManager.getCurrentZoneName();
+        this.playTime = gameState.getPlayTime();
+        this.creatureCount = player.getCapturedCreatures().size();
+
+        // Le nom et le niveau figurent aussi dans les métadonnées
+        this.playerName = player.getName();
+        this.playerLevel = player.getLevel();
+        this.playerExperience = player.getExperience();
+        this.money = player.getMoney();
+        this.x = player.getX();
+        this.y = player.getY();
+        this.direction = player.getDirection().toString();
+
+        if ((parts & PART_CREATURES) != 0) {
+            List<Creature> creatures = player.getCapturedCreatures();
+            this.creatureIds = new int[creatures.size()];
+            this.creatureLevels = new int[creatures.size()];
+            this.creatureExperience = new int[creatures.size()];
+            for (int i = 0; i < creatures.size(); i++) {
+                Creature creature = creatures.get(i);
+                creatureIds[i] = creature.getId();
+                creatureLevels[i] = creature.getLevel();
+                creatureExperience[i] = creature.getExperience();
+            }
+        } else {
+            this.creatureIds = null;
+            this.creatureLevels = null;
+            this.creatureExperience = null;
+        }
+
+        if ((parts & PART_INVENTORY) != 0) {
+            List<Item> items = player.getInventory().getItems();
+            this.itemIds = new int[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                itemIds[i] = items.get(i).getId();
+            }
+        } else {
+            this.itemIds = null;
+        }
+
+        this.currentZone = worldManager.getCurrentZoneName();
+        this.weather = worldManager.getCurrentWeather().toString();
+        this.gameTime = worldManager.getGameTime();
+
+        // Les états de quête sont modifiables : les copier
+        if ((parts & PART_QUESTS) != 0) {
+            this.questsState = new HashMap<>();
+            for (Map.Entry<Integer, GameState.QuestState> entry : gameState.getQuestsState().entrySet()) {
+                questsState.put(entry.getKey(), entry.getValue() != null ? entry.getValue().copy() : null);
+            }
+        } else {
+            this.questsState = null;
+        }
+        this.discoveredAreas = (parts & PART_AREAS) != 0 ? new HashMap<>(gameState.getDiscoveredAreas()) : null;
+        this.storyProgressionState = (parts & PART_STORY) != 0 ? gameState.getStoryProgressionState() : null;
+        this.playerChoices = (parts & PART_STORY) != 0 ? gameState.getPlayerChoices() : null;
+
+        if ((parts & PART_STORAGE) != 0) {
+            CreatureStorage storage = CreatureStorage.getInstance();
+            this.boxNames = new String[storage.getMaxBoxes()];
+            this.storedCreatures = new int[storage.getCreatureCount() * 5];
+            int index = 0;
+            for (int box = 0; box < boxNames.length; box++) {
+                boxNames[box] = storage.getBoxName(box);
+                for (int boxSlot = 0; boxSlot < storage.getMaxCreaturesPerBox(); boxSlot++) {
+                    Creature creature = storage.getCreature(box, boxSlot);
+                    if (creature != null) {
+                        storedCreatures[index++] = box;
+                        storedCreatures[index++] = boxSlot;
+                        storedCreatures[index++] = creature.getId();
+                        storedCreatures[index++] = creature.getLevel();
+                        storedCreatures[index++] = creature.getExperience();
+                    }
+                }
+            }
+        } else {
+            this.boxNames = null;
+            this.storedCreatures = null;
+        }
+    }
+
+    /**
+     * Copier l'état du jeu (à appeler sur le thread du jeu)
+     * @param slot Numéro du slot de sauvegarde
+     * @param gameState État du jeu
+     * @param player Joueur
+     * @param worldManager Gestionnaire de monde
+     * @return Copie de l'état à sauvegarder
+     */
+    static SaveSnapshot capture(int slot, GameState gameState, Player player, WorldManager worldManager) {
+        return new SaveSnapshot(slot, gameState, player, worldManager, ALL_PARTS);
+    }
+
+    /**
+     * Copier une partie de l'état du jeu (à appeler sur le thread du jeu).
+     * Les métadonnées sont toujours copiées.
+     * @param slot Numéro du slot de sauvegarde
+     * @param gameState État du jeu
+     * @param player Joueur
+     * @param worldManager Gestionnaire de monde
+     * @param parts Parties à copier (combinaison de PART_*)
+     * @return Copie partielle de l'état à sauvegarder
+     */
+    static SaveSnapshot capture(int slot, GameState gameState, Player player, WorldManager worldManager, int parts) {
+        return new SaveSnapshot(slot, gameState, player, worldManager, parts);
+    }
+
+    /**
+     * Calculer la version de chaque partie de l'état (à appeler sur le thread du jeu).
+     * Une partie a changé depuis la dernière sauvegarde si sa version est différente.
+     * Les compteurs de changements des sous-systèmes ne font qu'augmenter ; la position du joueur
+     * et les statistiques des créatures, modifiées sans passer par le joueur (déplacements,
+     * combats), sont prises en compte par leur valeur.
+     * @param gameState État du jeu
+     * @param player Joueur
+     * @param worldManager Gestionnaire de monde
+     * @return Versions, une par partie (index = position du bit PART_*)
+     */
+    static long[] computeVersions(GameState gameState, Player player, WorldManager worldManager) {
+        long[] versions = new long[PART_COUNT];
+
+        long position = Float.floatToIntBits(player.getX());
+        position = position * 31 + Float.floatToIntBits(player.getY());
+        position = position * 31 + player.getDirection().ordinal();
+        versions[0] = ((long) player.getSaveRevision() << 32) ^ position;
+
+        long creatures = 1;
+        for (Creature creature : player.getCapturedCreatures()) {
+            creatures = creatures * 31 + creature.getId();
+            creatures = creatures * 31 + creature.getLevel();
+            creatures = creatures * 31 + creature.getExperience();
+        }
+        versions[1] = creatures;
+
+        versions[2] = player.getInventory().getSaveRevision();
+        versions[3] = worldManager.getSaveRevision();
+        versions[4] = gameState.getQuestsRevision() * 31 + QuestManager.getInstance().getSaveRevision();
+        versions[5] = gameState.getAreasRevision();
+        versions[6] = gameState.getStoryRevision() * 31 + StoryProgressionManager.getInstance().getSaveRevision();
+        versions[7] = CreatureStorage.getInstance().getSaveRevision();
+        return versions;
+    }
+
+    /**
+     * Obtenir les parties dont la version a changé
+     * @param previous Versions lors de la dernière sauvegarde
+     * @param current Versions actuelles
+     * @return Parties modifiées (combinaison de PART_*)
+     */
+    static int changedParts(long[] previous, long[] current) {
+        int parts = 0;
+        for (int i = 0; i < PART_COUNT; i++) {
+            if (previous[i] != current[i]) {
+                parts |= 1 << i;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Vérifier si la copie contient toutes les parties de l'état
+     * @return true pour une sauvegarde complète
+     */
+    boolean isFull() {
+        return parts == ALL_PARTS;
+    }
+
+    /**
+     * Horodatage de la sauvegarde
+     * @return Date au format "yyyy-MM-dd HH:mm:ss"
+     */
+    String getTimestamp() {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(savedAt));
+    }
+
+    /**
+     * Convertir la copie en données de sauvegarde (sans le checksum).
+     * Pour une copie partielle, seuls les membres des parties copiées sont présents.
+     * @return Données de sauvegarde
+     */
+    JsonObject toJson() {
+        Gson gson = new Gson();
+        JsonObject saveData = new JsonObject();
+
+        // Ajouter les métadonnées
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", slot);
+        metadata.addProperty("playerName", playerName);
+        metadata.addProperty("timestamp", getTimestamp());
+        metadata.addProperty("location", location);
+        metadata.addProperty("playerLevel", playerLevel);
+        metadata.addProperty("playTime", playTime);
+        metadata.addProperty("capturedVariants", creatureCount);
+        if (isFull()) {
+            // Génération de la sauvegarde complète, à laquelle se rapporte le journal
+            metadata.addProperty("generation", savedAt);
+        }
+        saveData.add("metadata", metadata);
+
+        // Ajouter les données du joueur
+        JsonObject playerData = new JsonObject();
+        if ((parts & PART_PLAYER) != 0) {
+            playerData.addProperty("name", playerName);
+            playerData.addProperty("level", playerLevel);
+            playerData.addProperty("experience", playerExperience);
+            playerData.addProperty("money", money);
+            playerData.addProperty("x", x);
+            playerData.addProperty("y", y);
+            playerData.addProperty("direction", direction);
+        }
+
+        // Ajouter les créatures capturées
+        if ((parts & PART_CREATURES) != 0) {
+            JsonArray capturedCreatures = new JsonArray();
+            for (int i = 0; i < creatureIds.length; i++) {
+                JsonObject creatureData = new JsonObject();
+                creatureData.addProperty("id", creatureIds[i]);
+                creatureData.addProperty("level", creatureLevels[i]);
+                creatureData.addProperty("experience", creatureExperience[i]);
+                capturedCreatures.add(creatureData);
+            }
+            playerData.add("capturedCreatures", capturedCreatures);
+        }
+
+        // Ajouter l'inventaire
+        if ((parts & PART_INVENTORY) != 0) {
+            JsonArray inventory = new JsonArray();
+            for (int itemId : itemIds) {
+                JsonObject itemData = new JsonObject();
+                itemData.addProperty("id", itemId);
+                inventory.add(itemData);
+            }
+            playerData.add("inventory", inventory);
+        }
+
+        if (playerData.size() > 0) {
+            saveData.add("player", playerData);
+        }
+
+        // Ajouter les données du monde
+        if ((parts & PART_WORLD) != 0) {
+            JsonObject worldData = new JsonObject();
+            worldData.addProperty("currentZone", currentZone);
+            worldData.addProperty("weather", weather);
+            worldData.addProperty("time", gameTime);
+            saveData.add("world", worldData);
+        }
+
+        // Ajouter l'état des quêtes
+        if ((parts & PART_QUESTS) != 0) {
+            JsonObject questsData = new JsonObject();
+            Type questStateMapType = new TypeToken<Map<Integer, GameState.QuestState>>(){}.getType();
+            questsData.add("questsState", gson.toJsonTree(questsState, questStateMapType));
+            saveData.add("quests", questsData);
+        }
+
+        // Ajouter les zones découvertes
+        if ((parts & PART_AREAS) != 0) {
+            JsonObject areasData = new JsonObject();
+            Type areasMapType = new TypeToken<Map<Integer, Boolean>>(){}.getType();
+            areasData.add("discoveredAreas", gson.toJsonTree(discoveredAreas, areasMapType));
+            saveData.add("areas", areasData);
+        }
+
+        // Ajouter la progression de l'histoire et les choix du joueur
+        if ((parts & PART_STORY) != 0) {
+            JsonObject storyProgressionData = new JsonObject();
+            Type storyProgressionMapType = new TypeToken<Map<String, Object>>(){}.getType();
+            storyProgressionData.add("storyProgressionState", gson.toJsonTree(storyProgressionState, storyProgressionMapType));
+            Type playerChoicesMapType = new TypeToken<Map<String, String>>(){}.getType();
+            storyProgressionData.add("playerChoices", gson.toJsonTree(playerChoices, playerChoicesMapType));
+            saveData.add("storyProgression", storyProgressionData);
+        }
+
+        // Ajouter les boîtes de stockage
+        if ((parts & PART_STORAGE) != 0) {
+            JsonArray boxes = new JsonArray();
+            for (int box = 0; box < boxNames.length; box++) {
+                JsonObject boxData = new JsonObject();
+                boxData.addProperty("index", box);
+                boxData.addProperty("name", boxNames[box]);
+                boxData.add("creatures", new JsonArray());
+                boxes.add(boxData);
+            }
+            for (int i = 0; i < storedCreatures.length; i += 5) {
+                JsonObject creatureData = new JsonObject();
+                creatureData.addProperty("slot", storedCreatures[i + 1]);
+                creatureData.addProperty("id", storedCreatures[i + 2]);
+                creatureData.addProperty("level", storedCreatures[i + 3]);
+                creatureData.addProperty("experience", storedCreatures[i + 4]);
+                boxes.get(storedCreatures[i]).getAsJsonObject().getAsJsonArray("creatures").add(creatureData);
+            }
+            JsonObject storageData = new JsonObject();
+            storageData.add("boxes", boxes);
+            saveData.add("storage", storageData);
+        }
+
+        return saveData;
+    }
+}
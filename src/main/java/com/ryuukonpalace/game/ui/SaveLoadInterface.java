@@ -73,6 +73,7 @@ public class SaveLoadInterface extends UIComponent {
     // Cette couleur sera utilisée dans une future mise à jour pour les éléments désactivés
     @SuppressWarnings("unused")
     private static final int COLOR_TEXT_DISABLED = 0xFF888888;
+    private static final int COLOR_TEXT_WARNING = 0xFFFF5555;
     private static final int COLOR_PANEL_BACKGROUND = 0xCC000000;
     
     // Dimensions et positions
@@ -589,6 +590,11 @@ public class SaveLoadInterface extends UIComponent {
                 
                 // Date et heure
                 renderer.drawText(metadata.getTimestamp(), slotX + slotWidth - 10, slotY + 10, 14, COLOR_TEXT, Renderer.TextAlignment.RIGHT);
+                
+                // Résultat de la vérification en arrière-plan
+                if (metadata.isCorrupted()) {
+                    renderer.drawText("Sauvegarde corrompue", slotX + slotWidth - 10, slotY + 30, 14, COLOR_TEXT_WARNING, Renderer.TextAlignment.RIGHT);
+                }
             } else {
                 // Slot vide
                 renderer.drawText("Slot " + slot + " - Vide", slotX + 10, slotY + 30, 18, COLOR_TEXT);
@@ -18,11 +18,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Gestionnaire de ressources pour le jeu.
@@ -50,6 +55,12 @@ public class ResourceManager {
     private final Map<String, CompletableFuture<Sound>> pendingSounds;
     private final Map<String, CompletableFuture<Font>> pendingFonts;
     
+    // Travaux OpenGL confiés au thread de rendu, seul propriétaire du contexte OpenGL
+    private static final long GL_WAIT_MILLIS = 2;
+    private final Queue<Runnable> glTasks;
+    private volatile Thread glThread;
+    private volatile boolean glTasksClosed = false;
+    
     // Statistiques de performance
     private long totalLoadingTime = 0;
     private int resourcesLoaded = 0;
@@ -67,6 +78,7 @@ public class ResourceManager {
         pendingTextures = new ConcurrentHashMap<>();
         pendingSounds = new ConcurrentHashMap<>();
         pendingFonts = new ConcurrentHashMap<>();
+        glTasks = new ConcurrentLinkedQueue<>();
         
         // Créer un pool de threads pour le chargement asynchrone
         loadingThreadPool = Executors.newFixedThreadPool(2);
@@ -115,8 +127,13 @@ public class ResourceManager {
         futures[13] = loadTextureAsync("assets/textures/ui/combat_bg.png", "combat_bg", null);
         futures[14] = loadTextureAsync("assets/textures/ui/combat_frame.png", "combat_frame", null);
         
-        // Attendre que toutes les ressources soient chargées
-        CompletableFuture.allOf(futures).join();
+        // Attendre que toutes les ressources soient chargées (les textures sont créées par ce thread)
+        try {
+            awaitGlResult(CompletableFuture.allOf(futures));
+        } catch (Exception e) {
+            System.err.println("Error loading base textures");
+            e.printStackTrace();
+        }
         
         long endTime = System.currentTimeMillis();
         System.out.println("Resource initialization completed in " + (endTime - startTime) + "ms");
@@ -124,21 +141,37 @@ public class ResourceManager {
     }
     
     /**
-     * Charger une texture depuis un fichier
+     * Charger une texture depuis un fichier.
+     * Hors du thread OpenGL (thread de simulation), l'envoi de la texture au GPU est confié au
+     * thread de rendu et cet appel attend son résultat.
      * @param path Chemin du fichier image
      * @param name Nom de référence pour la texture
      * @return L'ID OpenGL de la texture
      */
     public int loadTexture(String path, String name) {
         // Check if texture is already loaded
-        if (textures.containsKey(name)) {
-            return textures.get(name);
+        Integer loaded = textures.get(name);
+        if (loaded != null) {
+            return loaded;
         }
         
-        // Check if texture is being loaded
-        if (pendingTextures.containsKey(name)) {
+        // Without the OpenGL context, or while the texture is being loaded, wait for the asynchronous load
+        if (!isGlThread() || pendingTextures.containsKey(name)) {
             try {
-                return pendingTextures.get(name).get();
+                return awaitGlResult(loadTextureAsync(path, name, null));
+            } catch (Exception e) {
+                System.err.println("Error waiting for texture: " + name);
+                e.printStackTrace();
+                return 0;
+            }
+        }
+        
+        // Reserve the texture so that concurrent loads of the same name wait for this one
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = pendingTextures.putIfAbsent(name, future);
+        if (existing != null) {
+            try {
+                return awaitGlResult(existing);
             } catch (Exception e) {
                 System.err.println("Error waiting for texture: " + name);
                 e.printStackTrace();
@@ -149,11 +182,7 @@ public class ResourceManager {
         long startTime = System.currentTimeMillis();
         int textureId = 0;
         
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            IntBuffer width = stack.mallocInt(1);
-            IntBuffer height = stack.mallocInt(1);
-            IntBuffer channels = stack.mallocInt(1);
-            
+        try {
             // Load image
             ByteBuffer imageBuffer = loadResource(path);
             if (imageBuffer == null) {
@@ -162,30 +191,14 @@ public class ResourceManager {
             }
             
             // Decode the image
-            ByteBuffer decodedImage = STBImage.stbi_load_from_memory(
-                    imageBuffer, width, height, channels, 4);
-            
-            if (decodedImage == null) {
+            DecodedImage image = decodeImage(imageBuffer);
+            if (image == null) {
                 System.err.println("Failed to decode texture: " + path);
                 return 0;
             }
             
             // Create OpenGL texture
-            textureId = GL11.glGenTextures();
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-            
-            // Set texture parameters
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-            
-            // Upload texture data
-            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, width.get(), height.get(), 0,
-                    GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, decodedImage);
-            
-            // Free the decoded image
-            STBImage.stbi_image_free(decodedImage);
+            textureId = uploadTexture(image);
             
             // Store the texture
             textures.put(name, textureId);
@@ -199,11 +212,15 @@ public class ResourceManager {
             }
             
             return textureId;
+        } finally {
+            future.complete(textureId);
+            pendingTextures.remove(name, future);
         }
     }
     
     /**
-     * Charger une texture de manière asynchrone
+     * Charger une texture de manière asynchrone.
+     * Le fichier est lu et décodé par le pool de chargement ; la texture est créée sur le thread OpenGL.
      * @param path Chemin du fichier image
      * @param name Nom de référence pour la texture
      * @param callback Callback à appeler une fois la texture chargée
@@ -211,95 +228,203 @@ public class ResourceManager {
      */
     public CompletableFuture<Integer> loadTextureAsync(String path, String name, Consumer<Integer> callback) {
         // Check if texture is already loaded
-        if (textures.containsKey(name)) {
-            int textureId = textures.get(name);
-            CompletableFuture<Integer> future = CompletableFuture.completedFuture(textureId);
+        Integer loaded = textures.get(name);
+        if (loaded != null) {
+            CompletableFuture<Integer> future = CompletableFuture.completedFuture(loaded);
             if (callback != null) {
-                callback.accept(textureId);
+                callback.accept(loaded);
             }
             return future;
         }
         
-        // Check if texture is being loaded
-        if (pendingTextures.containsKey(name)) {
-            CompletableFuture<Integer> future = pendingTextures.get(name);
+        // Create a new future for this texture, unless it is already being loaded
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = pendingTextures.putIfAbsent(name, future);
+        if (existing != null) {
             if (callback != null) {
-                future.thenAccept(callback);
+                existing.thenAccept(callback);
             }
-            return future;
+            return existing;
         }
         
-        // Create a new future for this texture
-        CompletableFuture<Integer> future = new CompletableFuture<>();
-        pendingTextures.put(name, future);
-        
-        // Load the texture asynchronously
+        // Load and decode the texture asynchronously
         CompletableFuture.supplyAsync(() -> {
-            try {
-                // Load the resource data
-                ByteBuffer imageBuffer = loadResource(path);
-                if (imageBuffer == null) {
-                    throw new RuntimeException("Failed to load texture: " + path);
-                }
-                return imageBuffer;
-            } catch (Exception e) {
-                throw new RuntimeException("Error loading texture data: " + path, e);
+            // Load the resource data
+            ByteBuffer imageBuffer = loadResource(path);
+            if (imageBuffer == null) {
+                throw new RuntimeException("Failed to load texture: " + path);
             }
-        }, loadingThreadPool).thenAcceptAsync(imageBuffer -> {
-            try (MemoryStack stack = MemoryStack.stackPush()) {
-                IntBuffer width = stack.mallocInt(1);
-                IntBuffer height = stack.mallocInt(1);
-                IntBuffer channels = stack.mallocInt(1);
-                
-                // Decode the image
-                ByteBuffer decodedImage = STBImage.stbi_load_from_memory(
-                        imageBuffer, width, height, channels, 4);
-                
-                if (decodedImage == null) {
-                    throw new RuntimeException("Failed to decode texture: " + path);
-                }
-                
-                // Create OpenGL texture
-                int textureId = GL11.glGenTextures();
-                GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-                
-                // Set texture parameters
-                GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
-                GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
-                GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-                GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-                
-                // Upload texture data
-                GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, width.get(), height.get(), 0,
-                        GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, decodedImage);
-                
-                // Free the decoded image
-                STBImage.stbi_image_free(decodedImage);
-                
-                // Store the texture
-                textures.put(name, textureId);
-                
-                // Complete the future
-                future.complete(textureId);
-                
-                // Call the callback if provided
-                if (callback != null) {
-                    callback.accept(textureId);
-                }
-                
-                // Remove from pending
-                pendingTextures.remove(name);
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-                pendingTextures.remove(name);
+            
+            // Decode the image
+            DecodedImage image = decodeImage(imageBuffer);
+            if (image == null) {
+                throw new RuntimeException("Failed to decode texture: " + path);
+            }
+            return image;
+        }, loadingThreadPool).thenCompose(image -> runOnGlThread(() -> uploadTexture(image)))
+        .whenComplete((textureId, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+                pendingTextures.remove(name, future);
                 System.err.println("Error processing texture: " + path);
-                e.printStackTrace();
+                error.printStackTrace();
+                return;
+            }
+            
+            // Store the texture before it stops being pending
+            textures.put(name, textureId);
+            future.complete(textureId);
+            pendingTextures.remove(name, future);
+            
+            // Call the callback if provided
+            if (callback != null) {
+                callback.accept(textureId);
             }
         });
         
         return future;
     }
     
+    /**
+     * Décoder une image en pixels RGBA (sans appel OpenGL, utilisable depuis n'importe quel thread)
+     * @param imageBuffer Contenu du fichier image
+     * @return L'image décodée, ou null si le décodage a échoué
+     */
+    private DecodedImage decodeImage(ByteBuffer imageBuffer) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(imageBuffer, width, height, channels, 4);
+            if (pixels == null) {
+                return null;
+            }
+            return new DecodedImage(pixels, width.get(0), height.get(0));
+        }
+    }
+    
+    /**
+     * Créer la texture OpenGL d'une image décodée et libérer ses pixels (thread OpenGL uniquement)
+     * @param image Image décodée
+     * @return L'ID OpenGL de la texture
+     */
+    private int uploadTexture(DecodedImage image) {
+        try {
+            int textureId = GL11.glGenTextures();
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+            
+            // Set texture parameters
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+            
+            // Upload texture data
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, image.width, image.height, 0,
+                    GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, image.pixels);
+            return textureId;
+        } finally {
+            // Free the decoded image
+            STBImage.stbi_image_free(image.pixels);
+        }
+    }
+    
+    /**
+     * Déclarer le thread courant comme propriétaire du contexte OpenGL.
+     * Les travaux OpenGL demandés par les autres threads lui sont alors confiés
+     * (voir {@link #processGlTasks()}).
+     */
+    public void bindGlThread() {
+        glThread = Thread.currentThread();
+        glTasksClosed = false;
+    }
+    
+    /**
+     * Vérifier si le thread courant peut faire des appels OpenGL
+     * @return true sur le thread OpenGL, ou si aucun thread OpenGL n'a été déclaré
+     */
+    public boolean isGlThread() {
+        Thread owner = glThread;
+        return owner == null || owner == Thread.currentThread();
+    }
+    
+    /**
+     * Exécuter un travail OpenGL : immédiatement sur le thread OpenGL, sinon au prochain
+     * {@link #processGlTasks()} du thread de rendu.
+     * @param task Travail à exécuter
+     * @return CompletableFuture complété avec le résultat du travail
+     */
+    public <T> CompletableFuture<T> runOnGlThread(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (isGlThread()) {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return future;
+        }
+        if (glTasksClosed) {
+            future.completeExceptionally(new IllegalStateException("OpenGL context is no longer available"));
+            return future;
+        }
+        
+        glTasks.add(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Exécuter les travaux OpenGL en attente (à appeler à chaque image par le thread de rendu)
+     * @return Le nombre de travaux exécutés
+     */
+    public int processGlTasks() {
+        int processed = 0;
+        Runnable task;
+        while ((task = glTasks.poll()) != null) {
+            task.run();
+            processed++;
+        }
+        return processed;
+    }
+    
+    /**
+     * Refuser les nouveaux travaux OpenGL, par exemple avant de détruire le contexte.
+     * Les threads qui attendent encore un travail OpenGL reçoivent une erreur au lieu de bloquer.
+     */
+    public void closeGlTasks() {
+        glTasksClosed = true;
+    }
+    
+    /**
+     * Attendre le résultat d'un chargement. Le thread OpenGL exécute les travaux en attente
+     * pendant qu'il attend, pour ne pas bloquer les chargements qui ont besoin de lui.
+     * @param future Chargement à attendre
+     * @return Le résultat du chargement
+     * @throws Exception Si le chargement a échoué ou si le contexte OpenGL n'est plus disponible
+     */
+    public <T> T awaitGlResult(CompletableFuture<T> future) throws Exception {
+        while (true) {
+            if (isGlThread()) {
+                processGlTasks();
+            } else if (glTasksClosed && !future.isDone()) {
+                throw new IllegalStateException("OpenGL context is no longer available");
+            }
+            
+            try {
+                return future.get(GL_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Keep waiting
+            }
+        }
+    }
+    
     /**
      * Obtenir une texture déjà chargée
      * @param name Nom de la texture
@@ -670,6 +795,21 @@ public class ResourceManager {
         }
     }
     
+    /**
+     * Pixels RGBA d'une image décodée, en attente de leur envoi au GPU
+     */
+    private static class DecodedImage {
+        private final ByteBuffer pixels;
+        private final int width;
+        private final int height;
+        
+        private DecodedImage(ByteBuffer pixels, int width, int height) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+        }
+    }
+    
     /**
      * Classe interne pour représenter un son
      */
@@ -31,6 +31,9 @@ public class SpriteLoader {
     // Cache des tuiles par défaut (générées à la volée)
     private Map<Integer, Integer> defaultTileCache;
     
+    // Préfixe des régions de tuiles par défaut dans un atlas (ex: "tile_3")
+    public static final String DEFAULT_TILE_REGION_PREFIX = "tile_";
+    
     // Pool de threads pour le chargement asynchrone
     private ExecutorService loadingThreadPool;
     
@@ -160,6 +163,23 @@ public class SpriteLoader {
         return textureId;
     }
     
+    /**
+     * Construire un atlas contenant les tuiles par défaut demandées
+     * (régions nommées "tile_" + ID de la tuile)
+     * @param tileIds IDs des tuiles
+     * @return Atlas envoyé au TextureManager
+     */
+    public TextureAtlas buildDefaultTileAtlas(int[] tileIds) {
+        TextureAtlasBuilder builder = new TextureAtlasBuilder().setPageSize(512);
+        for (int tileId : tileIds) {
+            builder.add(DEFAULT_TILE_REGION_PREFIX + tileId, generateDefaultTile(tileId));
+        }
+        
+        TextureAtlas atlas = builder.build();
+        atlas.upload();
+        return atlas;
+    }
+    
     /**
      * Générer une tuile par défaut
      * @param tileId ID de la tuile
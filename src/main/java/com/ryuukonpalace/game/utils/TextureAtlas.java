@@ -0,0 +1,236 @@
+package com.ryuukonpalace.game.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import com.ryuukonpalace.game.core.TextureManager;
+
+/**
+ * Atlas de textures : plusieurs pages d'images contenant de nombreux petits sprites,
+ * accompagnées d'un index des régions (nom -> page + rectangle en pixels).
+ * Un atlas est produit par {@link TextureAtlasBuilder} et sauvegardé (pages PNG + index JSON),
+ * puis rechargé par {@link #load(File, String)} sans refaire le packing.
+ */
+public class TextureAtlas {
+
+    // Extension du fichier d'index
+    private static final String INDEX_EXTENSION = ".atlas.json";
+
+    // Pages de l'atlas
+    private final List<BufferedImage> pages;
+
+    // Rectangles des régions : nom -> {page, x, y, largeur, hauteur}
+    private final Map<String, int[]> regionRects;
+
+    // IDs de texture des pages une fois envoyées au TextureManager
+    private int[] pageTextureIds;
+
+    // Régions prêtes à dessiner (remplies par upload())
+    private final Map<String, TextureRegion> regions;
+
+    /**
+     * Constructeur
+     * @param pages Pages de l'atlas
+     * @param regionRects Rectangles des régions (nom -> {page, x, y, largeur, hauteur})
+     */
+    public TextureAtlas(List<BufferedImage> pages, Map<String, int[]> regionRects) {
+        this.pages = new ArrayList<>(pages);
+        this.regionRects = new LinkedHashMap<>(regionRects);
+        this.regions = new HashMap<>();
+    }
+
+    /**
+     * Envoyer les pages de l'atlas au TextureManager et construire les régions
+     */
+    public void upload() {
+        if (pageTextureIds != null) {
+            return;
+        }
+
+        pageTextureIds = new int[pages.size()];
+        for (int i = 0; i < pages.size(); i++) {
+            pageTextureIds[i] = TextureManager.getInstance().loadTexture(pages.get(i));
+        }
+
+        for (Map.Entry<String, int[]> entry : regionRects.entrySet()) {
+            int[] rect = entry.getValue();
+            BufferedImage page = pages.get(rect[0]);
+            regions.put(entry.getKey(), TextureRegion.fromPixels(
+                pageTextureIds[rect[0]], page.getWidth(), page.getHeight(),
+                rect[1], rect[2], rect[3], rect[4]
+            ));
+        }
+    }
+
+    /**
+     * Vérifier si les pages ont été envoyées au TextureManager
+     * @return true si les régions sont disponibles
+     */
+    public boolean isUploaded() {
+        return pageTextureIds != null;
+    }
+
+    /**
+     * Obtenir une région de l'atlas
+     * @param name Nom de la région
+     * @return Région correspondante, ou null si absente ou si l'atlas n'a pas été envoyé
+     */
+    public TextureRegion getRegion(String name) {
+        return regions.get(name);
+    }
+
+    /**
+     * Vérifier si l'atlas contient une région
+     * @param name Nom de la région
+     * @return true si la région existe
+     */
+    public boolean hasRegion(String name) {
+        return regionRects.containsKey(name);
+    }
+
+    /**
+     * Obtenir les noms de toutes les régions
+     * @return Noms des régions
+     */
+    public Iterable<String> getRegionNames() {
+        return Collections.unmodifiableSet(regionRects.keySet());
+    }
+
+    /**
+     * Obtenir le nombre de régions
+     * @return Nombre de régions
+     */
+    public int getRegionCount() {
+        return regionRects.size();
+    }
+
+    /**
+     * Obtenir le nombre de pages
+     * @return Nombre de pages
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Obtenir une page de l'atlas
+     * @param index Index de la page
+     * @return Image de la page
+     */
+    public BufferedImage getPage(int index) {
+        return pages.get(index);
+    }
+
+    /**
+     * Obtenir le rectangle d'une région en pixels
+     * @param name Nom de la région
+     * @return {page, x, y, largeur, hauteur}, ou null si absente
+     */
+    public int[] getRegionRect(String name) {
+        int[] rect = regionRects.get(name);
+        return rect != null ? rect.clone() : null;
+    }
+
+    /**
+     * Sauvegarder l'atlas (pages PNG + index JSON)
+     * @param directory Dossier de destination
+     * @param baseName Nom de base des fichiers
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void save(File directory, String baseName) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Impossible de créer le dossier: " + directory);
+        }
+
+        JsonObject index = new JsonObject();
+        JsonArray pageArray = new JsonArray();
+        for (int i = 0; i < pages.size(); i++) {
+            String pageName = baseName + "_" + i + ".png";
+            ImageIO.write(pages.get(i), "png", new File(directory, pageName));
+            pageArray.add(pageName);
+        }
+        index.add("pages", pageArray);
+
+        JsonObject regionObject = new JsonObject();
+        for (Map.Entry<String, int[]> entry : regionRects.entrySet()) {
+            int[] rect = entry.getValue();
+            JsonArray rectArray = new JsonArray();
+            for (int value : rect) {
+                rectArray.add(value);
+            }
+            regionObject.add(entry.getKey(), rectArray);
+        }
+        index.add("regions", regionObject);
+
+        Gson gson = new Gson();
+        try (Writer writer = new FileWriter(new File(directory, baseName + INDEX_EXTENSION))) {
+            gson.toJson(index, writer);
+        }
+    }
+
+    /**
+     * Charger un atlas sauvegardé
+     * @param directory Dossier de l'atlas
+     * @param baseName Nom de base des fichiers
+     * @return Atlas chargé (non envoyé au TextureManager)
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static TextureAtlas load(File directory, String baseName) throws IOException {
+        JsonObject index;
+        try (Reader reader = new FileReader(new File(directory, baseName + INDEX_EXTENSION))) {
+            index = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+
+        List<BufferedImage> pages = new ArrayList<>();
+        for (JsonElement pageName : index.getAsJsonArray("pages")) {
+            BufferedImage page = ImageIO.read(new File(directory, pageName.getAsString()));
+            if (page == null) {
+                throw new IOException("Page d'atlas illisible: " + pageName.getAsString());
+            }
+            pages.add(page);
+        }
+
+        Map<String, int[]> rects = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : index.getAsJsonObject("regions").entrySet()) {
+            JsonArray rectArray = entry.getValue().getAsJsonArray();
+            int[] rect = new int[5];
+            for (int i = 0; i < rect.length; i++) {
+                rect[i] = rectArray.get(i).getAsInt();
+            }
+            rects.put(entry.getKey(), rect);
+        }
+
+        return new TextureAtlas(pages, rects);
+    }
+
+    /**
+     * Libérer les textures des pages
+     */
+    public void dispose() {
+        if (pageTextureIds != null) {
+            for (int textureId : pageTextureIds) {
+                TextureManager.getInstance().unloadTexture(textureId);
+            }
+            pageTextureIds = null;
+        }
+        regions.clear();
+    }
+}
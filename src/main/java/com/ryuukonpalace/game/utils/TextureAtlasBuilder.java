@@ -0,0 +1,314 @@
+package com.ryuukonpalace.game.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Construit un {@link TextureAtlas} en rangeant de nombreuses petites images dans
+ * quelques grandes pages (algorithme MaxRects, heuristique "best short side fit").
+ * Chaque image est entourée d'une bordure dupliquée (bleed) pour éviter les fuites
+ * de couleur lors du filtrage, puis d'un espacement vide (padding).
+ *
+ * Utilisable à la compilation :
+ * java com.ryuukonpalace.game.utils.TextureAtlasBuilder &lt;sortie&gt; &lt;nom&gt; &lt;racine&gt; &lt;dossier&gt;...
+ */
+public class TextureAtlasBuilder {
+
+    // Paramètres par défaut
+    public static final int DEFAULT_PAGE_SIZE = 2048;
+    public static final int DEFAULT_PADDING = 1;
+    public static final int DEFAULT_BLEED = 1;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int padding = DEFAULT_PADDING;
+    private int bleed = DEFAULT_BLEED;
+
+    // Images à ranger (nom -> image)
+    private final Map<String, BufferedImage> images = new LinkedHashMap<>();
+
+    /**
+     * Définir la taille des pages
+     * @param pageSize Largeur et hauteur d'une page en pixels
+     * @return Ce builder
+     */
+    public TextureAtlasBuilder setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Définir l'espacement vide entre les images
+     * @param padding Espacement en pixels
+     * @return Ce builder
+     */
+    public TextureAtlasBuilder setPadding(int padding) {
+        this.padding = Math.max(0, padding);
+        return this;
+    }
+
+    /**
+     * Définir la largeur de la bordure dupliquée autour de chaque image
+     * @param bleed Largeur en pixels
+     * @return Ce builder
+     */
+    public TextureAtlasBuilder setBleed(int bleed) {
+        this.bleed = Math.max(0, bleed);
+        return this;
+    }
+
+    /**
+     * Ajouter une image à l'atlas
+     * @param name Nom de la région
+     * @param image Image
+     * @return Ce builder
+     */
+    public TextureAtlasBuilder add(String name, BufferedImage image) {
+        images.put(name, image);
+        return this;
+    }
+
+    /**
+     * Ajouter récursivement toutes les images PNG d'un dossier.
+     * Le nom de chaque région est son chemin relatif à la racine, sans extension
+     * (ex: "Infernus/Infernus_Tiles/Infernus_Box2_2").
+     * @param root Racine des ressources
+     * @param directory Dossier à parcourir
+     * @return Ce builder
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public TextureAtlasBuilder addDirectory(File root, File directory) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return this;
+        }
+        Arrays.sort(files);
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                addDirectory(root, file);
+            } else if (file.getName().toLowerCase().endsWith(".png")) {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    add(regionName(root, file), image);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Calculer le nom de région d'un fichier
+     * @param root Racine des ressources
+     * @param file Fichier image
+     * @return Chemin relatif sans extension, avec des '/'
+     */
+    public static String regionName(File root, File file) {
+        String relative = root.toPath().toAbsolutePath().normalize()
+            .relativize(file.toPath().toAbsolutePath().normalize()).toString().replace('\\', '/');
+        int dot = relative.lastIndexOf('.');
+        return dot > 0 ? relative.substring(0, dot) : relative;
+    }
+
+    /**
+     * Ranger toutes les images et produire l'atlas
+     * @return Atlas construit (non envoyé au TextureManager)
+     */
+    public TextureAtlas build() {
+        int border = bleed + padding;
+
+        // Trier par côté le plus long décroissant pour un meilleur remplissage
+        List<Map.Entry<String, BufferedImage>> entries = new ArrayList<>(images.entrySet());
+        entries.sort((a, b) -> Integer.compare(
+            Math.max(b.getValue().getWidth(), b.getValue().getHeight()),
+            Math.max(a.getValue().getWidth(), a.getValue().getHeight())
+        ));
+
+        List<Page> pages = new ArrayList<>();
+        Map<String, int[]> rects = new LinkedHashMap<>();
+
+        for (Map.Entry<String, BufferedImage> entry : entries) {
+            BufferedImage image = entry.getValue();
+            int cellWidth = image.getWidth() + 2 * border;
+            int cellHeight = image.getHeight() + 2 * border;
+
+            int pageIndex = -1;
+            int[] cell = null;
+            for (int i = 0; i < pages.size() && cell == null; i++) {
+                cell = pages.get(i).insert(cellWidth, cellHeight);
+                pageIndex = i;
+            }
+
+            if (cell == null) {
+                // Une image plus grande qu'une page obtient sa propre page
+                Page page = new Page(Math.max(pageSize, cellWidth), Math.max(pageSize, cellHeight));
+                pages.add(page);
+                pageIndex = pages.size() - 1;
+                cell = page.insert(cellWidth, cellHeight);
+            }
+
+            int x = cell[0] + border;
+            int y = cell[1] + border;
+            pages.get(pageIndex).blit(image, x, y, bleed);
+            rects.put(entry.getKey(), new int[] {pageIndex, x, y, image.getWidth(), image.getHeight()});
+        }
+
+        List<BufferedImage> pageImages = new ArrayList<>();
+        for (Page page : pages) {
+            pageImages.add(page.image);
+        }
+
+        // Conserver l'ordre d'ajout dans l'index
+        Map<String, int[]> ordered = new LinkedHashMap<>();
+        for (String name : images.keySet()) {
+            ordered.put(name, rects.get(name));
+        }
+
+        return new TextureAtlas(pageImages, ordered);
+    }
+
+    /**
+     * Page en cours de remplissage (rectangles libres MaxRects)
+     */
+    private static class Page {
+        final BufferedImage image;
+        final List<int[]> freeRects = new ArrayList<>();
+
+        Page(int width, int height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            freeRects.add(new int[] {0, 0, width, height});
+        }
+
+        /**
+         * Réserver un emplacement
+         * @return {x, y} ou null si l'emplacement ne rentre pas
+         */
+        int[] insert(int width, int height) {
+            int bestIndex = -1;
+            int bestShortSide = Integer.MAX_VALUE;
+            int bestLongSide = Integer.MAX_VALUE;
+
+            for (int i = 0; i < freeRects.size(); i++) {
+                int[] free = freeRects.get(i);
+                if (free[2] >= width && free[3] >= height) {
+                    int leftoverX = free[2] - width;
+                    int leftoverY = free[3] - height;
+                    int shortSide = Math.min(leftoverX, leftoverY);
+                    int longSide = Math.max(leftoverX, leftoverY);
+                    if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+                        bestIndex = i;
+                        bestShortSide = shortSide;
+                        bestLongSide = longSide;
+                    }
+                }
+            }
+
+            if (bestIndex < 0) {
+                return null;
+            }
+
+            int[] placed = {freeRects.get(bestIndex)[0], freeRects.get(bestIndex)[1], width, height};
+            splitFreeRects(placed);
+            pruneFreeRects();
+            return new int[] {placed[0], placed[1]};
+        }
+
+        /**
+         * Découper les rectangles libres qui chevauchent l'emplacement réservé
+         */
+        private void splitFreeRects(int[] used) {
+            List<int[]> created = new ArrayList<>();
+            for (int i = freeRects.size() - 1; i >= 0; i--) {
+                int[] free = freeRects.get(i);
+                if (used[0] >= free[0] + free[2] || used[0] + used[2] <= free[0]
+                        || used[1] >= free[1] + free[3] || used[1] + used[3] <= free[1]) {
+                    continue;
+                }
+                freeRects.remove(i);
+
+                if (used[0] > free[0]) {
+                    created.add(new int[] {free[0], free[1], used[0] - free[0], free[3]});
+                }
+                if (used[0] + used[2] < free[0] + free[2]) {
+                    created.add(new int[] {used[0] + used[2], free[1], free[0] + free[2] - used[0] - used[2], free[3]});
+                }
+                if (used[1] > free[1]) {
+                    created.add(new int[] {free[0], free[1], free[2], used[1] - free[1]});
+                }
+                if (used[1] + used[3] < free[1] + free[3]) {
+                    created.add(new int[] {free[0], used[1] + used[3], free[2], free[1] + free[3] - used[1] - used[3]});
+                }
+            }
+            freeRects.addAll(created);
+        }
+
+        /**
+         * Supprimer les rectangles libres contenus dans un autre
+         */
+        private void pruneFreeRects() {
+            for (int i = 0; i < freeRects.size(); i++) {
+                for (int j = i + 1; j < freeRects.size(); j++) {
+                    if (contains(freeRects.get(j), freeRects.get(i))) {
+                        freeRects.remove(i);
+                        i--;
+                        break;
+                    }
+                    if (contains(freeRects.get(i), freeRects.get(j))) {
+                        freeRects.remove(j);
+                        j--;
+                    }
+                }
+            }
+        }
+
+        private static boolean contains(int[] outer, int[] inner) {
+            return inner[0] >= outer[0] && inner[1] >= outer[1]
+                && inner[0] + inner[2] <= outer[0] + outer[2]
+                && inner[1] + inner[3] <= outer[1] + outer[3];
+        }
+
+        /**
+         * Copier une image dans la page et dupliquer ses bords sur la largeur du bleed
+         */
+        void blit(BufferedImage source, int x, int y, int bleed) {
+            int width = source.getWidth();
+            int height = source.getHeight();
+            for (int dy = -bleed; dy < height + bleed; dy++) {
+                int sy = Math.max(0, Math.min(height - 1, dy));
+                for (int dx = -bleed; dx < width + bleed; dx++) {
+                    int sx = Math.max(0, Math.min(width - 1, dx));
+                    image.setRGB(x + dx, y + dy, source.getRGB(sx, sy));
+                }
+            }
+        }
+    }
+
+    /**
+     * Construire un atlas à la compilation
+     * @param args sortie, nom de base, racine des ressources, puis dossiers sources
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: TextureAtlasBuilder <sortie> <nom> <racine> <dossier>...");
+            return;
+        }
+
+        File output = new File(args[0]);
+        File root = new File(args[2]);
+        TextureAtlasBuilder builder = new TextureAtlasBuilder();
+        for (int i = 3; i < args.length; i++) {
+            builder.addDirectory(root, new File(root, args[i]));
+        }
+
+        TextureAtlas atlas = builder.build();
+        atlas.save(output, args[1]);
+        System.out.println("Atlas " + args[1] + ": " + atlas.getRegionCount() + " régions sur "
+                           + atlas.getPageCount() + " page(s)");
+    }
+}
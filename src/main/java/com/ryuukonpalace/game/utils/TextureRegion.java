@@ -0,0 +1,127 @@
+package com.ryuukonpalace.game.utils;
+
+/**
+ * Zone rectangulaire d'une texture (page d'atlas, spritesheet ou texture complète).
+ * Les coordonnées de texture sont normalisées entre 0 et 1.
+ */
+public class TextureRegion {
+
+    private final int textureId;
+    private final float u0;
+    private final float v0;
+    private final float u1;
+    private final float v1;
+    private final int width;
+    private final int height;
+
+    /**
+     * Constructeur
+     * @param textureId ID de la texture contenant la région
+     * @param u0 Coordonnée U gauche
+     * @param v0 Coordonnée V haute
+     * @param u1 Coordonnée U droite
+     * @param v1 Coordonnée V basse
+     * @param width Largeur de la région en pixels
+     * @param height Hauteur de la région en pixels
+     */
+    public TextureRegion(int textureId, float u0, float v0, float u1, float v1, int width, int height) {
+        this.textureId = textureId;
+        this.u0 = u0;
+        this.v0 = v0;
+        this.u1 = u1;
+        this.v1 = v1;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Créer une région à partir d'un rectangle en pixels dans une texture
+     * @param textureId ID de la texture
+     * @param textureWidth Largeur de la texture
+     * @param textureHeight Hauteur de la texture
+     * @param x Position X de la région
+     * @param y Position Y de la région
+     * @param width Largeur de la région
+     * @param height Hauteur de la région
+     * @return Région correspondante
+     */
+    public static TextureRegion fromPixels(int textureId, int textureWidth, int textureHeight,
+                                           int x, int y, int width, int height) {
+        return new TextureRegion(
+            textureId,
+            (float) x / textureWidth,
+            (float) y / textureHeight,
+            (float) (x + width) / textureWidth,
+            (float) (y + height) / textureHeight,
+            width,
+            height
+        );
+    }
+
+    /**
+     * Créer une région couvrant toute une texture
+     * @param textureId ID de la texture
+     * @param width Largeur de la texture
+     * @param height Hauteur de la texture
+     * @return Région couvrant toute la texture
+     */
+    public static TextureRegion whole(int textureId, int width, int height) {
+        return new TextureRegion(textureId, 0.0f, 0.0f, 1.0f, 1.0f, width, height);
+    }
+
+    /**
+     * Obtenir l'ID de la texture contenant la région
+     * @return ID de la texture
+     */
+    public int getTextureId() {
+        return textureId;
+    }
+
+    /**
+     * Obtenir la coordonnée U gauche
+     * @return Coordonnée U gauche
+     */
+    public float getU0() {
+        return u0;
+    }
+
+    /**
+     * Obtenir la coordonnée V haute
+     * @return Coordonnée V haute
+     */
+    public float getV0() {
+        return v0;
+    }
+
+    /**
+     * Obtenir la coordonnée U droite
+     * @return Coordonnée U droite
+     */
+    public float getU1() {
+        return u1;
+    }
+
+    /**
+     * Obtenir la coordonnée V basse
+     * @return Coordonnée V basse
+     */
+    public float getV1() {
+        return v1;
+    }
+
+    /**
+     * Obtenir la largeur de la région
+     * @return Largeur en pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtenir la hauteur de la région
+     * @return Hauteur en pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,360 @@
+package com.ryuukonpalace.game.world;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Carte binaire découpée en chunks, lue par projection du fichier en mémoire (FileChannel.map).
+ * Les chunks stockés sans compression sont lus directement dans la projection, sans copie
+ * ni allocation par tuile ; les chunks compressés (deflate) sont décompressés à la demande.
+ *
+ * Format (big-endian) :
+ * - en-tête : magie "RPMB", version, largeur, hauteur, taille des chunks, masque des couches
+ *   présentes, options (bit 0 = deflate)
+ * - IDs des tuiles utilisées : nombre puis valeurs
+ * - propriétés hors couches : longueur puis JSON en UTF-8
+ * - table des chunks (ligne par ligne) : position (long, 0 = chunk vide), taille stockée, taille brute
+ * - données des chunks : pour chaque couche, un octet de largeur (0 = couche vide, 1, 2 ou 4)
+ *   puis les valeurs ligne par ligne sur cette largeur
+ */
+public class BinaryMapFile implements ChunkSource {
+
+    public static final int MAGIC = 0x52504D42; // "RPMB"
+    public static final int FORMAT_VERSION = 1;
+    public static final int FLAG_DEFLATE = 1;
+
+    // Taille d'une entrée de la table des chunks
+    private static final int CHUNK_ENTRY_SIZE = 8 + 4 + 4;
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int width;
+    private final int height;
+    private final int chunkSize;
+    private final int layerMask;
+    private final int flags;
+    private final int[] tileIds;
+    private final JsonObject metadata;
+    private final int chunksX;
+    private final int chunkTableOffset;
+
+    /**
+     * Ouvrir une carte binaire (seul l'en-tête est lu ; les chunks sont lus à la demande)
+     * @param file Fichier de carte
+     * @throws IOException Si le fichier est absent, trop grand ou invalide
+     */
+    public BinaryMapFile(File file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Carte binaire trop grande pour une seule projection: " + file);
+            }
+            // La projection reste valide après la fermeture du canal
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer header = buffer.duplicate();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Fichier de carte binaire invalide: " + file);
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Version de carte binaire non supportée (" + version + "): " + file);
+        }
+
+        width = header.getInt();
+        height = header.getInt();
+        chunkSize = header.getInt();
+        layerMask = header.getInt();
+        flags = header.getInt();
+
+        tileIds = new int[header.getInt()];
+        for (int i = 0; i < tileIds.length; i++) {
+            tileIds[i] = header.getInt();
+        }
+
+        byte[] json = new byte[header.getInt()];
+        header.get(json);
+        metadata = JsonParser.parseString(new String(json, StandardCharsets.UTF_8)).getAsJsonObject();
+
+        chunksX = (width + chunkSize - 1) / chunkSize;
+        chunkTableOffset = header.position();
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public int getLayerMask() {
+        return layerMask;
+    }
+
+    @Override
+    public JsonObject getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public int[] getTileIds() {
+        return tileIds.clone();
+    }
+
+    /**
+     * Vérifier si les chunks du fichier sont compressés
+     * @return true si le fichier a été écrit avec deflate
+     */
+    public boolean isCompressed() {
+        return (flags & FLAG_DEFLATE) != 0;
+    }
+
+    @Override
+    public MapChunk loadChunk(int chunkX, int chunkY) throws IOException {
+        int chunkWidth = Math.min(chunkSize, width - chunkX * chunkSize);
+        int chunkHeight = Math.min(chunkSize, height - chunkY * chunkSize);
+
+        int entry = chunkTableOffset + (chunkY * chunksX + chunkX) * CHUNK_ENTRY_SIZE;
+        long offset = buffer.getLong(entry);
+        int storedLength = buffer.getInt(entry + 8);
+        int rawLength = buffer.getInt(entry + 12);
+        if (offset == 0) {
+            return new MapChunk(chunkX, chunkY, chunkWidth, chunkHeight);
+        }
+
+        ByteBuffer data = buffer.duplicate();
+        data.position((int) offset).limit((int) offset + storedLength);
+        data = data.slice();
+
+        if (storedLength != rawLength) {
+            // Chunk compressé : décompression dans un tableau
+            Inflater inflater = new Inflater();
+            byte[] raw = new byte[rawLength];
+            try {
+                inflater.setInput(data);
+                int read = 0;
+                while (read < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(raw, read, rawLength - read);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += n;
+                }
+                if (read != rawLength) {
+                    throw new IOException("Chunk " + chunkX + "," + chunkY + " tronqué: " + file);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Chunk " + chunkX + "," + chunkY + " corrompu: " + file, e);
+            } finally {
+                inflater.end();
+            }
+            data = ByteBuffer.wrap(raw);
+        }
+
+        // Chaque couche lit sa portion du buffer sans copie
+        int count = chunkWidth * chunkHeight;
+        TileLayer[] layers = new TileLayer[TileSystem.LAYER_COUNT];
+        int position = 0;
+        for (int layer = 0; layer < layers.length; layer++) {
+            int bytesPerTile = data.get(position++);
+            if (bytesPerTile == 0) {
+                layers[layer] = new TileLayer(chunkWidth, chunkHeight);
+                continue;
+            }
+            ByteBuffer values = data.duplicate();
+            values.position(position).limit(position + count * bytesPerTile);
+            layers[layer] = new TileLayer(chunkWidth, chunkHeight, values.slice(), bytesPerTile);
+            position += count * bytesPerTile;
+        }
+        return new MapChunk(chunkX, chunkY, layers);
+    }
+
+    /**
+     * Écrire une source de chunks au format binaire
+     * @param source Source des chunks
+     * @param output Fichier de sortie
+     * @param compress true pour compresser les chunks avec deflate
+     * @throws IOException En cas d'erreur de lecture ou d'écriture
+     */
+    public static void write(ChunkSource source, File output, boolean compress) throws IOException {
+        int chunkSize = source.getChunkSize();
+        int chunksX = (source.getWidth() + chunkSize - 1) / chunkSize;
+        int chunksY = (source.getHeight() + chunkSize - 1) / chunkSize;
+        int[] tileIds = source.getTileIds();
+        byte[] json = source.getMetadata().toString().getBytes(StandardCharsets.UTF_8);
+
+        try (RandomAccessFile out = new RandomAccessFile(output, "rw")) {
+            out.setLength(0);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(source.getWidth());
+            out.writeInt(source.getHeight());
+            out.writeInt(chunkSize);
+            out.writeInt(source.getLayerMask());
+            out.writeInt(compress ? FLAG_DEFLATE : 0);
+            out.writeInt(tileIds.length);
+            for (int tileId : tileIds) {
+                out.writeInt(tileId);
+            }
+            out.writeInt(json.length);
+            out.write(json);
+
+            // Réserver la table des chunks, remplie une fois les positions connues
+            long tableOffset = out.getFilePointer();
+            long[] offsets = new long[chunksX * chunksY];
+            int[] storedLengths = new int[offsets.length];
+            int[] rawLengths = new int[offsets.length];
+            out.seek(tableOffset + (long) offsets.length * CHUNK_ENTRY_SIZE);
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (int cy = 0; cy < chunksY; cy++) {
+                    for (int cx = 0; cx < chunksX; cx++) {
+                        int index = cy * chunksX + cx;
+                        byte[] raw = encodeChunk(source.loadChunk(cx, cy));
+                        if (raw == null) {
+                            continue;
+                        }
+
+                        byte[] stored = raw;
+                        if (compress) {
+                            byte[] packed = deflate(deflater, raw);
+                            // Garder la version brute si la compression ne gagne rien
+                            if (packed.length < raw.length) {
+                                stored = packed;
+                            }
+                        }
+
+                        offsets[index] = out.getFilePointer();
+                        storedLengths[index] = stored.length;
+                        rawLengths[index] = raw.length;
+                        out.write(stored);
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+
+            out.seek(tableOffset);
+            for (int i = 0; i < offsets.length; i++) {
+                out.writeLong(offsets[i]);
+                out.writeInt(storedLengths[i]);
+                out.writeInt(rawLengths[i]);
+            }
+        }
+    }
+
+    /**
+     * Encoder les couches d'un chunk
+     * @param chunk Chunk à encoder
+     * @return Données brutes du chunk, ou null si toutes ses couches sont vides
+     */
+    private static byte[] encodeChunk(MapChunk chunk) {
+        int count = chunk.getWidth() * chunk.getHeight();
+        int[] widths = new int[TileSystem.LAYER_COUNT];
+        int size = TileSystem.LAYER_COUNT;
+        for (int layer = 0; layer < widths.length; layer++) {
+            widths[layer] = chunk.getLayer(layer).getRequiredBytesPerTile();
+            size += count * widths[layer];
+        }
+        if (size == TileSystem.LAYER_COUNT) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(size);
+        for (int layer = 0; layer < widths.length; layer++) {
+            data.put((byte) widths[layer]);
+            if (widths[layer] > 0) {
+                chunk.getLayer(layer).writeTo(data, widths[layer]);
+            }
+        }
+        return data.array();
+    }
+
+    /**
+     * Compresser des données avec deflate
+     */
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] packed = new byte[raw.length + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == packed.length) {
+                packed = Arrays.copyOf(packed, packed.length * 2);
+            }
+            length += deflater.deflate(packed, length, packed.length - length);
+        }
+        return Arrays.copyOf(packed, length);
+    }
+
+    /**
+     * Importer une carte JSON classique au format binaire
+     * @param mapFile Fichier de carte JSON
+     * @param output Fichier de sortie
+     * @param chunkSize Côté d'un chunk en tuiles
+     * @param compress true pour compresser les chunks avec deflate
+     * @throws IOException En cas d'erreur de lecture ou d'écriture
+     */
+    public static void importJson(File mapFile, File output, int chunkSize, boolean compress) throws IOException {
+        write(new JsonMapSource(mapFile, chunkSize), output, compress);
+    }
+
+    /**
+     * Vérifier qu'une carte binaire contient exactement une carte JSON
+     * @param mapFile Fichier de carte JSON d'origine
+     * @param binaryFile Fichier de carte binaire
+     * @return true si toutes les tuiles et propriétés sont identiques
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static boolean verify(File mapFile, File binaryFile) throws IOException {
+        BinaryMapFile binary = new BinaryMapFile(binaryFile);
+        return JsonMapSource.sameContent(new JsonMapSource(mapFile, binary.getChunkSize()), binary);
+    }
+
+    /**
+     * Importer une carte JSON à la compilation
+     * @param args carte JSON, fichier de sortie, taille des chunks (optionnelle), "raw" pour ne pas compresser
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BinaryMapFile <carte.json> <sortie.rpmb> [tailleChunk] [raw]");
+            return;
+        }
+
+        File mapFile = new File(args[0]);
+        File output = new File(args[1]);
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : TileSystem.CHUNK_SIZE;
+        boolean compress = args.length <= 3 || !"raw".equals(args[3]);
+        importJson(mapFile, output, chunkSize, compress);
+
+        boolean identical = verify(mapFile, output);
+        System.out.println("Carte " + mapFile.getName() + " importée dans " + output + " ("
+                           + mapFile.length() + " -> " + output.length() + " octets"
+                           + (identical ? ", vérifiée)" : ", DIFFÉRENCES DÉTECTÉES)"));
+    }
+}
@@ -0,0 +1,263 @@
+package com.ryuukonpalace.game.world;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Carte découpée en chunks, stockée dans un dossier :
+ * - map.json : dimensions, taille des chunks, couches présentes, IDs de tuiles utilisés
+ *   et toutes les autres propriétés de la carte d'origine (nom, bâtiments, PNJ...)
+ * - chunk_X_Y.json : valeurs des couches d'un chunk, ligne par ligne dans un tableau plat.
+ *   Les chunks entièrement vides ne sont pas écrits.
+ *
+ * Une carte JSON classique peut être convertie sans perte avec {@link #convert(File, File, int)}.
+ * Les lignes manquantes d'une couche (cartes incomplètes) sont complétées par des 0.
+ */
+public class ChunkDirectorySource implements ChunkSource {
+
+    public static final String MANIFEST_FILE = "map.json";
+    public static final int FORMAT_VERSION = 1;
+
+    private final File directory;
+    private final int width;
+    private final int height;
+    private final int chunkSize;
+    private final int layerMask;
+    private final JsonObject metadata;
+    private final int[] tileIds;
+
+    /**
+     * Ouvrir une carte découpée (seul le manifeste est lu)
+     * @param directory Dossier de la carte
+     * @throws IOException Si le manifeste est absent ou illisible
+     */
+    public ChunkDirectorySource(File directory) throws IOException {
+        this.directory = directory;
+
+        JsonObject manifest;
+        try (BufferedReader reader = Files.newBufferedReader(new File(directory, MANIFEST_FILE).toPath(),
+                                                                 StandardCharsets.UTF_8)) {
+            manifest = JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (RuntimeException e) {
+            throw new IOException("Manifeste de carte invalide: " + directory, e);
+        }
+
+        width = manifest.get("width").getAsInt();
+        height = manifest.get("height").getAsInt();
+        chunkSize = manifest.get("chunkSize").getAsInt();
+
+        JsonArray ids = manifest.getAsJsonArray("tileIds");
+        tileIds = new int[ids.size()];
+        for (int i = 0; i < tileIds.length; i++) {
+            tileIds[i] = ids.get(i).getAsInt();
+        }
+
+        int mask = 0;
+        for (JsonElement name : manifest.getAsJsonArray("layers")) {
+            mask |= 1 << JsonMapSource.layerIndex(name.getAsString());
+        }
+        layerMask = mask;
+
+        metadata = manifest.getAsJsonObject("metadata");
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public int getLayerMask() {
+        return layerMask;
+    }
+
+    @Override
+    public JsonObject getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public int[] getTileIds() {
+        return tileIds.clone();
+    }
+
+    @Override
+    public MapChunk loadChunk(int chunkX, int chunkY) throws IOException {
+        int chunkWidth = Math.min(chunkSize, width - chunkX * chunkSize);
+        int chunkHeight = Math.min(chunkSize, height - chunkY * chunkSize);
+        MapChunk chunk = new MapChunk(chunkX, chunkY, chunkWidth, chunkHeight);
+
+        File file = chunkFile(directory, chunkX, chunkY);
+        if (!file.exists()) {
+            // Chunk vide, non écrit par le convertisseur
+            return chunk;
+        }
+
+        JsonObject layers;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            layers = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("layers");
+        } catch (RuntimeException e) {
+            throw new IOException("Chunk invalide: " + file, e);
+        }
+
+        for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+            JsonArray values = layers.getAsJsonArray(TileSystem.LAYER_NAMES[layer]);
+            if (values == null) {
+                continue;
+            }
+            TileLayer target = chunk.getLayer(layer);
+            for (int i = 0; i < values.size(); i++) {
+                target.set(i, values.get(i).getAsInt());
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Obtenir le fichier d'un chunk
+     * @param directory Dossier de la carte
+     * @param chunkX Colonne du chunk
+     * @param chunkY Ligne du chunk
+     * @return Fichier du chunk
+     */
+    static File chunkFile(File directory, int chunkX, int chunkY) {
+        return new File(directory, "chunk_" + chunkX + "_" + chunkY + ".json");
+    }
+
+    /**
+     * Convertir une carte JSON classique en carte découpée
+     * @param mapFile Fichier de carte JSON
+     * @param outputDirectory Dossier de sortie
+     * @param chunkSize Côté d'un chunk en tuiles
+     * @throws IOException En cas d'erreur de lecture ou d'écriture
+     */
+    public static void convert(File mapFile, File outputDirectory, int chunkSize) throws IOException {
+        write(new JsonMapSource(mapFile, chunkSize), outputDirectory);
+    }
+
+    /**
+     * Écrire une source de chunks sous forme de carte découpée
+     * @param source Source des chunks
+     * @param outputDirectory Dossier de sortie
+     * @throws IOException En cas d'erreur de lecture ou d'écriture
+     */
+    public static void write(ChunkSource source, File outputDirectory) throws IOException {
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Impossible de créer le dossier: " + outputDirectory);
+        }
+
+        JsonArray presentLayers = new JsonArray();
+        for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+            if ((source.getLayerMask() & (1 << layer)) != 0) {
+                presentLayers.add(TileSystem.LAYER_NAMES[layer]);
+            }
+        }
+
+        // Écrire les chunks non vides
+        Gson gson = new Gson();
+        int chunkSize = source.getChunkSize();
+        int chunksX = (source.getWidth() + chunkSize - 1) / chunkSize;
+        int chunksY = (source.getHeight() + chunkSize - 1) / chunkSize;
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                MapChunk chunk = source.loadChunk(cx, cy);
+                int count = chunk.getWidth() * chunk.getHeight();
+
+                JsonObject layers = new JsonObject();
+                for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+                    TileLayer tiles = chunk.getLayer(layer);
+                    if (tiles.getRequiredBytesPerTile() == 0) {
+                        continue;
+                    }
+                    JsonArray values = new JsonArray();
+                    for (int i = 0; i < count; i++) {
+                        values.add(tiles.get(i));
+                    }
+                    layers.add(TileSystem.LAYER_NAMES[layer], values);
+                }
+
+                File file = chunkFile(outputDirectory, cx, cy);
+                if (layers.size() == 0) {
+                    file.delete();
+                    continue;
+                }
+                JsonObject json = new JsonObject();
+                json.addProperty("x", cx);
+                json.addProperty("y", cy);
+                json.add("layers", layers);
+                try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    gson.toJson(json, writer);
+                }
+            }
+        }
+
+        JsonArray ids = new JsonArray();
+        for (int tileId : source.getTileIds()) {
+            ids.add(tileId);
+        }
+
+        JsonObject manifest = new JsonObject();
+        manifest.addProperty("formatVersion", FORMAT_VERSION);
+        manifest.addProperty("width", source.getWidth());
+        manifest.addProperty("height", source.getHeight());
+        manifest.addProperty("chunkSize", chunkSize);
+        manifest.add("layers", presentLayers);
+        manifest.add("tileIds", ids);
+        manifest.add("metadata", source.getMetadata());
+        try (BufferedWriter writer = Files.newBufferedWriter(new File(outputDirectory, MANIFEST_FILE).toPath(),
+                                                                 StandardCharsets.UTF_8)) {
+            gson.toJson(manifest, writer);
+        }
+    }
+
+    /**
+     * Vérifier qu'une source de chunks contient exactement une carte JSON
+     * @param mapFile Fichier de carte JSON d'origine
+     * @param source Source de chunks à comparer
+     * @return true si toutes les tuiles et propriétés sont identiques
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static boolean verify(File mapFile, ChunkSource source) throws IOException {
+        return JsonMapSource.sameContent(new JsonMapSource(mapFile, source.getChunkSize()), source);
+    }
+
+    /**
+     * Convertir une carte JSON à la compilation
+     * @param args carte JSON, dossier de sortie, taille des chunks (optionnelle)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ChunkDirectorySource <carte.json> <sortie> [tailleChunk]");
+            return;
+        }
+
+        File mapFile = new File(args[0]);
+        File output = new File(args[1]);
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : TileSystem.CHUNK_SIZE;
+        convert(mapFile, output, chunkSize);
+
+        boolean identical = verify(mapFile, new ChunkDirectorySource(output));
+        System.out.println("Carte " + mapFile.getName() + " convertie dans " + output
+                           + (identical ? " (vérifiée)" : " (DIFFÉRENCES DÉTECTÉES)"));
+    }
+}
@@ -0,0 +1,416 @@
+package com.ryuukonpalace.game.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Charge et décharge les chunks d'une carte autour d'un point (en général la caméra).
+ * La lecture des chunks se fait sur un thread d'arrière-plan ; les chunks chargés sont
+ * ensuite intégrés par {@link #update(int, int)} sur le thread du jeu, si bien que les
+ * chunks résidents ne sont jamais modifiés pendant une frame.
+ *
+ * Deux limites s'appliquent :
+ * - un rayon de résidence (en chunks) autour du centre ; les chunks au-delà du rayon + 1
+ *   sont déchargés (la marge évite de recharger en boucle un chunk au bord du rayon) ;
+ * - un budget mémoire ; s'il est dépassé, les chunks les plus éloignés sont déchargés.
+ *
+ * Les sources sont en lecture seule : un chunk modifié ({@link MapChunk#isModified()}) n'est pas
+ * relu depuis la source après son déchargement, il est conservé à part et redevient résident
+ * tel quel. Ces chunks ne comptent pas dans le budget mémoire.
+ */
+public class ChunkPager {
+
+    // Valeurs par défaut
+    public static final int DEFAULT_RESIDENT_RADIUS = 2;
+    public static final long DEFAULT_MEMORY_BUDGET = 16L * 1024 * 1024;
+
+    /**
+     * Écouteur des chargements et déchargements (appelé sur le thread du jeu)
+     */
+    public interface Listener {
+        /**
+         * Un chunk vient d'être rendu disponible
+         * @param chunk Chunk chargé
+         */
+        void onChunkLoaded(MapChunk chunk);
+
+        /**
+         * Un chunk vient d'être déchargé
+         * @param chunk Chunk déchargé
+         */
+        void onChunkEvicted(MapChunk chunk);
+    }
+
+    private final ChunkSource source;
+    private final int chunksX;
+    private final int chunksY;
+
+    // Taille estimée d'un chunk (la plus grande observée), pour ne pas demander plus que le budget
+    private long estimatedChunkBytes;
+
+    private int residentRadius = DEFAULT_RESIDENT_RADIUS;
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private Listener listener;
+
+    // Chunks résidents (thread du jeu uniquement)
+    private final Map<Long, MapChunk> resident = new HashMap<>();
+    private long residentBytes = 0;
+
+    // Chunks modifiés puis déchargés (thread du jeu uniquement)
+    private final Map<Long, MapChunk> modified = new HashMap<>();
+
+    // Chunks demandés au thread de chargement et pas encore intégrés
+    private final Set<Long> pending = new HashSet<>();
+    private final ConcurrentLinkedQueue<MapChunk> loaded = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> failed = new ConcurrentLinkedQueue<>();
+
+    // Thread de chargement
+    private final ExecutorService loader;
+
+    // Centre courant en chunks
+    private int centerX = 0;
+    private int centerY = 0;
+
+    // Statistiques
+    private int loadCount = 0;
+    private int evictionCount = 0;
+    private int failureCount = 0;
+
+    /**
+     * Constructeur
+     * @param source Source des chunks
+     */
+    public ChunkPager(ChunkSource source) {
+        this.source = source;
+        this.chunksX = (source.getWidth() + source.getChunkSize() - 1) / source.getChunkSize();
+        this.chunksY = (source.getHeight() + source.getChunkSize() - 1) / source.getChunkSize();
+        this.estimatedChunkBytes = (long) source.getChunkSize() * source.getChunkSize() * TileSystem.LAYER_COUNT;
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChunkPager");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Définir le rayon de résidence
+     * @param radius Nombre de chunks chargés autour du centre dans chaque direction
+     */
+    public void setResidentRadius(int radius) {
+        this.residentRadius = Math.max(0, radius);
+    }
+
+    /**
+     * Obtenir le rayon de résidence
+     * @return Rayon en chunks
+     */
+    public int getResidentRadius() {
+        return residentRadius;
+    }
+
+    /**
+     * Définir le budget mémoire des chunks résidents
+     * @param bytes Budget en octets
+     */
+    public void setMemoryBudget(long bytes) {
+        this.memoryBudget = bytes;
+    }
+
+    /**
+     * Obtenir le budget mémoire des chunks résidents
+     * @return Budget en octets
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Définir l'écouteur des chargements et déchargements
+     * @param listener Écouteur (ou null)
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Mettre à jour les chunks résidents autour d'une position (thread du jeu)
+     * @param tileX Position X du centre en tuiles
+     * @param tileY Position Y du centre en tuiles
+     */
+    public void update(int tileX, int tileY) {
+        centerX = clamp(tileX / source.getChunkSize(), chunksX);
+        centerY = clamp(tileY / source.getChunkSize(), chunksY);
+
+        // 1. Intégrer les chunks chargés depuis la dernière mise à jour
+        MapChunk chunk;
+        while ((chunk = loaded.poll()) != null) {
+            long key = key(chunk.getChunkX(), chunk.getChunkY());
+            pending.remove(key);
+            if (distance(chunk.getChunkX(), chunk.getChunkY()) > residentRadius + 1) {
+                // Le centre s'est éloigné pendant le chargement
+                continue;
+            }
+            if (resident.containsKey(key) || modified.containsKey(key)) {
+                // Déjà chargé par loadChunk() pendant la lecture : cette copie est périmée
+                continue;
+            }
+            integrate(chunk);
+            loadCount++;
+        }
+        Long failedKey;
+        while ((failedKey = failed.poll()) != null) {
+            pending.remove(failedKey);
+            failureCount++;
+        }
+
+        // 2. Décharger les chunks hors du rayon
+        List<MapChunk> outside = new ArrayList<>();
+        for (MapChunk residentChunk : resident.values()) {
+            if (distance(residentChunk.getChunkX(), residentChunk.getChunkY()) > residentRadius + 1) {
+                outside.add(residentChunk);
+            }
+        }
+        for (MapChunk residentChunk : outside) {
+            evict(residentChunk);
+        }
+
+        // 3. Respecter le budget mémoire en déchargeant les plus éloignés
+        while (residentBytes > memoryBudget && resident.size() > 1) {
+            MapChunk farthest = null;
+            for (MapChunk residentChunk : resident.values()) {
+                if (farthest == null || distance(residentChunk.getChunkX(), residentChunk.getChunkY())
+                        > distance(farthest.getChunkX(), farthest.getChunkY())) {
+                    farthest = residentChunk;
+                }
+            }
+            evict(farthest);
+        }
+
+        // 4. Demander les chunks manquants, du plus proche au plus éloigné, tant que le budget le permet
+        for (int ring = 0; ring <= residentRadius; ring++) {
+            for (int cy = centerY - ring; cy <= centerY + ring; cy++) {
+                for (int cx = centerX - ring; cx <= centerX + ring; cx++) {
+                    if (distance(cx, cy) != ring) {
+                        continue;
+                    }
+                    // Le chunk du centre est toujours demandé ; les autres seulement s'ils tiennent dans le budget
+                    if (ring > 0 && residentBytes + (pending.size() + 1) * estimatedChunkBytes > memoryBudget) {
+                        return;
+                    }
+                    request(cx, cy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Demander le chargement d'un chunk s'il n'est ni résident ni en cours de chargement
+     * @param cx Colonne du chunk
+     * @param cy Ligne du chunk
+     */
+    private void request(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= chunksX || cy >= chunksY) {
+            return;
+        }
+        long key = key(cx, cy);
+        if (resident.containsKey(key)) {
+            return;
+        }
+
+        // Un chunk modifié redevient résident sans être relu
+        MapChunk modifiedChunk = modified.remove(key);
+        if (modifiedChunk != null) {
+            integrate(modifiedChunk);
+            return;
+        }
+        if (!pending.add(key)) {
+            return;
+        }
+
+        loader.execute(() -> {
+            try {
+                loaded.add(source.loadChunk(cx, cy));
+            } catch (Exception e) {
+                System.err.println("Erreur lors du chargement du chunk " + cx + "," + cy + ": " + e.getMessage());
+                e.printStackTrace();
+                failed.add(key);
+            }
+        });
+    }
+
+    /**
+     * Rendre un chunk résident
+     * @param chunk Chunk chargé ou modifié
+     */
+    private void integrate(MapChunk chunk) {
+        resident.put(key(chunk.getChunkX(), chunk.getChunkY()), chunk);
+        residentBytes += chunk.getMemoryFootprint();
+        estimatedChunkBytes = Math.max(estimatedChunkBytes, chunk.getMemoryFootprint());
+        if (listener != null) {
+            listener.onChunkLoaded(chunk);
+        }
+    }
+
+    /**
+     * Décharger un chunk résident (un chunk modifié est conservé à part)
+     * @param chunk Chunk à décharger
+     */
+    private void evict(MapChunk chunk) {
+        long key = key(chunk.getChunkX(), chunk.getChunkY());
+        resident.remove(key);
+        residentBytes -= chunk.getMemoryFootprint();
+        if (chunk.isModified()) {
+            modified.put(key, chunk);
+        }
+        evictionCount++;
+        if (listener != null) {
+            listener.onChunkEvicted(chunk);
+        }
+    }
+
+    /**
+     * Attendre que tous les chunks demandés soient chargés puis les intégrer.
+     * Utile au premier chargement d'une carte, pour ne pas afficher une frame vide.
+     * @param tileX Position X du centre en tuiles
+     * @param tileY Position Y du centre en tuiles
+     */
+    public void loadBlocking(int tileX, int tileY) {
+        update(tileX, tileY);
+        while (!pending.isEmpty()) {
+            if (loaded.isEmpty() && failed.isEmpty()) {
+                Thread.yield();
+                continue;
+            }
+            update(tileX, tileY);
+        }
+    }
+
+    /**
+     * Obtenir un chunk résident
+     * @param cx Colonne du chunk
+     * @param cy Ligne du chunk
+     * @return Chunk, ou null s'il n'est pas chargé
+     */
+    public MapChunk getChunk(int cx, int cy) {
+        return resident.get(key(cx, cy));
+    }
+
+    /**
+     * Obtenir un chunk, en le chargeant immédiatement sur le thread appelant s'il n'est pas
+     * résident (thread du jeu). Sert aux modifications de tuiles hors de la zone chargée :
+     * le chunk est déchargé à la prochaine mise à jour s'il est trop loin, et ses modifications
+     * sont conservées.
+     * @param cx Colonne du chunk
+     * @param cy Ligne du chunk
+     * @return Chunk, ou null s'il est hors de la carte ou n'a pas pu être lu
+     */
+    public MapChunk loadChunk(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= chunksX || cy >= chunksY) {
+            return null;
+        }
+        long key = key(cx, cy);
+        MapChunk chunk = resident.get(key);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        chunk = modified.remove(key);
+        if (chunk == null) {
+            try {
+                chunk = source.loadChunk(cx, cy);
+            } catch (Exception e) {
+                System.err.println("Erreur lors du chargement du chunk " + cx + "," + cy + ": " + e.getMessage());
+                failureCount++;
+                return null;
+            }
+            loadCount++;
+        }
+        integrate(chunk);
+        return chunk;
+    }
+
+    /**
+     * Obtenir le nombre de chunks modifiés conservés hors de la zone chargée
+     * @return Nombre de chunks modifiés non résidents
+     */
+    public int getModifiedCount() {
+        return modified.size();
+    }
+
+    /**
+     * Obtenir les chunks résidents
+     * @return Liste des chunks chargés
+     */
+    public List<MapChunk> getResidentChunks() {
+        return new ArrayList<>(resident.values());
+    }
+
+    /**
+     * Obtenir le nombre de chunks résidents
+     * @return Nombre de chunks chargés
+     */
+    public int getResidentCount() {
+        return resident.size();
+    }
+
+    /**
+     * Obtenir la mémoire utilisée par les chunks résidents
+     * @return Taille en octets
+     */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Obtenir la source des chunks
+     * @return Source des chunks
+     */
+    public ChunkSource getSource() {
+        return source;
+    }
+
+    /**
+     * Obtenir les statistiques du pager
+     * @return Chaîne contenant les statistiques
+     */
+    public String getStats() {
+        return String.format("Chunks: %d resident (%d KB / %d KB), %d pending, %d modified, %d loaded, %d evicted, %d failed",
+                             resident.size(), residentBytes / 1024, memoryBudget / 1024, pending.size(),
+                             modified.size(), loadCount, evictionCount, failureCount);
+    }
+
+    /**
+     * Arrêter le thread de chargement et décharger tous les chunks
+     */
+    public void dispose() {
+        loader.shutdownNow();
+        for (MapChunk chunk : new ArrayList<>(resident.values())) {
+            evict(chunk);
+        }
+        pending.clear();
+        loaded.clear();
+        modified.clear();
+    }
+
+    /**
+     * Distance de Chebyshev entre un chunk et le centre
+     */
+    private int distance(int cx, int cy) {
+        return Math.max(Math.abs(cx - centerX), Math.abs(cy - centerY));
+    }
+
+    private static int clamp(int value, int count) {
+        return Math.max(0, Math.min(count - 1, value));
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
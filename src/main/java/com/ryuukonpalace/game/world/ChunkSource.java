@@ -0,0 +1,57 @@
+package com.ryuukonpalace.game.world;
+
+import java.io.IOException;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Source de chunks d'une carte découpée, lue à la demande par le {@link ChunkPager}.
+ * Les implémentations doivent pouvoir être appelées depuis un thread d'arrière-plan.
+ */
+public interface ChunkSource {
+
+    /**
+     * Obtenir la largeur de la carte
+     * @return Largeur en tuiles
+     */
+    int getWidth();
+
+    /**
+     * Obtenir la hauteur de la carte
+     * @return Hauteur en tuiles
+     */
+    int getHeight();
+
+    /**
+     * Obtenir la taille des chunks
+     * @return Côté d'un chunk en tuiles
+     */
+    int getChunkSize();
+
+    /**
+     * Obtenir les couches présentes dans la carte d'origine
+     * @return Masque de bits (bit n = couche n, voir TileSystem.LAYER_*)
+     */
+    int getLayerMask();
+
+    /**
+     * Obtenir les propriétés de la carte hors couches (nom, tilesets, bâtiments, PNJ...)
+     * @return Propriétés au format JSON
+     */
+    JsonObject getMetadata();
+
+    /**
+     * Obtenir les IDs distincts des tuiles visibles utilisées par la carte
+     * @return IDs triés
+     */
+    int[] getTileIds();
+
+    /**
+     * Charger un chunk
+     * @param chunkX Colonne du chunk
+     * @param chunkY Ligne du chunk
+     * @return Chunk chargé
+     * @throws IOException En cas d'erreur de lecture
+     */
+    MapChunk loadChunk(int chunkX, int chunkY) throws IOException;
+}
@@ -1,6 +1,8 @@
 package com.ryuukonpalace.game.world;
 
+import com.ryuukonpalace.game.core.RenderSnapshot;
 import com.ryuukonpalace.game.core.physics.Collider;
+import com.ryuukonpalace.game.core.physics.CollisionManager;
 
 /**
  * Classe de base pour tous les objets du jeu.
@@ -16,6 +18,15 @@ public abstract class GameObject {
     protected float width;
     protected float height;
     
+    // Position au tick de simulation précédent et position interpolée pour le rendu
+    protected float previousX;
+    protected float previousY;
+    protected float renderX;
+    protected float renderY;
+    
+    // Vrai si la position de rendu est calculée par la boucle à pas fixe
+    protected boolean interpolated = false;
+    
     // Collider
     protected Collider collider;
     
@@ -32,6 +43,8 @@ public abstract class GameObject {
     public GameObject(float x, float y, float width, float height) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.width = width;
         this.height = height;
         this.collisionGroup = "default";
@@ -47,6 +60,8 @@ public abstract class GameObject {
     public GameObject(float x, float y, int width, int height) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.width = width;
         this.height = height;
         this.collisionGroup = "default";
@@ -63,6 +78,8 @@ public abstract class GameObject {
     public GameObject(float x, float y, float width, float height, String collisionGroup) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.width = width;
         this.height = height;
         this.collisionGroup = collisionGroup;
@@ -97,6 +114,50 @@ public abstract class GameObject {
         return false;
     }
     
+    /**
+     * Mémoriser la position courante comme position du tick précédent.
+     * Appelée au début de chaque tick de simulation.
+     */
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+    
+    /**
+     * Calculer la position de rendu entre le tick précédent et le tick courant
+     * @param alpha Facteur d'interpolation (0 = tick précédent, 1 = tick courant)
+     */
+    public void interpolate(float alpha) {
+        renderX = previousX + (x - previousX) * alpha;
+        renderY = previousY + (y - previousY) * alpha;
+        interpolated = true;
+    }
+    
+    /**
+     * Copier l'état affichable de l'objet dans un snapshot de rendu.
+     * Appelée sur le thread de simulation ; par défaut l'objet n'est pas dessiné.
+     * @param snapshot Snapshot à compléter
+     */
+    public void captureRenderState(RenderSnapshot snapshot) {
+        // Rien à dessiner par défaut
+    }
+    
+    /**
+     * Obtenir la position X de rendu
+     * @return Position X interpolée, ou position courante si l'objet n'est pas interpolé
+     */
+    public float getRenderX() {
+        return interpolated ? renderX : x;
+    }
+    
+    /**
+     * Obtenir la position Y de rendu
+     * @return Position Y interpolée, ou position courante si l'objet n'est pas interpolé
+     */
+    public float getRenderY() {
+        return interpolated ? renderY : y;
+    }
+    
     /**
      * Obtenir le groupe de collision de cet objet
      * @return Le groupe de collision
@@ -113,9 +174,7 @@ public abstract class GameObject {
     
     public void setX(float x) {
         this.x = x;
-        if (collider != null) {
-            collider.setPosition(x, y);
-        }
+        syncCollider();
     }
     
     public float getY() {
@@ -124,17 +183,13 @@ public abstract class GameObject {
     
     public void setY(float y) {
         this.y = y;
-        if (collider != null) {
-            collider.setPosition(x, y);
-        }
+        syncCollider();
     }
     
     public void setPosition(float x, float y) {
         this.x = x;
         this.y = y;
-        if (collider != null) {
-            collider.setPosition(x, y);
-        }
+        syncCollider();
     }
     
     public float getWidth() {
@@ -145,6 +200,7 @@ public abstract class GameObject {
         this.width = width;
         if (collider != null) {
             collider.setSize(width, height);
+            CollisionManager.getInstance().markDirty(collider);
         }
     }
     
@@ -156,6 +212,7 @@ public abstract class GameObject {
         this.height = height;
         if (collider != null) {
             collider.setSize(width, height);
+            CollisionManager.getInstance().markDirty(collider);
         }
     }
     
@@ -164,6 +221,7 @@ public abstract class GameObject {
         this.height = height;
         if (collider != null) {
             collider.setSize(width, height);
+            CollisionManager.getInstance().markDirty(collider);
         }
     }
     
@@ -172,6 +230,21 @@ public abstract class GameObject {
     }
     
     public void setCollider(Collider collider) {
+        // Le nouveau collider reprend l'enregistrement de l'ancien
+        if (this.collider != null && collider != null) {
+            CollisionManager.getInstance().replaceCollider(this.collider, collider);
+        }
         this.collider = collider;
     }
+    
+    /**
+     * Placer le collider à la position de l'objet et signaler le déplacement
+     * au gestionnaire de collision
+     */
+    protected void syncCollider() {
+        if (collider != null) {
+            collider.setPosition(x, y);
+            CollisionManager.getInstance().markDirty(collider);
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package com.ryuukonpalace.game.world;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Carte JSON classique (une grille par couche) lue entièrement en mémoire et découpée
+ * en chunks à la demande. Sert de source aux convertisseurs vers les formats découpés
+ * et de référence pour vérifier leurs résultats.
+ * Les lignes manquantes d'une couche (cartes incomplètes) sont complétées par des 0.
+ */
+public class JsonMapSource implements ChunkSource {
+
+    private final int width;
+    private final int height;
+    private final int chunkSize;
+    private final int layerMask;
+    private final JsonObject metadata;
+    private final TileLayer[] layers = new TileLayer[TileSystem.LAYER_COUNT];
+    private final int[] tileIds;
+
+    /**
+     * Lire une carte JSON
+     * @param mapFile Fichier de carte JSON
+     * @param chunkSize Côté des chunks renvoyés par loadChunk
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public JsonMapSource(File mapFile, int chunkSize) throws IOException {
+        this.chunkSize = chunkSize;
+
+        JsonObject map;
+        try (BufferedReader reader = Files.newBufferedReader(mapFile.toPath(), StandardCharsets.UTF_8)) {
+            map = JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (RuntimeException e) {
+            throw new IOException("Carte JSON invalide: " + mapFile, e);
+        }
+
+        width = map.get("width").getAsInt();
+        height = map.get("height").getAsInt();
+
+        // Propriétés hors couches, conservées telles quelles
+        metadata = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : map.entrySet()) {
+            if (layerIndex(entry.getKey()) < 0) {
+                metadata.add(entry.getKey(), entry.getValue());
+            }
+        }
+
+        int mask = 0;
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+            layers[layer] = new TileLayer(width, height);
+            JsonArray rows = map.getAsJsonArray(TileSystem.LAYER_NAMES[layer]);
+            if (rows == null) {
+                continue;
+            }
+            mask |= 1 << layer;
+
+            for (int y = 0; y < Math.min(height, rows.size()); y++) {
+                JsonArray row = rows.get(y).getAsJsonArray();
+                for (int x = 0; x < Math.min(width, row.size()); x++) {
+                    int value = row.get(x).getAsInt();
+                    layers[layer].set(x, y, value);
+                    if (value != 0 && layer < TileSystem.LAYER_COLLISION) {
+                        ids.add(value);
+                    }
+                }
+            }
+        }
+        layerMask = mask;
+
+        tileIds = new int[ids.size()];
+        int i = 0;
+        for (int tileId : ids) {
+            tileIds[i++] = tileId;
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public int getLayerMask() {
+        return layerMask;
+    }
+
+    @Override
+    public JsonObject getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public int[] getTileIds() {
+        return tileIds.clone();
+    }
+
+    @Override
+    public MapChunk loadChunk(int chunkX, int chunkY) {
+        int startX = chunkX * chunkSize;
+        int startY = chunkY * chunkSize;
+        int chunkWidth = Math.min(chunkSize, width - startX);
+        int chunkHeight = Math.min(chunkSize, height - startY);
+        MapChunk chunk = new MapChunk(chunkX, chunkY, chunkWidth, chunkHeight);
+
+        int[] row = new int[chunkWidth];
+        for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+            for (int y = 0; y < chunkHeight; y++) {
+                layers[layer].getRow(startY + y, startX, chunkWidth, row, 0);
+                chunk.getLayer(layer).setRow(y, 0, chunkWidth, row, 0);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Obtenir l'index d'une couche à partir de son nom JSON
+     * @param name Nom de la propriété
+     * @return Index de la couche, ou -1 si ce n'est pas une couche
+     */
+    static int layerIndex(String name) {
+        for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+            if (TileSystem.LAYER_NAMES[layer].equals(name)) {
+                return layer;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Vérifier que deux sources de même taille de chunk ont exactement le même contenu
+     * @param expected Source de référence
+     * @param actual Source à comparer
+     * @return true si les dimensions, les couches présentes, les propriétés et toutes les tuiles sont identiques
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static boolean sameContent(ChunkSource expected, ChunkSource actual) throws IOException {
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()
+                || expected.getChunkSize() != actual.getChunkSize()
+                || expected.getLayerMask() != actual.getLayerMask()
+                || !expected.getMetadata().equals(actual.getMetadata())) {
+            return false;
+        }
+
+        int chunkSize = expected.getChunkSize();
+        for (int cy = 0; cy * chunkSize < expected.getHeight(); cy++) {
+            for (int cx = 0; cx * chunkSize < expected.getWidth(); cx++) {
+                MapChunk a = expected.loadChunk(cx, cy);
+                MapChunk b = actual.loadChunk(cx, cy);
+                if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight()) {
+                    return false;
+                }
+                for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+                    for (int y = 0; y < a.getHeight(); y++) {
+                        for (int x = 0; x < a.getWidth(); x++) {
+                            if (a.get(layer, x, y) != b.get(layer, x, y)) {
+                                return false;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
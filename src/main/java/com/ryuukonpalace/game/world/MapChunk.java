@@ -0,0 +1,133 @@
+package com.ryuukonpalace.game.world;
+
+/**
+ * Morceau carré d'une carte découpée en chunks : une {@link TileLayer} par couche
+ * de la carte, aux dimensions du chunk (plus petites sur les bords de la carte).
+ */
+public class MapChunk {
+
+    private final int chunkX;
+    private final int chunkY;
+    private final int width;
+    private final int height;
+    private final TileLayer[] layers;
+
+    // Vrai si le chunk a été modifié depuis son chargement
+    private boolean modified = false;
+
+    /**
+     * Constructeur (toutes les tuiles valent 0)
+     * @param chunkX Colonne du chunk
+     * @param chunkY Ligne du chunk
+     * @param width Largeur en tuiles
+     * @param height Hauteur en tuiles
+     */
+    public MapChunk(int chunkX, int chunkY, int width, int height) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.width = width;
+        this.height = height;
+        this.layers = new TileLayer[TileSystem.LAYER_COUNT];
+        for (int layer = 0; layer < layers.length; layer++) {
+            layers[layer] = new TileLayer(width, height);
+        }
+    }
+
+    /**
+     * Constructeur à partir de couches existantes
+     * @param chunkX Colonne du chunk
+     * @param chunkY Ligne du chunk
+     * @param layers Couches du chunk (une par couche de la carte)
+     */
+    public MapChunk(int chunkX, int chunkY, TileLayer[] layers) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.width = layers[0].getWidth();
+        this.height = layers[0].getHeight();
+        this.layers = layers;
+    }
+
+    /**
+     * Obtenir une couche du chunk
+     * @param layer Couche (0=terrain, 1=detail, 2=objectBack, 3=objectFront, 4=collision, 5=height)
+     * @return Couche de tuiles
+     */
+    public TileLayer getLayer(int layer) {
+        return layers[layer];
+    }
+
+    /**
+     * Obtenir la valeur d'une tuile
+     * @param layer Couche
+     * @param localX Position X dans le chunk
+     * @param localY Position Y dans le chunk
+     * @return Valeur de la tuile
+     */
+    public int get(int layer, int localX, int localY) {
+        return layers[layer].get(localX, localY);
+    }
+
+    /**
+     * Définir la valeur d'une tuile
+     * @param layer Couche
+     * @param localX Position X dans le chunk
+     * @param localY Position Y dans le chunk
+     * @param value Nouvelle valeur
+     */
+    public void set(int layer, int localX, int localY, int value) {
+        layers[layer].set(localX, localY, value);
+        modified = true;
+    }
+
+    /**
+     * Obtenir la colonne du chunk
+     * @return Colonne en chunks
+     */
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    /**
+     * Obtenir la ligne du chunk
+     * @return Ligne en chunks
+     */
+    public int getChunkY() {
+        return chunkY;
+    }
+
+    /**
+     * Obtenir la largeur du chunk
+     * @return Largeur en tuiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtenir la hauteur du chunk
+     * @return Hauteur en tuiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Vérifier si le chunk a été modifié depuis son chargement
+     * @return true si une tuile a été modifiée
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Obtenir la taille approximative des données du chunk
+     * @return Taille en octets
+     */
+    public long getMemoryFootprint() {
+        long total = 0;
+        for (TileLayer layer : layers) {
+            total += layer.getMemoryFootprint();
+        }
+        return total;
+    }
+}
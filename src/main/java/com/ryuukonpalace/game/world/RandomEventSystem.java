@@ -2,7 +2,7 @@ package com.ryuukonpalace.game.world;
 
 import com.ryuukonpalace.game.core.GameState;
 import com.ryuukonpalace.game.creatures.Creature;
-import com.ryuukonpalace.game.creatures.CreatureFactory;
+import com.ryuukonpalace.game.creatures.CreaturePool;
 import com.ryuukonpalace.game.creatures.CreatureType;
 import com.ryuukonpalace.game.items.Item;
 import com.ryuukonpalace.game.items.ItemFactory;
@@ -149,8 +149,10 @@ public class RandomEventSystem {
                     int creatureId = getRandomCreatureIdByType(type);
                     
                     if (creatureId > 0) {
-                        Creature creature = CreatureFactory.createCreature(creatureId, level);
+                        Creature creature = CreaturePool.getInstance().acquire(creatureId, level);
                         if (creature != null) {
+                            creature.setWild(true);
+                            
                             // Notifier le callback pour faire apparaître la créature
                             if (eventCallback != null) {
                                 eventCallback.onCreatureAppear(creature);
@@ -0,0 +1,122 @@
+package com.ryuukonpalace.game.world;
+
+import java.util.Random;
+
+/**
+ * Table de tirage pondéré par la méthode des alias (Vose).
+ * La construction est en O(n) et chaque tirage en O(1) : un index uniforme puis une
+ * comparaison avec la probabilité de garder cet index plutôt que son alias.
+ * Les tableaux sont réutilisés d'une construction à l'autre.
+ */
+public class SpawnTable {
+
+    // Probabilité de garder l'index tiré (sinon son alias est choisi)
+    private float[] probability = new float[0];
+
+    // Index de remplacement de chaque case
+    private int[] alias = new int[0];
+
+    // Piles de travail pour la construction
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+    private double[] scaled = new double[0];
+
+    // Nombre d'entrées de la table
+    private int size = 0;
+
+    // Somme des poids
+    private double totalWeight = 0;
+
+    /**
+     * Construire la table à partir des poids des entrées
+     * @param weights Poids des entrées (les poids négatifs comptent comme nuls)
+     * @param count Nombre d'entrées à utiliser dans le tableau
+     */
+    public void build(float[] weights, int count) {
+        if (probability.length < count) {
+            probability = new float[count];
+            alias = new int[count];
+            small = new int[count];
+            large = new int[count];
+            scaled = new double[count];
+        }
+
+        totalWeight = 0;
+        for (int i = 0; i < count; i++) {
+            totalWeight += Math.max(0.0f, weights[i]);
+        }
+        if (totalWeight <= 0) {
+            // Aucune entrée ne peut être tirée
+            size = 0;
+            return;
+        }
+        size = count;
+
+        // Poids ramenés à une moyenne de 1, répartis entre cases sous-remplies et sur-remplies
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < count; i++) {
+            scaled[i] = Math.max(0.0f, weights[i]) * count / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Compléter chaque case sous-remplie avec une case sur-remplie
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = (float) scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Les cases restantes sont pleines (aux erreurs d'arrondi près)
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0f;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0f;
+            alias[index] = index;
+        }
+    }
+
+    /**
+     * Tirer une entrée au hasard selon les poids
+     * @param random Générateur de nombres aléatoires
+     * @return Index de l'entrée tirée, ou -1 si la table est vide ou tous les poids sont nuls
+     */
+    public int sample(Random random) {
+        if (size == 0) {
+            return -1;
+        }
+        int index = random.nextInt(size);
+        return random.nextFloat() < probability[index] ? index : alias[index];
+    }
+
+    /**
+     * Obtenir le nombre d'entrées pouvant être tirées
+     * @return Nombre d'entrées (0 si tous les poids sont nuls)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtenir la somme des poids
+     * @return Somme des poids
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+}
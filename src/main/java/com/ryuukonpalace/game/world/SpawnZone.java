@@ -1,7 +1,9 @@
 package com.ryuukonpalace.game.world;
 
+import com.ryuukonpalace.game.core.RenderSnapshot;
 import com.ryuukonpalace.game.creatures.Creature;
 import com.ryuukonpalace.game.creatures.CreatureFactory;
+import com.ryuukonpalace.game.creatures.CreaturePool;
 import com.ryuukonpalace.game.creatures.CreatureType;
 import com.ryuukonpalace.game.creatures.ai.CreatureAI;
 import com.ryuukonpalace.game.creatures.ai.CreatureAIManager;
@@ -41,6 +43,11 @@ public class SpawnZone extends GameObject {
     // Modificateurs de spawn basés sur le temps et la météo
     private Map<CreatureType, Float> spawnModifiers;
     
+    // Table de tirage des créatures (poids modifiés), reconstruite quand les entrées ou les modificateurs changent
+    private SpawnTable spawnTable;
+    private float[] spawnWeights;
+    private boolean spawnTableDirty;
+    
     // Générateur de nombres aléatoires
     private Random random;
     
@@ -67,6 +74,9 @@ public class SpawnZone extends GameObject {
         this.random = new Random();
         this.isPlayerInZone = false;
         this.spawnModifiers = new HashMap<>();
+        this.spawnTable = new SpawnTable();
+        this.spawnWeights = new float[0];
+        this.spawnTableDirty = true;
         
         // Initialiser les modificateurs de spawn par défaut
         for (CreatureType type : CreatureType.values()) {
@@ -89,7 +99,7 @@ public class SpawnZone extends GameObject {
         this.possibleCreatures = new ArrayList<>();
         
         // Créer la créature visible
-        this.visibleCreature = CreatureFactory.createCreature(creatureId);
+        this.visibleCreature = CreaturePool.getInstance().acquire(creatureId, 5);
         
         // Positionner la créature au centre de la zone
         if (visibleCreature != null) {
@@ -110,6 +120,29 @@ public class SpawnZone extends GameObject {
         }
     }
     
+    @Override
+    public void savePreviousPosition() {
+        super.savePreviousPosition();
+        if (visibleCreature != null) {
+            visibleCreature.savePreviousPosition();
+        }
+    }
+    
+    @Override
+    public void interpolate(float alpha) {
+        super.interpolate(alpha);
+        if (visibleCreature != null) {
+            visibleCreature.interpolate(alpha);
+        }
+    }
+    
+    @Override
+    public void captureRenderState(RenderSnapshot snapshot) {
+        if (type == SpawnZoneType.VISIBLE_CREATURE && visibleCreature != null) {
+            visibleCreature.captureRenderState(snapshot);
+        }
+    }
+    
     @Override
     public void render() {
         // Rendu de la créature visible si elle existe
@@ -125,6 +158,11 @@ public class SpawnZone extends GameObject {
     public void onCollision(GameObject other) {
         // Réagir aux collisions avec le joueur
         if (other.getCollisionGroup().equals("player")) {
+            // Réveiller les créatures de la zone quand le joueur y entre
+            if (!isPlayerInZone) {
+                CreatureAIManager.getInstance().wakeCreaturesInZone(this);
+            }
+            
             // Marquer que le joueur est dans la zone
             isPlayerInZone = true;
             
@@ -134,6 +172,8 @@ public class SpawnZone extends GameObject {
                 if (creature != null) {
                     // Notifier le jeu qu'une créature est apparue
                     // Note: Ceci sera géré par un callback ou un événement
+                    // En attendant, la créature n'est pas utilisée : la rendre au pool
+                    CreaturePool.getInstance().release(creature);
                 }
             }
         } else {
@@ -152,6 +192,7 @@ public class SpawnZone extends GameObject {
      */
     public void addPossibleCreature(int creatureId, int spawnWeight, int minLevel, int maxLevel) {
         possibleCreatures.add(new SpawnEntry(creatureId, spawnWeight, minLevel, maxLevel));
+        spawnTableDirty = true;
     }
     
     /**
@@ -161,24 +202,52 @@ public class SpawnZone extends GameObject {
      * @param weatherSystem Système de météo
      */
     public void updateSpawnProbabilities(TimeSystem timeSystem, WeatherSystem weatherSystem) {
-        // Réinitialiser les modificateurs
+        boolean changed = false;
         for (CreatureType type : CreatureType.values()) {
-            spawnModifiers.put(type, 1.0f);
+            // Combiner les modificateurs de temps et de météo
+            float modifier = timeSystem.getSpawnModifier(type) * weatherSystem.getSpawnModifier(type);
+            
+            Float currentModifier = spawnModifiers.put(type, modifier);
+            if (currentModifier == null || currentModifier != modifier) {
+                changed = true;
+            }
         }
         
-        // Appliquer les modificateurs de temps
-        for (CreatureType type : CreatureType.values()) {
-            float timeModifier = timeSystem.getSpawnModifier(type);
-            float currentModifier = spawnModifiers.get(type);
-            spawnModifiers.put(type, currentModifier * timeModifier);
+        // Les poids de tirage ne sont recalculés que si un modificateur a changé
+        if (changed) {
+            spawnTableDirty = true;
+        }
+    }
+    
+    /**
+     * Reconstruire la table de tirage à partir des entrées et des modificateurs.
+     * Le type de chaque créature est lu dans sa définition, sans créer de créature.
+     */
+    private void rebuildSpawnTable() {
+        if (spawnWeights.length < possibleCreatures.size()) {
+            spawnWeights = new float[possibleCreatures.size()];
         }
         
-        // Appliquer les modificateurs de météo
-        for (CreatureType type : CreatureType.values()) {
-            float weatherModifier = weatherSystem.getSpawnModifier(type);
-            float currentModifier = spawnModifiers.get(type);
-            spawnModifiers.put(type, currentModifier * weatherModifier);
+        CreatureFactory factory = CreatureFactory.getInstance();
+        for (int i = 0; i < possibleCreatures.size(); i++) {
+            SpawnEntry entry = possibleCreatures.get(i);
+            if (entry.creatureType == null) {
+                CreatureFactory.CreatureDefinition definition = factory.getCreatureDefinition(entry.creatureId);
+                entry.creatureType = definition != null ? definition.type : null;
+            }
+            
+            // Obtenir le modificateur pour le type de cette créature
+            float typeModifier = 1.0f;
+            if (entry.creatureType != null && spawnModifiers.containsKey(entry.creatureType)) {
+                typeModifier = spawnModifiers.get(entry.creatureType);
+            }
+            
+            // Appliquer le modificateur au poids d'apparition
+            spawnWeights[i] = entry.spawnWeight * typeModifier;
         }
+        
+        spawnTable.build(spawnWeights, possibleCreatures.size());
+        spawnTableDirty = false;
     }
     
     /**
@@ -205,78 +274,50 @@ public class SpawnZone extends GameObject {
                 stepsInZone = 0;
                 
                 // Sélectionner une créature en fonction des poids d'apparition
-                if (!possibleCreatures.isEmpty()) {
-                    // Calculer la somme totale des poids d'apparition
-                    int totalWeight = 0;
-                    for (SpawnEntry entry : possibleCreatures) {
-                        // Obtenir le modificateur pour le type de cette créature
-                        Creature tempCreature = CreatureFactory.createCreature(entry.creatureId);
-                        float typeModifier = 1.0f;
-                        if (tempCreature != null) {
-                            CreatureType creatureType = tempCreature.getType();
-                            if (spawnModifiers.containsKey(creatureType)) {
-                                typeModifier = spawnModifiers.get(creatureType);
-                            }
-                        }
-                        
-                        // Appliquer le modificateur au poids d'apparition
-                        totalWeight += entry.spawnWeight * typeModifier;
+                if (spawnTableDirty) {
+                    rebuildSpawnTable();
+                }
+                int index = spawnTable.sample(random);
+                if (index >= 0) {
+                    SpawnEntry entry = possibleCreatures.get(index);
+                    
+                    // Créer la créature avec un niveau aléatoire entre min et max
+                    int level = entry.minLevel;
+                    if (entry.maxLevel > entry.minLevel) {
+                        level += random.nextInt(entry.maxLevel - entry.minLevel + 1);
                     }
                     
-                    // Générer un nombre aléatoire entre 0 et la somme totale des poids
-                    int randomWeight = random.nextInt(totalWeight + 1);
+                    Creature creature = CreaturePool.getInstance().acquire(entry.creatureId, level);
                     
-                    // Parcourir les créatures pour trouver celle qui correspond au poids sélectionné
-                    int currentWeight = 0;
-                    for (SpawnEntry entry : possibleCreatures) {
-                        // Obtenir le modificateur pour le type de cette créature
-                        Creature tempCreature = CreatureFactory.createCreature(entry.creatureId);
-                        float typeModifier = 1.0f;
-                        if (tempCreature != null) {
-                            CreatureType creatureType = tempCreature.getType();
-                            if (spawnModifiers.containsKey(creatureType)) {
-                                typeModifier = spawnModifiers.get(creatureType);
-                            }
-                        }
+                    if (creature != null) {
+                        // Positionner la créature au centre de la zone
+                        float creatureX = x + (width - creature.getWidth()) / 2;
+                        float creatureY = y + (height - creature.getHeight()) / 2;
+                        creature.setPosition(creatureX, creatureY);
+                        
+                        // Marquer la créature comme sauvage
+                        creature.setWild(true);
                         
-                        // Appliquer le modificateur au poids d'apparition
-                        currentWeight += entry.spawnWeight * typeModifier;
+                        // Déterminer le comportement de la créature (70% fuite, 30% agressive)
+                        CreatureAI.BehaviorType behaviorType = random.nextFloat() < 0.7f ? 
+                            CreatureAI.BehaviorType.FLEE : CreatureAI.BehaviorType.AGGRESSIVE;
                         
-                        if (randomWeight <= currentWeight) {
-                            // Créer la créature avec un niveau aléatoire entre min et max
-                            int level = entry.minLevel;
-                            if (entry.maxLevel > entry.minLevel) {
-                                level += random.nextInt(entry.maxLevel - entry.minLevel + 1);
-                            }
-                            
-                            Creature creature = CreatureFactory.createCreature(entry.creatureId, level);
-                            
-                            if (creature != null) {
-                                // Positionner la créature au centre de la zone
-                                float creatureX = x + (width - creature.getWidth()) / 2;
-                                float creatureY = y + (height - creature.getHeight()) / 2;
-                                creature.setPosition(creatureX, creatureY);
-                                
-                                // Marquer la créature comme sauvage
-                                creature.setWild(true);
-                                
-                                // Déterminer le comportement de la créature (70% fuite, 30% agressive)
-                                CreatureAI.BehaviorType behaviorType = random.nextFloat() < 0.7f ? 
-                                    CreatureAI.BehaviorType.FLEE : CreatureAI.BehaviorType.AGGRESSIVE;
-                                
-                                // Créer et attacher l'IA à la créature
-                                float moveSpeed = 50.0f + random.nextFloat() * 30.0f; // Vitesse entre 50 et 80
-                                float detectionRange = 150.0f + random.nextFloat() * 50.0f; // Portée entre 150 et 200
-                                CreatureAI ai = new CreatureAI(creature, behaviorType, moveSpeed, detectionRange);
-                                creature.setAI(ai);
-                                
-                                // Activer la créature
-                                creature.setActive(true);
-                            }
-                            
-                            return creature;
+                        // Créer et attacher l'IA à la créature (ou réutiliser celle d'une créature du pool)
+                        float moveSpeed = 50.0f + random.nextFloat() * 30.0f; // Vitesse entre 50 et 80
+                        float detectionRange = 150.0f + random.nextFloat() * 50.0f; // Portée entre 150 et 200
+                        CreatureAI ai = creature.getAI();
+                        if (ai != null) {
+                            ai.reset(behaviorType, moveSpeed, detectionRange);
+                        } else {
+                            ai = new CreatureAI(creature, behaviorType, moveSpeed, detectionRange);
+                            creature.setAI(ai);
                         }
+                        
+                        // Activer la créature
+                        creature.setActive(true);
                     }
+                    
+                    return creature;
                 }
             }
         }
@@ -303,8 +344,18 @@ public class SpawnZone extends GameObject {
         
         // Si le joueur n'est plus dans la zone et qu'une créature est visible
         if (!isPlayerInZone && visibleCreature != null) {
-            // Désactiver la créature visible
+            releaseVisibleCreature();
+        }
+    }
+    
+    /**
+     * Désactiver la créature visible et la rendre au pool
+     * (joueur sorti de la zone, ou zone retirée du monde)
+     */
+    public void releaseVisibleCreature() {
+        if (visibleCreature != null) {
             visibleCreature.setActive(false);
+            CreaturePool.getInstance().release(visibleCreature);
             visibleCreature = null;
         }
     }
@@ -364,6 +415,9 @@ public class SpawnZone extends GameObject {
         int minLevel;
         int maxLevel;
         
+        // Type lu dans la définition de la créature (résolu à la première construction de la table)
+        CreatureType creatureType;
+        
         public SpawnEntry(int creatureId, int spawnWeight, int minLevel, int maxLevel) {
             this.creatureId = creatureId;
             this.spawnWeight = spawnWeight;
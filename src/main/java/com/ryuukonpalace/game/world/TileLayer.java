@@ -0,0 +1,323 @@
+package com.ryuukonpalace.game.world;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Couche de tuiles stockée dans un seul tableau plat (index = y * largeur + x).
+ * Les valeurs sont rangées sur 8 bits tant qu'elles tiennent dans un byte, puis la couche
+ * passe automatiquement sur 16 bits puis 32 bits si une valeur plus grande est écrite :
+ * le stockage reste compact pour les petites valeurs (collision, hauteur, IDs de tuiles)
+ * sans jamais perdre d'information.
+ *
+ * Une couche peut aussi lire directement un ByteBuffer (par exemple une portion d'un
+ * fichier projeté en mémoire) sans copie ; elle est recopiée dans un tableau à la
+ * première écriture.
+ */
+public class TileLayer {
+
+    private final int width;
+    private final int height;
+
+    // Un seul de ces tableaux est utilisé à la fois, selon la largeur des valeurs
+    private byte[] bytes;
+    private short[] shorts;
+    private int[] ints;
+
+    // Données lues directement dans un buffer (big-endian), tant que la couche n'est pas modifiée
+    private ByteBuffer mapped;
+    private int mappedBytesPerTile;
+
+    /**
+     * Constructeur (toutes les tuiles valent 0)
+     * @param width Largeur en tuiles
+     * @param height Hauteur en tuiles
+     */
+    public TileLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.bytes = new byte[width * height];
+    }
+
+    /**
+     * Constructeur lisant les valeurs directement dans un buffer, sans copie
+     * @param width Largeur en tuiles
+     * @param height Hauteur en tuiles
+     * @param data Valeurs big-endian, ligne par ligne (à partir de l'index 0 du buffer)
+     * @param bytesPerTile Nombre d'octets par valeur (1, 2 ou 4)
+     */
+    public TileLayer(int width, int height, ByteBuffer data, int bytesPerTile) {
+        this.width = width;
+        this.height = height;
+        this.mapped = data;
+        this.mappedBytesPerTile = bytesPerTile;
+    }
+
+    /**
+     * Obtenir la valeur d'une tuile (sans vérification des limites)
+     * @param x Position X en tuiles
+     * @param y Position Y en tuiles
+     * @return Valeur de la tuile
+     */
+    public int get(int x, int y) {
+        return get(y * width + x);
+    }
+
+    /**
+     * Obtenir la valeur d'une tuile à partir de son index plat
+     * @param index Index de la tuile (y * largeur + x)
+     * @return Valeur de la tuile
+     */
+    public int get(int index) {
+        if (bytes != null) {
+            return bytes[index];
+        }
+        if (shorts != null) {
+            return shorts[index];
+        }
+        if (ints != null) {
+            return ints[index];
+        }
+        return readMapped(index);
+    }
+
+    /**
+     * Lire une valeur dans le buffer
+     * @param index Index de la tuile
+     * @return Valeur de la tuile
+     */
+    private int readMapped(int index) {
+        switch (mappedBytesPerTile) {
+            case 1:
+                return mapped.get(index);
+            case 2:
+                return mapped.getShort(index * 2);
+            default:
+                return mapped.getInt(index * 4);
+        }
+    }
+
+    /**
+     * Recopier les données du buffer dans un tableau avant une modification
+     */
+    private void materialize() {
+        int count = width * height;
+        switch (mappedBytesPerTile) {
+            case 1:
+                bytes = new byte[count];
+                for (int i = 0; i < count; i++) {
+                    bytes[i] = mapped.get(i);
+                }
+                break;
+            case 2:
+                shorts = new short[count];
+                for (int i = 0; i < count; i++) {
+                    shorts[i] = mapped.getShort(i * 2);
+                }
+                break;
+            default:
+                ints = new int[count];
+                for (int i = 0; i < count; i++) {
+                    ints[i] = mapped.getInt(i * 4);
+                }
+                break;
+        }
+        mapped = null;
+    }
+
+    /**
+     * Définir la valeur d'une tuile (sans vérification des limites)
+     * @param x Position X en tuiles
+     * @param y Position Y en tuiles
+     * @param value Nouvelle valeur
+     */
+    public void set(int x, int y, int value) {
+        set(y * width + x, value);
+    }
+
+    /**
+     * Définir la valeur d'une tuile à partir de son index plat
+     * @param index Index de la tuile (y * largeur + x)
+     * @param value Nouvelle valeur
+     */
+    public void set(int index, int value) {
+        if (mapped != null) {
+            materialize();
+        }
+        widenFor(value);
+        if (bytes != null) {
+            bytes[index] = (byte) value;
+        } else if (shorts != null) {
+            shorts[index] = (short) value;
+        } else {
+            ints[index] = value;
+        }
+    }
+
+    /**
+     * Élargir le stockage si la valeur ne tient pas dans la largeur actuelle
+     * @param value Valeur à stocker
+     */
+    private void widenFor(int value) {
+        if (bytes != null && (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE)) {
+            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                shorts = new short[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    shorts[i] = bytes[i];
+                }
+            } else {
+                ints = new int[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    ints[i] = bytes[i];
+                }
+            }
+            bytes = null;
+        } else if (shorts != null && (value < Short.MIN_VALUE || value > Short.MAX_VALUE)) {
+            ints = new int[shorts.length];
+            for (int i = 0; i < shorts.length; i++) {
+                ints[i] = shorts[i];
+            }
+            shorts = null;
+        }
+    }
+
+    /**
+     * Copier une portion de ligne dans un tableau
+     * @param y Ligne en tuiles
+     * @param startX Première colonne
+     * @param count Nombre de tuiles à copier
+     * @param dest Tableau de destination
+     * @param destOffset Position de départ dans le tableau de destination
+     */
+    public void getRow(int y, int startX, int count, int[] dest, int destOffset) {
+        int index = y * width + startX;
+        if (bytes != null) {
+            for (int i = 0; i < count; i++) {
+                dest[destOffset + i] = bytes[index + i];
+            }
+        } else if (shorts != null) {
+            for (int i = 0; i < count; i++) {
+                dest[destOffset + i] = shorts[index + i];
+            }
+        } else if (ints != null) {
+            System.arraycopy(ints, index, dest, destOffset, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                dest[destOffset + i] = readMapped(index + i);
+            }
+        }
+    }
+
+    /**
+     * Copier une région rectangulaire dans un tableau (ligne par ligne)
+     * @param x Première colonne
+     * @param y Première ligne
+     * @param regionWidth Largeur de la région en tuiles
+     * @param regionHeight Hauteur de la région en tuiles
+     * @param dest Tableau de destination (au moins regionWidth * regionHeight éléments)
+     */
+    public void getRegion(int x, int y, int regionWidth, int regionHeight, int[] dest) {
+        for (int row = 0; row < regionHeight; row++) {
+            getRow(y + row, x, regionWidth, dest, row * regionWidth);
+        }
+    }
+
+    /**
+     * Écrire une portion de ligne à partir d'un tableau
+     * @param y Ligne en tuiles
+     * @param startX Première colonne
+     * @param count Nombre de tuiles à écrire
+     * @param src Tableau source
+     * @param srcOffset Position de départ dans le tableau source
+     */
+    public void setRow(int y, int startX, int count, int[] src, int srcOffset) {
+        int index = y * width + startX;
+        for (int i = 0; i < count; i++) {
+            set(index + i, src[srcOffset + i]);
+        }
+    }
+
+    /**
+     * Obtenir la largeur de la couche
+     * @return Largeur en tuiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtenir la hauteur de la couche
+     * @return Hauteur en tuiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Obtenir le nombre d'octets utilisés par valeur
+     * @return 1, 2 ou 4
+     */
+    public int getBytesPerTile() {
+        if (mapped != null) {
+            return mappedBytesPerTile;
+        }
+        return bytes != null ? 1 : shorts != null ? 2 : 4;
+    }
+
+    /**
+     * Vérifier si la couche lit encore ses valeurs directement dans un buffer
+     * @return true si aucune copie n'a été faite
+     */
+    public boolean isMapped() {
+        return mapped != null;
+    }
+
+    /**
+     * Écrire les valeurs de la couche en big-endian, sur le nombre d'octets donné
+     * @param dest Buffer de destination
+     * @param bytesPerTile Nombre d'octets par valeur (1, 2 ou 4)
+     */
+    public void writeTo(ByteBuffer dest, int bytesPerTile) {
+        int count = width * height;
+        for (int i = 0; i < count; i++) {
+            int value = get(i);
+            if (bytesPerTile == 1) {
+                dest.put((byte) value);
+            } else if (bytesPerTile == 2) {
+                dest.putShort((short) value);
+            } else {
+                dest.putInt(value);
+            }
+        }
+    }
+
+    /**
+     * Calculer le plus petit nombre d'octets par valeur suffisant pour cette couche
+     * @return 0 si toutes les valeurs sont nulles, sinon 1, 2 ou 4
+     */
+    public int getRequiredBytesPerTile() {
+        int count = width * height;
+        int required = 0;
+        for (int i = 0; i < count && required < 4; i++) {
+            int value = get(i);
+            if (value == 0) {
+                continue;
+            }
+            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                required = Math.max(required, 1);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                required = Math.max(required, 2);
+            } else {
+                required = 4;
+            }
+        }
+        return required;
+    }
+
+    /**
+     * Obtenir la taille approximative des données de la couche
+     * @return Taille en octets
+     */
+    public long getMemoryFootprint() {
+        return (long) width * height * getBytesPerTile();
+    }
+}
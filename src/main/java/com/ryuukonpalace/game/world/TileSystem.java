@@ -2,16 +2,19 @@ package com.ryuukonpalace.game.world;
 
 import java.io.File;
 import java.io.FileReader;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.TreeSet;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import com.ryuukonpalace.game.core.LayeredRenderer;
+import com.ryuukonpalace.game.core.Renderer;
+import com.ryuukonpalace.game.core.StaticMesh;
 import com.ryuukonpalace.game.utils.SpriteLoader;
+import com.ryuukonpalace.game.utils.TextureAtlas;
+import com.ryuukonpalace.game.utils.TextureRegion;
 
 /**
  * Système de tuiles pour créer des cartes avec un effet de perspective 2.5D
@@ -28,40 +31,80 @@ public class TileSystem {
     // Décalage isométrique
     private float isoOffsetY = 16.0f;  // Décalage vertical pour créer l'effet de perspective
     
-    // Cache des textures de tuiles
-    private Map<String, Integer> tileTextureCache;
+    // Tables indexées par ID de tuile : ID de texture (0 = non chargée) et région de texture (null = non résolue)
+    private static final int INITIAL_TILE_TABLE_SIZE = 256;
+    private int[] tileTextureIds;
+    private TextureRegion[] tileRegions;
+    private int cachedRegionCount = 0;
     
-    // Cache des tuiles rendues fréquemment (clé = "x,y,layer", valeur = ID de texture)
-    private LinkedHashMap<String, Integer> renderedTileCache;
-    private static final int MAX_CACHE_SIZE = 1000; // Nombre maximum d'entrées dans le cache
+    // Atlas des tuiles (une seule texture pour toutes les tuiles)
+    private TextureAtlas tileAtlas;
     
     // Statistiques de cache pour l'optimisation
     private int cacheHits = 0;
     private int cacheMisses = 0;
     
     // Données de la carte actuelle
-    private int[][] terrainLayer;      // Couche de terrain de base
-    private int[][] detailLayer;       // Couche de détails (herbe, fleurs, etc.)
-    private int[][] objectBackLayer;   // Objets en arrière-plan
-    private int[][] objectFrontLayer;  // Objets en avant-plan
-    private int[][] collisionLayer;    // Informations de collision
-    private int[][] heightLayer;       // Hauteur des tuiles pour l'effet 3D
+    // Index des couches (identiques aux numéros utilisés par getTile/setTile)
+    public static final int LAYER_TERRAIN = 0;       // Couche de terrain de base
+    public static final int LAYER_DETAIL = 1;        // Couche de détails (herbe, fleurs, etc.)
+    public static final int LAYER_OBJECT_BACK = 2;   // Objets en arrière-plan
+    public static final int LAYER_OBJECT_FRONT = 3;  // Objets en avant-plan
+    public static final int LAYER_COLLISION = 4;     // Informations de collision
+    public static final int LAYER_HEIGHT = 5;        // Hauteur des tuiles pour l'effet 3D
+    public static final int LAYER_COUNT = 6;
+    
+    // Noms des couches dans les fichiers de carte JSON
+    static final String[] LAYER_NAMES = {
+        "terrainLayer", "detailLayer", "objectBackLayer", "objectFrontLayer", "collisionLayer", "heightLayer"
+    };
+    
+    // Couches de la carte, chacune stockée dans un tableau plat compact
+    private TileLayer[] layers = new TileLayer[LAYER_COUNT];
+    
+    // Carte en streaming : chunks chargés autour de la caméra (null si la carte est entièrement en mémoire)
+    private ChunkPager chunkPager;
+    private int pagerChunkSize;
+    
+    // Tampon de ligne réutilisé pour parcourir les couches
+    private int[] rowBuffer = new int[0];
+    private int[] heightRowBuffer = new int[0];
     
     // Dimensions de la carte
     private int mapWidth;
     private int mapHeight;
     
+    // Taille d'un chunk en tuiles
+    public static final int CHUNK_SIZE = 32;
+    
+    // Couches visibles, cuites dans les chunks (0=terrain, 1=detail, 2=objectBack, 3=objectFront)
+    private static final LayeredRenderer.Layer[] CHUNK_LAYERS = {
+        LayeredRenderer.Layer.TERRAIN,
+        LayeredRenderer.Layer.TERRAIN_DETAIL,
+        LayeredRenderer.Layer.OBJECT_BACK,
+        LayeredRenderer.Layer.OBJECT_FRONT
+    };
+    
+    // Petit décalage de profondeur par couche visible pour éviter les conflits
+    private static final float[] LAYER_DEPTH_OFFSETS = {0.1f, 0.2f, 0.3f, 0.4f};
+    
+    // Maillages GPU des chunks ([index du chunk][couche]) et chunks à reconstruire
+    private StaticMesh[][] chunkMeshes;
+    private boolean[] chunkDirty;
+    private int chunksX;
+    private int chunksY;
+    private boolean chunkMeshesEnabled = true;
+    
+    // Statistiques des chunks (dernier rendu)
+    private int chunksDrawn = 0;
+    private int chunksRebuilt = 0;
+    
     /**
      * Constructeur privé (singleton)
      */
     private TileSystem() {
-        tileTextureCache = new HashMap<>();
-        renderedTileCache = new LinkedHashMap<String, Integer>(MAX_CACHE_SIZE, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
-                return size() > MAX_CACHE_SIZE;
-            }
-        };
+        tileTextureIds = new int[INITIAL_TILE_TABLE_SIZE];
+        tileRegions = new TextureRegion[INITIAL_TILE_TABLE_SIZE];
     }
     
     /**
@@ -83,6 +126,7 @@ public class TileSystem {
     public void setTileDimensions(int width, int height) {
         this.tileWidth = width;
         this.tileHeight = height;
+        markAllChunksDirty();
     }
     
     /**
@@ -91,6 +135,7 @@ public class TileSystem {
      */
     public void setIsometricOffset(float offsetY) {
         this.isoOffsetY = offsetY;
+        markAllChunksDirty();
     }
     
     /**
@@ -104,30 +149,27 @@ public class TileSystem {
             JsonObject mapJson = JsonParser.parseReader(new FileReader(new File(mapPath))).getAsJsonObject();
             
             // Lire les dimensions de la carte
+            disposeChunkPager();
             mapWidth = mapJson.get("width").getAsInt();
             mapHeight = mapJson.get("height").getAsInt();
             
-            // Initialiser les couches
-            terrainLayer = new int[mapHeight][mapWidth];
-            detailLayer = new int[mapHeight][mapWidth];
-            objectBackLayer = new int[mapHeight][mapWidth];
-            objectFrontLayer = new int[mapHeight][mapWidth];
-            collisionLayer = new int[mapHeight][mapWidth];
-            heightLayer = new int[mapHeight][mapWidth];
-            
-            // Charger les données des couches
-            loadLayerData(mapJson.getAsJsonArray("terrainLayer"), terrainLayer);
-            loadLayerData(mapJson.getAsJsonArray("detailLayer"), detailLayer);
-            loadLayerData(mapJson.getAsJsonArray("objectBackLayer"), objectBackLayer);
-            loadLayerData(mapJson.getAsJsonArray("objectFrontLayer"), objectFrontLayer);
-            loadLayerData(mapJson.getAsJsonArray("collisionLayer"), collisionLayer);
-            loadLayerData(mapJson.getAsJsonArray("heightLayer"), heightLayer);
+            // Initialiser puis charger les couches
+            allocateLayers();
+            for (int layer = 0; layer < LAYER_COUNT; layer++) {
+                JsonArray layerData = mapJson.getAsJsonArray(LAYER_NAMES[layer]);
+                if (layerData != null) {
+                    loadLayerData(layerData, layers[layer]);
+                }
+            }
             
             // Vider le cache lors du chargement d'une nouvelle carte
             clearRenderedTileCache();
+            resetChunks();
             
-            // Précharger les textures des tuiles si nécessaire
-            // Note: Cette fonctionnalité sera utilisée lorsque les tilesets seront implémentés
+            // Regrouper les tuiles utilisées par la carte dans un atlas si aucun n'est défini
+            if (tileAtlas == null) {
+                setTileAtlas(SpriteLoader.getInstance().buildDefaultTileAtlas(collectTileIds()));
+            }
             
             return true;
         } catch (Exception e) {
@@ -140,17 +182,210 @@ public class TileSystem {
     /**
      * Charger les données d'une couche
      * @param layerData Données de la couche au format JSON
-     * @param targetLayer Tableau cible
+     * @param targetLayer Couche cible
      */
-    private void loadLayerData(JsonArray layerData, int[][] targetLayer) {
-        for (int y = 0; y < mapHeight; y++) {
+    private void loadLayerData(JsonArray layerData, TileLayer targetLayer) {
+        // Les lignes manquantes restent à 0
+        for (int y = 0; y < Math.min(mapHeight, layerData.size()); y++) {
             JsonArray row = layerData.get(y).getAsJsonArray();
-            for (int x = 0; x < mapWidth; x++) {
-                targetLayer[y][x] = row.get(x).getAsInt();
+            for (int x = 0; x < Math.min(mapWidth, row.size()); x++) {
+                targetLayer.set(x, y, row.get(x).getAsInt());
             }
         }
     }
     
+    /**
+     * Créer des couches vides aux dimensions de la carte courante
+     */
+    private void allocateLayers() {
+        for (int layer = 0; layer < LAYER_COUNT; layer++) {
+            layers[layer] = new TileLayer(mapWidth, mapHeight);
+        }
+        rowBuffer = new int[mapWidth];
+        heightRowBuffer = new int[mapWidth];
+    }
+    
+    /**
+     * Charger une carte découpée en chunks (voir {@link ChunkDirectorySource}).
+     * Seuls les chunks proches de la caméra sont gardés en mémoire.
+     * @param directory Dossier de la carte découpée
+     * @return true si le chargement a réussi, false sinon
+     */
+    public boolean loadChunkedMap(String directory) {
+        try {
+            loadStreamingMap(new ChunkDirectorySource(new File(directory)));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Erreur lors du chargement de la carte découpée: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    /**
+     * Charger une carte binaire (voir {@link BinaryMapFile}). Le fichier est projeté en mémoire
+     * et seuls les chunks proches de la caméra sont lus.
+     * @param mapPath Chemin du fichier de carte binaire
+     * @return true si le chargement a réussi, false sinon
+     */
+    public boolean loadBinaryMap(String mapPath) {
+        try {
+            loadStreamingMap(new BinaryMapFile(new File(mapPath)));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Erreur lors du chargement de la carte binaire: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    /**
+     * Utiliser une source de chunks comme carte courante. Les chunks sont chargés en
+     * arrière-plan autour de la caméra à chaque appel de renderMap.
+     * @param source Source des chunks
+     */
+    public void loadStreamingMap(ChunkSource source) {
+        disposeChunkPager();
+        
+        mapWidth = source.getWidth();
+        mapHeight = source.getHeight();
+        pagerChunkSize = source.getChunkSize();
+        
+        // Aucune couche n'est allouée pour toute la carte
+        Arrays.fill(layers, null);
+        rowBuffer = new int[mapWidth];
+        heightRowBuffer = new int[mapWidth];
+        
+        chunkPager = new ChunkPager(source);
+        chunkPager.setListener(new ChunkPager.Listener() {
+            @Override
+            public void onChunkLoaded(MapChunk chunk) {
+                markChunkRegionDirty(chunk, false);
+            }
+            
+            @Override
+            public void onChunkEvicted(MapChunk chunk) {
+                markChunkRegionDirty(chunk, true);
+            }
+        });
+        
+        clearRenderedTileCache();
+        resetChunks();
+        
+        if (tileAtlas == null) {
+            setTileAtlas(SpriteLoader.getInstance().buildDefaultTileAtlas(source.getTileIds()));
+        }
+    }
+    
+    /**
+     * Obtenir le pager de la carte en streaming (pour régler le rayon et le budget mémoire)
+     * @return Pager, ou null si la carte est entièrement en mémoire
+     */
+    public ChunkPager getChunkPager() {
+        return chunkPager;
+    }
+    
+    /**
+     * Vérifier si la carte courante est chargée en streaming
+     * @return true si seuls les chunks proches sont en mémoire
+     */
+    public boolean isStreaming() {
+        return chunkPager != null;
+    }
+    
+    /**
+     * Arrêter le streaming de la carte courante
+     */
+    private void disposeChunkPager() {
+        if (chunkPager != null) {
+            chunkPager.setListener(null);
+            chunkPager.dispose();
+            chunkPager = null;
+        }
+    }
+    
+    /**
+     * Marquer les maillages couvrant un chunk de carte comme à reconstruire
+     * @param chunk Chunk chargé ou déchargé
+     * @param release true pour libérer aussi les maillages GPU (chunk déchargé)
+     */
+    private void markChunkRegionDirty(MapChunk chunk, boolean release) {
+        if (chunkDirty == null) {
+            return;
+        }
+        int startX = chunk.getChunkX() * pagerChunkSize;
+        int startY = chunk.getChunkY() * pagerChunkSize;
+        int endX = startX + chunk.getWidth() - 1;
+        int endY = startY + chunk.getHeight() - 1;
+        for (int cy = startY / CHUNK_SIZE; cy <= endY / CHUNK_SIZE; cy++) {
+            for (int cx = startX / CHUNK_SIZE; cx <= endX / CHUNK_SIZE; cx++) {
+                int index = cy * chunksX + cx;
+                chunkDirty[index] = true;
+                if (release) {
+                    StaticMesh[] meshes = chunkMeshes[index];
+                    for (int layer = 0; layer < meshes.length; layer++) {
+                        if (meshes[layer] != null) {
+                            meshes[layer].dispose();
+                            meshes[layer] = null;
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Lire une portion de ligne d'une couche, que la carte soit en mémoire ou en streaming.
+     * En streaming, les tuiles des chunks non chargés valent 0.
+     * @param layer Couche
+     * @param y Ligne en tuiles
+     * @param startX Première colonne
+     * @param count Nombre de tuiles
+     * @param dest Tableau de destination
+     * @param destOffset Position de départ dans le tableau de destination
+     */
+    private void readRow(int layer, int y, int startX, int count, int[] dest, int destOffset) {
+        if (chunkPager == null) {
+            layers[layer].getRow(y, startX, count, dest, destOffset);
+            return;
+        }
+        
+        int cy = y / pagerChunkSize;
+        int localY = y - cy * pagerChunkSize;
+        int x = startX;
+        int endX = startX + count;
+        while (x < endX) {
+            int cx = x / pagerChunkSize;
+            int segment = Math.min(endX, (cx + 1) * pagerChunkSize) - x;
+            MapChunk chunk = chunkPager.getChunk(cx, cy);
+            if (chunk != null) {
+                chunk.getLayer(layer).getRow(localY, x - cx * pagerChunkSize, segment, dest, destOffset + x - startX);
+            } else {
+                Arrays.fill(dest, destOffset + x - startX, destOffset + x - startX + segment, 0);
+            }
+            x += segment;
+        }
+    }
+    
+    /**
+     * Obtenir la valeur d'une tuile, que la carte soit en mémoire ou en streaming (sans vérification des limites)
+     * @param layer Couche
+     * @param x Position X en tuiles
+     * @param y Position Y en tuiles
+     * @param unloaded Valeur renvoyée si le chunk n'est pas chargé
+     * @return Valeur de la tuile
+     */
+    private int tileAt(int layer, int x, int y, int unloaded) {
+        if (chunkPager == null) {
+            return layers[layer].get(x, y);
+        }
+        
+        int cx = x / pagerChunkSize;
+        int cy = y / pagerChunkSize;
+        MapChunk chunk = chunkPager.getChunk(cx, cy);
+        return chunk != null ? chunk.get(layer, x - cx * pagerChunkSize, y - cy * pagerChunkSize) : unloaded;
+    }
+    
     /**
      * Dessiner la carte avec effet de perspective
      * @param cameraX Position X de la caméra
@@ -168,124 +403,197 @@ public class TileSystem {
         int startY = Math.max(0, (int)((cameraY - viewportHeight / 2) / tileHeight) - 1);
         int endY = Math.min(mapHeight - 1, (int)((cameraY + viewportHeight / 2) / tileHeight) + 1);
         
-        // Dessiner les tuiles visibles
-        // 1. Couche de terrain
-        for (int y = startY; y <= endY; y++) {
-            for (int x = startX; x <= endX; x++) {
-                int tileId = terrainLayer[y][x];
-                if (tileId != 0) {
-                    int textureId = getTileTextureWithCache(tileId, x, y, 0);
-                    float tileX = x * tileWidth;
-                    float tileY = y * tileHeight;
-                    float heightOffset = heightLayer[y][x] * isoOffsetY;
-                    
-                    renderer.addToLayer(
-                        LayeredRenderer.Layer.TERRAIN,
-                        textureId,
-                        tileX,
-                        tileY - heightOffset,
-                        tileWidth,
-                        tileHeight,
-                        y + 0.1f  // Profondeur basée sur Y avec un petit décalage pour éviter les conflits
-                    );
-                }
-            }
+        // Charger et décharger les chunks autour de la caméra
+        if (chunkPager != null) {
+            chunkPager.update((int)(cameraX / tileWidth), (int)(cameraY / tileHeight));
         }
         
-        // 2. Couche de détails
-        for (int y = startY; y <= endY; y++) {
-            for (int x = startX; x <= endX; x++) {
-                int tileId = detailLayer[y][x];
-                if (tileId != 0) {
-                    int textureId = getTileTextureWithCache(tileId, x, y, 1);
-                    float tileX = x * tileWidth;
-                    float tileY = y * tileHeight;
-                    float heightOffset = heightLayer[y][x] * isoOffsetY;
-                    
-                    renderer.addToLayer(
-                        LayeredRenderer.Layer.TERRAIN_DETAIL,
-                        textureId,
-                        tileX,
-                        tileY - heightOffset,
-                        tileWidth,
-                        tileHeight,
-                        y + 0.2f
-                    );
+        // Avec un contexte OpenGL, les couches statiques sont dessinées par chunks déjà sur le GPU
+        if (chunkMeshesEnabled && Renderer.getInstance().supportsStaticMeshes()) {
+            renderChunks(renderer, startX, startY, endX, endY);
+            return;
+        }
+        
+        if (endX < startX || endY < startY) {
+            return;
+        }
+        int count = endX - startX + 1;
+        
+        // Dessiner les tuiles visibles, couche par couche (terrain, détails, objets arrière, objets avant)
+        for (int layer = 0; layer < CHUNK_LAYERS.length; layer++) {
+            for (int y = startY; y <= endY; y++) {
+                // Lire la ligne visible d'un seul bloc plutôt que tuile par tuile
+                readRow(layer, y, startX, count, rowBuffer, 0);
+                readRow(LAYER_HEIGHT, y, startX, count, heightRowBuffer, 0);
+                for (int i = 0; i < count; i++) {
+                    int tileId = rowBuffer[i];
+                    if (tileId != 0) {
+                        TextureRegion region = getTileRegion(tileId);
+                        float tileX = (startX + i) * tileWidth;
+                        float tileY = y * tileHeight;
+                        float heightOffset = heightRowBuffer[i] * isoOffsetY;
+                        
+                        renderer.addToLayer(
+                            CHUNK_LAYERS[layer],
+                            region,
+                            tileX,
+                            tileY - heightOffset,
+                            tileWidth,
+                            tileHeight,
+                            y + LAYER_DEPTH_OFFSETS[layer]  // Profondeur basée sur Y avec un petit décalage pour éviter les conflits
+                        );
+                    }
                 }
             }
         }
+    }
+    
+    /**
+     * Dessiner les chunks qui intersectent la vue, en reconstruisant ceux qui ont changé
+     * @param renderer LayeredRenderer
+     * @param startX Première colonne visible
+     * @param startY Première ligne visible
+     * @param endX Dernière colonne visible
+     * @param endY Dernière ligne visible
+     */
+    private void renderChunks(LayeredRenderer renderer, int startX, int startY, int endX, int endY) {
+        chunksDrawn = 0;
+        chunksRebuilt = 0;
+        if (chunkMeshes == null || endX < startX || endY < startY) {
+            return;
+        }
         
-        // 3. Couche d'objets en arrière-plan
-        for (int y = startY; y <= endY; y++) {
-            for (int x = startX; x <= endX; x++) {
-                int tileId = objectBackLayer[y][x];
-                if (tileId != 0) {
-                    int textureId = getTileTextureWithCache(tileId, x, y, 2);
-                    float tileX = x * tileWidth;
-                    float tileY = y * tileHeight;
-                    float heightOffset = heightLayer[y][x] * isoOffsetY;
-                    
-                    renderer.addToLayer(
-                        LayeredRenderer.Layer.OBJECT_BACK,
-                        textureId,
-                        tileX,
-                        tileY - heightOffset,
-                        tileWidth,
-                        tileHeight,
-                        y + 0.3f
-                    );
+        for (int cy = startY / CHUNK_SIZE; cy <= endY / CHUNK_SIZE; cy++) {
+            for (int cx = startX / CHUNK_SIZE; cx <= endX / CHUNK_SIZE; cx++) {
+                int index = cy * chunksX + cx;
+                if (chunkDirty[index]) {
+                    rebuildChunk(cx, cy);
+                }
+                
+                StaticMesh[] meshes = chunkMeshes[index];
+                for (int layer = 0; layer < CHUNK_LAYERS.length; layer++) {
+                    if (!meshes[layer].isEmpty()) {
+                        renderer.addStaticMesh(CHUNK_LAYERS[layer], meshes[layer]);
+                    }
                 }
+                chunksDrawn++;
             }
         }
+    }
+    
+    /**
+     * Reconstruire les maillages des couches statiques d'un chunk
+     * @param cx Colonne du chunk
+     * @param cy Ligne du chunk
+     */
+    private void rebuildChunk(int cx, int cy) {
+        int index = cy * chunksX + cx;
+        StaticMesh[] meshes = chunkMeshes[index];
         
-        // 4. Couche d'objets en avant-plan
-        for (int y = startY; y <= endY; y++) {
-            for (int x = startX; x <= endX; x++) {
-                int tileId = objectFrontLayer[y][x];
-                if (tileId != 0) {
-                    int textureId = getTileTextureWithCache(tileId, x, y, 3);
-                    float tileX = x * tileWidth;
-                    float tileY = y * tileHeight;
-                    float heightOffset = heightLayer[y][x] * isoOffsetY;
-                    
-                    renderer.addToLayer(
-                        LayeredRenderer.Layer.OBJECT_FRONT,
-                        textureId,
-                        tileX,
-                        tileY - heightOffset,
-                        tileWidth,
-                        tileHeight,
-                        y + 0.4f
-                    );
+        int startX = cx * CHUNK_SIZE;
+        int endX = Math.min(mapWidth, (cx + 1) * CHUNK_SIZE);
+        int endY = Math.min(mapHeight, (cy + 1) * CHUNK_SIZE);
+        int count = endX - startX;
+        
+        for (int layer = 0; layer < CHUNK_LAYERS.length; layer++) {
+            if (meshes[layer] == null) {
+                meshes[layer] = new StaticMesh(CHUNK_SIZE * CHUNK_SIZE);
+            }
+            StaticMesh mesh = meshes[layer];
+            mesh.clear();
+            
+            // Ligne par ligne pour conserver l'ordre de profondeur basé sur Y
+            for (int y = cy * CHUNK_SIZE; y < endY; y++) {
+                readRow(layer, y, startX, count, rowBuffer, 0);
+                readRow(LAYER_HEIGHT, y, startX, count, heightRowBuffer, 0);
+                for (int i = 0; i < count; i++) {
+                    int tileId = rowBuffer[i];
+                    if (tileId != 0) {
+                        TextureRegion region = getTileRegion(tileId);
+                        float heightOffset = heightRowBuffer[i] * isoOffsetY;
+                        mesh.addQuad(
+                            region.getTextureId(),
+                            (startX + i) * tileWidth,
+                            y * tileHeight - heightOffset,
+                            tileWidth,
+                            tileHeight,
+                            region.getU0(), region.getV0(), region.getU1(), region.getV1()
+                        );
+                    }
                 }
             }
         }
+        
+        chunkDirty[index] = false;
+        chunksRebuilt++;
     }
     
     /**
-     * Obtenir la texture d'une tuile avec cache
-     * @param tileId ID de la tuile
+     * Recréer la grille de chunks pour la carte courante
+     */
+    private void resetChunks() {
+        disposeChunks();
+        
+        chunksX = (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunksY = (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkMeshes = new StaticMesh[chunksX * chunksY][CHUNK_LAYERS.length];
+        chunkDirty = new boolean[chunksX * chunksY];
+        markAllChunksDirty();
+    }
+    
+    /**
+     * Marquer le chunk contenant une tuile comme à reconstruire
      * @param x Position X en tuiles
      * @param y Position Y en tuiles
-     * @param layer Couche (0=terrain, 1=detail, 2=objectBack, 3=objectFront)
-     * @return ID de la texture
      */
-    private int getTileTextureWithCache(int tileId, int x, int y, int layer) {
-        // Créer une clé unique pour cette tuile
-        String cacheKey = x + "," + y + "," + layer + "," + tileId;
-        
-        // Vérifier si la tuile est dans le cache
-        if (renderedTileCache.containsKey(cacheKey)) {
-            cacheHits++;
-            return renderedTileCache.get(cacheKey);
+    private void markChunkDirty(int x, int y) {
+        if (chunkDirty != null) {
+            chunkDirty[(y / CHUNK_SIZE) * chunksX + x / CHUNK_SIZE] = true;
         }
-        
-        // Si non, obtenir la texture et l'ajouter au cache
-        cacheMisses++;
-        int textureId = getTileTexture(tileId);
-        renderedTileCache.put(cacheKey, textureId);
-        
-        return textureId;
+    }
+    
+    /**
+     * Marquer tous les chunks comme à reconstruire
+     */
+    private void markAllChunksDirty() {
+        if (chunkDirty != null) {
+            Arrays.fill(chunkDirty, true);
+        }
+    }
+    
+    /**
+     * Libérer les maillages GPU des chunks
+     */
+    private void disposeChunks() {
+        if (chunkMeshes == null) {
+            return;
+        }
+        for (StaticMesh[] meshes : chunkMeshes) {
+            for (StaticMesh mesh : meshes) {
+                if (mesh != null) {
+                    mesh.dispose();
+                }
+            }
+        }
+        chunkMeshes = null;
+        chunkDirty = null;
+    }
+    
+    /**
+     * Activer ou désactiver le rendu par chunks statiques
+     * @param enabled true pour dessiner les couches statiques à partir des maillages GPU
+     */
+    public void setChunkMeshesEnabled(boolean enabled) {
+        this.chunkMeshesEnabled = enabled;
+    }
+    
+    /**
+     * Obtenir les statistiques des chunks du dernier rendu
+     * @return Chaîne contenant les statistiques des chunks
+     */
+    public String getChunkStats() {
+        return String.format("Chunks: %d drawn, %d rebuilt, %d total (%dx%d tiles)",
+                             chunksDrawn, chunksRebuilt, chunksX * chunksY, CHUNK_SIZE, CHUNK_SIZE);
     }
     
     /**
@@ -294,22 +602,119 @@ public class TileSystem {
      * @return ID de la texture
      */
     public int getTileTexture(int tileId) {
-        // Convertir l'ID en String pour utiliser comme clé
-        String tileKey = String.valueOf(tileId);
-        
-        // Vérifier si la texture est déjà dans le cache
-        if (tileTextureCache.containsKey(tileKey)) {
-            return tileTextureCache.get(tileKey);
+        // Vérifier si la texture est déjà dans la table
+        if (tileId >= 0 && tileId < tileTextureIds.length && tileTextureIds[tileId] != 0) {
+            return tileTextureIds[tileId];
         }
         
-        // Si non, charger la texture et l'ajouter au cache
+        // Si non, charger la texture et l'ajouter à la table
         // Note: Dans une implémentation réelle, il faudrait charger la texture à partir d'un tileset
         int textureId = SpriteLoader.getInstance().loadDefaultTile(tileId);
-        tileTextureCache.put(tileKey, textureId);
+        if (tileId >= 0) {
+            ensureTileTableCapacity(tileId);
+            tileTextureIds[tileId] = textureId;
+        }
         
         return textureId;
     }
     
+    /**
+     * Obtenir la région de texture d'une tuile.
+     * Si la tuile fait partie de l'atlas des tuiles, la région de l'atlas est renvoyée ;
+     * sinon la région couvre toute la texture indépendante de la tuile.
+     * @param tileId ID de la tuile
+     * @return Région de texture de la tuile
+     */
+    public TextureRegion getTileRegion(int tileId) {
+        if (tileId >= 0 && tileId < tileRegions.length) {
+            TextureRegion cached = tileRegions[tileId];
+            if (cached != null) {
+                cacheHits++;
+                return cached;
+            }
+        }
+        
+        // Si non, résoudre la région et l'ajouter à la table
+        cacheMisses++;
+        TextureRegion region = null;
+        if (tileAtlas != null) {
+            region = tileAtlas.getRegion(SpriteLoader.DEFAULT_TILE_REGION_PREFIX + tileId);
+        }
+        if (region == null) {
+            region = TextureRegion.whole(getTileTexture(tileId), tileWidth, tileHeight);
+        }
+        if (tileId >= 0) {
+            ensureTileTableCapacity(tileId);
+            tileRegions[tileId] = region;
+            cachedRegionCount++;
+        }
+        
+        return region;
+    }
+    
+    /**
+     * Agrandir les tables indexées par ID de tuile si nécessaire
+     * @param tileId ID de tuile devant tenir dans les tables
+     */
+    private void ensureTileTableCapacity(int tileId) {
+        if (tileId < tileRegions.length) {
+            return;
+        }
+        int size = Math.max(tileId + 1, tileRegions.length * 2);
+        tileTextureIds = Arrays.copyOf(tileTextureIds, size);
+        tileRegions = Arrays.copyOf(tileRegions, size);
+    }
+    
+    /**
+     * Définir l'atlas des tuiles (régions nommées "tile_" + ID de la tuile)
+     * @param atlas Atlas des tuiles, ou null pour revenir aux textures indépendantes
+     */
+    public void setTileAtlas(TextureAtlas atlas) {
+        if (atlas != null) {
+            atlas.upload();
+        }
+        this.tileAtlas = atlas;
+        clearRenderedTileCache();
+        markAllChunksDirty();
+    }
+    
+    /**
+     * Obtenir l'atlas des tuiles
+     * @return Atlas des tuiles, ou null si aucun n'est défini
+     */
+    public TextureAtlas getTileAtlas() {
+        return tileAtlas;
+    }
+    
+    /**
+     * Collecter les IDs des tuiles visibles utilisées par la carte
+     * @return IDs distincts et non nuls, triés
+     */
+    private int[] collectTileIds() {
+        if (chunkPager != null) {
+            return chunkPager.getSource().getTileIds();
+        }
+        
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (int layer = 0; layer < CHUNK_LAYERS.length; layer++) {
+            for (int y = 0; y < mapHeight; y++) {
+                layers[layer].getRow(y, 0, mapWidth, rowBuffer, 0);
+                for (int x = 0; x < mapWidth; x++) {
+                    if (rowBuffer[x] != 0) {
+                        ids.add(rowBuffer[x]);
+                    }
+                }
+            }
+        }
+        
+        int[] result = new int[ids.size()];
+        int i = 0;
+        for (int tileId : ids) {
+            result[i++] = tileId;
+        }
+        return result;
+    }
+    
     /**
      * Vérifier si une position est solide (collision)
      * @param x Position X en pixels
@@ -326,8 +731,8 @@ public class TileSystem {
             return true;  // En dehors de la carte = solide
         }
         
-        // Vérifier la couche de collision
-        return collisionLayer[tileY][tileX] != 0;
+        // Vérifier la couche de collision (un chunk non chargé est considéré comme solide)
+        return tileAt(LAYER_COLLISION, tileX, tileY, 1) != 0;
     }
     
     /**
@@ -347,7 +752,7 @@ public class TileSystem {
         }
         
         // Retourner la hauteur de la tuile
-        return heightLayer[tileY][tileX];
+        return tileAt(LAYER_HEIGHT, tileX, tileY, 0);
     }
     
     /**
@@ -356,16 +761,14 @@ public class TileSystem {
      * @param height Hauteur de la carte en tuiles
      */
     public void createEmptyMap(int width, int height) {
+        disposeChunkPager();
         mapWidth = width;
         mapHeight = height;
         
         // Initialiser les couches
-        terrainLayer = new int[mapHeight][mapWidth];
-        detailLayer = new int[mapHeight][mapWidth];
-        objectBackLayer = new int[mapHeight][mapWidth];
-        objectFrontLayer = new int[mapHeight][mapWidth];
-        collisionLayer = new int[mapHeight][mapWidth];
-        heightLayer = new int[mapHeight][mapWidth];
+        allocateLayers();
+        
+        resetChunks();
     }
     
     /**
@@ -381,26 +784,26 @@ public class TileSystem {
             return;
         }
         
-        // Définir la tuile dans la couche appropriée
-        switch (layer) {
-            case 0:
-                terrainLayer[y][x] = tileId;
-                break;
-            case 1:
-                detailLayer[y][x] = tileId;
-                break;
-            case 2:
-                objectBackLayer[y][x] = tileId;
-                break;
-            case 3:
-                objectFrontLayer[y][x] = tileId;
-                break;
-            case 4:
-                collisionLayer[y][x] = tileId;
-                break;
-            case 5:
-                heightLayer[y][x] = tileId;
-                break;
+        // Vérifier la couche
+        if (layer < 0 || layer >= LAYER_COUNT) {
+            return;
+        }
+        
+        // Définir la tuile dans la couche appropriée (en streaming, le chunk est chargé au besoin
+        // et ses modifications survivent à son déchargement)
+        if (chunkPager != null) {
+            MapChunk chunk = chunkPager.loadChunk(x / pagerChunkSize, y / pagerChunkSize);
+            if (chunk == null) {
+                return;
+            }
+            chunk.set(layer, x % pagerChunkSize, y % pagerChunkSize, tileId);
+        } else {
+            layers[layer].set(x, y, tileId);
+        }
+        
+        // La collision n'apparaît pas dans les maillages
+        if (layer != LAYER_COLLISION) {
+            markChunkDirty(x, y);
         }
     }
     
@@ -417,30 +820,64 @@ public class TileSystem {
             return 0;
         }
         
+        // Vérifier la couche
+        if (layer < 0 || layer >= LAYER_COUNT) {
+            return 0;
+        }
+        
         // Obtenir la tuile de la couche appropriée
-        switch (layer) {
-            case 0:
-                return terrainLayer[y][x];
-            case 1:
-                return detailLayer[y][x];
-            case 2:
-                return objectBackLayer[y][x];
-            case 3:
-                return objectFrontLayer[y][x];
-            case 4:
-                return collisionLayer[y][x];
-            case 5:
-                return heightLayer[y][x];
-            default:
-                return 0;
+        return tileAt(layer, x, y, 0);
+    }
+    
+    /**
+     * Copier une région rectangulaire d'une couche dans un tableau (ligne par ligne).
+     * La région doit être entièrement dans la carte.
+     * @param layer Couche (0=terrain, 1=detail, 2=objectBack, 3=objectFront, 4=collision, 5=height)
+     * @param x Première colonne en tuiles
+     * @param y Première ligne en tuiles
+     * @param width Largeur de la région en tuiles
+     * @param height Hauteur de la région en tuiles
+     * @param dest Tableau de destination (au moins width * height éléments)
+     */
+    public void getTiles(int layer, int x, int y, int width, int height, int[] dest) {
+        for (int row = 0; row < height; row++) {
+            readRow(layer, y + row, x, width, dest, row * width);
+        }
+    }
+    
+    /**
+     * Obtenir une couche de la carte
+     * @param layer Couche (0=terrain, 1=detail, 2=objectBack, 3=objectFront, 4=collision, 5=height)
+     * @return Couche de tuiles, ou null si la carte est chargée en streaming
+     */
+    public TileLayer getLayer(int layer) {
+        return layers[layer];
+    }
+    
+    /**
+     * Obtenir la taille approximative des données de la carte
+     * @return Taille en octets de toutes les couches (des chunks résidents en streaming)
+     */
+    public long getMapMemoryFootprint() {
+        if (chunkPager != null) {
+            return chunkPager.getResidentBytes();
+        }
+        
+        long total = 0;
+        for (TileLayer layer : layers) {
+            if (layer != null) {
+                total += layer.getMemoryFootprint();
+            }
         }
+        return total;
     }
     
     /**
-     * Vider le cache des tuiles rendues
+     * Vider la table des régions de tuiles et ses statistiques
      */
     public void clearRenderedTileCache() {
-        renderedTileCache.clear();
+        Arrays.fill(tileRegions, null);
+        cachedRegionCount = 0;
         cacheHits = 0;
         cacheMisses = 0;
     }
@@ -453,7 +890,7 @@ public class TileSystem {
         int total = cacheHits + cacheMisses;
         float hitRate = total > 0 ? (float)cacheHits / total * 100 : 0;
         return String.format("Cache: %d hits, %d misses, %.2f%% hit rate, %d entries", 
-                             cacheHits, cacheMisses, hitRate, renderedTileCache.size());
+                             cacheHits, cacheMisses, hitRate, cachedRegionCount);
     }
     
     /**
@@ -3,6 +3,7 @@ package com.ryuukonpalace.game.world;
 import com.ryuukonpalace.game.core.GameObject;
 import com.ryuukonpalace.game.core.Renderer;
 import com.ryuukonpalace.game.creatures.Creature;
+import com.ryuukonpalace.game.creatures.CreaturePool;
 import com.ryuukonpalace.game.creatures.CreatureType;
 import com.ryuukonpalace.game.utils.ResourceManager;
 import com.ryuukonpalace.game.world.TimeSystem.TimeOfDay;
@@ -13,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Gestionnaire du monde du jeu.
@@ -28,7 +30,7 @@ public class WorldManager {
     private float worldWidth;
     private float worldHeight;
     
-    // Liste des zones d'apparition
+    // Liste des zones d'apparition (copie à l'écriture : parcourue par le thread de rendu)
     private List<SpawnZone> spawnZones;
     
     // Liste des obstacles
@@ -52,6 +54,12 @@ public class WorldManager {
     // Météo actuelle
     private Weather currentWeather;
     
+    // Compteur incrémenté à chaque changement de zone, d'heure ou de météo
+    private int saveRevision;
+    
+    // Compteur incrémenté à chaque changement de la liste des zones d'apparition
+    private int spawnZoneRevision;
+    
     // Systèmes de temps et de météo
     private TimeSystem timeSystem;
     private WeatherSystem weatherSystem;
@@ -74,7 +82,7 @@ public class WorldManager {
     private WorldManager() {
         this.worldWidth = 2000.0f;
         this.worldHeight = 2000.0f;
-        this.spawnZones = new ArrayList<>();
+        this.spawnZones = new CopyOnWriteArrayList<>();
         this.obstacles = new ArrayList<>();
         this.currentZoneName = "Zone de départ";
         this.gameTime = 8.0f; // 8h du matin
@@ -266,9 +274,10 @@ public class WorldManager {
             Creature creature = visibleCreatures.get(i);
             creature.update(deltaTime);
             
-            // Supprimer les créatures qui ont expiré
+            // Supprimer les créatures qui ont expiré et les rendre au pool
             if (creature.isExpired()) {
                 visibleCreatures.remove(i);
+                CreaturePool.getInstance().release(creature);
             }
         }
     }
@@ -449,6 +458,27 @@ public class WorldManager {
      * Dessiner le monde
      */
     public void render() {
+        renderTerrain();
+        
+        // Dessiner les zones d'apparition avec créatures visibles
+        for (SpawnZone zone : spawnZones) {
+            if (zone.getType() == SpawnZone.SpawnZoneType.VISIBLE_CREATURE) {
+                zone.render();
+            }
+        }
+        
+        // Dessiner les obstacles
+        for (GameObject obstacle : obstacles) {
+            obstacle.render();
+        }
+    }
+    
+    /**
+     * Dessiner uniquement la partie statique du monde (sol et hautes herbes).
+     * Ne lit que le sol et la liste des zones (copiée à chaque modification) : peut être
+     * appelée depuis le thread de rendu pendant que la simulation tourne sur son propre thread.
+     */
+    public void renderTerrain() {
         // Dessiner le sol
         for (int x = 0; x < worldWidth; x += 64) {
             for (int y = 0; y < worldHeight; y += 64) {
@@ -467,18 +497,6 @@ public class WorldManager {
                 }
             }
         }
-        
-        // Dessiner les zones d'apparition avec créatures visibles
-        for (SpawnZone zone : spawnZones) {
-            if (zone.getType() == SpawnZone.SpawnZoneType.VISIBLE_CREATURE) {
-                zone.render();
-            }
-        }
-        
-        // Dessiner les obstacles
-        for (GameObject obstacle : obstacles) {
-            obstacle.render();
-        }
     }
     
     /**
@@ -490,6 +508,25 @@ public class WorldManager {
         return new ArrayList<>(spawnZones);
     }
     
+    /**
+     * Obtenir le nombre de zones d'apparition
+     * 
+     * @return Nombre de zones d'apparition
+     */
+    public int getSpawnZoneCount() {
+        return spawnZones.size();
+    }
+    
+    /**
+     * Obtenir le compteur de modifications de la liste des zones d'apparition.
+     * Il change chaque fois que des zones sont ajoutées ou retirées, même si leur nombre reste le même.
+     * 
+     * @return Compteur de modifications des zones d'apparition
+     */
+    public int getSpawnZoneRevision() {
+        return spawnZoneRevision;
+    }
+    
     /**
      * Obtenir la liste des obstacles
      * 
@@ -527,6 +564,7 @@ public class WorldManager {
         
         // Initialiser le monde
         initializeWorld();
+        spawnZoneRevision++;
     }
     
     /**
@@ -536,6 +574,7 @@ public class WorldManager {
      */
     public void loadZone(String zoneName) {
         this.currentZoneName = zoneName;
+        saveRevision++;
         
         // Réinitialiser les zones d'apparition et les obstacles
         spawnZones.clear();
@@ -564,6 +603,7 @@ public class WorldManager {
         
         // Créer des obstacles pour cette zone
         createObstacles();
+        spawnZoneRevision++;
     }
     
     /**
@@ -582,6 +622,7 @@ public class WorldManager {
      */
     public void setCurrentZoneName(String zoneName) {
         this.currentZoneName = zoneName;
+        saveRevision++;
     }
     
     /**
@@ -604,6 +645,7 @@ public class WorldManager {
         if (this.gameTime < 0) {
             this.gameTime += 24;
         }
+        saveRevision++;
     }
     
     /**
@@ -631,6 +673,17 @@ public class WorldManager {
      */
     public void setCurrentWeather(Weather weather) {
         this.currentWeather = weather;
+        saveRevision++;
+    }
+    
+    /**
+     * Obtenir le compteur de changements de la zone, de l'heure et de la météo,
+     * utilisé pour ne sauvegarder le monde que s'il a changé
+     * 
+     * @return Compteur de changements
+     */
+    public int getSaveRevision() {
+        return saveRevision;
     }
     
     /**
@@ -0,0 +1,65 @@
+package com.ryuukonpalace.game.core;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le pas de temps fixe de la boucle de jeu.
+ */
+public class FixedTimestepTest {
+
+    @Test
+    public void testTicksIndependentOfFrameRate() {
+        FixedTimestep fast = new FixedTimestep(60, 5);
+        FixedTimestep slow = new FixedTimestep(60, 5);
+
+        // Une seconde de temps réel à 240 FPS et à 30 FPS
+        int fastTicks = 0;
+        for (int i = 0; i < 240; i++) {
+            fastTicks += fast.advance(1.0 / 240);
+        }
+        int slowTicks = 0;
+        for (int i = 0; i < 30; i++) {
+            slowTicks += slow.advance(1.0 / 30);
+        }
+
+        assertTrue("Une seconde devrait donner 60 ticks quel que soit le FPS", Math.abs(fastTicks - 60) <= 1);
+        assertTrue(Math.abs(slowTicks - 60) <= 1);
+        assertEquals(fast.getTotalTicks(), fastTicks);
+    }
+
+    @Test
+    public void testInterpolationAlpha() {
+        FixedTimestep timestep = new FixedTimestep(10, 5);
+
+        assertEquals("Un quart de tick ne devrait déclencher aucun tick", 0, timestep.advance(0.025));
+        assertEquals(0.25f, timestep.getAlpha(), 0.001f);
+
+        assertEquals(1, timestep.advance(0.1));
+        assertEquals("Le reste de l'accumulateur devrait être conservé", 0.25f, timestep.getAlpha(), 0.001f);
+    }
+
+    @Test
+    public void testCatchUpCap() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+
+        // Une frame de 2 secondes (chargement, fenêtre déplacée...)
+        assertEquals("Le rattrapage devrait être plafonné", 5, timestep.advance(2.0));
+        assertTrue("Le retard non rattrapable devrait être abandonné", timestep.getDroppedTime() > 1.8);
+        assertTrue(timestep.getAlpha() < 1.0f);
+
+        // La frame suivante reprend normalement
+        assertEquals(1, timestep.advance(1.0 / 60 + 0.0001));
+    }
+
+    @Test
+    public void testTimingStats() {
+        FixedTimestep timestep = new FixedTimestep();
+        timestep.recordTickTime(2_000_000);
+        timestep.recordRenderTime(5_000_000);
+
+        assertEquals(2.0, timestep.getAverageTickTimeMs(), 0.001);
+        assertEquals(5.0, timestep.getAverageRenderTimeMs(), 0.001);
+        assertTrue(timestep.getStats().contains("60 Hz"));
+    }
+}
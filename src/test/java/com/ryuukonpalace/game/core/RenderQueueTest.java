@@ -0,0 +1,78 @@
+package com.ryuukonpalace.game.core;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour la file de rendu en tableaux parallèles.
+ */
+public class RenderQueueTest {
+
+    private static void add(RenderQueue queue, int textureId, float depth) {
+        queue.add(textureId, 0, 0, 32, 32, 0, 0, 1, 1, 1, 1, 1, 1, depth);
+    }
+
+    @Test
+    public void testSortByDepth() {
+        RenderQueue queue = new RenderQueue(4);
+        float[] depths = {3.4f, -1.0f, 0.0f, 12.3f, -7.5f, 3.1f, 1000.0f, 0.2f};
+        for (int i = 0; i < depths.length; i++) {
+            add(queue, i, depths[i]);
+        }
+        queue.sort();
+
+        float previous = Float.NEGATIVE_INFINITY;
+        for (int n = 0; n < queue.size(); n++) {
+            float depth = depths[queue.getTextureId(queue.getSortedIndex(n))];
+            assertTrue("Les éléments devraient être triés par profondeur croissante", depth >= previous);
+            previous = depth;
+        }
+    }
+
+    @Test
+    public void testSortMatchesFloatCompare() {
+        RenderQueue queue = new RenderQueue();
+        float[] depths = {0.0f, Float.NaN, -0.0f, Float.POSITIVE_INFINITY, -Float.MIN_VALUE, Float.NEGATIVE_INFINITY};
+        for (int i = 0; i < depths.length; i++) {
+            add(queue, i, depths[i]);
+        }
+        queue.sort();
+
+        for (int n = 1; n < queue.size(); n++) {
+            float previous = depths[queue.getTextureId(queue.getSortedIndex(n - 1))];
+            float depth = depths[queue.getTextureId(queue.getSortedIndex(n))];
+            assertTrue("L'ordre devrait être celui de Float.compare", Float.compare(previous, depth) < 0);
+        }
+    }
+
+    @Test
+    public void testSortIsStable() {
+        RenderQueue queue = new RenderQueue();
+        for (int i = 0; i < 10; i++) {
+            add(queue, i, i % 2 == 0 ? 5.0f : 2.0f);
+        }
+        queue.sort();
+
+        int[] expected = {1, 3, 5, 7, 9, 0, 2, 4, 6, 8};
+        for (int n = 0; n < expected.length; n++) {
+            assertEquals("L'ordre d'ajout devrait être conservé à profondeur égale",
+                         expected[n], queue.getTextureId(queue.getSortedIndex(n)));
+        }
+    }
+
+    @Test
+    public void testClearKeepsCapacity() {
+        RenderQueue queue = new RenderQueue(2);
+        for (int i = 0; i < 100; i++) {
+            add(queue, i, i);
+        }
+        int capacity = queue.capacity();
+        queue.clear();
+
+        assertEquals(0, queue.size());
+        for (int i = 0; i < 100; i++) {
+            add(queue, i, -i);
+        }
+        assertEquals("Les tableaux devraient être réutilisés", capacity, queue.capacity());
+    }
+}
@@ -0,0 +1,212 @@
+package com.ryuukonpalace.game.core;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.ryuukonpalace.game.utils.ResourceManager;
+
+/**
+ * Tests unitaires pour le thread de simulation et l'échange de snapshots.
+ */
+public class SimulationThreadTest {
+
+    private SimulationThread thread;
+
+    /**
+     * Simulation de test : un sprite qui avance d'une unité par tick
+     */
+    private static class CountingSimulation implements SimulationThread.Simulation {
+        final AtomicInteger ticks = new AtomicInteger();
+        final AtomicBoolean suspend = new AtomicBoolean(false);
+        private float position = 0;
+
+        @Override
+        public void tick(float deltaTime) {
+            ticks.incrementAndGet();
+            position += 1;
+        }
+
+        @Override
+        public void captureSnapshot(RenderSnapshot snapshot) {
+            snapshot.addSprite(7, RenderSnapshot.NO_FRAME, position - 1, 0, position, 0, 32, 32);
+            snapshot.setCamera(position - 1, 2, position, 4);
+        }
+
+        @Override
+        public boolean shouldSuspend() {
+            return suspend.get();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (thread != null) {
+            thread.stop();
+        }
+    }
+
+    /**
+     * Attendre qu'une condition devienne vraie
+     */
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(1);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @Test
+    public void testSnapshotsArePublished() throws InterruptedException {
+        CountingSimulation simulation = new CountingSimulation();
+        thread = new SimulationThread(simulation, new FixedTimestep(200, 5));
+        thread.start();
+
+        assertTrue("La simulation devrait exécuter des ticks", waitFor(() -> simulation.ticks.get() >= 5));
+        assertTrue("Un snapshot devrait être publié", waitFor(() -> thread.acquireSnapshot().getTick() > 0));
+
+        RenderSnapshot snapshot = thread.acquireSnapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(7, snapshot.getTextureId(0));
+        assertEquals("La position courante correspond au dernier tick publié",
+                     (float) snapshot.getTick(), snapshot.getX(0, 1.0f), 0.001f);
+        assertEquals(snapshot.getTick() - 1, snapshot.getX(0, 0.0f), 0.001f);
+        assertEquals("La caméra est interpolée comme les sprites",
+                     snapshot.getX(0, 0.5f), snapshot.getCameraX(0.5f), 0.001f);
+        assertEquals(3.0f, snapshot.getCameraY(0.5f), 0.001f);
+
+        // Le snapshot acquis n'est jamais réutilisé tant qu'il est tenu par le thread de rendu
+        long tick = snapshot.getTick();
+        Thread.sleep(30);
+        assertEquals("Le snapshot tenu ne doit pas être modifié", tick, snapshot.getTick());
+        assertTrue(thread.acquireSnapshot().getTick() >= tick);
+
+        float alpha = thread.getAlpha(snapshot);
+        assertTrue(alpha >= 0.0f && alpha <= 1.0f);
+    }
+
+    @Test
+    public void testSuspendAndResume() throws InterruptedException {
+        CountingSimulation simulation = new CountingSimulation();
+        thread = new SimulationThread(simulation, new FixedTimestep(200, 5));
+        simulation.suspend.set(true);
+        thread.start();
+
+        assertTrue("La simulation devrait se suspendre", waitFor(thread::isSuspended));
+        int ticks = simulation.ticks.get();
+        Thread.sleep(30);
+        assertEquals("Aucun tick pendant la suspension", ticks, simulation.ticks.get());
+
+        simulation.suspend.set(false);
+        thread.resume();
+        assertTrue("La simulation devrait reprendre", waitFor(() -> simulation.ticks.get() > ticks + 2));
+        assertFalse(thread.isSuspended());
+    }
+
+    @Test
+    public void testRunBetweenTicks() throws InterruptedException {
+        AtomicBoolean inTick = new AtomicBoolean(false);
+        AtomicBoolean overlap = new AtomicBoolean(false);
+        CountingSimulation simulation = new CountingSimulation() {
+            @Override
+            public void tick(float deltaTime) {
+                inTick.set(true);
+                super.tick(deltaTime);
+                inTick.set(false);
+            }
+        };
+        thread = new SimulationThread(simulation, new FixedTimestep(1000, 5));
+        thread.start();
+
+        for (int i = 0; i < 200; i++) {
+            thread.runBetweenTicks(() -> {
+                if (inTick.get()) {
+                    overlap.set(true);
+                }
+            });
+        }
+        assertTrue("La simulation devrait continuer", waitFor(() -> simulation.ticks.get() >= 5));
+        assertFalse("La tâche ne doit jamais s'exécuter pendant un tick", overlap.get());
+    }
+
+    @Test
+    public void testRunBetweenTicksRunsGlTasks() throws Exception {
+        ResourceManager resourceManager = ResourceManager.getInstance();
+        AtomicInteger glWork = new AtomicInteger();
+        CountingSimulation simulation = new CountingSimulation() {
+            @Override
+            public void tick(float deltaTime) {
+                // Un tick qui charge une texture attend le thread OpenGL
+                try {
+                    resourceManager.awaitGlResult(resourceManager.runOnGlThread(glWork::incrementAndGet));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                super.tick(deltaTime);
+            }
+        };
+        thread = new SimulationThread(simulation, new FixedTimestep(1000, 5));
+
+        // Le thread de rendu ne fait que dessiner l'interface entre deux ticks
+        AtomicBoolean rendering = new AtomicBoolean(true);
+        Thread renderThread = new Thread(() -> {
+            resourceManager.bindGlThread();
+            while (rendering.get()) {
+                thread.runBetweenTicks(() -> { });
+            }
+        }, "Render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+        try {
+            assertTrue(waitFor(() -> !resourceManager.isGlThread()));
+            thread.start();
+
+            assertTrue("Les ticks qui attendent le thread OpenGL ne doivent pas bloquer le rendu",
+                       waitFor(() -> simulation.ticks.get() >= 5));
+            assertTrue(glWork.get() >= 5);
+            thread.stop();
+        } finally {
+            rendering.set(false);
+            renderThread.join(2000);
+            Field field = ResourceManager.class.getDeclaredField("glThread");
+            field.setAccessible(true);
+            field.set(resourceManager, null);
+        }
+        assertFalse("Le thread de rendu devrait se terminer", renderThread.isAlive());
+    }
+
+    @Test
+    public void testStopAndFailure() throws InterruptedException {
+        CountingSimulation simulation = new CountingSimulation();
+        thread = new SimulationThread(simulation, new FixedTimestep(200, 5));
+        thread.start();
+        assertTrue(thread.isRunning());
+
+        thread.stop();
+        assertFalse(thread.isRunning());
+        int ticks = simulation.ticks.get();
+        Thread.sleep(20);
+        assertEquals("Aucun tick après l'arrêt", ticks, simulation.ticks.get());
+
+        // Une exception dans un tick arrête la simulation sans tuer le thread de rendu
+        thread = new SimulationThread(new CountingSimulation() {
+            @Override
+            public void tick(float deltaTime) {
+                throw new IllegalStateException("test");
+            }
+        }, new FixedTimestep(200, 5));
+        thread.start();
+        assertTrue(waitFor(() -> !thread.isRunning()));
+        assertTrue(thread.getFailure() instanceof IllegalStateException);
+    }
+}
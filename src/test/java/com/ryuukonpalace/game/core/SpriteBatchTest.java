@@ -0,0 +1,64 @@
+package com.ryuukonpalace.game.core;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le regroupement des sprites (sans contexte OpenGL).
+ */
+public class SpriteBatchTest {
+
+    private SpriteBatch batch;
+
+    @Before
+    public void setUp() {
+        batch = new SpriteBatch(8);
+    }
+
+    private void addQuad(int textureId) {
+        batch.add(textureId, 0, 0, 32, 32, 0, 0, 1, 1, 1, 1, 1, 1);
+    }
+
+    @Test
+    public void testDeferredModeDrawsOnTextureSwitch() {
+        batch.begin();
+        addQuad(1);
+        addQuad(1);
+        addQuad(2);
+        addQuad(1);
+        batch.end();
+
+        assertEquals("Tous les quads devraient être comptés", 4, batch.getQuadCount());
+        assertEquals("Un appel de dessin par changement de texture", 3, batch.getDrawCallCount());
+        assertEquals("Une liaison par changement de texture", 3, batch.getTextureBindCount());
+        assertEquals("Un seul flush en fin de frame", 1, batch.getFlushCount());
+    }
+
+    @Test
+    public void testTextureModeGroupsByTexture() {
+        batch.setSortMode(SpriteBatch.SortMode.TEXTURE);
+        batch.begin();
+        addQuad(1);
+        addQuad(2);
+        addQuad(1);
+        addQuad(2);
+        batch.end();
+
+        assertEquals("Les quads devraient être regroupés par texture", 2, batch.getDrawCallCount());
+        assertEquals("Une liaison par texture", 2, batch.getTextureBindCount());
+    }
+
+    @Test
+    public void testFlushWhenFull() {
+        batch.begin();
+        for (int i = 0; i < 10; i++) {
+            addQuad(1);
+        }
+        batch.end();
+
+        assertEquals("Le batch plein devrait être envoyé automatiquement", 2, batch.getFlushCount());
+        assertEquals("La texture ne devrait être liée qu'une fois", 1, batch.getTextureBindCount());
+        assertEquals(10, batch.getQuadCount());
+    }
+}
@@ -0,0 +1,119 @@
+package com.ryuukonpalace.game.core.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark comparant la double boucle d'origine de updateCollisions à la phase large
+ * en grille spatiale, pour 1k, 10k et 50k colliders répartis sur une carte à densité constante.
+ * À chaque frame, 10 % des créatures se déplacent et sont signalées au gestionnaire ; le temps
+ * mesuré inclut la mise à jour de la grille. Seuls les colliders signalés sont retestés.
+ *
+ * Exécution : java -cp target/classes:target/test-classes com.ryuukonpalace.game.core.physics.CollisionBenchmark
+ */
+public class CollisionBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 50_000};
+
+    // Surface moyenne de carte par collider (en pixels carrés)
+    private static final float AREA_PER_COLLIDER = 96 * 96;
+
+    private static final int WARMUP_FRAMES = 5;
+    private static final int MEASURED_FRAMES = 5;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            float worldSize = (float) Math.sqrt(size * AREA_PER_COLLIDER);
+            Random random = new Random(42);
+
+            List<Collider> players = createColliders(random, 1, worldSize);
+            List<Collider> creatures = createColliders(random, size * 4 / 5 - 1, worldSize);
+            List<Collider> obstacles = createColliders(random, size - size * 4 / 5, worldSize);
+
+            CollisionManager manager = CollisionManager.getInstance();
+            manager.clear();
+            register(manager, players, "player");
+            register(manager, creatures, "creature");
+            register(manager, obstacles, "obstacle");
+            manager.setCollision("player", "creature");
+            manager.setCollision("player", "obstacle");
+            manager.setCollision("creature", "obstacle");
+
+            double bruteMs = measure(() -> {
+                move(manager, random, creatures, worldSize);
+                sink += bruteForce(players, creatures) + bruteForce(players, obstacles)
+                      + bruteForce(creatures, obstacles);
+            });
+            double gridMs = measure(() -> {
+                move(manager, random, creatures, worldSize);
+                for (List<CollisionManager.CollisionPair> pairs : manager.updateCollisions().values()) {
+                    sink += pairs.size();
+                }
+            });
+
+            System.out.printf("%,7d colliders | double boucle: %10.3f ms/frame | grille: %8.3f ms/frame | x%.0f%n",
+                              size, bruteMs, gridMs, bruteMs / gridMs);
+        }
+        CollisionManager.getInstance().clear();
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double measure(Runnable frame) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_FRAMES;
+    }
+
+    /**
+     * Ancienne implémentation : tester toutes les paires de deux groupes
+     */
+    private static int bruteForce(List<Collider> group1, List<Collider> group2) {
+        int count = 0;
+        for (Collider collider1 : group1) {
+            for (Collider collider2 : group2) {
+                if (collider1.collidesWith(collider2)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void move(CollisionManager manager, Random random, List<Collider> colliders, float worldSize) {
+        for (int i = 0; i < colliders.size() / 10; i++) {
+            Collider collider = colliders.get(random.nextInt(colliders.size()));
+            collider.setPosition(Math.floorMod((int) collider.getX() + random.nextInt(9) - 4, (int) worldSize),
+                                 Math.floorMod((int) collider.getY() + random.nextInt(9) - 4, (int) worldSize));
+            manager.markDirty(collider);
+        }
+    }
+
+    private static List<Collider> createColliders(Random random, int count, float worldSize) {
+        List<Collider> colliders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * worldSize;
+            float y = random.nextFloat() * worldSize;
+            if (random.nextBoolean()) {
+                colliders.add(new RectangleCollider(x, y, 32, 32));
+            } else {
+                colliders.add(new CircleCollider(x, y, 16));
+            }
+        }
+        return colliders;
+    }
+
+    private static void register(CollisionManager manager, List<Collider> colliders, String group) {
+        for (Collider collider : colliders) {
+            manager.addCollider(collider, group);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ryuukonpalace.game.core.physics;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le gestionnaire de collision et sa phase large en grille spatiale.
+ */
+public class CollisionManagerTest {
+
+    private CollisionManager collisionManager;
+
+    @Before
+    public void setUp() {
+        collisionManager = CollisionManager.getInstance();
+        collisionManager.clear();
+    }
+
+    @Test
+    public void testBroadphaseMatchesBruteForce() {
+        Random random = new Random(7);
+        List<Collider> players = createColliders(random, 20);
+        List<Collider> creatures = createColliders(random, 300);
+        List<Collider> obstacles = createColliders(random, 200);
+        // Un grand collider couvrant de nombreuses cellules
+        obstacles.add(new RectangleCollider(-500, -500, 3000, 3000));
+
+        register(players, "player");
+        register(creatures, "creature");
+        register(obstacles, "obstacle");
+        collisionManager.setCollision("player", "creature");
+        collisionManager.setCollision("player", "obstacle");
+        collisionManager.setCollision("creature", "obstacle");
+
+        for (int frame = 0; frame < 5; frame++) {
+            Map<String, List<CollisionManager.CollisionPair>> collisions = collisionManager.updateCollisions();
+
+            int expected = countPairs(players, creatures) + countPairs(players, obstacles)
+                         + countPairs(creatures, obstacles);
+            int actual = 0;
+            for (List<CollisionManager.CollisionPair> pairs : collisions.values()) {
+                for (CollisionManager.CollisionPair pair : pairs) {
+                    assertTrue("Chaque paire renvoyée devrait être en collision",
+                               pair.getCollider1().collidesWith(pair.getCollider2()));
+                    assertNotEquals("Les paires ne devraient pas relier un groupe à lui-même",
+                                    pair.getGroup1(), pair.getGroup2());
+                }
+                actual += pairs.size();
+            }
+            assertEquals("La phase large devrait trouver les mêmes paires que la double boucle",
+                         expected, actual);
+
+            // Déplacer une partie des colliders
+            for (Collider collider : creatures) {
+                if (random.nextBoolean()) {
+                    collider.setPosition(collider.getX() + random.nextInt(200) - 100,
+                                         collider.getY() + random.nextInt(200) - 100);
+                    collisionManager.markDirty(collider);
+                }
+            }
+        }
+
+        Collider probe = new CircleCollider(1000, 1000, 150);
+        List<Collider> hits = collisionManager.getCollidingWith(probe, "creature");
+        int expectedHits = 0;
+        for (Collider creature : creatures) {
+            if (probe.collidesWith(creature)) {
+                expectedHits++;
+                assertTrue("Chaque créature touchée devrait être renvoyée", hits.contains(creature));
+            }
+        }
+        assertEquals(expectedHits, hits.size());
+        assertEquals(expectedHits > 0, collisionManager.isCollidingWithGroup(probe, "creature"));
+    }
+
+    @Test
+    public void testRemoveAndUpdateCollider() {
+        RectangleCollider player = new RectangleCollider(0, 0, 32, 32);
+        RectangleCollider wall = new RectangleCollider(500, 500, 32, 32);
+        collisionManager.addCollider(player, "player");
+        collisionManager.addCollider(wall, "obstacle");
+
+        assertFalse(collisionManager.isCollidingWithGroup(player, "obstacle"));
+
+        player.setPosition(510, 510);
+        collisionManager.markDirty(player);
+        assertTrue("Le collider déplacé devrait être trouvé à sa nouvelle position",
+                   collisionManager.isCollidingWithGroup(player, "obstacle"));
+
+        assertTrue(collisionManager.removeCollider(wall, "obstacle"));
+        assertFalse("Un collider retiré ne devrait plus être détecté",
+                    collisionManager.isCollidingWithGroup(player, "obstacle"));
+        assertFalse(collisionManager.removeCollider(wall, "obstacle"));
+    }
+
+    @Test
+    public void testPersistentRegistration() {
+        RectangleCollider player = new RectangleCollider(0, 0, 32, 32);
+        RectangleCollider wall = new RectangleCollider(16, 16, 32, 32);
+        RectangleCollider farWall = new RectangleCollider(1000, 1000, 32, 32);
+        collisionManager.setCollision("player", "obstacle");
+
+        // Enregistrer plusieurs fois le même collider ne doit pas créer de doublons
+        for (int i = 0; i < 10; i++) {
+            collisionManager.addCollider(player, "player");
+        }
+        collisionManager.addCollider(wall, "obstacle");
+        collisionManager.addCollider(farWall, "obstacle");
+        assertEquals("Un collider ne devrait être enregistré qu'une fois par groupe",
+                     1, collisionManager.getColliders("player").size());
+
+        Map<String, List<CollisionManager.CollisionPair>> collisions = collisionManager.updateCollisions();
+        assertEquals(1, collisions.get("player").size());
+        assertSame(wall, collisions.get("player").get(0).getCollider2());
+
+        // Sans déplacement signalé, le contact est conservé sans nouveau test
+        collisions = collisionManager.updateCollisions();
+        assertEquals("Le contact devrait être conservé d'une frame à l'autre",
+                     1, collisions.get("player").size());
+        assertTrue("Aucun collider ne devrait être retesté",
+                   collisionManager.getStats().endsWith("Retestés: 0"));
+
+        player.setPosition(1010, 1010);
+        collisionManager.markDirty(player);
+        collisions = collisionManager.updateCollisions();
+        assertEquals(1, collisions.get("player").size());
+        assertSame("Le contact devrait suivre le collider déplacé",
+                   farWall, collisions.get("player").get(0).getCollider2());
+
+        assertTrue(collisionManager.removeCollider(farWall));
+        assertFalse(collisionManager.isRegistered(farWall));
+        assertNull("Un collider retiré ne devrait plus être en contact",
+                   collisionManager.updateCollisions().get("player"));
+    }
+
+    private static List<Collider> createColliders(Random random, int count) {
+        List<Collider> colliders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float x = random.nextInt(2000);
+            float y = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                colliders.add(new RectangleCollider(x, y, 16 + random.nextInt(80), 16 + random.nextInt(80)));
+            } else {
+                colliders.add(new CircleCollider(x, y, 8 + random.nextInt(40)));
+            }
+        }
+        return colliders;
+    }
+
+    private void register(List<Collider> colliders, String group) {
+        for (Collider collider : colliders) {
+            collisionManager.addCollider(collider, group);
+        }
+    }
+
+    private static int countPairs(List<Collider> group1, List<Collider> group2) {
+        int count = 0;
+        for (Collider a : group1) {
+            for (Collider b : group2) {
+                if (a.collidesWith(b)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ryuukonpalace.game.creatures;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le pool de créatures sauvages.
+ */
+public class CreaturePoolTest {
+
+    private CreaturePool pool;
+
+    @Before
+    public void setUp() {
+        pool = CreaturePool.getInstance();
+        pool.clear();
+        pool.setMaxPerSpecies(CreaturePool.DEFAULT_MAX_PER_SPECIES);
+    }
+
+    @Test
+    public void testReleasedCreatureIsReusedAndReset() {
+        Creature creature = pool.acquire(11, 25);
+        assertEquals(1, pool.getMisses());
+        assertEquals(3, creature.getAbilities().size());
+
+        // La créature vit sa vie de créature sauvage puis disparaît
+        creature.setWild(true);
+        creature.setActive(true);
+        creature.takeDamage(30);
+        creature.getAbilities().get(0).use();
+        creature.setLifeDuration(10);
+        assertTrue(pool.release(creature));
+        assertFalse("Une créature rendue est désactivée", creature.isActive());
+
+        Creature reused = pool.acquire(11, 5);
+        assertSame("La créature rendue devrait être réutilisée", creature, reused);
+        assertEquals(1, pool.getHits());
+        assertEquals(5, reused.getLevel());
+        assertEquals(reused.getMaxHealth(), reused.getHealth());
+        assertEquals(reused.getMaxHealth(), reused.getCombatStats().getCurrentHealth());
+        assertEquals("Les capacités dépendent du nouveau niveau", 1, reused.getAbilities().size());
+        assertEquals(reused.getAbilities().get(0).getMaxUses(), reused.getAbilities().get(0).getCurrentUses());
+        assertFalse(reused.isWild());
+        assertFalse(reused.isExpired());
+        assertSame("Les données de l'espèce sont partagées",
+                   CreatureFactory.getInstance().getCreatureDefinition(11), reused.getDefinition());
+
+        // Une nouvelle créature de même niveau est identique à la créature réutilisée
+        Creature fresh = CreatureFactory.createCreature(11, 5);
+        assertEquals(fresh.getMaxHealth(), reused.getMaxHealth());
+        assertEquals(fresh.getAttack(), reused.getAttack());
+        assertEquals(fresh.getDefense(), reused.getDefense());
+        assertEquals(fresh.getSpeed(), reused.getSpeed());
+        assertEquals(fresh.getAbilities().get(0).getName(), reused.getAbilities().get(0).getName());
+    }
+
+    @Test
+    public void testReleaseRules() {
+        Creature owned = pool.acquire(1, 5);
+        assertFalse("Une créature non sauvage n'est pas rendue", pool.release(owned));
+
+        Creature wild = pool.acquire(1, 5);
+        wild.setWild(true);
+        assertTrue(pool.release(wild));
+        assertFalse("Rendre deux fois est sans effet", pool.release(wild));
+        assertEquals(1, pool.getReleases());
+
+        Creature other = pool.acquire(2, 5);
+        assertNotSame("Une autre espèce ne réutilise pas la créature", wild, other);
+        assertEquals(1, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testCapacityPerSpecies() {
+        pool.setMaxPerSpecies(1);
+        Creature first = pool.acquire(3, 5);
+        Creature second = pool.acquire(3, 5);
+        first.setWild(true);
+        second.setWild(true);
+
+        assertTrue(pool.release(first));
+        assertFalse("Le pool est plein pour cette espèce", pool.release(second));
+        assertEquals(1, pool.getDiscarded());
+        assertEquals(1, pool.getAvailableCount());
+        assertEquals(0.0f, pool.getHitRate(), 0.0f);
+
+        pool.acquire(3, 5);
+        assertEquals(1.0f / 3.0f, pool.getHitRate(), 0.0001f);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ryuukonpalace.game.creatures;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.ryuukonpalace.game.utils.ResourceManager;
+
+/**
+ * Benchmark d'apparition de créatures sauvages : compare la construction d'origine, où chaque
+ * créature construisait toute sa chaîne d'évolution (créatures évoluées et capacités comprises),
+ * aux évolutions résolues à la demande. Mesure le temps et les octets alloués par apparition,
+ * puis la mémoire retenue par un grand nombre de créatures vivantes. La dernière mesure rend
+ * chaque créature au pool dès son apparition (apparitions et disparitions en continu).
+ *
+ * Exécution : java -cp target/classes:target/test-classes com.ryuukonpalace.game.creatures.CreatureSpawnBenchmark
+ */
+public class CreatureSpawnBenchmark {
+
+    private static final int WARMUP_SPAWNS = 50_000;
+    private static final int MEASURED_SPAWNS = 200_000;
+    private static final int LIVE_CREATURES = 20_000;
+
+    private static long sink;
+
+    /**
+     * Apparition à mesurer
+     */
+    private interface Spawn {
+        Creature create(int creatureId, int level);
+    }
+
+    public static void main(String[] args) throws Exception {
+        warmTextureCache();
+
+        Spawn eager = CreatureSpawnBenchmark::createEager;
+        Spawn lazy = CreatureFactory::createCreature;
+
+        long[] eagerStats = measure(eager);
+        long[] lazyStats = measure(lazy);
+        long eagerRetained = retained(eager);
+        long lazyRetained = retained(lazy);
+
+        CreaturePool pool = CreaturePool.getInstance();
+        long[] pooledStats = measure((creatureId, level) -> {
+            Creature creature = pool.acquire(creatureId, level);
+            creature.setWild(true);
+            pool.release(creature);
+            return creature;
+        });
+
+        System.out.printf("Chaîne construite : %6d ns/apparition | %6d octets alloués/apparition | %,d octets retenus pour %,d créatures%n",
+                          eagerStats[0], eagerStats[1], eagerRetained, LIVE_CREATURES);
+        System.out.printf("Évolution à la demande : %6d ns/apparition | %6d octets alloués/apparition | %,d octets retenus pour %,d créatures%n",
+                          lazyStats[0], lazyStats[1], lazyRetained, LIVE_CREATURES);
+        System.out.printf("Allocations : -%.0f %% | Mémoire retenue : -%.0f %%%n",
+                          100.0 * (eagerStats[1] - lazyStats[1]) / eagerStats[1],
+                          100.0 * (eagerRetained - lazyRetained) / eagerRetained);
+        System.out.printf("Pool (apparition puis disparition) : %6d ns/apparition | %6d octets alloués/apparition%n",
+                          pooledStats[0], pooledStats[1]);
+        System.out.println(pool.getStats());
+        System.out.println("(ignorer) " + sink);
+    }
+
+    /**
+     * Reproduction de la construction d'origine : la forme évoluée est créée (récursivement)
+     * en même temps que la créature
+     */
+    private static Creature createEager(int creatureId, int level) {
+        Creature creature = CreatureFactory.createCreature(creatureId, level);
+        Evolution evolution = creature.getEvolution();
+        if (evolution != null) {
+            Creature evolvedForm = createEager(evolution.getEvolvedCreatureId(), evolution.getEvolvedLevel());
+            creature.setEvolution(new Evolution(evolution.getRequiredLevel(), evolvedForm));
+        }
+        return creature;
+    }
+
+    /**
+     * Les sprites ne sont pas disponibles hors du jeu : enregistrer un identifiant de texture
+     * pour chaque créature, comme après le chargement des ressources
+     */
+    @SuppressWarnings("unchecked")
+    private static void warmTextureCache() throws Exception {
+        Field field = ResourceManager.class.getDeclaredField("textures");
+        field.setAccessible(true);
+        Map<String, Integer> textures = (Map<String, Integer>) field.get(ResourceManager.getInstance());
+        for (int id : CreatureFactory.getInstance().getAllCreatureDefinitions().keySet()) {
+            textures.put("creature_" + id, id);
+        }
+    }
+
+    private static int creatureId(int i) {
+        return 1 + i % 12;
+    }
+
+    private static long[] measure(Spawn spawn) {
+        for (int i = 0; i < WARMUP_SPAWNS; i++) {
+            sink += spawn.create(creatureId(i), 5 + i % 10).getHealth();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_SPAWNS; i++) {
+            sink += spawn.create(creatureId(i), 5 + i % 10).getHealth();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new long[] {elapsed / MEASURED_SPAWNS, bytes / MEASURED_SPAWNS};
+    }
+
+    private static long retained(Spawn spawn) {
+        long before = usedMemory();
+        List<Creature> creatures = new ArrayList<>(LIVE_CREATURES);
+        for (int i = 0; i < LIVE_CREATURES; i++) {
+            creatures.add(spawn.create(creatureId(i), 5 + i % 10));
+        }
+        long after = usedMemory();
+        sink += creatures.size();
+        return after - before;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
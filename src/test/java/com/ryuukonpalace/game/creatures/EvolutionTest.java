@@ -0,0 +1,54 @@
+package com.ryuukonpalace.game.creatures;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour les évolutions résolues à la demande.
+ */
+public class EvolutionTest {
+
+    @Test
+    public void testEvolutionIsReferenceOnly() {
+        // Umbra (11) évolue en Nocturnix (12) au niveau 20 + 11 % 10
+        Creature umbra = CreatureFactory.createCreature(11, 5);
+        Evolution evolution = umbra.getEvolution();
+
+        assertNotNull("Umbra devrait avoir une évolution", evolution);
+        assertEquals(12, evolution.getEvolvedCreatureId());
+        assertEquals(21, evolution.getRequiredLevel());
+        assertEquals(26, evolution.getEvolvedLevel());
+        assertFalse(umbra.canEvolve());
+        assertSame("Sans le niveau requis, la créature n'évolue pas", umbra, umbra.evolve());
+    }
+
+    @Test
+    public void testEvolveResolvesEvolvedForm() {
+        Creature umbra = CreatureFactory.createCreature(11, 21);
+        assertTrue(umbra.canEvolve());
+
+        Creature nocturnix = umbra.evolve();
+        assertEquals(12, nocturnix.getId());
+        assertEquals("Nocturnix", nocturnix.getName());
+        assertEquals(26, nocturnix.getLevel());
+        assertFalse("Chaque évolution crée une nouvelle instance", nocturnix == umbra.evolve());
+        assertNull("Nocturnix n'a pas d'évolution", nocturnix.getEvolution());
+    }
+
+    @Test
+    public void testMissingDefinitionKeepsCreature() {
+        Creature umbra = CreatureFactory.createCreature(11, 30);
+        umbra.setEvolution(new Evolution(10, 9999, 15));
+        assertTrue(umbra.canEvolve());
+        assertSame("Une forme évoluée introuvable laisse la créature inchangée", umbra, umbra.evolve());
+    }
+
+    @Test
+    public void testEvolutionChainsUseIds() {
+        EvolutionManager manager = EvolutionManager.getInstance();
+        assertEquals(Arrays.asList(1, 2, 3), manager.getEvolutionChain(1));
+    }
+}
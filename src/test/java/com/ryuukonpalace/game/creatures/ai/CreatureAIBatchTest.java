@@ -0,0 +1,168 @@
+package com.ryuukonpalace.game.creatures.ai;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour la mise à jour groupée de l'IA des créatures.
+ */
+public class CreatureAIBatchTest {
+
+    private static final float DELTA_TIME = 1.0f / 60.0f;
+
+    @Test
+    public void testFleeMovesAwayFromPlayer() {
+        CreatureAIBatch batch = new CreatureAIBatch();
+        int slot = batch.addSlot(null, 100, 100, CreatureAI.BehaviorType.IDLE, 60, 200);
+
+        // Le joueur est dans la portée de fuite (80 % de la portée de détection)
+        batch.update(DELTA_TIME, 150, 100);
+
+        assertEquals("La créature devrait fuir", CreatureAI.BehaviorType.FLEE, batch.getBehavior(slot));
+        assertEquals("La fuite se fait à 1,5 fois la vitesse", 100 - 60 * 1.5f * DELTA_TIME, batch.getX(slot), 0.001f);
+        assertEquals(100, batch.getY(slot), 0.001f);
+    }
+
+    @Test
+    public void testAggressiveChasesThenStops() {
+        CreatureAIBatch batch = new CreatureAIBatch();
+        int slot = batch.addSlot(null, 0, 0, CreatureAI.BehaviorType.AGGRESSIVE, 60, 200);
+
+        // Joueur hors de la portée de détection
+        batch.update(DELTA_TIME, 0, 300);
+        assertEquals("Joueur hors de portée : pas de déplacement", 0, batch.getY(slot), 0.001f);
+        assertEquals(CreatureAI.BehaviorType.AGGRESSIVE, batch.getBehavior(slot));
+
+        // À portée d'attaque : la créature se tourne vers le joueur sans bouger
+        batch.update(DELTA_TIME, 0, 50);
+        assertEquals(0, batch.getY(slot), 0.001f);
+        assertEquals(CreatureAI.BehaviorType.AGGRESSIVE, batch.getBehavior(slot));
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        CreatureAIBatch sequential = new CreatureAIBatch(16, new Random(42));
+        CreatureAIBatch parallel = new CreatureAIBatch(16, new Random(42));
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        parallel.setParallelThreshold(1);
+        sequential.setPerception(new PerceptionService());
+        parallel.setPerception(new PerceptionService());
+
+        Random random = new Random(7);
+        CreatureAI.BehaviorType[] behaviors = CreatureAI.BehaviorType.values();
+        for (int i = 0; i < 20_000; i++) {
+            float x = random.nextFloat() * 2000;
+            float y = random.nextFloat() * 2000;
+            CreatureAI.BehaviorType behavior = behaviors[random.nextInt(behaviors.length)];
+            sequential.addSlot(null, x, y, behavior, 50, 150);
+            parallel.addSlot(null, x, y, behavior, 50, 150);
+        }
+
+        for (int frame = 0; frame < 300; frame++) {
+            float playerX = 1000 + frame;
+            sequential.update(DELTA_TIME, playerX, 1000);
+            parallel.update(DELTA_TIME, playerX, 1000);
+        }
+
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals("Les deux chemins doivent donner le même résultat", sequential.getX(i), parallel.getX(i), 0.0f);
+            assertEquals(sequential.getY(i), parallel.getY(i), 0.0f);
+            assertEquals(sequential.getBehavior(i), parallel.getBehavior(i));
+        }
+    }
+
+    @Test
+    public void testPreyFleesNearbyPredator() {
+        CreatureAIBatch batch = new CreatureAIBatch();
+        batch.setPerception(new PerceptionService());
+        // Toutes les créatures restent au niveau de détail maximal malgré l'éloignement du joueur
+        batch.setLodRadii(1_000_000, 1_000_000);
+        int prey = batch.addSlot(null, 0, 0, CreatureAI.BehaviorType.FLEE, 60, 200);
+        int predator = batch.addSlot(null, 0, 50, CreatureAI.BehaviorType.AGGRESSIVE, 60, 200);
+        int farPrey = batch.addSlot(null, 5000, 0, CreatureAI.BehaviorType.FLEE, 60, 200);
+
+        // Le joueur est loin : seule la créature agressive proche peut faire fuir
+        batch.update(DELTA_TIME, 100_000, 100_000);
+
+        assertEquals(0, batch.getX(prey), 0.001f);
+        assertEquals("La proie devrait s'éloigner du prédateur", -60 * 1.5f * DELTA_TIME, batch.getY(prey), 0.001f);
+        assertEquals("Le prédateur ne réagit pas aux autres créatures", 50, batch.getY(predator), 0.001f);
+        assertEquals(5000, batch.getX(farPrey), 0.001f);
+
+        PerceptionService.Result result = new PerceptionService.Result();
+        assertEquals("La perception contient les créatures du tick", 3,
+                     batch.getPerception().query(0, 0, 10_000, PerceptionService.ANY_TAG, result));
+    }
+
+    @Test
+    public void testLevelOfDetailTiers() {
+        CreatureAIBatch batch = new CreatureAIBatch();
+        batch.setLodRadii(400, 1000);
+        batch.setMidTickInterval(4);
+        batch.setView(-2000, -2000, 2000, 2000);
+        int near = batch.addSlot(null, 300, 0, CreatureAI.BehaviorType.RANDOM_MOVE, 60, 100);
+        int mid = batch.addSlot(null, 700, 0, CreatureAI.BehaviorType.RANDOM_MOVE, 60, 100);
+        int far = batch.addSlot(null, 1500, 0, CreatureAI.BehaviorType.RANDOM_MOVE, 60, 100);
+        int offScreen = batch.addSlot(null, 0, 3000, CreatureAI.BehaviorType.RANDOM_MOVE, 60, 100);
+
+        batch.update(DELTA_TIME, 0, 0);
+        assertEquals(CreatureAIBatch.TIER_NEAR, batch.getTier(near));
+        assertEquals(CreatureAIBatch.TIER_MID, batch.getTier(mid));
+        assertEquals(CreatureAIBatch.TIER_ASLEEP, batch.getTier(far));
+        assertEquals(CreatureAIBatch.TIER_ASLEEP, batch.getTier(offScreen));
+        assertEquals(1, batch.getTierCount(CreatureAIBatch.TIER_NEAR));
+        assertEquals(1, batch.getTierCount(CreatureAIBatch.TIER_MID));
+        assertEquals(2, batch.getTierCount(CreatureAIBatch.TIER_ASLEEP));
+
+        // Sur 8 ticks, la créature intermédiaire parcourt la même distance en 2 mises à jour
+        float nearX = batch.getX(near), nearY = batch.getY(near);
+        float midX = batch.getX(mid), midY = batch.getY(mid);
+        for (int i = 0; i < 8; i++) {
+            batch.update(DELTA_TIME, 0, 0);
+        }
+        float nearDistance = (float) Math.hypot(batch.getX(near) - nearX, batch.getY(near) - nearY);
+        float midDistance = (float) Math.hypot(batch.getX(mid) - midX, batch.getY(mid) - midY);
+        assertEquals(60 * 8 * DELTA_TIME, nearDistance, 0.01f);
+        assertEquals("Le temps accumulé est simulé d'un coup", 60 * 8 * DELTA_TIME, midDistance, 0.01f);
+        assertEquals("Une créature endormie ne bouge pas", 1500, batch.getX(far), 0.0f);
+
+        // Réveil par événement (entrée dans une zone d'apparition)
+        assertEquals(1, batch.wakeArea(1400, -100, 1600, 100, 1.0f));
+        batch.update(DELTA_TIME, 0, 0);
+        assertEquals(CreatureAIBatch.TIER_NEAR, batch.getTier(far));
+        assertTrue("La créature réveillée devrait bouger", batch.getX(far) != 1500 || batch.getY(far) != 0);
+
+        // Réveil par rayon : le joueur s'approche de la créature hors écran
+        batch.update(DELTA_TIME, 0, 2800);
+        assertEquals(CreatureAIBatch.TIER_NEAR, batch.getTier(offScreen));
+    }
+
+    @Test
+    public void testRemoveRebindsLastSlot() {
+        CreatureAIBatch batch = new CreatureAIBatch();
+        CreatureAI first = new CreatureAI(null, CreatureAI.BehaviorType.IDLE, 50, 150);
+        CreatureAI second = new CreatureAI(null, CreatureAI.BehaviorType.FLEE, 50, 150);
+        CreatureAI third = new CreatureAI(null, CreatureAI.BehaviorType.AGGRESSIVE, 50, 150);
+        batch.add(first);
+        batch.add(second);
+        batch.add(third);
+        assertEquals(3, batch.size());
+
+        first.setBehavior(CreatureAI.BehaviorType.RANDOM_MOVE);
+        batch.remove(first);
+
+        assertEquals(2, batch.size());
+        assertNull("L'IA retirée ne doit plus être liée au lot", first.getBatch());
+        assertEquals("L'IA retirée garde son état", CreatureAI.BehaviorType.RANDOM_MOVE, first.getCurrentBehavior());
+        assertEquals("Le dernier emplacement prend la place du retiré", 0, third.getSlot());
+        assertEquals(CreatureAI.BehaviorType.AGGRESSIVE, third.getCurrentBehavior());
+        assertEquals(CreatureAI.BehaviorType.FLEE, second.getCurrentBehavior());
+
+        // Retirer deux fois est sans effet
+        batch.remove(first);
+        assertEquals(2, batch.size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.ryuukonpalace.game.creatures.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparant la mise à jour d'origine (un objet IA par créature, avec son propre Random,
+ * sqrt, atan2, cos et sin) au lot en tableaux parallèles, séquentiel puis fork-join,
+ * pour 1k, 10k et 100k créatures réparties autour du joueur. Ces trois mesures mettent à jour
+ * toutes les créatures ; la dernière utilise les niveaux de détail par défaut avec un écran de
+ * 800x600 centré sur le joueur.
+ *
+ * Exécution : java -cp target/classes:target/test-classes com.ryuukonpalace.game.creatures.ai.CreatureAIBenchmark
+ */
+public class CreatureAIBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    private static final float DELTA_TIME = 1.0f / 60.0f;
+    private static final float WORLD_SIZE = 4000;
+
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 200;
+
+    private static double sink;
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            Random random = new Random(42);
+            List<ObjectAI> objects = new ArrayList<>(size);
+            CreatureAIBatch sequential = new CreatureAIBatch(size, new Random(1));
+            CreatureAIBatch parallel = new CreatureAIBatch(size, new Random(1));
+            CreatureAIBatch lod = new CreatureAIBatch(size, new Random(1));
+            sequential.setParallelThreshold(Integer.MAX_VALUE);
+            parallel.setParallelThreshold(1);
+            sequential.setLodRadii(Float.MAX_VALUE, Float.MAX_VALUE);
+            parallel.setLodRadii(Float.MAX_VALUE, Float.MAX_VALUE);
+
+            CreatureAI.BehaviorType[] behaviors = CreatureAI.BehaviorType.values();
+            for (int i = 0; i < size; i++) {
+                float x = random.nextFloat() * WORLD_SIZE;
+                float y = random.nextFloat() * WORLD_SIZE;
+                CreatureAI.BehaviorType behavior = behaviors[random.nextInt(behaviors.length)];
+                float speed = 50.0f + random.nextFloat() * 30.0f;
+                float range = 150.0f + random.nextFloat() * 50.0f;
+                objects.add(new ObjectAI(x, y, behavior, speed, range));
+                sequential.addSlot(null, x, y, behavior, speed, range);
+                parallel.addSlot(null, x, y, behavior, speed, range);
+                lod.addSlot(null, x, y, behavior, speed, range);
+            }
+
+            double objectMs = measure(frame -> {
+                float playerX = playerX(frame);
+                for (ObjectAI ai : objects) {
+                    ai.update(DELTA_TIME, playerX, WORLD_SIZE / 2);
+                }
+                sink += objects.get(frame % size).x;
+            });
+            double sequentialMs = measure(frame -> {
+                sequential.update(DELTA_TIME, playerX(frame), WORLD_SIZE / 2);
+                sink += sequential.getX(frame % size);
+            });
+            double parallelMs = measure(frame -> {
+                parallel.update(DELTA_TIME, playerX(frame), WORLD_SIZE / 2);
+                sink += parallel.getX(frame % size);
+            });
+
+            double lodMs = measure(frame -> {
+                float playerX = playerX(frame);
+                lod.setView(playerX - 400, WORLD_SIZE / 2 - 300, playerX + 400, WORLD_SIZE / 2 + 300);
+                lod.update(DELTA_TIME, playerX, WORLD_SIZE / 2);
+                sink += lod.getX(frame % size);
+            });
+
+            System.out.printf("%,8d créatures | objets: %8.3f ms/frame | lot: %7.3f ms/frame (x%.1f) | fork-join: %7.3f ms/frame (x%.1f) | LOD: %7.3f ms/frame (x%.1f) [%s]%n",
+                              size, objectMs, sequentialMs, objectMs / sequentialMs, parallelMs, objectMs / parallelMs,
+                              lodMs, objectMs / lodMs, lod.getLodStats());
+        }
+        System.out.println("(ignorer) " + sink);
+    }
+
+    /**
+     * Le joueur traverse la carte pour que des créatures entrent et sortent de sa portée
+     */
+    private static float playerX(int frame) {
+        return (frame * 5.0f) % WORLD_SIZE;
+    }
+
+    private interface Frame {
+        void run(int frame);
+    }
+
+    private static double measure(Frame frame) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            frame.run(WARMUP_FRAMES + i);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_FRAMES;
+    }
+
+    /**
+     * Reproduction de CreatureAI.update d'origine, un objet par créature
+     */
+    private static class ObjectAI {
+        float x, y;
+        CreatureAI.BehaviorType currentBehavior;
+        float stateTimer = 0;
+        float maxStateTime = 3.0f;
+        float moveDirection;
+        final float moveSpeed, detectionRange, fleeRange, attackRange;
+        final Random random = new Random();
+
+        ObjectAI(float x, float y, CreatureAI.BehaviorType behavior, float moveSpeed, float detectionRange) {
+            this.x = x;
+            this.y = y;
+            this.currentBehavior = behavior;
+            this.moveSpeed = moveSpeed;
+            this.detectionRange = detectionRange;
+            this.fleeRange = detectionRange * 0.8f;
+            this.attackRange = detectionRange * 0.5f;
+            this.moveDirection = random.nextFloat() * (float) (2 * Math.PI);
+        }
+
+        void update(float deltaTime, float playerX, float playerY) {
+            stateTimer += deltaTime;
+            if (stateTimer >= maxStateTime) {
+                stateTimer = 0;
+                if (currentBehavior == CreatureAI.BehaviorType.RANDOM_MOVE || currentBehavior == CreatureAI.BehaviorType.IDLE) {
+                    if (random.nextFloat() < 0.7f) {
+                        currentBehavior = CreatureAI.BehaviorType.RANDOM_MOVE;
+                        moveDirection = random.nextFloat() * (float) (2 * Math.PI);
+                    } else {
+                        currentBehavior = CreatureAI.BehaviorType.IDLE;
+                    }
+                    maxStateTime = 1.0f + random.nextFloat() * 3.0f;
+                }
+            }
+
+            float dx = playerX - x;
+            float dy = playerY - y;
+            float distanceToPlayer = (float) Math.sqrt(dx * dx + dy * dy);
+            if (distanceToPlayer <= detectionRange) {
+                float angleToPlayer = (float) Math.atan2(dy, dx);
+                if (currentBehavior == CreatureAI.BehaviorType.AGGRESSIVE && distanceToPlayer <= attackRange) {
+                    moveDirection = angleToPlayer;
+                } else if (currentBehavior == CreatureAI.BehaviorType.FLEE || distanceToPlayer <= fleeRange) {
+                    moveDirection = angleToPlayer + (float) Math.PI;
+                    currentBehavior = CreatureAI.BehaviorType.FLEE;
+                    float fleeSpeed = moveSpeed * 1.5f;
+                    x += (float) Math.cos(moveDirection) * fleeSpeed * deltaTime;
+                    y += (float) Math.sin(moveDirection) * fleeSpeed * deltaTime;
+                    stateTimer = 0;
+                    maxStateTime = 2.0f;
+                } else if (currentBehavior == CreatureAI.BehaviorType.AGGRESSIVE) {
+                    moveDirection = angleToPlayer;
+                    x += (float) Math.cos(moveDirection) * moveSpeed * deltaTime;
+                    y += (float) Math.sin(moveDirection) * moveSpeed * deltaTime;
+                    stateTimer = 0;
+                    maxStateTime = 2.0f;
+                }
+            }
+
+            if (currentBehavior == CreatureAI.BehaviorType.RANDOM_MOVE) {
+                x += (float) Math.cos(moveDirection) * moveSpeed * deltaTime;
+                y += (float) Math.sin(moveDirection) * moveSpeed * deltaTime;
+            }
+        }
+    }
+}
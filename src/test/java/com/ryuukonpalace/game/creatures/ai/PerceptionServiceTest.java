@@ -0,0 +1,98 @@
+package com.ryuukonpalace.game.creatures.ai;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le service de perception des IA.
+ */
+public class PerceptionServiceTest {
+
+    @Test
+    public void testQueryMatchesBruteForce() {
+        Random random = new Random(3);
+        int count = 5000;
+        float[] x = new float[count];
+        float[] y = new float[count];
+        int[] tags = new int[count];
+
+        PerceptionService perception = new PerceptionService(64);
+        for (int i = 0; i < count; i++) {
+            // Coordonnées négatives incluses pour vérifier l'arrondi des cellules
+            x[i] = random.nextFloat() * 4000 - 2000;
+            y[i] = random.nextFloat() * 4000 - 2000;
+            tags[i] = random.nextInt(3);
+            perception.add(i, x[i], y[i], tags[i]);
+        }
+        perception.build();
+        assertEquals(count, perception.size());
+
+        PerceptionService.Result result = new PerceptionService.Result();
+        for (int q = 0; q < 200; q++) {
+            float centerX = random.nextFloat() * 4000 - 2000;
+            float centerY = random.nextFloat() * 4000 - 2000;
+            float radius = random.nextFloat() * 300;
+            int tag = q % 2 == 0 ? PerceptionService.ANY_TAG : 1;
+
+            int found = perception.query(centerX, centerY, radius, tag, result);
+            int[] ids = new int[found];
+            for (int i = 0; i < found; i++) {
+                ids[i] = result.getId(i);
+                assertTrue(result.getDistanceSq(i) <= radius * radius);
+            }
+            Arrays.sort(ids);
+
+            int expected = 0;
+            for (int i = 0; i < count; i++) {
+                float dx = x[i] - centerX;
+                float dy = y[i] - centerY;
+                if ((tag == PerceptionService.ANY_TAG || tags[i] == tag) && dx * dx + dy * dy <= radius * radius) {
+                    assertTrue("Entité manquante dans le résultat: " + i, Arrays.binarySearch(ids, i) >= 0);
+                    expected++;
+                }
+            }
+            assertEquals("Aucun doublon ni entité en trop", expected, found);
+        }
+    }
+
+    @Test
+    public void testLargeRadiusAndNearest() {
+        PerceptionService perception = new PerceptionService(32);
+        perception.add(10, 0, 0, 0);
+        perception.add(11, 500, 0, 0);
+        perception.add(12, 100, 0, 0);
+        perception.build();
+
+        // Rayon couvrant plus de cellules que la table : parcours complet
+        PerceptionService.Result result = new PerceptionService.Result();
+        assertEquals(3, perception.query(0, 0, 10_000, PerceptionService.ANY_TAG, result));
+        assertEquals(10, result.getId(result.nearest()));
+
+        assertEquals(1, perception.query(90, 0, 20, PerceptionService.ANY_TAG, result));
+        assertEquals(12, result.getId(0));
+        assertEquals(100, result.getX(0), 0.0f);
+    }
+
+    @Test
+    public void testRebuildReusesService() {
+        PerceptionService perception = new PerceptionService();
+        PerceptionService.Result result = new PerceptionService.Result();
+        perception.add(1, 0, 0, 0);
+        perception.build();
+        assertEquals(1, perception.query(0, 0, 10, PerceptionService.ANY_TAG, result));
+
+        // Les requêtes voient le dernier build tant que le suivant n'est pas fait
+        perception.clear();
+        perception.add(2, 1000, 1000, 0);
+        assertEquals(1, perception.query(0, 0, 10, PerceptionService.ANY_TAG, result));
+
+        perception.build();
+        assertEquals(0, perception.query(0, 0, 10, PerceptionService.ANY_TAG, result));
+        assertEquals(1, perception.query(1000, 1000, 10, PerceptionService.ANY_TAG, result));
+        assertEquals(2, result.getId(0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ryuukonpalace.game.quest;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.ryuukonpalace.game.creatures.Creature;
+import com.ryuukonpalace.game.creatures.CreatureFactory;
+import com.ryuukonpalace.game.creatures.CreatureType;
+import com.ryuukonpalace.game.quest.objectives.*;
+
+/**
+ * Tests unitaires pour l'index des objectifs de quête par événement.
+ */
+public class QuestObjectiveIndexTest {
+
+    private static <T extends QuestObjective> T started(Quest quest, T objective) {
+        objective.start(null);
+        quest.addObjective(objective);
+        return objective;
+    }
+
+    @Test
+    public void testCreatureEventsReachOnlyMatchingObjectives() {
+        Quest quest = new Quest("q1", "Chasse", "Vaincre des créatures");
+        DefeatCreaturesObjective byId = started(quest, new DefeatCreaturesObjective("id", 12, "Nocturnix", 5));
+        DefeatCreaturesObjective byType = started(quest, new DefeatCreaturesObjective("type", CreatureType.SHADOW, 5));
+        DefeatCreaturesObjective byOtherType = started(quest, new DefeatCreaturesObjective("fire", CreatureType.FIRE, 5));
+        DefeatCreaturesObjective any = started(quest, new DefeatCreaturesObjective("any", 5));
+        CaptureVariantsObjective capture = started(quest, new CaptureVariantsObjective("capture", CreatureType.SHADOW, 2));
+
+        QuestObjectiveIndex index = new QuestObjectiveIndex();
+        index.addQuest(quest);
+        assertEquals(5, index.size());
+
+        Creature nocturnix = CreatureFactory.createCreature(12, 30);
+        index.onCreatureDefeated(nocturnix);
+        assertEquals(1, byId.getCurrentAmount());
+        assertEquals(1, byType.getCurrentAmount());
+        assertEquals("Un objectif d'un autre type n'est pas concerné", 0, byOtherType.getCurrentAmount());
+        assertEquals(1, any.getCurrentAmount());
+        assertEquals("Une capture n'est pas un combat", 0, capture.getCurrentAmount());
+
+        index.onVariantCaptured(nocturnix);
+        assertEquals(1, capture.getCurrentAmount());
+        assertEquals(1, byId.getCurrentAmount());
+    }
+
+    @Test
+    public void testTalkAndExploreKeys() {
+        Quest quest = new Quest("q2", "Messager", "Parler et explorer");
+        TalkToNPCObjective talk = started(quest, new TalkToNPCObjective("talk", 7, "Ancien", TalkToNPCObjective.NPCType.NEUTRE));
+        started(quest, new ExploreAreaObjective("forest", "forest", "Forêt", 0, 0, 100, 100));
+        started(quest, new ExploreAreaObjective("forest_night", "forest", "Forêt", 0, 0, 100, 100));
+        started(quest, new ExploreAreaObjective("cave", "cave", "Grotte", 0, 0, 100, 100));
+
+        QuestObjectiveIndex index = new QuestObjectiveIndex();
+        index.addQuest(quest);
+
+        index.onTalkToNPC(8, 0);
+        assertEquals(QuestObjectiveState.IN_PROGRESS, talk.getState());
+        index.onTalkToNPC(7, 0);
+        assertEquals(QuestObjectiveState.COMPLETED, talk.getState());
+
+        assertEquals(2, index.getExploreObjectivesByArea().size());
+        assertEquals(2, index.getExploreObjectivesByArea().get("forest").size());
+    }
+
+    @Test
+    public void testRemoveQuestUnindexesItsObjectives() {
+        Quest first = new Quest("q1", "Première", "");
+        Quest second = new Quest("q2", "Seconde", "");
+        DefeatCreaturesObjective firstObjective = started(first, new DefeatCreaturesObjective("same", 12, "Nocturnix", 5));
+        DefeatCreaturesObjective secondObjective = started(second, new DefeatCreaturesObjective("same", 12, "Nocturnix", 5));
+        started(second, new ExploreAreaObjective("cave", "cave", "Grotte", 0, 0, 100, 100));
+
+        QuestObjectiveIndex index = new QuestObjectiveIndex();
+        index.addQuest(first);
+        index.addQuest(second);
+        assertEquals(3, index.size());
+
+        index.removeQuest(second);
+        assertEquals(1, index.size());
+        assertTrue("Les zones sans objectif sont retirées", index.getExploreObjectivesByArea().isEmpty());
+
+        index.onCreatureDefeated(CreatureFactory.createCreature(12, 30));
+        assertEquals(1, firstObjective.getCurrentAmount());
+        assertEquals("La quête retirée ne reçoit plus d'événements", 0, secondObjective.getCurrentAmount());
+
+        index.clear();
+        assertEquals(0, index.size());
+    }
+}
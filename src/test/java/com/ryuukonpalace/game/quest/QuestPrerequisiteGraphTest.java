@@ -0,0 +1,98 @@
+package com.ryuukonpalace.game.quest;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le graphe des conditions de démarrage des quêtes.
+ */
+public class QuestPrerequisiteGraphTest {
+
+    private static List<String> drain(QuestPrerequisiteGraph graph) {
+        List<String> questIds = new ArrayList<>();
+        String questId;
+        while ((questId = graph.poll()) != null) {
+            questIds.add(questId);
+        }
+        return questIds;
+    }
+
+    @Test
+    public void testCompletedQuestEnqueuesOnlyDependents() {
+        Quest first = new Quest("q1", "Début", "Première quête");
+        Quest second = new Quest("q2", "Suite", "Après q1");
+        second.addPrerequisite("q1");
+        Quest third = new Quest("q3", "Fin", "Après q1 et q2");
+        third.addPrerequisite("q1");
+        third.addPrerequisite("q2");
+        Quest other = new Quest("q4", "Ailleurs", "Sans prérequis");
+
+        QuestPrerequisiteGraph graph = new QuestPrerequisiteGraph();
+        graph.addQuest(first);
+        graph.addQuest(second);
+        graph.addQuest(third);
+        graph.addQuest(other);
+        assertEquals(4, graph.size());
+        assertEquals("Toutes les quêtes sont évaluées une première fois", 4, drain(graph).size());
+
+        graph.onQuestCompleted("q1");
+        graph.onQuestCompleted("q1");
+        List<String> pending = drain(graph);
+        assertEquals("Une quête n'est mise en file qu'une fois", 2, pending.size());
+        assertTrue(pending.contains("q2"));
+        assertTrue(pending.contains("q3"));
+
+        graph.onQuestCompleted("q4");
+        assertEquals("Une quête sans dépendante ne réveille rien", 0, graph.getPendingCount());
+    }
+
+    @Test
+    public void testLevelUpEnqueuesNewlyReachedLevels() {
+        QuestPrerequisiteGraph graph = new QuestPrerequisiteGraph();
+        graph.addQuest(new Quest("l1", "Niveau 1", "", 1));
+        graph.addQuest(new Quest("l5", "Niveau 5", "", 5));
+        graph.addQuest(new Quest("l6", "Niveau 6", "", 6));
+        graph.addQuest(new Quest("l10", "Niveau 10", "", 10));
+        drain(graph);
+
+        graph.onLevelChanged(4, 6);
+        List<String> pending = drain(graph);
+        assertEquals(2, pending.size());
+        assertTrue(pending.contains("l5"));
+        assertTrue(pending.contains("l6"));
+
+        graph.onLevelChanged(6, 3);
+        assertEquals("Une baisse de niveau ne réveille rien", 0, graph.getPendingCount());
+    }
+
+    @Test
+    public void testFlagsAndFactions() {
+        Quest flagged = new Quest("f1", "Secret", "Après le choix");
+        flagged.addRequiredFlag("pacte_scelle");
+        Quest faction = new Quest("f2", "Mission", "Pour la faction");
+        faction.setFactionSpecific(true, "MONTAGNE");
+
+        QuestPrerequisiteGraph graph = new QuestPrerequisiteGraph();
+        graph.addQuest(flagged);
+        graph.addQuest(faction);
+        drain(graph);
+
+        graph.onFlagSet("autre_drapeau");
+        assertEquals(0, graph.getPendingCount());
+        graph.onFlagSet("pacte_scelle");
+        assertEquals("f1", graph.poll());
+
+        graph.onFactionChanged();
+        assertEquals("f2", graph.poll());
+        assertNull(graph.poll());
+
+        graph.clear();
+        assertEquals(0, graph.size());
+        graph.onFactionChanged();
+        assertNull("Le graphe vidé ne contient plus de dépendances", graph.poll());
+    }
+}
@@ -0,0 +1,128 @@
+package com.ryuukonpalace.game.quest;
+
+import com.ryuukonpalace.game.player.Player;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparant la vérification d'origine des quêtes à démarrer (canStartQuest sur toutes
+ * les quêtes disponibles, à chaque frame) à la file de réévaluation du graphe des conditions.
+ * Les quêtes générées ont un niveau minimum entre 1 et 60, jusqu'à trois prérequis parmi les
+ * quêtes précédentes, et certaines un drapeau d'histoire ou une faction.
+ * La dernière mesure ajoute un événement toutes les 10 frames (quête complétée, niveau gagné
+ * ou drapeau posé) pour montrer le coût des seules réévaluations.
+ *
+ * Exécution : java -cp target/classes:target/test-classes com.ryuukonpalace.game.quest.QuestUnlockBenchmark
+ */
+public class QuestUnlockBenchmark {
+
+    private static final int[] SIZES = {1_000, 5_000, 20_000};
+
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 500;
+
+    private static int sink;
+
+    public static void main(String[] args) {
+        PrintStream out = System.out;
+        PrintStream silent = new PrintStream(OutputStream.nullOutputStream());
+
+        Player player = new Player();
+        QuestManager manager = QuestManager.getInstance();
+        System.setOut(silent);
+        manager.initialize(player, null);
+        System.setOut(out);
+
+        int generated = 0;
+        for (int size : SIZES) {
+            // Compléter le jeu de quêtes jusqu'à la taille voulue
+            Random random = new Random(size);
+            System.setOut(silent);
+            for (; generated < size; generated++) {
+                manager.addQuest(generateQuest(generated, random));
+            }
+            manager.checkAutoStartQuests();
+            System.setOut(out);
+            List<Quest> quests = manager.getAvailableQuests();
+
+            double pollingUs = measure(frame -> {
+                for (Quest quest : quests) {
+                    if (manager.canStartQuest(quest)) {
+                        sink++;
+                    }
+                }
+            });
+            double graphUs = measure(frame -> manager.checkAutoStartQuests());
+
+            System.setOut(silent);
+            double eventsUs = measure(frame -> {
+                if (frame % 10 == 0) {
+                    triggerEvent(manager, player, frame / 10);
+                }
+                manager.checkAutoStartQuests();
+            });
+            System.setOut(out);
+
+            System.out.printf("%,7d quêtes | parcours: %9.2f µs/frame | graphe: %6.3f µs/frame | graphe + événements: %7.2f µs/frame | %d actives, %d complétées%n",
+                              quests.size(), pollingUs, graphUs, eventsUs,
+                              manager.getActiveQuests().size(), manager.getCompletedQuests().size());
+        }
+        System.out.println("(ignorer) " + sink);
+    }
+
+    private static Quest generateQuest(int index, Random random) {
+        Quest quest = new Quest("bench_" + index, "Quête " + index, "Quête générée", 1 + random.nextInt(60));
+        int prerequisites = index > 0 ? random.nextInt(4) : 0;
+        for (int i = 0; i < prerequisites; i++) {
+            quest.addPrerequisite("bench_" + random.nextInt(index));
+        }
+        if (random.nextInt(10) == 0) {
+            quest.addRequiredFlag("drapeau_" + random.nextInt(50));
+        }
+        if (random.nextInt(20) == 0) {
+            quest.setFactionSpecific(true, "MONTAGNE");
+        }
+        return quest;
+    }
+
+    /**
+     * Compléter une quête active, gagner un niveau ou poser un drapeau, à tour de rôle
+     */
+    private static void triggerEvent(QuestManager manager, Player player, int event) {
+        switch (event % 3) {
+            case 0:
+                List<Quest> active = new ArrayList<>(manager.getActiveQuests());
+                if (!active.isEmpty()) {
+                    manager.completeQuest(active.get(event % active.size()).getId());
+                }
+                break;
+            case 1:
+                if (player.getLevel() < 60) {
+                    player.setLevel(player.getLevel() + 1);
+                }
+                break;
+            default:
+                manager.setStoryFlag("drapeau_" + (event % 50));
+                break;
+        }
+    }
+
+    private interface Frame {
+        void run(int frame);
+    }
+
+    private static double measure(Frame frame) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            frame.run(WARMUP_FRAMES + i);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_FRAMES;
+    }
+}
@@ -0,0 +1,130 @@
+package com.ryuukonpalace.game.save;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour le format binaire des sauvegardes.
+ */
+public class BinarySaveFormatTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("saves");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static JsonObject sampleSave() {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", 1);
+        metadata.addProperty("playerName", "Tacticien <Ryū> & co");
+        metadata.addProperty("playTime", 123456);
+
+        JsonObject player = new JsonObject();
+        player.addProperty("money", -42);
+        player.addProperty("x", 12.5f);
+        player.addProperty("y", 0.1);
+        player.addProperty("experience", Long.MAX_VALUE);
+        player.add("companion", JsonNull.INSTANCE);
+        JsonArray creatures = new JsonArray();
+        for (int i = 0; i < 200; i++) {
+            JsonObject creature = new JsonObject();
+            creature.addProperty("id", i);
+            creature.addProperty("level", 5 + i % 50);
+            creature.addProperty("shiny", i % 7 == 0);
+            creature.addProperty("type", i % 2 == 0 ? "FEU" : "EAU");
+            creatures.add(creature);
+        }
+        player.add("capturedCreatures", creatures);
+
+        JsonObject custom = new JsonObject();
+        custom.addProperty("note", "section non répertoriée");
+
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        saveData.add("player", player);
+        saveData.add("world", new JsonObject());
+        saveData.add("extension", custom);
+        return saveData;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path target = directory.resolve("save_1" + BinarySaveFormat.EXTENSION);
+        JsonObject saveData = sampleSave();
+        String checksum = SaveFiles.writeBinaryAtomically(target, saveData);
+
+        assertNotNull(checksum);
+        assertTrue("Le fichier doit être reconnu comme binaire", SaveFiles.isBinary(target.toFile()));
+        assertEquals("Les données relues doivent être identiques", saveData, SaveFiles.read(target.toFile()));
+        assertTrue("Les clés répétées ne sont écrites qu'une fois", Files.size(target) < saveData.toString().length() / 2);
+    }
+
+    @Test
+    public void testReadMetadataOnly() throws IOException {
+        Path target = directory.resolve("save_1" + BinarySaveFormat.EXTENSION);
+        JsonObject saveData = sampleSave();
+        SaveFiles.writeBinaryAtomically(target, saveData);
+
+        // Corrompre la dernière section : les métadonnées, écrites en premier, restent lisibles
+        byte[] bytes = Files.readAllBytes(target);
+        bytes[bytes.length - 2] ^= 0x5A;
+        Files.write(target, bytes);
+
+        assertEquals(saveData.getAsJsonObject("metadata"), SaveFiles.readMetadata(target.toFile()));
+        try {
+            SaveFiles.read(target.toFile());
+            fail("Une section corrompue doit être détectée");
+        } catch (IOException e) {
+            // Attendu
+        }
+    }
+
+    @Test
+    public void testConvertLegacySave() throws IOException {
+        JsonObject saveData = sampleSave();
+        // Gson n'écrit pas les valeurs nulles dans le JSON indenté
+        saveData.getAsJsonObject("player").remove("companion");
+        String checksum = SaveFiles.computeLegacyChecksum(saveData);
+        JsonObject withChecksum = saveData.deepCopy();
+        withChecksum.getAsJsonObject("metadata").addProperty("checksum", checksum);
+
+        File jsonFile = directory.resolve("save_2.json").toFile();
+        Files.write(jsonFile.toPath(), new GsonBuilder().setPrettyPrinting().create().toJson(withChecksum).getBytes(StandardCharsets.UTF_8));
+        File binaryFile = SaveFormatConverter.getBinaryFile(jsonFile);
+        assertEquals("save_2" + BinarySaveFormat.EXTENSION, binaryFile.getName());
+
+        assertTrue("La conversion doit réussir", SaveFormatConverter.convert(jsonFile, binaryFile));
+        assertEquals("Le checksum JSON est remplacé par les CRC des sections", saveData, SaveFiles.read(binaryFile));
+        assertTrue("Le fichier JSON est conservé", jsonFile.exists());
+
+        // Une sauvegarde JSON corrompue n'est pas convertie
+        withChecksum.getAsJsonObject("metadata").addProperty("checksum", "0");
+        Files.write(jsonFile.toPath(), withChecksum.toString().getBytes(StandardCharsets.UTF_8));
+        assertFalse(SaveFormatConverter.convert(jsonFile, directory.resolve("save_3.sav").toFile()));
+    }
+}
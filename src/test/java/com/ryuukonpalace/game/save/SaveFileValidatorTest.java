@@ -0,0 +1,139 @@
+package com.ryuukonpalace.game.save;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour la vérification et la réparation des sauvegardes binaires.
+ */
+public class SaveFileValidatorTest {
+
+    private Path directory;
+    private File saveFile;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("saves");
+        saveFile = directory.resolve("save_1" + BinarySaveFormat.EXTENSION).toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static JsonObject sampleSave(int money) {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", 1);
+        JsonObject world = new JsonObject();
+        world.addProperty("currentZone", "Lumina City");
+        JsonObject player = new JsonObject();
+        player.addProperty("name", "Tacticien");
+        player.addProperty("money", money);
+
+        // La section du joueur est la dernière du fichier
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        saveData.add("world", world);
+        saveData.add("player", player);
+        return saveData;
+    }
+
+    /**
+     * Corrompre la dernière section (l'avant-dernier octet précède la section de fin)
+     */
+    private void corruptLastSection() throws IOException {
+        byte[] bytes = Files.readAllBytes(saveFile.toPath());
+        bytes[bytes.length - 2] ^= 0x5A;
+        Files.write(saveFile.toPath(), bytes);
+    }
+
+    @Test
+    public void testCorruptedSectionLocalized() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), sampleSave(500));
+        assertTrue(SaveFileValidator.validateSaveFile(saveFile.getPath()));
+
+        corruptLastSection();
+        SaveFileValidator.SectionCheck check = SaveFileValidator.checkSections(saveFile);
+        assertEquals(Arrays.asList("metadata", "world", "player"), check.sections);
+        assertEquals("Seule la section modifiée est signalée", Arrays.asList("player"), check.getCorruptedSections());
+        assertFalse(check.truncated);
+        assertFalse(SaveFileValidator.validateSaveFile(saveFile.getPath()));
+    }
+
+    @Test
+    public void testRepairFromBackup() throws IOException {
+        // La sauvegarde précédente devient la copie de secours avant d'être remplacée
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), sampleSave(100));
+        assertTrue(SaveFileValidator.createBackup(saveFile.getPath()));
+        JsonObject saveData = sampleSave(500);
+        saveData.getAsJsonObject("world").addProperty("currentZone", "Palais de Ryuukon");
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), saveData);
+        corruptLastSection();
+
+        assertTrue(SaveFileValidator.repairSaveFile(saveFile.getPath()));
+        JsonObject repaired = SaveFiles.read(saveFile);
+        assertEquals("La section corrompue vient de la copie de secours", 100, repaired.getAsJsonObject("player").get("money").getAsInt());
+        assertEquals("Les sections intactes sont conservées", "Palais de Ryuukon",
+                     repaired.getAsJsonObject("world").get("currentZone").getAsString());
+        assertTrue(SaveFileValidator.validateSaveFile(saveFile.getPath()));
+    }
+
+    @Test
+    public void testRepairWithoutBackup() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), sampleSave(500));
+        corruptLastSection();
+        byte[] corrupted = Files.readAllBytes(saveFile.toPath());
+
+        assertFalse("Une section obligatoire irrécupérable fait échouer la réparation",
+                    SaveFileValidator.repairSaveFile(saveFile.getPath()));
+        assertArrayEquals("La sauvegarde n'est pas modifiée", corrupted, Files.readAllBytes(saveFile.toPath()));
+        assertFalse(SaveFileValidator.validateSaveFile(saveFile.getPath()));
+    }
+
+    @Test
+    public void testCorruptedSaveKeepsBackup() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), sampleSave(100));
+        assertTrue(SaveFileValidator.createBackup(saveFile.getPath()));
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), sampleSave(500));
+        corruptLastSection();
+
+        assertFalse("Une sauvegarde corrompue ne remplace pas la copie de secours",
+                    SaveFileValidator.createBackup(saveFile.getPath()));
+        JsonObject backup = SaveFiles.read(SaveFileValidator.getBackupFile(saveFile));
+        assertEquals(100, backup.getAsJsonObject("player").get("money").getAsInt());
+    }
+
+    @Test
+    public void testCorruptedJournalDetected() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), sampleSave(500));
+        File journal = SaveJournal.getJournalFile(saveFile);
+        JsonObject record = new JsonObject();
+        record.add("metadata", new JsonObject());
+        long size = SaveJournal.append(journal, record, 0);
+
+        byte[] bytes = Files.readAllBytes(journal.toPath());
+        bytes[(int) size - 2] ^= 0x5A;
+        Files.write(journal.toPath(), bytes);
+        assertFalse("Le journal est vérifié avec la sauvegarde", SaveFileValidator.validateSaveFile(saveFile.getPath()));
+
+        assertTrue(SaveFileValidator.repairSaveFile(saveFile.getPath()));
+        assertEquals("Le journal est coupé avant l'enregistrement corrompu", 0, journal.length());
+        assertTrue(SaveFileValidator.validateSaveFile(saveFile.getPath()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.ryuukonpalace.game.save;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour la lecture et l'écriture des fichiers de sauvegarde.
+ */
+public class SaveFilesTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("saves");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static JsonObject sampleSave() {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", 1);
+        metadata.addProperty("playerName", "Tacticien <Ryū> & co");
+        JsonObject player = new JsonObject();
+        player.addProperty("level", 12);
+        JsonArray creatures = new JsonArray();
+        for (int i = 0; i < 50; i++) {
+            JsonObject creature = new JsonObject();
+            creature.addProperty("id", i);
+            creature.addProperty("level", 5 + i);
+            creatures.add(creature);
+        }
+        player.add("capturedCreatures", creatures);
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        saveData.add("player", player);
+        saveData.add("world", new JsonObject());
+        return saveData;
+    }
+
+    @Test
+    public void testAtomicCompressedWriteRoundTrip() throws IOException {
+        Path target = directory.resolve("save_1.json");
+        JsonObject saveData = sampleSave();
+        SaveFiles.writeAtomically(target, saveData);
+        SaveFiles.writeAtomically(target, saveData);
+
+        assertFalse("Le fichier temporaire doit être renommé", Files.exists(directory.resolve("save_1.json" + SaveFiles.TEMP_EXTENSION)));
+        try (InputStream in = Files.newInputStream(target)) {
+            assertEquals("La sauvegarde doit être compressée", 0x1f, in.read());
+            assertEquals(0x8b, in.read());
+        }
+        assertEquals(saveData, SaveFiles.read(target.toFile()));
+    }
+
+    @Test
+    public void testChecksumMatchesCompactJson() {
+        JsonObject saveData = sampleSave();
+        CRC32 crc32 = new CRC32();
+        crc32.update(saveData.toString().getBytes(StandardCharsets.UTF_8));
+        String checksum = SaveFiles.computeChecksum(saveData);
+        assertEquals("Le checksum est pris sur le JSON compact", Long.toHexString(crc32.getValue()), checksum);
+        assertTrue(SaveFiles.matchesChecksum(saveData, checksum));
+
+        saveData.getAsJsonObject("player").addProperty("level", 13);
+        assertFalse("Une modification change le checksum", SaveFiles.matchesChecksum(saveData, checksum));
+    }
+
+    @Test
+    public void testReadsLegacyUncompressedSave() throws IOException {
+        JsonObject saveData = sampleSave();
+        String legacyChecksum = SaveFiles.computeLegacyChecksum(saveData);
+        Path legacy = directory.resolve("save_2.json");
+        Files.write(legacy, new GsonBuilder().setPrettyPrinting().create().toJson(saveData).getBytes(StandardCharsets.UTF_8));
+
+        JsonObject loaded = SaveFiles.read(legacy.toFile());
+        assertEquals(saveData, loaded);
+        assertTrue("Le checksum des anciennes sauvegardes reste accepté", SaveFiles.matchesChecksum(loaded, legacyChecksum));
+    }
+}
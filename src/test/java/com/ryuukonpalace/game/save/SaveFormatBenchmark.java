@@ -0,0 +1,195 @@
+package com.ryuukonpalace.game.save;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Benchmark comparant les formats de sauvegarde sur une partie avancée générée
+ * (400 créatures, 300 objets, 500 quêtes avec leurs données, 200 zones, 300 entrées
+ * de progression et 200 choix) : l'ancien JSON indenté, le JSON compact compressé (GZIP)
+ * et le format binaire. Mesure la taille du fichier, l'écriture (sérialisation, checksum et
+ * écriture atomique) et la lecture complète.
+ *
+ * Exécution : java -cp target/classes:target/test-classes com.ryuukonpalace.game.save.SaveFormatBenchmark
+ */
+public class SaveFormatBenchmark {
+
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    private static long sink;
+
+    /**
+     * Opération à mesurer
+     */
+    private interface Operation {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File workDir = Files.createTempDirectory("savebench").toFile();
+        JsonObject saveData = generateSave(new Random(42));
+
+        File legacy = new File(workDir, "legacy.json");
+        File gzip = new File(workDir, "gzip.json");
+        File binary = new File(workDir, "binary" + BinarySaveFormat.EXTENSION);
+
+        // Ancien format : JSON indenté, checksum sur le texte indenté
+        double legacyWrite = measure(() -> {
+            JsonObject copy = saveData.deepCopy();
+            copy.getAsJsonObject("metadata").addProperty("checksum", SaveFiles.computeLegacyChecksum(saveData));
+            try (BufferedWriter writer = Files.newBufferedWriter(legacy.toPath(), StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(copy, writer);
+            }
+        });
+        double legacyRead = measure(() -> {
+            try (Reader reader = Files.newBufferedReader(legacy.toPath(), StandardCharsets.UTF_8)) {
+                sink += JsonParser.parseReader(reader).getAsJsonObject().size();
+            }
+        });
+
+        // JSON compact compressé, checksum calculé au fil de l'eau
+        double gzipWrite = measure(() -> {
+            JsonObject copy = saveData.deepCopy();
+            copy.getAsJsonObject("metadata").addProperty("checksum", SaveFiles.computeChecksum(saveData));
+            SaveFiles.writeAtomically(gzip.toPath(), copy);
+        });
+        double gzipRead = measure(() -> sink += SaveFiles.read(gzip).size());
+
+        // Format binaire, CRC32C par section
+        double binaryWrite = measure(() -> sink += SaveFiles.writeBinaryAtomically(binary.toPath(), saveData).length());
+        double binaryRead = measure(() -> sink += SaveFiles.read(binary).size());
+        double metadataRead = measure(() -> sink += SaveFiles.readMetadata(binary).size());
+
+        if (!saveData.equals(SaveFiles.read(binary))) {
+            System.err.println("Différences détectées après relecture du format binaire");
+        }
+
+        System.out.printf("Sauvegarde générée : %d créatures, %d objets, %d quêtes%n", 400, 300, 500);
+        System.out.printf("  JSON indenté     %,10d octets | écriture %8.3f ms | lecture %8.3f ms%n",
+                          legacy.length(), legacyWrite, legacyRead);
+        System.out.printf("  JSON GZIP        %,10d octets | écriture %8.3f ms | lecture %8.3f ms%n",
+                          gzip.length(), gzipWrite, gzipRead);
+        System.out.printf("  binaire          %,10d octets | écriture %8.3f ms | lecture %8.3f ms%n",
+                          binary.length(), binaryWrite, binaryRead);
+        System.out.printf("  métadonnées seules (binaire)                         lecture %8.3f ms%n", metadataRead);
+        System.out.println("(checksum " + sink + ")");
+
+        for (File file : workDir.listFiles()) {
+            file.delete();
+        }
+        workDir.delete();
+    }
+
+    private static double measure(Operation operation) throws IOException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / (MEASURED_RUNS * 1_000_000.0);
+    }
+
+    /**
+     * Générer une sauvegarde de fin de partie au format de SaveSnapshot.toJson()
+     */
+    private static JsonObject generateSave(Random random) {
+        String[] zones = {"Lumina City", "Forêt d'Émeraude", "Grottes de Cristal", "Palais de Ryuukon"};
+        String[] statuses = {"NOT_STARTED", "IN_PROGRESS", "COMPLETED", "FAILED"};
+
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", 1);
+        metadata.addProperty("playerName", "Tacticien");
+        metadata.addProperty("timestamp", "2024-05-01 20:15:00");
+        metadata.addProperty("location", zones[3]);
+        metadata.addProperty("playerLevel", 58);
+        metadata.addProperty("playTime", 512_340);
+        metadata.addProperty("capturedVariants", 400);
+
+        JsonObject player = new JsonObject();
+        player.addProperty("name", "Tacticien");
+        player.addProperty("level", 58);
+        player.addProperty("experience", 1_254_300);
+        player.addProperty("money", 98_450);
+        player.addProperty("x", 1532.5f);
+        player.addProperty("y", 884.25f);
+        player.addProperty("direction", "DOWN");
+        JsonArray creatures = new JsonArray();
+        for (int i = 0; i < 400; i++) {
+            JsonObject creature = new JsonObject();
+            creature.addProperty("id", 1 + random.nextInt(150));
+            creature.addProperty("level", 5 + random.nextInt(60));
+            creature.addProperty("experience", random.nextInt(200_000));
+            creatures.add(creature);
+        }
+        player.add("capturedCreatures", creatures);
+        JsonArray inventory = new JsonArray();
+        for (int i = 0; i < 300; i++) {
+            JsonObject item = new JsonObject();
+            item.addProperty("id", 1 + random.nextInt(80));
+            inventory.add(item);
+        }
+        player.add("inventory", inventory);
+
+        JsonObject world = new JsonObject();
+        world.addProperty("currentZone", zones[3]);
+        world.addProperty("weather", "CLEAR");
+        world.addProperty("time", 14.75f);
+
+        JsonObject questsState = new JsonObject();
+        for (int i = 0; i < 500; i++) {
+            JsonObject state = new JsonObject();
+            state.addProperty("questId", i);
+            state.addProperty("status", statuses[random.nextInt(statuses.length)]);
+            state.addProperty("currentStep", random.nextInt(6));
+            JsonObject questData = new JsonObject();
+            questData.addProperty("killCount", (double) random.nextInt(30));
+            questData.addProperty("talkedToNpc", random.nextBoolean());
+            questData.addProperty("lastZone", zones[random.nextInt(zones.length)]);
+            state.add("questData", questData);
+            questsState.add(String.valueOf(i), state);
+        }
+        JsonObject quests = new JsonObject();
+        quests.add("questsState", questsState);
+
+        JsonObject discoveredAreas = new JsonObject();
+        for (int i = 0; i < 200; i++) {
+            discoveredAreas.addProperty(String.valueOf(i), random.nextInt(4) != 0);
+        }
+        JsonObject areas = new JsonObject();
+        areas.add("discoveredAreas", discoveredAreas);
+
+        JsonObject storyProgressionState = new JsonObject();
+        for (int i = 0; i < 300; i++) {
+            storyProgressionState.addProperty("chapter_" + (i / 20) + "_event_" + i, random.nextBoolean());
+        }
+        JsonObject playerChoices = new JsonObject();
+        for (int i = 0; i < 200; i++) {
+            playerChoices.addProperty("choice_" + i, random.nextBoolean() ? "accepter" : "refuser");
+        }
+        JsonObject storyProgression = new JsonObject();
+        storyProgression.add("storyProgressionState", storyProgressionState);
+        storyProgression.add("playerChoices", playerChoices);
+
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        saveData.add("player", player);
+        saveData.add("world", world);
+        saveData.add("quests", quests);
+        saveData.add("areas", areas);
+        saveData.add("storyProgression", storyProgression);
+        return saveData;
+    }
+}
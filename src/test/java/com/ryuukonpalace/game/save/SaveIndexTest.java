@@ -0,0 +1,84 @@
+package com.ryuukonpalace.game.save;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour l'index des sauvegardes.
+ */
+public class SaveIndexTest {
+
+    private Path directory;
+    private File saveFile;
+    private File indexFile;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("saves");
+        saveFile = directory.resolve("save_1" + BinarySaveFormat.EXTENSION).toFile();
+        indexFile = directory.resolve(SaveIndex.FILE_NAME).toFile();
+
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", 1);
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        saveData.add("player", new JsonObject());
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), saveData);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        SaveMetadata metadata = new SaveMetadata(1, "Tacticien", "2024-05-01 20:15:00", "Lumina City",
+                                                 12, 3600, 7, "abc123", saveFile.getPath());
+        SaveIndex.write(indexFile, Arrays.asList(metadata));
+
+        Map<String, JsonObject> index = SaveIndex.read(indexFile);
+        JsonObject entry = index.get(saveFile.getName());
+        assertNotNull("La sauvegarde doit figurer dans l'index", entry);
+        assertTrue(SaveIndex.matches(entry, saveFile));
+        assertEquals(metadata.toString(), SaveIndex.toMetadata(entry, saveFile).toString());
+        assertEquals("abc123", SaveIndex.toMetadata(entry, saveFile).getChecksum());
+        assertTrue("L'index reste petit", indexFile.length() < 300);
+    }
+
+    @Test
+    public void testModifiedSaveDetected() throws IOException {
+        SaveMetadata metadata = new SaveMetadata(1, "Tacticien", "", "Lumina City", 1, 0, 0, "", saveFile.getPath());
+        SaveIndex.write(indexFile, Arrays.asList(metadata));
+        JsonObject entry = SaveIndex.read(indexFile).get(saveFile.getName());
+
+        // Un enregistrement ajouté au journal rend l'entrée obsolète
+        JsonObject record = new JsonObject();
+        record.add("metadata", new JsonObject());
+        SaveJournal.append(SaveJournal.getJournalFile(saveFile), record, 0);
+        assertFalse(SaveIndex.matches(entry, saveFile));
+    }
+
+    @Test
+    public void testCorruptedIndexIgnored() throws IOException {
+        Files.write(indexFile.toPath(), new byte[] {'R', 'Y', 'S', 'V', 1, 127, 5});
+        assertTrue(SaveIndex.read(indexFile).isEmpty());
+        assertTrue(SaveIndex.read(directory.resolve("absent.index").toFile()).isEmpty());
+    }
+}
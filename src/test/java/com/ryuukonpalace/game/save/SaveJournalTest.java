@@ -0,0 +1,154 @@
+package com.ryuukonpalace.game.save;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour le journal des sauvegardes incrémentales.
+ */
+public class SaveJournalTest {
+
+    private static final long GENERATION = 1000L;
+
+    private Path directory;
+    private File saveFile;
+    private File journal;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("saves");
+        saveFile = directory.resolve("save_0" + BinarySaveFormat.EXTENSION).toFile();
+        journal = SaveJournal.getJournalFile(saveFile);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static JsonObject fullSave() {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("slot", 0);
+        metadata.addProperty("playTime", 100);
+        metadata.addProperty("generation", GENERATION);
+
+        JsonObject player = new JsonObject();
+        player.addProperty("name", "Tacticien");
+        player.addProperty("money", 500);
+
+        JsonObject world = new JsonObject();
+        world.addProperty("currentZone", "Lumina City");
+
+        JsonObject saveData = new JsonObject();
+        saveData.add("metadata", metadata);
+        saveData.add("player", player);
+        saveData.add("world", world);
+        return saveData;
+    }
+
+    private static JsonObject record(int playTime, int money) {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("playTime", playTime);
+        JsonObject player = new JsonObject();
+        player.addProperty("money", money);
+
+        JsonObject record = new JsonObject();
+        record.add("metadata", metadata);
+        record.add("player", player);
+        return record;
+    }
+
+    @Test
+    public void testReplayMergesRecords() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), fullSave());
+        SaveJournal.append(journal, record(200, 750), GENERATION);
+        SaveJournal.append(journal, record(300, 900), GENERATION);
+
+        JsonObject saveData = SaveFiles.read(saveFile);
+        assertEquals(2, SaveJournal.replay(saveData, journal));
+        assertEquals("Le dernier enregistrement l'emporte", 900, saveData.getAsJsonObject("player").get("money").getAsInt());
+        assertEquals("Les membres non modifiés sont conservés", "Tacticien", saveData.getAsJsonObject("player").get("name").getAsString());
+        assertEquals("Lumina City", saveData.getAsJsonObject("world").get("currentZone").getAsString());
+        assertEquals(300, saveData.getAsJsonObject("metadata").get("playTime").getAsInt());
+        assertFalse(saveData.getAsJsonObject("metadata").has("baseGeneration"));
+
+        JsonObject metadata = SaveFiles.readMetadata(saveFile);
+        assertEquals(2, SaveJournal.replayMetadata(metadata, journal));
+        assertEquals(300, metadata.get("playTime").getAsInt());
+    }
+
+    @Test
+    public void testTornRecordIgnored() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), fullSave());
+        SaveJournal.append(journal, record(200, 750), GENERATION);
+        long size = SaveJournal.append(journal, record(300, 900), GENERATION);
+
+        // Simuler une écriture interrompue du dernier enregistrement
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.setLength(size - 3);
+        }
+
+        JsonObject saveData = SaveFiles.read(saveFile);
+        assertEquals(1, SaveJournal.replay(saveData, journal));
+        assertEquals(750, saveData.getAsJsonObject("player").get("money").getAsInt());
+
+        SaveJournal.Check check = SaveJournal.verify(journal);
+        assertFalse("Un ajout interrompu n'est pas une corruption", check.corrupted);
+        assertTrue(check.torn);
+        assertEquals(1, check.records);
+    }
+
+    @Test
+    public void testCorruptedRecordDetected() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), fullSave());
+        long first = SaveJournal.append(journal, record(200, 750), GENERATION);
+        long size = SaveJournal.append(journal, record(300, 900), GENERATION);
+
+        // Corrompre la dernière section du second enregistrement
+        byte[] bytes = Files.readAllBytes(journal.toPath());
+        bytes[(int) size - 2] ^= 0x5A;
+        Files.write(journal.toPath(), bytes);
+
+        SaveJournal.Check check = SaveJournal.verify(journal);
+        assertTrue(check.corrupted);
+        assertEquals(1, check.records);
+        assertEquals(first, check.validLength);
+
+        // Après la coupure, les nouveaux enregistrements sont relus
+        SaveJournal.truncate(journal, check.validLength);
+        SaveJournal.append(journal, record(400, 1000), GENERATION);
+        JsonObject saveData = SaveFiles.read(saveFile);
+        assertEquals(2, SaveJournal.replay(saveData, journal));
+        assertEquals(1000, saveData.getAsJsonObject("player").get("money").getAsInt());
+        assertFalse(SaveJournal.verify(journal).corrupted);
+    }
+
+    @Test
+    public void testOtherGenerationIgnored() throws IOException {
+        SaveFiles.writeBinaryAtomically(saveFile.toPath(), fullSave());
+
+        // Journal d'une sauvegarde complète précédente, non supprimé
+        SaveJournal.append(journal, record(50, 10), GENERATION - 1);
+        SaveJournal.append(journal, record(200, 750), GENERATION);
+
+        JsonObject saveData = SaveFiles.read(saveFile);
+        assertEquals(1, SaveJournal.replay(saveData, journal));
+        assertEquals(750, saveData.getAsJsonObject("player").get("money").getAsInt());
+        assertEquals(200, saveData.getAsJsonObject("metadata").get("playTime").getAsInt());
+    }
+}
@@ -0,0 +1,86 @@
+package com.ryuukonpalace.game.utils;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests unitaires pour la construction des atlas de textures.
+ */
+public class TextureAtlasBuilderTest {
+
+    private static BufferedImage solidImage(int width, int height, int argb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testRegionsDoNotOverlap() {
+        TextureAtlasBuilder builder = new TextureAtlasBuilder().setPageSize(128).setPadding(1).setBleed(1);
+        for (int i = 0; i < 20; i++) {
+            builder.add("sprite_" + i, solidImage(16 + i % 3 * 4, 16, 0xFF000000 | i));
+        }
+        TextureAtlas atlas = builder.build();
+
+        assertEquals("Toutes les images devraient être rangées", 20, atlas.getRegionCount());
+
+        for (int i = 0; i < 20; i++) {
+            int[] a = atlas.getRegionRect("sprite_" + i);
+            BufferedImage page = atlas.getPage(a[0]);
+            assertTrue("La région devrait être dans la page", a[1] >= 1 && a[2] >= 1
+                       && a[1] + a[3] <= page.getWidth() && a[2] + a[4] <= page.getHeight());
+
+            for (int j = i + 1; j < 20; j++) {
+                int[] b = atlas.getRegionRect("sprite_" + j);
+                boolean separate = a[0] != b[0]
+                    || a[1] + a[3] <= b[1] || b[1] + b[3] <= a[1]
+                    || a[2] + a[4] <= b[2] || b[2] + b[4] <= a[2];
+                assertTrue("Les régions ne devraient pas se chevaucher", separate);
+            }
+        }
+    }
+
+    @Test
+    public void testBleedDuplicatesEdges() {
+        TextureAtlas atlas = new TextureAtlasBuilder().setPadding(0).setBleed(1)
+            .add("red", solidImage(8, 8, 0xFFFF0000))
+            .build();
+
+        int[] rect = atlas.getRegionRect("red");
+        BufferedImage page = atlas.getPage(rect[0]);
+        assertEquals("Le bord gauche devrait être dupliqué", 0xFFFF0000, page.getRGB(rect[1] - 1, rect[2]));
+        assertEquals("Le bord bas devrait être dupliqué", 0xFFFF0000, page.getRGB(rect[1], rect[2] + rect[4]));
+    }
+
+    @Test
+    public void testNewPageWhenFull() {
+        TextureAtlasBuilder builder = new TextureAtlasBuilder().setPageSize(64).setPadding(0).setBleed(0);
+        for (int i = 0; i < 5; i++) {
+            builder.add("big_" + i, solidImage(32, 32, 0xFF00FF00));
+        }
+        TextureAtlas atlas = builder.build();
+
+        assertEquals("Quatre images par page, la cinquième sur une nouvelle page", 2, atlas.getPageCount());
+    }
+
+    @Test
+    public void testUploadBuildsRegions() {
+        TextureAtlas atlas = new TextureAtlasBuilder().setPageSize(64).setPadding(0).setBleed(0)
+            .add("tile", solidImage(32, 16, 0xFF0000FF))
+            .build();
+        assertNull("Les régions ne devraient pas exister avant l'envoi", atlas.getRegion("tile"));
+
+        atlas.upload();
+        TextureRegion region = atlas.getRegion("tile");
+        assertNotNull(region);
+        assertEquals(32, region.getWidth());
+        assertEquals(0.5f, region.getU1() - region.getU0(), 0.0001f);
+        assertEquals(0.25f, region.getV1() - region.getV0(), 0.0001f);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ryuukonpalace.game.world;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour le format de carte binaire.
+ */
+public class BinaryMapFileTest {
+
+    private File folder;
+    private File mapFile;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("binarymap").toFile();
+
+        // Carte de 40x30 : terrain sur 16 bits, collision sur 8 bits, objets absents
+        JsonObject map = new JsonObject();
+        map.addProperty("name", "Cité");
+        map.addProperty("width", 40);
+        map.addProperty("height", 30);
+        String[] layers = {"terrainLayer", "detailLayer", "collisionLayer", "heightLayer"};
+        for (int layer = 0; layer < layers.length; layer++) {
+            JsonArray rows = new JsonArray();
+            for (int y = 0; y < 30; y++) {
+                JsonArray row = new JsonArray();
+                for (int x = 0; x < 40; x++) {
+                    row.add(layer == 0 ? x * 100 + y : layer == 1 ? 0 : (x / 4 + y / 4) % 2);
+                }
+                rows.add(row);
+            }
+            map.add(layers[layer], rows);
+        }
+
+        mapFile = new File(folder, "map.json");
+        try (Writer writer = Files.newBufferedWriter(mapFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(map.toString());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : folder.listFiles()) {
+            file.delete();
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        File raw = new File(folder, "raw.rpmb");
+        File packed = new File(folder, "packed.rpmb");
+        BinaryMapFile.importJson(mapFile, raw, 16, false);
+        BinaryMapFile.importJson(mapFile, packed, 16, true);
+
+        assertTrue("La carte binaire brute devrait être identique", BinaryMapFile.verify(mapFile, raw));
+        assertTrue("La carte binaire compressée devrait être identique", BinaryMapFile.verify(mapFile, packed));
+        assertTrue("La compression devrait réduire la taille", packed.length() < raw.length());
+
+        BinaryMapFile binary = new BinaryMapFile(packed);
+        assertEquals("Cité", binary.getMetadata().get("name").getAsString());
+        assertEquals("Les couches absentes ne devraient pas être marquées présentes",
+                     (1 << TileSystem.LAYER_TERRAIN) | (1 << TileSystem.LAYER_DETAIL)
+                     | (1 << TileSystem.LAYER_COLLISION) | (1 << TileSystem.LAYER_HEIGHT),
+                     binary.getLayerMask());
+    }
+
+    @Test
+    public void testUncompressedChunksAreReadInPlace() throws IOException {
+        File raw = new File(folder, "raw.rpmb");
+        BinaryMapFile.importJson(mapFile, raw, 16, false);
+
+        MapChunk chunk = new BinaryMapFile(raw).loadChunk(1, 1);
+        TileLayer terrain = chunk.getLayer(TileSystem.LAYER_TERRAIN);
+        assertTrue("La couche devrait lire directement le fichier projeté", terrain.isMapped());
+        assertEquals(2, terrain.getBytesPerTile());
+        assertEquals(1, chunk.getLayer(TileSystem.LAYER_COLLISION).getBytesPerTile());
+        assertEquals(16 * 100 + 16, chunk.get(TileSystem.LAYER_TERRAIN, 0, 0));
+
+        // La première écriture recopie la couche
+        chunk.set(TileSystem.LAYER_TERRAIN, 0, 0, 7);
+        assertFalse(terrain.isMapped());
+        assertEquals(7, chunk.get(TileSystem.LAYER_TERRAIN, 0, 0));
+        assertEquals(17 * 100 + 16, chunk.get(TileSystem.LAYER_TERRAIN, 1, 0));
+    }
+}
@@ -0,0 +1,151 @@
+package com.ryuukonpalace.game.world;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Tests unitaires pour les cartes découpées en chunks et leur chargement en streaming.
+ */
+public class ChunkPagerTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("chunks").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        delete(folder);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Écrire une carte JSON classique dont la tuile (x, y) du terrain vaut x + y * largeur + 1
+     */
+    private File writeMap(int width, int height) throws IOException {
+        JsonObject map = new JsonObject();
+        map.addProperty("name", "Test");
+        map.addProperty("width", width);
+        map.addProperty("height", height);
+        String[] layers = {"terrainLayer", "detailLayer", "collisionLayer", "heightLayer"};
+        for (int layer = 0; layer < layers.length; layer++) {
+            JsonArray rows = new JsonArray();
+            for (int y = 0; y < height; y++) {
+                JsonArray row = new JsonArray();
+                for (int x = 0; x < width; x++) {
+                    row.add(layer == 0 ? x + y * width + 1 : (x + y) % 2);
+                }
+                rows.add(row);
+            }
+            map.add(layers[layer], rows);
+        }
+
+        File file = new File(folder, "map.json");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(map.toString());
+        }
+        return file;
+    }
+
+    @Test
+    public void testConversionIsLossless() throws IOException {
+        File mapFile = writeMap(20, 13);
+        File output = new File(folder, "chunks");
+        ChunkDirectorySource.convert(mapFile, output, 8);
+
+        ChunkDirectorySource source = new ChunkDirectorySource(output);
+        assertEquals(20, source.getWidth());
+        assertEquals(13, source.getHeight());
+        assertEquals("Les propriétés hors couches devraient être conservées", "Test",
+                     source.getMetadata().get("name").getAsString());
+        assertTrue("La carte découpée devrait être identique à la carte d'origine",
+                   ChunkDirectorySource.verify(mapFile, source));
+
+        MapChunk corner = source.loadChunk(2, 1);
+        assertEquals("Le chunk du bord devrait être tronqué", 4, corner.getWidth());
+        assertEquals(5, corner.getHeight());
+        assertEquals(16 + 8 * 20 + 1, corner.get(TileSystem.LAYER_TERRAIN, 0, 0));
+    }
+
+    @Test
+    public void testPagerKeepsChunksAroundCenter() throws IOException {
+        File mapFile = writeMap(64, 64);
+        File output = new File(folder, "chunks");
+        ChunkDirectorySource.convert(mapFile, output, 8);
+
+        ChunkPager pager = new ChunkPager(new ChunkDirectorySource(output));
+        pager.setResidentRadius(1);
+        pager.loadBlocking(32, 32);
+        assertEquals("Un carré de 3x3 chunks devrait être chargé", 9, pager.getResidentCount());
+        assertNotNull(pager.getChunk(4, 4));
+        assertNull(pager.getChunk(0, 0));
+
+        // S'éloigner : les anciens chunks au-delà du rayon + 1 sont déchargés
+        pager.loadBlocking(4, 4);
+        assertNull("Un chunk éloigné devrait être déchargé", pager.getChunk(5, 5));
+        assertNotNull(pager.getChunk(0, 0));
+        pager.dispose();
+    }
+
+    @Test
+    public void testModifiedChunkSurvivesEviction() throws IOException {
+        File mapFile = writeMap(64, 64);
+        File output = new File(folder, "chunks");
+        ChunkDirectorySource.convert(mapFile, output, 8);
+
+        ChunkPager pager = new ChunkPager(new ChunkDirectorySource(output));
+        pager.setResidentRadius(1);
+        pager.loadBlocking(32, 32);
+
+        // Modifier un chunk hors de la zone chargée : il est chargé immédiatement
+        MapChunk chunk = pager.loadChunk(0, 0);
+        assertNotNull(chunk);
+        chunk.set(TileSystem.LAYER_TERRAIN, 1, 1, 999);
+
+        pager.loadBlocking(32, 32);
+        assertNull("Le chunk éloigné devrait être déchargé", pager.getChunk(0, 0));
+        assertEquals(1, pager.getModifiedCount());
+
+        pager.loadBlocking(4, 4);
+        assertEquals("La modification ne doit pas être perdue", 999, pager.getChunk(0, 0).get(TileSystem.LAYER_TERRAIN, 1, 1));
+        assertEquals(0, pager.getModifiedCount());
+        pager.dispose();
+    }
+
+    @Test
+    public void testPagerRespectsMemoryBudget() throws IOException {
+        File mapFile = writeMap(64, 64);
+        File output = new File(folder, "chunks");
+        ChunkDirectorySource.convert(mapFile, output, 8);
+
+        ChunkPager pager = new ChunkPager(new ChunkDirectorySource(output));
+        pager.setResidentRadius(3);
+        pager.setMemoryBudget(4 * 8 * 8 * 6 * 2);
+        pager.loadBlocking(32, 32);
+        assertTrue("La mémoire résidente ne devrait pas dépasser le budget",
+                   pager.getResidentBytes() <= pager.getMemoryBudget());
+        assertNotNull("Le chunk du centre devrait toujours être chargé", pager.getChunk(4, 4));
+        pager.dispose();
+    }
+}
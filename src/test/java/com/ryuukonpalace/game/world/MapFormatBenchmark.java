@@ -0,0 +1,151 @@
+package com.ryuukonpalace.game.world;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Benchmark comparant le chargement des cartes JSON (arbre Gson) au format binaire projeté
+ * en mémoire, brut et compressé, sur les cartes fournies et sur une grande carte générée.
+ * Mesure le temps de chargement complet (toutes les tuiles lues) et les octets alloués sur le
+ * tas pendant le chargement, qui bornent le pic de mémoire dû au chargement.
+ *
+ * Exécution : java -cp target/classes:target/test-classes com.ryuukonpalace.game.world.MapFormatBenchmark
+ */
+public class MapFormatBenchmark {
+
+    private static final String[] SHIPPED_MAPS = {
+        "src/main/resources/maps/lumina_city_2.5d.json",
+        "src/main/resources/maps/example_town.json"
+    };
+    private static final int GENERATED_SIZE = 1024;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    private static long sink;
+
+    /**
+     * Chargement à mesurer
+     */
+    private interface Load {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File workDir = Files.createTempDirectory("mapbench").toFile();
+
+        for (String path : SHIPPED_MAPS) {
+            benchmark(new File(path), workDir);
+        }
+        benchmark(generateMap(new File(workDir, "generated.json")), workDir);
+
+        System.out.println("(checksum " + sink + ")");
+        for (File file : workDir.listFiles()) {
+            file.delete();
+        }
+        workDir.delete();
+    }
+
+    private static void benchmark(File mapFile, File workDir) throws IOException {
+        File raw = new File(workDir, "raw.rpmb");
+        File packed = new File(workDir, "packed.rpmb");
+        BinaryMapFile.importJson(mapFile, raw, TileSystem.CHUNK_SIZE, false);
+        BinaryMapFile.importJson(mapFile, packed, TileSystem.CHUNK_SIZE, true);
+        if (!BinaryMapFile.verify(mapFile, raw) || !BinaryMapFile.verify(mapFile, packed)) {
+            System.err.println("Différences détectées pour " + mapFile);
+            return;
+        }
+
+        long[] json = measure(() -> sink += checksum(new JsonMapSource(mapFile, TileSystem.CHUNK_SIZE)));
+        long[] binary = measure(() -> sink += checksum(new BinaryMapFile(raw)));
+        long[] deflate = measure(() -> sink += checksum(new BinaryMapFile(packed)));
+
+        System.out.printf("%s%n", mapFile.getName());
+        System.out.printf("  JSON            %,12d octets | %9.3f ms | %,14d octets alloués%n",
+                          mapFile.length(), json[0] / 1_000_000.0, json[1]);
+        System.out.printf("  binaire brut    %,12d octets | %9.3f ms | %,14d octets alloués%n",
+                          raw.length(), binary[0] / 1_000_000.0, binary[1]);
+        System.out.printf("  binaire deflate %,12d octets | %9.3f ms | %,14d octets alloués%n",
+                          packed.length(), deflate[0] / 1_000_000.0, deflate[1]);
+    }
+
+    /**
+     * Lire toutes les tuiles d'une source (chargement complet de la carte)
+     */
+    private static long checksum(ChunkSource source) throws IOException {
+        long sum = 0;
+        int chunkSize = source.getChunkSize();
+        for (int cy = 0; cy * chunkSize < source.getHeight(); cy++) {
+            for (int cx = 0; cx * chunkSize < source.getWidth(); cx++) {
+                MapChunk chunk = source.loadChunk(cx, cy);
+                for (int layer = 0; layer < TileSystem.LAYER_COUNT; layer++) {
+                    TileLayer tiles = chunk.getLayer(layer);
+                    int count = chunk.getWidth() * chunk.getHeight();
+                    for (int i = 0; i < count; i++) {
+                        sum += tiles.get(i);
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long[] measure(Load load) throws IOException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            load.run();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            load.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new long[] {elapsed / MEASURED_RUNS, bytes / MEASURED_RUNS};
+    }
+
+    /**
+     * Générer une grande carte JSON au format des cartes fournies
+     */
+    private static File generateMap(File file) throws IOException {
+        String[] layers = {"terrainLayer", "detailLayer", "objectBackLayer", "objectFrontLayer",
+                           "collisionLayer", "heightLayer"};
+        Random random = new Random(42);
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("{\"name\":\"Générée\",\"width\":" + GENERATED_SIZE + ",\"height\":" + GENERATED_SIZE);
+            for (int layer = 0; layer < layers.length; layer++) {
+                writer.write(",\"" + layers[layer] + "\":[");
+                for (int y = 0; y < GENERATED_SIZE; y++) {
+                    writer.write(y > 0 ? ",[" : "[");
+                    for (int x = 0; x < GENERATED_SIZE; x++) {
+                        int value;
+                        if (layer == 0) {
+                            value = 1 + (x / 8 + y / 8) % 6;
+                        } else if (layer == 4) {
+                            value = random.nextInt(10) == 0 ? 1 : 0;
+                        } else if (layer == 5) {
+                            value = (x / 16 + y / 16) % 4;
+                        } else {
+                            value = random.nextInt(20) == 0 ? 1 + random.nextInt(200) : 0;
+                        }
+                        writer.write(x > 0 ? "," + value : String.valueOf(value));
+                    }
+                    writer.write("]");
+                }
+                writer.write("]");
+            }
+            writer.write("}");
+        }
+        return file;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ryuukonpalace.game.world;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour la table de tirage des apparitions.
+ */
+public class SpawnTableTest {
+
+    @Test
+    public void testSamplesFollowWeights() {
+        float[] weights = {1.0f, 0.0f, 6.0f, 2.5f, 0.5f};
+        SpawnTable table = new SpawnTable();
+        table.build(weights, weights.length);
+        assertEquals(10.0, table.getTotalWeight(), 0.0001);
+
+        Random random = new Random(11);
+        int samples = 200_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals("Une entrée de poids nul ne doit jamais être tirée", 0, counts[1]);
+        for (int i = 0; i < weights.length; i++) {
+            double expected = weights[i] / table.getTotalWeight();
+            assertEquals("Fréquence de l'entrée " + i, expected, (double) counts[i] / samples, 0.005);
+        }
+    }
+
+    @Test
+    public void testEmptyOrZeroWeights() {
+        SpawnTable table = new SpawnTable();
+        Random random = new Random(1);
+        assertEquals("Une table vide ne tire rien", -1, table.sample(random));
+
+        table.build(new float[] {0.0f, 0.0f}, 2);
+        assertEquals(0, table.size());
+        assertEquals("Des poids tous nuls ne tirent rien", -1, table.sample(random));
+    }
+
+    @Test
+    public void testRebuildReusesTable() {
+        SpawnTable table = new SpawnTable();
+        table.build(new float[] {1.0f, 1.0f, 1.0f, 1.0f}, 4);
+        assertEquals(4, table.size());
+
+        // Seules les premières entrées du tableau sont prises en compte
+        table.build(new float[] {0.0f, 3.0f, 5.0f, 7.0f}, 2);
+        assertEquals(2, table.size());
+        Random random = new Random(5);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, table.sample(random));
+        }
+    }
+}
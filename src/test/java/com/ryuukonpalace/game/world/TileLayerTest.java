@@ -0,0 +1,45 @@
+package com.ryuukonpalace.game.world;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests unitaires pour le stockage compact des couches de tuiles.
+ */
+public class TileLayerTest {
+
+    @Test
+    public void testWideningKeepsValues() {
+        TileLayer layer = new TileLayer(4, 4);
+        layer.set(1, 1, 7);
+        assertEquals("Les petites valeurs devraient tenir sur un octet", 1, layer.getBytesPerTile());
+
+        layer.set(2, 2, 1000);
+        assertEquals("La couche devrait passer sur 16 bits", 2, layer.getBytesPerTile());
+        assertEquals("Les valeurs existantes devraient être conservées", 7, layer.get(1, 1));
+
+        layer.set(3, 3, 100000);
+        assertEquals("La couche devrait passer sur 32 bits", 4, layer.getBytesPerTile());
+        assertEquals(7, layer.get(1, 1));
+        assertEquals(1000, layer.get(2, 2));
+        assertEquals(100000, layer.get(3, 3));
+
+        layer.set(0, 0, -5);
+        assertEquals("Les valeurs négatives devraient être conservées", -5, layer.get(0, 0));
+    }
+
+    @Test
+    public void testRowAndRegionAccess() {
+        TileLayer layer = new TileLayer(5, 3);
+        int[] row = {1, 2, 3, 4, 5};
+        layer.setRow(1, 0, 5, row, 0);
+
+        int[] dest = new int[3];
+        layer.getRow(1, 1, 3, dest, 0);
+        assertArrayEquals("La portion de ligne devrait être copiée", new int[] {2, 3, 4}, dest);
+
+        int[] region = new int[4];
+        layer.getRegion(3, 0, 2, 2, region);
+        assertArrayEquals("La région devrait être copiée ligne par ligne", new int[] {0, 0, 4, 5}, region);
+    }
+}